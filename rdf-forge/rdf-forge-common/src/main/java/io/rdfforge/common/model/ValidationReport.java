@@ -21,6 +21,10 @@ public class ValidationReport {
     private int warningCount;
     private int infoCount;
     private List<ValidationResult> results;
+    private List<ResultGroup> groups;
+    private long totalResults;
+    private boolean truncated;
+    private String detailsLocation;
     private Instant validatedAt;
     private long durationMs;
     private Map<String, Object> metadata;
@@ -44,4 +48,22 @@ public class ValidationReport {
             INFO
         }
     }
+
+    /**
+     * Results sharing source shape, constraint component, path and severity, with
+     * their count and a sample of the affected focus nodes.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResultGroup {
+        private String sourceShape;
+        private String sourceConstraintComponent;
+        private String resultPath;
+        private ValidationResult.Severity severity;
+        private String message;
+        private long count;
+        private List<String> sampleFocusNodes;
+    }
 }
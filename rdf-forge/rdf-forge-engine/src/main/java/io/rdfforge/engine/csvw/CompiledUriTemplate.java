@@ -0,0 +1,180 @@
+package io.rdfforge.engine.csvw;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A URI template parsed once into an expansion program.
+ *
+ * The template is split into literal segments and variable slots; each slot is
+ * bound at compile time to the key it reads from the row (e.g. a CSVW column
+ * {@code name} resolved to the CSV header title) and to its RFC 6570 modifier.
+ * Variables with a known constant value (such as CSVW {@code _name} or
+ * {@code _column}) are folded into the literal segments. Expanding is then a
+ * single pass over the program with no regex matching, encoding values straight
+ * into a per-thread builder.
+ *
+ * Templates with slots keep a small direct-mapped cache from value tuples to
+ * expansions, so rows repeating the same values (dimension members, code lists)
+ * skip encoding. Instances are thread-safe: cache entries are immutable and a lost
+ * update only costs a recomputation.
+ */
+public final class CompiledUriTemplate {
+
+    private static final int CACHE_SIZE = 256;
+    private static final int MAX_POOLED_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String template;
+    private final String[] literals;
+    private final Slot[] slots;
+    private final int sizeHint;
+    private final CacheEntry[] cache;
+
+    private CompiledUriTemplate(String template, String[] literals, Slot[] slots) {
+        this.template = template;
+        this.literals = literals;
+        this.slots = slots;
+        int literalLength = 0;
+        for (String literal : literals) {
+            literalLength += literal.length();
+        }
+        this.sizeHint = literalLength + 16 * slots.length;
+        this.cache = slots.length > 0 ? new CacheEntry[CACHE_SIZE] : null;
+    }
+
+    /**
+     * A variable slot: the template variable, the row key it is read from and its modifier
+     * ({@code 0} for simple expansion, otherwise {@code '+'}, {@code '#'} or {@code '/'}).
+     */
+    public record Slot(String variable, String key, char modifier) {}
+
+    public static CompiledUriTemplate compile(String template) {
+        return compile(template, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * Compile a template.
+     *
+     * @param template   URI template with {@code {variable}} placeholders
+     * @param keys       variable name to row key; variables not listed read the key of the same name
+     * @param constants  variables with a fixed value, expanded once at compile time
+     */
+    public static CompiledUriTemplate compile(String template, Map<String, String> keys, Map<String, ?> constants) {
+        List<String> literals = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        int length = template.length();
+        while (i < length) {
+            char c = template.charAt(i);
+            int close = c == '{' ? template.indexOf('}', i + 1) : -1;
+            if (close < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            String expression = template.substring(i + 1, close);
+            char modifier = 0;
+            if (!expression.isEmpty() && "+#/".indexOf(expression.charAt(0)) >= 0) {
+                modifier = expression.charAt(0);
+                expression = expression.substring(1);
+            }
+
+            if (expression.isEmpty()) {
+                literal.append(template, i, close + 1);
+            } else if (constants.containsKey(expression)) {
+                Object value = constants.get(expression);
+                if (value != null) {
+                    appendValue(literal, value.toString(), modifier);
+                }
+            } else {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(new Slot(expression, keys.getOrDefault(expression, expression), modifier));
+            }
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+
+        return new CompiledUriTemplate(template, literals.toArray(new String[0]), slots.toArray(new Slot[0]));
+    }
+
+    /**
+     * Expand the template against a row. Missing values expand to the empty string,
+     * matching {@link UriTemplateService#expandTemplate}.
+     */
+    public String expand(Map<String, ?> values) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+
+        String[] tuple = new String[slots.length];
+        int hash = 1;
+        for (int i = 0; i < slots.length; i++) {
+            Object value = values.get(slots[i].key());
+            tuple[i] = value != null ? value.toString() : null;
+            hash = 31 * hash + (tuple[i] != null ? tuple[i].hashCode() : 0);
+        }
+
+        int index = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        CacheEntry entry = cache[index];
+        if (entry != null && entry.hash == hash && Arrays.equals(entry.tuple, tuple)) {
+            return entry.expansion;
+        }
+
+        String expansion = render(tuple);
+        cache[index] = new CacheEntry(hash, tuple, expansion);
+        return expansion;
+    }
+
+    private String render(String[] tuple) {
+        StringBuilder out = BUFFER.get();
+        if (out.capacity() > MAX_POOLED_CAPACITY) {
+            out = new StringBuilder(sizeHint);
+            BUFFER.set(out);
+        }
+        out.setLength(0);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            if (tuple[i] != null) {
+                appendValue(out, tuple[i], slots[i].modifier());
+            }
+        }
+        out.append(literals[slots.length]);
+        return out.toString();
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public List<Slot> getSlots() {
+        return List.of(slots);
+    }
+
+    public boolean isConstant() {
+        return slots.length == 0;
+    }
+
+    private static void appendValue(StringBuilder out, String value, char modifier) {
+        switch (modifier) {
+            case '+' -> out.append(value);
+            case '#' -> UriEncoder.appendEncoded(out.append('#'), value);
+            case '/' -> UriEncoder.appendEncoded(out.append('/'), value);
+            default -> UriEncoder.appendEncoded(out, value);
+        }
+    }
+
+    private record CacheEntry(int hash, String[] tuple, String expansion) {}
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
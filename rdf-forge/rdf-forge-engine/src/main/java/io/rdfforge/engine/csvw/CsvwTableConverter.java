@@ -0,0 +1,270 @@
+package io.rdfforge.engine.csvw;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.jena.datatypes.RDFDatatype;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.irix.IRIx;
+
+import java.util.*;
+
+/**
+ * Converts CSV rows to triples following a CSVW table description (minimal mode).
+ *
+ * The table schema is compiled once: every {@code aboutUrl}, {@code propertyUrl}
+ * and {@code valueUrl} becomes a {@link CompiledUriTemplate} whose slots are bound
+ * to the CSV header of the referenced column, and datatypes, default predicates and
+ * null tokens are resolved up front. {@link #convert} is a pure function of the row,
+ * so rows may be converted concurrently.
+ */
+public class CsvwTableConverter {
+
+    private static final String ROW_NUMBER_KEY = "_rowNumber";
+    private static final Map<String, String> PREFIXES = Map.ofEntries(
+        Map.entry("rdf", "http://www.w3.org/1999/02/22-rdf-syntax-ns#"),
+        Map.entry("rdfs", "http://www.w3.org/2000/01/rdf-schema#"),
+        Map.entry("xsd", "http://www.w3.org/2001/XMLSchema#"),
+        Map.entry("owl", "http://www.w3.org/2002/07/owl#"),
+        Map.entry("skos", "http://www.w3.org/2004/02/skos/core#"),
+        Map.entry("dcat", "http://www.w3.org/ns/dcat#"),
+        Map.entry("dcterms", "http://purl.org/dc/terms/"),
+        Map.entry("dc", "http://purl.org/dc/terms/"),
+        Map.entry("foaf", "http://xmlns.com/foaf/0.1/"),
+        Map.entry("schema", "http://schema.org/"),
+        Map.entry("qb", "http://purl.org/linked-data/cube#"),
+        Map.entry("sh", "http://www.w3.org/ns/shacl#"),
+        Map.entry("cube", "https://cube.link/"),
+        Map.entry("csvw", "http://www.w3.org/ns/csvw#")
+    );
+
+    private final String tableUrl;
+    private final IRIx baseIri;
+    private final CompiledUriTemplate aboutUrl;
+    private final List<ColumnProgram> columns;
+
+    private CsvwTableConverter(String tableUrl, CompiledUriTemplate aboutUrl, List<ColumnProgram> columns) {
+        this.tableUrl = tableUrl;
+        this.baseIri = IRIx.create(tableUrl);
+        this.aboutUrl = aboutUrl;
+        this.columns = columns;
+    }
+
+    /**
+     * Compile a CSVW table description.
+     *
+     * @param table    the table object (with {@code tableSchema}), or a table group holding exactly one table
+     * @param tableUrl absolute URL of the described CSV file, used to resolve relative URIs and default predicates
+     */
+    public static CsvwTableConverter compile(JsonNode table, String tableUrl) {
+        table = singleTable(table);
+        JsonNode schema = table.path("tableSchema");
+        JsonNode columnsNode = schema.path("columns");
+        if (!columnsNode.isArray() || columnsNode.isEmpty()) {
+            throw new IllegalArgumentException("CSVW metadata has no tableSchema.columns");
+        }
+
+        // Column names (used in templates) mapped to the CSV header titles (used as row keys)
+        Map<String, String> keys = new HashMap<>();
+        keys.put("_row", ROW_NUMBER_KEY);
+        List<JsonNode> columnNodes = new ArrayList<>();
+        for (JsonNode column : columnsNode) {
+            columnNodes.add(column);
+            String title = firstTitle(column);
+            String name = column.hasNonNull("name") ? column.get("name").asText()
+                : title != null ? UriTemplateService.encodeUri(title) : "_col." + columnNodes.size();
+            keys.put(name, title != null ? title : name);
+        }
+
+        String tableAbout = text(schema, "aboutUrl", text(table, "aboutUrl", null));
+        String tablePropertyUrl = text(schema, "propertyUrl", text(table, "propertyUrl", null));
+        String tableValueUrl = text(schema, "valueUrl", text(table, "valueUrl", null));
+        String tableNull = text(schema, "null", text(table, "null", ""));
+        String tableLang = text(schema, "lang", text(table, "lang", null));
+
+        List<ColumnProgram> programs = new ArrayList<>();
+        for (int i = 0; i < columnNodes.size(); i++) {
+            JsonNode column = columnNodes.get(i);
+            String title = firstTitle(column);
+            String name = column.hasNonNull("name") ? column.get("name").asText()
+                : title != null ? UriTemplateService.encodeUri(title) : "_col." + (i + 1);
+            Map<String, Object> constants = Map.of("_name", name, "_column", i + 1);
+
+            String about = text(column, "aboutUrl", null);
+            String property = text(column, "propertyUrl", tablePropertyUrl);
+            String value = text(column, "valueUrl", tableValueUrl);
+            boolean virtual = column.path("virtual").asBoolean(false);
+
+            programs.add(new ColumnProgram(
+                name,
+                virtual ? null : keys.get(name),
+                about != null ? CompiledUriTemplate.compile(about, keys, constants) : null,
+                property != null
+                    ? CompiledUriTemplate.compile(property, keys, constants)
+                    : CompiledUriTemplate.compile(tableUrl + "#" + UriTemplateService.encodeUri(name)),
+                value != null ? CompiledUriTemplate.compile(value, keys, constants) : null,
+                datatype(column.get("datatype")),
+                text(column, "lang", tableLang),
+                text(column, "null", tableNull),
+                text(column, "default", null),
+                column.path("suppressOutput").asBoolean(false),
+                virtual
+            ));
+        }
+
+        return new CsvwTableConverter(
+            tableUrl,
+            tableAbout != null ? CompiledUriTemplate.compile(tableAbout, keys, Map.of()) : null,
+            programs
+        );
+    }
+
+    /**
+     * Convert one row to triples.
+     */
+    public List<Triple> convert(Map<String, ?> row) {
+        List<Triple> triples = new ArrayList<>(columns.size());
+        Node rowSubject = aboutUrl != null ? uri(aboutUrl.expand(row)) : NodeFactory.createBlankNode();
+
+        for (ColumnProgram column : columns) {
+            if (column.suppressOutput()) {
+                continue;
+            }
+            String cell = null;
+            if (!column.virtual()) {
+                Object raw = row.get(column.key());
+                cell = raw != null ? raw.toString() : null;
+                if (cell == null || cell.isEmpty() || cell.equals(column.nullToken())) {
+                    if (column.defaultValue() == null) {
+                        continue;
+                    }
+                    cell = column.defaultValue();
+                }
+            } else if (column.valueUrl() == null) {
+                continue;
+            }
+
+            Node subject = column.aboutUrl() != null ? uri(column.aboutUrl().expand(row)) : rowSubject;
+            Node predicate = uri(column.propertyUrl().expand(row));
+            Node object;
+            if (column.valueUrl() != null) {
+                object = uri(column.valueUrl().expand(row));
+            } else if (column.lang() != null && column.datatype() == null) {
+                object = NodeFactory.createLiteralLang(cell, column.lang());
+            } else if (column.datatype() != null) {
+                object = NodeFactory.createLiteral(cell, column.datatype());
+            } else {
+                object = NodeFactory.createLiteralString(cell);
+            }
+            triples.add(Triple.create(subject, predicate, object));
+        }
+        return triples;
+    }
+
+    public String getTableUrl() {
+        return tableUrl;
+    }
+
+    public List<String> getColumnNames() {
+        return columns.stream().map(ColumnProgram::name).toList();
+    }
+
+    private Node uri(String expanded) {
+        int colon = expanded.indexOf(':');
+        if (colon > 0) {
+            String namespace = PREFIXES.get(expanded.substring(0, colon));
+            if (namespace != null) {
+                return NodeFactory.createURI(namespace + expanded.substring(colon + 1));
+            }
+            if (expanded.startsWith("http://") || expanded.startsWith("https://") || expanded.startsWith("urn:")) {
+                return NodeFactory.createURI(expanded);
+            }
+        }
+        try {
+            return NodeFactory.createURI(baseIri.resolve(expanded).str());
+        } catch (RuntimeException e) {
+            // Non-hierarchical base (e.g. a urn:), resolve by plain concatenation
+            return NodeFactory.createURI(tableUrl + expanded);
+        }
+    }
+
+    /**
+     * The table described by CSVW metadata: the metadata itself, or the only entry of
+     * a table group's {@code tables}. Groups of several tables are rejected rather than
+     * converting the first one and silently dropping the rest.
+     */
+    public static JsonNode singleTable(JsonNode metadata) {
+        if (!metadata.has("tables")) {
+            return metadata;
+        }
+        JsonNode tables = metadata.get("tables");
+        if (!tables.isArray() || tables.isEmpty()) {
+            throw new IllegalArgumentException("CSVW metadata 'tables' must be a non-empty array");
+        }
+        if (tables.size() > 1) {
+            throw new IllegalArgumentException("CSVW table group describes " + tables.size()
+                + " tables; only one table per conversion is supported, split the group into one metadata file per table");
+        }
+        return tables.get(0);
+    }
+
+    private static RDFDatatype datatype(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        String base = node.isObject() ? node.path("base").asText("string") : node.asText();
+        if (base.contains("://")) {
+            return TypeMapper.getInstance().getSafeTypeByName(base);
+        }
+        if (base.startsWith("xsd:")) {
+            base = base.substring(4);
+        }
+        return switch (base) {
+            case "string", "any", "anyAtomicType" -> null;
+            case "number" -> XSDDatatype.XSDdouble;
+            case "datetime" -> XSDDatatype.XSDdateTime;
+            case "json", "xml", "html" -> XSDDatatype.XSDstring;
+            default -> TypeMapper.getInstance().getSafeTypeByName(PREFIXES.get("xsd") + base);
+        };
+    }
+
+    private static String firstTitle(JsonNode column) {
+        JsonNode titles = column.get("titles");
+        if (titles == null || titles.isNull()) {
+            return null;
+        }
+        if (titles.isArray()) {
+            return titles.isEmpty() ? null : titles.get(0).asText();
+        }
+        if (titles.isObject()) {
+            Iterator<JsonNode> values = titles.elements();
+            if (values.hasNext()) {
+                JsonNode first = values.next();
+                return first.isArray() ? first.get(0).asText() : first.asText();
+            }
+            return null;
+        }
+        return titles.asText();
+    }
+
+    private static String text(JsonNode node, String field, String defaultValue) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : defaultValue;
+    }
+
+    private record ColumnProgram(
+        String name,
+        String key,
+        CompiledUriTemplate aboutUrl,
+        CompiledUriTemplate propertyUrl,
+        CompiledUriTemplate valueUrl,
+        RDFDatatype datatype,
+        String lang,
+        String nullToken,
+        String defaultValue,
+        boolean suppressOutput,
+        boolean virtual
+    ) {}
+}
@@ -0,0 +1,123 @@
+package io.rdfforge.engine.csvw;
+
+/**
+ * Percent-encoder for URI template values that appends straight into the output
+ * builder.
+ *
+ * Produces the same text as trimming the value, replacing whitespace runs with
+ * {@code _} and applying {@link java.net.URLEncoder} with UTF-8, with {@code %20}
+ * for spaces and {@code /} left unencoded, but without the intermediate strings,
+ * regex and byte arrays. Values made only of safe characters are appended as is.
+ */
+final class UriEncoder {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] SAFE = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            SAFE[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            SAFE[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            SAFE[c] = true;
+        }
+        for (char c : ".-*_/".toCharArray()) {
+            SAFE[c] = true;
+        }
+    }
+
+    private UriEncoder() {
+    }
+
+    static String encode(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 8);
+        appendEncoded(out, value);
+        return out.toString();
+    }
+
+    static void appendEncoded(StringBuilder out, String value) {
+        // String.trim() semantics: strip everything up to and including U+0020
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        if (isSafe(value, start, end)) {
+            out.append(value, start, end);
+            return;
+        }
+
+        int i = start;
+        while (i < end) {
+            char c = value.charAt(i);
+            if (isWhitespace(c)) {
+                // A run of regex \s characters becomes one underscore
+                out.append('_');
+                do {
+                    i++;
+                } while (i < end && isWhitespace(value.charAt(i)));
+                continue;
+            }
+            if (c < 128 && SAFE[c]) {
+                out.append(c);
+                i++;
+                continue;
+            }
+
+            int codePoint;
+            if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+                i += 2;
+            } else {
+                // Unpaired surrogates are replaced with '?' by the UTF-8 encoder
+                codePoint = Character.isSurrogate(c) ? '?' : c;
+                i++;
+            }
+            appendUtf8(out, codePoint);
+        }
+    }
+
+    private static boolean isSafe(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 128 || !SAFE[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The characters matched by the regex {@code \s}. */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static void appendUtf8(StringBuilder out, int codePoint) {
+        if (codePoint < 0x80) {
+            appendByte(out, codePoint);
+        } else if (codePoint < 0x800) {
+            appendByte(out, 0xC0 | (codePoint >> 6));
+            appendByte(out, 0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            appendByte(out, 0xE0 | (codePoint >> 12));
+            appendByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendByte(out, 0x80 | (codePoint & 0x3F));
+        } else {
+            appendByte(out, 0xF0 | (codePoint >> 18));
+            appendByte(out, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendByte(out, 0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private static void appendByte(StringBuilder out, int b) {
+        out.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+}
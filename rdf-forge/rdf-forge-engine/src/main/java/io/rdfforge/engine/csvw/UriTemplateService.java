@@ -5,10 +5,9 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,6 +31,9 @@ public class UriTemplateService {
     
     // Pattern to match template variables like {name}, {+name}, {#name}
     private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{([+#/]?)([^}]+)\\}");
+    private static final int MAX_COMPILED_TEMPLATES = 1024;
+    
+    private final Map<String, CompiledUriTemplate> compiledTemplates = new ConcurrentHashMap<>();
     
     /**
      * Expand a URI template using values from a row.
@@ -44,42 +46,7 @@ public class UriTemplateService {
         if (template == null || template.isEmpty()) {
             return template;
         }
-        
-        StringBuffer result = new StringBuffer();
-        Matcher matcher = VARIABLE_PATTERN.matcher(template);
-        
-        while (matcher.find()) {
-            String modifier = matcher.group(1);
-            String variableName = matcher.group(2);
-            Object value = values.get(variableName);
-            
-            String replacement;
-            if (value == null) {
-                // Keep the placeholder if value is missing
-                replacement = "";
-            } else {
-                String stringValue = value.toString();
-                
-                if ("+".equals(modifier)) {
-                    // Reserved expansion - no encoding
-                    replacement = stringValue;
-                } else if ("#".equals(modifier)) {
-                    // Fragment expansion
-                    replacement = "#" + encodeUri(stringValue);
-                } else if ("/".equals(modifier)) {
-                    // Path segment expansion
-                    replacement = "/" + encodeUri(stringValue);
-                } else {
-                    // Simple expansion - URL encoded
-                    replacement = encodeUri(stringValue);
-                }
-            }
-            
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(result);
-        
-        return result.toString();
+        return compile(template).expand(values);
     }
     
     /**
@@ -166,17 +133,30 @@ public class UriTemplateService {
         return template.toString();
     }
     
-    private String encodeUri(String value) {
-        try {
-            // Replace spaces with underscores, then URL encode
-            String sanitized = value.trim().replaceAll("\\s+", "_");
-            return URLEncoder.encode(sanitized, StandardCharsets.UTF_8)
-                .replace("+", "%20")  // URLEncoder uses + for space, we want %20
-                .replace("%2F", "/"); // Allow forward slashes
-        } catch (Exception e) {
-            log.warn("Failed to encode URI value: {}", value);
-            return value.replaceAll("[^a-zA-Z0-9_-]", "_");
+    /**
+     * Compile a template once for repeated expansion. Compiled templates are cached,
+     * so repeated calls with the same template return the same instance.
+     *
+     * @param template URI template
+     * @return Compiled template
+     */
+    public CompiledUriTemplate compile(String template) {
+        CompiledUriTemplate compiled = compiledTemplates.get(template);
+        if (compiled == null) {
+            if (compiledTemplates.size() >= MAX_COMPILED_TEMPLATES) {
+                compiledTemplates.clear();
+            }
+            compiled = compiledTemplates.computeIfAbsent(template, CompiledUriTemplate::compile);
         }
+        return compiled;
+    }
+    
+    /**
+     * Encode a value for use in a URI: whitespace runs become underscores and
+     * everything except unreserved characters and slashes is percent-encoded.
+     */
+    static String encodeUri(String value) {
+        return UriEncoder.encode(value);
     }
     
     @Data
@@ -3,11 +3,18 @@ package io.rdfforge.engine.cube;
 import io.rdfforge.engine.operation.Operation;
 import io.rdfforge.engine.operation.OperationException;
 import io.rdfforge.engine.operation.PluginInfo;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.sparql.expr.NodeValue;
+import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.apache.jena.vocabulary.XSD;
@@ -15,6 +22,11 @@ import org.springframework.stereotype.Component;
 
 import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Operation to build a SHACL cube:Constraint from an observation stream.
@@ -23,10 +35,15 @@ import java.util.*;
  * describing their structure. It is equivalent to barnard59's buildCubeShape operation.
  *
  * The operation:
- * 1. Collects information about all properties used in observations
- * 2. Analyzes datatypes, cardinality, and value sets
+ * 1. Collects the properties used by observations in one scan of the graph
+ * 2. Analyzes datatypes, node kinds, value ranges and distinct counts per property,
+ *    walking the graph by predicate (one property per task when parallel)
  * 3. Generates a cube:Constraint that is also a sh:NodeShape
  * 4. Outputs the constraint as an RDF Model
+ *
+ * Distinct values are kept exactly up to {@code maxEnumValues} (the candidates for
+ * sh:in) and estimated with a HyperLogLog sketch beyond that, so memory per property
+ * stays bounded regardless of the number of observations.
  */
 @Slf4j
 @Component
@@ -43,6 +60,16 @@ public class BuildCubeShapeOperation implements Operation {
     private static final String SHACL_NS = "http://www.w3.org/ns/shacl#";
     private static final String SCHEMA_NS = "https://schema.org/";
     private static final String META_NS = "https://cube.link/meta/";
+    private static final Node OBSERVATION = NodeFactory.createURI(CUBE_NS + "Observation");
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    // Own pool rather than the common ForkJoinPool, which other work in the JVM shares
+    private final ExecutorService analyzeExecutor = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "build-cube-shape-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
 
     @Override
     public String getId() {
@@ -71,7 +98,8 @@ public class BuildCubeShapeOperation implements Operation {
             "constraintUri", new ParameterSpec("constraintUri", "URI for the generated constraint (default: cubeUri + /constraint)", String.class, false, null),
             "inferDimensionRoles", new ParameterSpec("inferDimensionRoles", "Infer KeyDimension/MeasureDimension roles from data", Boolean.class, false, true),
             "includeValueEnumeration", new ParameterSpec("includeValueEnumeration", "Include sh:in for small value sets (max 50 values)", Boolean.class, false, true),
-            "maxEnumValues", new ParameterSpec("maxEnumValues", "Maximum values to include in sh:in constraint", Integer.class, false, 50)
+            "maxEnumValues", new ParameterSpec("maxEnumValues", "Maximum values to include in sh:in constraint", Integer.class, false, 50),
+            "parallel", new ParameterSpec("parallel", "Analyze properties in parallel", Boolean.class, false, true)
         );
     }
 
@@ -82,6 +110,7 @@ public class BuildCubeShapeOperation implements Operation {
         Boolean inferRoles = (Boolean) context.parameters().getOrDefault("inferDimensionRoles", true);
         Boolean includeEnum = (Boolean) context.parameters().getOrDefault("includeValueEnumeration", true);
         Integer maxEnumValues = (Integer) context.parameters().getOrDefault("maxEnumValues", 50);
+        boolean parallel = !"false".equalsIgnoreCase(String.valueOf(context.parameters().getOrDefault("parallel", true)));
 
         Model inputModel = context.inputModel();
         if (inputModel == null || inputModel.isEmpty()) {
@@ -90,16 +119,16 @@ public class BuildCubeShapeOperation implements Operation {
 
         log.info("Building cube shape from observations for cube: {}", cubeUri);
 
-        // Collect observations
-        List<Resource> observations = collectObservations(inputModel);
-        if (observations.isEmpty()) {
+        Graph graph = inputModel.getGraph();
+        long observationCount = countObservations(graph);
+        if (observationCount == 0) {
             throw new OperationException(getId(), "No cube:Observation resources found in input model");
         }
 
-        log.info("Analyzing {} observations", observations.size());
+        log.info("Analyzing {} observations", observationCount);
 
         // Analyze property statistics
-        Map<String, PropertyStats> propertyStats = analyzeObservations(inputModel, observations);
+        Map<String, PropertyStats> propertyStats = analyzeObservations(graph, maxEnumValues, parallel);
         log.info("Detected {} distinct properties", propertyStats.size());
 
         // Build the constraint model
@@ -119,8 +148,9 @@ public class BuildCubeShapeOperation implements Operation {
 
         // Return result with the constraint model
         Map<String, Object> metadata = new HashMap<>();
-        metadata.put("observationsAnalyzed", observations.size());
+        metadata.put("observationsAnalyzed", observationCount);
         metadata.put("propertiesDetected", propertyStats.size());
+        metadata.put("propertyStatistics", summarize(propertyStats));
         metadata.put("constraintUri", constraintUri);
         metadata.put("constraintTriples", constraintModel.size());
 
@@ -133,44 +163,130 @@ public class BuildCubeShapeOperation implements Operation {
         );
     }
 
-    /**
-     * Collect all cube:Observation resources from the model.
-     */
-    private List<Resource> collectObservations(Model model) {
-        List<Resource> observations = new ArrayList<>();
-        Resource observationType = model.createResource(CUBE_NS + "Observation");
-
-        ResIterator iter = model.listSubjectsWithProperty(RDF.type, observationType);
-        while (iter.hasNext()) {
-            observations.add(iter.next());
+    private long countObservations(Graph graph) {
+        long count = 0;
+        ExtendedIterator<Triple> it = graph.find(Node.ANY, RDF.type.asNode(), OBSERVATION);
+        try {
+            while (it.hasNext()) {
+                it.next();
+                count++;
+            }
+        } finally {
+            it.close();
         }
-
-        return observations;
+        return count;
     }
 
     /**
-     * Analyze all observations to collect property statistics.
+     * Analyze all observations to collect property statistics. A first scan finds the
+     * properties used by observations (in first-seen order, which drives sh:order);
+     * each property is then analyzed from the predicate index on its own.
      */
-    private Map<String, PropertyStats> analyzeObservations(Model model, List<Resource> observations) {
+    private Map<String, PropertyStats> analyzeObservations(Graph graph, int maxEnumValues, boolean parallel)
+            throws OperationException {
+        List<Node> predicates = observationPredicates(graph);
         Map<String, PropertyStats> stats = new LinkedHashMap<>();
+        if (!parallel || predicates.size() < 2) {
+            for (Node predicate : predicates) {
+                stats.put(predicate.getURI(), analyzePredicate(graph, predicate, maxEnumValues));
+            }
+            return stats;
+        }
 
-        for (Resource obs : observations) {
-            StmtIterator stmts = model.listStatements(obs, null, (RDFNode) null);
-            while (stmts.hasNext()) {
-                Statement stmt = stmts.next();
-                Property prop = stmt.getPredicate();
+        // Read-only access to the input graph from several threads is safe; each task owns its stats
+        List<Future<PropertyStats>> tasks = new ArrayList<>(predicates.size());
+        for (Node predicate : predicates) {
+            tasks.add(analyzeExecutor.submit(() -> analyzePredicate(graph, predicate, maxEnumValues)));
+        }
+        try {
+            for (Future<PropertyStats> task : tasks) {
+                PropertyStats propertyStats = task.get();
+                stats.put(propertyStats.propertyUri, propertyStats);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException(getId(), "Interrupted while analyzing observations", e);
+        } catch (ExecutionException e) {
+            throw new OperationException(getId(), "Failed to analyze observations: " + e.getCause().getMessage(),
+                e.getCause());
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+        return stats;
+    }
 
+    private List<Node> observationPredicates(Graph graph) {
+        Set<Node> predicates = new LinkedHashSet<>();
+        ExtendedIterator<Triple> it = graph.find();
+        try {
+            while (it.hasNext()) {
+                Triple triple = it.next();
+                Node predicate = triple.getPredicate();
                 // Skip rdf:type
-                if (prop.equals(RDF.type)) continue;
-
-                String propUri = prop.getURI();
-                stats.computeIfAbsent(propUri, k -> new PropertyStats(propUri)).addValue(stmt.getObject());
+                if (predicate.equals(RDF.type.asNode()) || predicates.contains(predicate)) {
+                    continue;
+                }
+                if (isObservation(graph, triple.getSubject())) {
+                    predicates.add(predicate);
+                }
             }
+        } finally {
+            it.close();
         }
+        return new ArrayList<>(predicates);
+    }
 
+    private PropertyStats analyzePredicate(Graph graph, Node predicate, int maxEnumValues) {
+        PropertyStats stats = new PropertyStats(predicate.getURI(), maxEnumValues);
+        Node lastSubject = null;
+        boolean lastIsObservation = false;
+        ExtendedIterator<Triple> it = graph.find(Node.ANY, predicate, Node.ANY);
+        try {
+            while (it.hasNext()) {
+                Triple triple = it.next();
+                Node subject = triple.getSubject();
+                if (!subject.equals(lastSubject)) {
+                    lastSubject = subject;
+                    lastIsObservation = isObservation(graph, subject);
+                }
+                if (lastIsObservation) {
+                    stats.addValue(triple.getObject());
+                }
+            }
+        } finally {
+            it.close();
+        }
         return stats;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        analyzeExecutor.shutdownNow();
+    }
+
+    private static boolean isObservation(Graph graph, Node subject) {
+        return graph.contains(subject, RDF.type.asNode(), OBSERVATION);
+    }
+
+    private Map<String, Map<String, Object>> summarize(Map<String, PropertyStats> stats) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        stats.forEach((propUri, propStats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", propStats.getCount());
+            entry.put("distinct", propStats.getUniqueCount());
+            entry.put("distinctExact", propStats.hasEnumeratedValues());
+            if (propStats.getDatatype() != null) {
+                entry.put("datatype", propStats.getDatatype());
+            }
+            if (propStats.getMin() != null) {
+                entry.put("min", propStats.getMin());
+                entry.put("max", propStats.getMax());
+            }
+            summary.put(propUri, entry);
+        });
+        return summary;
+    }
+
     /**
      * Build the SHACL constraint model.
      */
@@ -346,45 +462,68 @@ public class BuildCubeShapeOperation implements Operation {
     }
 
     /**
-     * Internal class to track property statistics.
+     * Internal class to track property statistics in bounded memory: datatypes, node
+     * kinds and the literal range exactly, distinct values exactly up to the
+     * enumeration limit and as a HyperLogLog estimate beyond it.
      */
     private static class PropertyStats {
         private final String propertyUri;
+        private final int exactLimit;
         private final Set<String> datatypes = new HashSet<>();
-        private final Set<String> values = new LinkedHashSet<>();
-        private int count = 0;
+        private Set<String> values = new LinkedHashSet<>();
+        private HyperLogLog sketch;
+        private long count = 0;
         private boolean hasIris = false;
         private boolean hasLiterals = false;
         private boolean hasBlankNodes = false;
+        private NodeValue min;
+        private NodeValue max;
 
-        PropertyStats(String propertyUri) {
+        PropertyStats(String propertyUri, int exactLimit) {
             this.propertyUri = propertyUri;
+            this.exactLimit = Math.max(exactLimit, 0);
         }
 
-        void addValue(RDFNode value) {
+        void addValue(Node value) {
             count++;
             if (value.isLiteral()) {
                 hasLiterals = true;
-                Literal lit = value.asLiteral();
-                if (lit.getDatatypeURI() != null) {
-                    datatypes.add(lit.getDatatypeURI());
-                } else {
-                    datatypes.add(XSD.xstring.getURI());
-                }
-                // Store value (limit to prevent memory issues)
-                if (values.size() < 1000) {
-                    values.add(lit.getString());
-                }
-            } else if (value.isURIResource()) {
+                String datatype = value.getLiteralDatatypeURI();
+                datatypes.add(datatype != null ? datatype : XSD.xstring.getURI());
+                addDistinct(value.getLiteralLexicalForm());
+                updateRange(value);
+            } else if (value.isURI()) {
                 hasIris = true;
-                if (values.size() < 1000) {
-                    values.add(value.asResource().getURI());
-                }
-            } else if (value.isAnon()) {
+                addDistinct(value.getURI());
+            } else if (value.isBlank()) {
                 hasBlankNodes = true;
             }
         }
 
+        private void addDistinct(String value) {
+            if (sketch != null) {
+                sketch.add(value);
+                return;
+            }
+            values.add(value);
+            if (values.size() > exactLimit) {
+                // Too many for sh:in: switch to the sketch and drop the exact set
+                sketch = new HyperLogLog();
+                values.forEach(sketch::add);
+                values = null;
+            }
+        }
+
+        private void updateRange(Node literal) {
+            NodeValue value = NodeValue.makeNode(literal);
+            if (min == null || NodeValue.compareAlways(value, min) < 0) {
+                min = value;
+            }
+            if (max == null || NodeValue.compareAlways(value, max) > 0) {
+                max = value;
+            }
+        }
+
         boolean hasConsistentDatatype() {
             return datatypes.size() == 1 && hasLiterals && !hasIris;
         }
@@ -395,22 +534,30 @@ public class BuildCubeShapeOperation implements Operation {
         }
 
         boolean hasEnumeratedValues() {
-            return values.size() < 100;
+            return sketch == null;
         }
 
-        int getUniqueCount() {
-            return values.size();
+        long getUniqueCount() {
+            return sketch == null ? values.size() : sketch.estimate();
         }
 
         Set<String> getValues() {
-            return values;
+            return sketch == null ? values : Set.of();
+        }
+
+        String getMin() {
+            return min != null ? min.asNode().getLiteralLexicalForm() : null;
+        }
+
+        String getMax() {
+            return max != null ? max.asNode().getLiteralLexicalForm() : null;
         }
 
         boolean allValuesAreIris() {
             return hasIris && !hasLiterals && !hasBlankNodes;
         }
 
-        int getCount() {
+        long getCount() {
             return count;
         }
     }
@@ -0,0 +1,108 @@
+package io.rdfforge.engine.cube;
+
+import io.rdfforge.engine.operation.Operation.ParameterSpec;
+import io.rdfforge.engine.rdf.RemoteFetchCache;
+import org.apache.jena.rdf.model.Model;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared {@link RemoteFetchCache} wiring for the cube fetch operations.
+ *
+ * Caching is opt-in per step through {@code cacheTtl}. Stale entries are
+ * revalidated with a probe on the cube's {@code schema:dateModified} unless
+ * {@code cacheProbe} is false.
+ */
+final class CubeFetchCache {
+
+    static final ParameterSpec CACHE_TTL = new ParameterSpec("cacheTtl",
+        "Serve results from the remote fetch cache for this many seconds (0 = no cache)", Integer.class, false, 0);
+    static final ParameterSpec CACHE_PROBE = new ParameterSpec("cacheProbe",
+        "Revalidate stale cache entries with a schema:dateModified probe", Boolean.class, false, true);
+
+    private CubeFetchCache() {
+    }
+
+    /**
+     * Run the loader through the shared cache when {@code cacheTtl} is set, and
+     * record the cache status in the step metadata.
+     *
+     * @param keyQuery the query describing the result; used as the cache key
+     */
+    static Model fetch(Map<String, Object> params, String endpoint, String cubeUri, String graphUri,
+                       String keyQuery, int timeout, Map<String, Object> metadata,
+                       RemoteFetchCache.Loader loader) throws Exception {
+        return fetch(params, endpoint, cubeUri, graphUri, keyQuery, null, timeout, metadata, fetched -> loader.load());
+    }
+
+    /**
+     * Like {@link #fetch(Map, String, String, String, String, int, Map, RemoteFetchCache.Loader)}
+     * for a loader whose result also depends on {@code variant} and that records step
+     * metadata while loading; that metadata is cached with the result and restored on hits.
+     */
+    static Model fetch(Map<String, Object> params, String endpoint, String cubeUri, String graphUri,
+                       String keyQuery, String variant, int timeout, Map<String, Object> metadata,
+                       MetadataLoader loader) throws Exception {
+        int ttl = intParam(params.get(CACHE_TTL.name()), 0);
+        if (ttl <= 0) {
+            return loader.load(metadata);
+        }
+        boolean probe = !"false".equalsIgnoreCase(String.valueOf(params.getOrDefault(CACHE_PROBE.name(), true)));
+
+        Map<String, Object> fetched = new LinkedHashMap<>();
+        RemoteFetchCache.Result result = RemoteFetchCache.shared().fetch(
+            endpoint,
+            keyQuery,
+            variant,
+            Duration.ofSeconds(ttl),
+            probe ? buildModifiedProbe(cubeUri, graphUri) : null,
+            timeout,
+            fetched,
+            () -> loader.load(fetched)
+        );
+        metadata.putAll(result.attributes());
+        metadata.put("cacheStatus", result.status().name());
+        metadata.put("cachedAt", result.fetchedAt().toString());
+        return result.model();
+    }
+
+    @FunctionalInterface
+    interface MetadataLoader {
+        Model load(Map<String, Object> metadata) throws Exception;
+    }
+
+    static String buildModifiedProbe(String cubeUri, String graphUri) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT ?modified WHERE {\n");
+
+        if (graphUri != null && !graphUri.isBlank()) {
+            sb.append("  GRAPH <").append(graphUri).append("> {\n");
+        }
+
+        sb.append("    VALUES ?p { <http://schema.org/dateModified> <https://schema.org/dateModified> }\n");
+        sb.append("    <").append(cubeUri).append("> ?p ?modified .\n");
+
+        if (graphUri != null && !graphUri.isBlank()) {
+            sb.append("  }\n");
+        }
+
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static int intParam(Object value, int defaultValue) {
+        if (value instanceof Number num) {
+            return num.intValue();
+        }
+        if (value instanceof String str && !str.isBlank()) {
+            try {
+                return Integer.parseInt(str.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,29 @@
+package io.rdfforge.engine.cube;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limit on concurrent page fetches against one SPARQL endpoint, shared by every
+ * paged fetch of the operations in this package.
+ */
+@Component
+public class EndpointPermits {
+
+    private final int maxConcurrentPerEndpoint;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EndpointPermits(@Value("${rdfforge.fetch.max-concurrent-per-endpoint:8}") int maxConcurrentPerEndpoint) {
+        this.maxConcurrentPerEndpoint = Math.max(1, maxConcurrentPerEndpoint);
+    }
+
+    Semaphore forEndpoint(String endpoint) {
+        return permits.computeIfAbsent(endpoint, k -> new Semaphore(maxConcurrentPerEndpoint));
+    }
+}
@@ -3,22 +3,34 @@ package io.rdfforge.engine.cube;
 import io.rdfforge.engine.operation.Operation;
 import io.rdfforge.engine.operation.OperationException;
 import io.rdfforge.engine.operation.PluginInfo;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.query.*;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.sparql.exec.http.QueryExecutionHTTP;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Operation to fetch a complete cube (metadata + observations) from a SPARQL endpoint.
  * Equivalent to barnard59's fetch-cube command.
+ *
+ * By default the fetch is decomposed into independent sub-queries (cube metadata,
+ * observation sets, the constraint with its property shapes, and keyset-paged
+ * observations) that run concurrently; their triples are merged into the output graph on the
+ * calling thread. Each sub-query's wall time is reported as a metric. Setting
+ * {@code decompose=false} issues the original single CONSTRUCT with nested OPTIONALs.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 @PluginInfo(
     author = "RDF Forge",
     version = "1.0.0",
@@ -29,6 +41,17 @@ import java.util.concurrent.TimeUnit;
 public class FetchCubeOperation implements Operation {
 
     private static final String CUBE_NS = "https://cube.link/";
+    private static final String SH_NS = "http://www.w3.org/ns/shacl#";
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final EndpointPermits endpointPermits;
+
+    private final ExecutorService fetchExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "fetch-cube-" + THREAD_COUNTER.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
 
     @Override
     public String getId() {
@@ -56,23 +79,45 @@ public class FetchCubeOperation implements Operation {
             "endpoint", new ParameterSpec("endpoint", "SPARQL endpoint URL", String.class, true, null),
             "cubeUri", new ParameterSpec("cubeUri", "URI of the cube to fetch", String.class, true, null),
             "graphUri", new ParameterSpec("graphUri", "Named graph containing the cube (optional)", String.class, false, null),
-            "timeout", new ParameterSpec("timeout", "Query timeout in seconds", Integer.class, false, 60)
+            "timeout", new ParameterSpec("timeout", "Query timeout in seconds (per sub-query when decomposed)", Integer.class, false, 60),
+            "decompose", new ParameterSpec("decompose", "Split the fetch into concurrent sub-queries", Boolean.class, false, true),
+            "pageSize", new ParameterSpec("pageSize", "Observations per page when decomposed", Integer.class, false, 1000),
+            "parallelism", new ParameterSpec("parallelism", "Concurrent observation page fetches when decomposed", Integer.class, false, 4),
+            "cacheTtl", CubeFetchCache.CACHE_TTL,
+            "cacheProbe", CubeFetchCache.CACHE_PROBE
         );
     }
 
     @Override
     public OperationResult execute(OperationContext context) throws OperationException {
-        String endpoint = (String) context.parameters().get("endpoint");
-        String cubeUri = (String) context.parameters().get("cubeUri");
-        String graphUri = (String) context.parameters().get("graphUri");
-        Integer timeout = (Integer) context.parameters().getOrDefault("timeout", 60);
+        Map<String, Object> params = context.parameters();
+        String endpoint = (String) params.get("endpoint");
+        String cubeUri = (String) params.get("cubeUri");
+        String graphUri = (String) params.get("graphUri");
+        int timeout = intParam(params.get("timeout"), 60);
+        boolean decompose = !"false".equalsIgnoreCase(String.valueOf(params.getOrDefault("decompose", true)));
 
-        log.info("Fetching cube {} from {}", cubeUri, endpoint);
+        log.info("Fetching cube {} from {} (decompose={})", cubeUri, endpoint, decompose);
 
         try {
-            Model result = fetchCube(endpoint, cubeUri, graphUri, timeout);
-
             Map<String, Object> metadata = new HashMap<>();
+            // The decomposed fetch also returns blank nodes nested in the constraint (e.g. sh:in and
+            // sh:or lists) that the single query leaves out, so the strategy is part of the cache key
+            Model result = CubeFetchCache.fetch(params, endpoint, cubeUri, graphUri,
+                buildFetchQuery(cubeUri, graphUri), decompose ? "decomposed" : "single", timeout, metadata,
+                fetched -> {
+                    if (!decompose) {
+                        return fetchCube(endpoint, cubeUri, graphUri, timeout);
+                    }
+                    int pageSize = Math.max(1, intParam(params.get("pageSize"), 1000));
+                    int parallelism = Math.max(1, intParam(params.get("parallelism"), 4));
+                    Model model = ModelFactory.createDefaultModel();
+                    Map<String, Long> timings = fetchDecomposed(model.getGraph(), endpoint, cubeUri, graphUri,
+                        timeout, pageSize, parallelism, context.callback(), fetched);
+                    fetched.put("subQueryTimings", timings);
+                    return model;
+                });
+
             metadata.put("tripleCount", result.size());
             metadata.put("cubeUri", cubeUri);
             metadata.put("endpoint", endpoint);
@@ -80,8 +125,123 @@ public class FetchCubeOperation implements Operation {
             return new OperationResult(true, null, result, metadata, null);
         } catch (Exception e) {
             log.error("Failed to fetch cube: {}", e.getMessage(), e);
-            throw new OperationException(getId(), "Failed to fetch cube: " + e.getMessage());
+            throw new OperationException(getId(), "Failed to fetch cube: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run the structural sub-queries concurrently while the observation pages are
+     * drained into the graph on this thread, then merge the structural results.
+     * Returns the wall time of each sub-query in milliseconds.
+     */
+    private Map<String, Long> fetchDecomposed(Graph graph, String endpoint, String cubeUri, String graphUri,
+                                              int timeout, int pageSize, int parallelism,
+                                              OperationCallback callback, Map<String, Object> metadata)
+            throws InterruptedException, ExecutionException {
+        Map<String, String> queries = structureQueries(cubeUri, graphUri);
+
+        Map<String, Future<SubQueryResult>> pending = new LinkedHashMap<>();
+        queries.forEach((name, query) ->
+            pending.put(name, fetchExecutor.submit(() -> runSubQuery(name, endpoint, query, timeout))));
+
+        PagedObservationFetch observations = new PagedObservationFetch(fetchExecutor, endpoint, cubeUri, graphUri,
+            0, 0, timeout, pageSize, parallelism, endpointPermits.forEndpoint(endpoint));
+        Map<String, Long> timings = new LinkedHashMap<>();
+        try {
+            long start = System.nanoTime();
+            observations.start();
+            long observationCount = observations.drainInto(graph, (count, chunkSize) -> {
+                if (callback != null) {
+                    callback.onProgress(count, observations.getTotal());
+                }
+            });
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            timings.put("observations", elapsed);
+            metadata.put("observationCount", observationCount);
+            metadata.put("pagesFetched", observations.getPagesFetched());
+            if (callback != null) {
+                callback.onMetric("query.observations.ms", elapsed);
+                callback.onMetric("query.observations.pages", observations.getPagesFetched());
+                callback.onMetric("observationCount", observationCount);
+            }
+
+            for (Future<SubQueryResult> future : pending.values()) {
+                SubQueryResult sub = future.get();
+                sub.triples().forEach(graph::add);
+                timings.put(sub.name(), sub.elapsedMs());
+                if (callback != null) {
+                    callback.onMetric("query." + sub.name() + ".ms", sub.elapsedMs());
+                    callback.onMetric("query." + sub.name() + ".triples", sub.triples().size());
+                }
+            }
+        } finally {
+            observations.close();
+            pending.values().forEach(f -> f.cancel(true));
+        }
+        return timings;
+    }
+
+    /**
+     * Sub-queries for everything but the observations. Blank node labels are only
+     * stable within one result set, so each query returns a blank node together with
+     * the triple linking it in: links from the cube to blank observation sets or
+     * constraints come from the query that describes them, and the constraint is
+     * fetched in one query with its property shapes and the blank nodes nested in
+     * them (e.g. {@code sh:in} lists).
+     */
+    Map<String, String> structureQueries(String cubeUri, String graphUri) {
+        String cube = "<" + cubeUri + ">";
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("metadata", buildSubQuery(graphUri,
+            cube + " ?p ?o .",
+            cube + " ?p ?o .\n"
+                + "    FILTER(!isBlank(?o) || ?p NOT IN (cube:observationSet, cube:observationConstraint))"));
+        queries.put("observationSets", buildSubQuery(graphUri,
+            cube + " cube:observationSet ?obsSet .\n  ?obsSet ?p ?o .",
+            cube + " cube:observationSet ?obsSet .\n    ?obsSet ?p ?o ."));
+        // Every branch starts at the cube so none of them scans the store on its own
+        String constraint = cube + " cube:observationConstraint ?constraint . ";
+        String nested = constraint + "?constraint sh:property/!rdf:type ?node . FILTER(isBlank(?node))\n            ";
+        queries.put("constraint", buildSubQuery(graphUri,
+            cube + " cube:observationConstraint ?constraint .\n  ?s ?p ?o .",
+            "{ " + constraint + "?constraint ?p ?o . BIND(?constraint AS ?s) }\n"
+                + "    UNION { " + constraint + "?constraint sh:property ?s . ?s ?p ?o . }\n"
+                + "    UNION { " + nested + "?node rdf:rest* ?s . ?s ?p ?o . }\n"
+                + "    UNION { " + nested + "?node rdf:rest*/rdf:first ?s . FILTER(isBlank(?s)) ?s ?p ?o . }"));
+        return queries;
+    }
+
+    private SubQueryResult runSubQuery(String name, String endpoint, String query, int timeout) {
+        log.debug("Executing {} sub-query:\n{}", name, query);
+        long start = System.nanoTime();
+        List<Triple> triples = new ArrayList<>();
+        try (QueryExecution qe = PagedObservationFetch.execution(endpoint, query, timeout)) {
+            qe.execConstructTriples().forEachRemaining(triples::add);
         }
+        return new SubQueryResult(name, triples, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private String buildSubQuery(String graphUri, String template, String pattern) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("PREFIX cube: <").append(CUBE_NS).append(">\n");
+        sb.append("PREFIX rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#>\n");
+        sb.append("PREFIX sh: <").append(SH_NS).append(">\n\n");
+        sb.append("CONSTRUCT {\n");
+        sb.append("  ").append(template).append("\n");
+        sb.append("} WHERE {\n");
+
+        if (graphUri != null && !graphUri.isBlank()) {
+            sb.append("  GRAPH <").append(graphUri).append("> {\n");
+        }
+
+        sb.append("    ").append(pattern).append("\n");
+
+        if (graphUri != null && !graphUri.isBlank()) {
+            sb.append("  }\n");
+        }
+
+        sb.append("}\n");
+        return sb.toString();
     }
 
     private Model fetchCube(String endpoint, String cubeUri, String graphUri, int timeout) {
@@ -140,4 +300,26 @@ public class FetchCubeOperation implements Operation {
         sb.append("}\n");
         return sb.toString();
     }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    private static int intParam(Object value, int defaultValue) {
+        if (value instanceof Number num) {
+            return num.intValue();
+        }
+        if (value instanceof String str && !str.isBlank()) {
+            try {
+                return Integer.parseInt(str.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    private record SubQueryResult(String name, List<Triple> triples, long elapsedMs) {
+    }
 }
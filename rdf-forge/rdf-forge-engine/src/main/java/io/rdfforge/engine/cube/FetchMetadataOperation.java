@@ -56,7 +56,9 @@ public class FetchMetadataOperation implements Operation {
             "endpoint", new ParameterSpec("endpoint", "SPARQL endpoint URL", String.class, true, null),
             "cubeUri", new ParameterSpec("cubeUri", "URI of the cube to fetch", String.class, true, null),
             "graphUri", new ParameterSpec("graphUri", "Named graph containing the cube (optional)", String.class, false, null),
-            "timeout", new ParameterSpec("timeout", "Query timeout in seconds", Integer.class, false, 60)
+            "timeout", new ParameterSpec("timeout", "Query timeout in seconds", Integer.class, false, 60),
+            "cacheTtl", CubeFetchCache.CACHE_TTL,
+            "cacheProbe", CubeFetchCache.CACHE_PROBE
         );
     }
 
@@ -70,9 +72,11 @@ public class FetchMetadataOperation implements Operation {
         log.info("Fetching metadata for cube {} from {}", cubeUri, endpoint);
 
         try {
-            Model result = fetchMetadata(endpoint, cubeUri, graphUri, timeout);
-
             Map<String, Object> metadata = new HashMap<>();
+            Model result = CubeFetchCache.fetch(context.parameters(), endpoint, cubeUri, graphUri,
+                buildMetadataQuery(cubeUri, graphUri), timeout, metadata,
+                () -> fetchMetadata(endpoint, cubeUri, graphUri, timeout));
+
             metadata.put("tripleCount", result.size());
             metadata.put("cubeUri", cubeUri);
             metadata.put("endpoint", endpoint);
@@ -3,22 +3,40 @@ package io.rdfforge.engine.cube;
 import io.rdfforge.engine.operation.Operation;
 import io.rdfforge.engine.operation.OperationException;
 import io.rdfforge.engine.operation.PluginInfo;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.jena.query.*;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.QueryExecution;
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.sparql.exec.http.QueryExecutionHTTP;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Operation to fetch only observations from a cube in a SPARQL endpoint.
  * Equivalent to barnard59's fetch-observations command.
+ *
+ * In {@code construct} mode a single CONSTRUCT is issued (the original behaviour).
+ * In {@code paged} mode the observation IRIs are enumerated with keyset
+ * pagination and fetched page by page concurrently (see {@link PagedObservationFetch}).
+ * Triples are consumed as they arrive, either into the output model or, with
+ * {@code output=stream}, as a {@code Stream<Triple>} that releases the fetch's
+ * endpoint permits when it is exhausted or closed.
+ * In both modes observations are counted while ingesting: as distinct subjects of
+ * the CONSTRUCT, or as the IRIs enumerated by the paged fetch.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 @PluginInfo(
     author = "RDF Forge",
     version = "1.0.0",
@@ -28,7 +46,17 @@ import java.util.concurrent.TimeUnit;
 )
 public class FetchObservationsOperation implements Operation {
 
-    private static final String CUBE_NS = "https://cube.link/";
+    private static final String CUBE_NS = PagedObservationFetch.CUBE_NS;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final EndpointPermits endpointPermits;
+
+    private final ExecutorService fetchExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "fetch-observations-" + THREAD_COUNTER.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
 
     @Override
     public String getId() {
@@ -58,56 +86,108 @@ public class FetchObservationsOperation implements Operation {
             "graphUri", new ParameterSpec("graphUri", "Named graph containing the cube (optional)", String.class, false, null),
             "limit", new ParameterSpec("limit", "Maximum observations to fetch (0 = unlimited)", Integer.class, false, 0),
             "offset", new ParameterSpec("offset", "Offset for pagination", Integer.class, false, 0),
-            "timeout", new ParameterSpec("timeout", "Query timeout in seconds", Integer.class, false, 120)
+            "timeout", new ParameterSpec("timeout", "Query timeout in seconds", Integer.class, false, 120),
+            "mode", new ParameterSpec("mode", "Fetch mode: construct (single query) or paged (keyset pages fetched concurrently)", String.class, false, "construct"),
+            "pageSize", new ParameterSpec("pageSize", "Observations per page in paged mode", Integer.class, false, 1000),
+            "parallelism", new ParameterSpec("parallelism", "Concurrent page fetches in paged mode", Integer.class, false, 4),
+            "output", new ParameterSpec("output", "Paged mode output: model or stream (Stream<Triple>)", String.class, false, "model")
         );
     }
 
     @Override
     public OperationResult execute(OperationContext context) throws OperationException {
-        String endpoint = (String) context.parameters().get("endpoint");
-        String cubeUri = (String) context.parameters().get("cubeUri");
-        String graphUri = (String) context.parameters().get("graphUri");
-        Integer limit = (Integer) context.parameters().getOrDefault("limit", 0);
-        Integer offset = (Integer) context.parameters().getOrDefault("offset", 0);
-        Integer timeout = (Integer) context.parameters().getOrDefault("timeout", 120);
-
-        log.info("Fetching observations for cube {} from {} (limit={}, offset={})",
-            cubeUri, endpoint, limit, offset);
+        Map<String, Object> params = context.parameters();
+        String endpoint = (String) params.get("endpoint");
+        String cubeUri = (String) params.get("cubeUri");
+        String graphUri = (String) params.get("graphUri");
+        int limit = Math.max(0, intParam(params.get("limit"), 0));
+        int offset = Math.max(0, intParam(params.get("offset"), 0));
+        int timeout = intParam(params.get("timeout"), 120);
+        String mode = String.valueOf(params.getOrDefault("mode", "construct")).trim().toLowerCase(Locale.ROOT);
+
+        log.info("Fetching observations for cube {} from {} (mode={}, limit={}, offset={})",
+            cubeUri, endpoint, mode, limit, offset);
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("cubeUri", cubeUri);
+        metadata.put("endpoint", endpoint);
+        metadata.put("limit", limit);
+        metadata.put("offset", offset);
+        metadata.put("mode", mode);
 
         try {
-            Model result = fetchObservations(endpoint, cubeUri, graphUri, limit, offset, timeout);
+            if (!"paged".equals(mode)) {
+                Model result = ModelFactory.createDefaultModel();
+                long obsCount = fetchObservations(result.getGraph(), endpoint, cubeUri, graphUri, limit, offset, timeout);
 
-            // Count observations
-            long obsCount = countObservations(result);
+                metadata.put("tripleCount", result.size());
+                metadata.put("observationCount", obsCount);
+                return new OperationResult(true, null, result, metadata, null);
+            }
+
+            int pageSize = Math.max(1, intParam(params.get("pageSize"), 1000));
+            int parallelism = Math.max(1, intParam(params.get("parallelism"), 4));
+            PagedObservationFetch fetch = new PagedObservationFetch(fetchExecutor, endpoint, cubeUri, graphUri,
+                limit, offset, timeout, pageSize, parallelism, endpointPermits.forEndpoint(endpoint)).start();
+
+            if ("stream".equals(String.valueOf(params.getOrDefault("output", "model")).trim().toLowerCase(Locale.ROOT))) {
+                metadata.put("pageSize", pageSize);
+                metadata.put("parallelism", parallelism);
+                Stream<Triple> triples = StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(fetch, Spliterator.NONNULL), false)
+                    .onClose(fetch::close);
+                return new OperationResult(true, triples, null, metadata, null);
+            }
+
+            Model result = ModelFactory.createDefaultModel();
+            long obsCount = ingest(fetch, result.getGraph(), context.callback());
 
-            Map<String, Object> metadata = new HashMap<>();
             metadata.put("tripleCount", result.size());
             metadata.put("observationCount", obsCount);
-            metadata.put("cubeUri", cubeUri);
-            metadata.put("endpoint", endpoint);
-            metadata.put("limit", limit);
-            metadata.put("offset", offset);
-
+            metadata.put("pagesFetched", fetch.getPagesFetched());
             return new OperationResult(true, null, result, metadata, null);
         } catch (Exception e) {
             log.error("Failed to fetch observations: {}", e.getMessage(), e);
-            throw new OperationException(getId(), "Failed to fetch observations: " + e.getMessage());
+            throw new OperationException(getId(), "Failed to fetch observations: " + e.getMessage(), e);
         }
     }
 
-    private Model fetchObservations(String endpoint, String cubeUri, String graphUri,
-                                    int limit, int offset, int timeout) {
+    private long fetchObservations(Graph graph, String endpoint, String cubeUri, String graphUri,
+                                   int limit, int offset, int timeout) {
         String query = buildObservationsQuery(cubeUri, graphUri, limit, offset);
         log.debug("Executing SPARQL query:\n{}", query);
 
-        Query q = QueryFactory.create(query);
-        try (QueryExecution qe = QueryExecutionHTTP.create()
-                .endpoint(endpoint)
-                .query(q)
-                .timeout(timeout, TimeUnit.SECONDS)
-                .build()) {
-            return qe.execConstruct();
+        // Every subject of the CONSTRUCT is an observation
+        Set<Node> observations = new HashSet<>();
+        try (QueryExecution qe = PagedObservationFetch.execution(endpoint, query, timeout)) {
+            Iterator<Triple> triples = qe.execConstructTriples();
+            while (triples.hasNext()) {
+                Triple triple = triples.next();
+                graph.add(triple);
+                observations.add(triple.getSubject());
+            }
+        }
+        return observations.size();
+    }
+
+    /**
+     * Drain a paged fetch into the graph on the calling thread, reporting progress
+     * per chunk.
+     */
+    private long ingest(PagedObservationFetch fetch, Graph graph, OperationCallback callback) {
+        long[] triples = {0};
+        long observations = fetch.drainInto(graph, (count, chunkSize) -> {
+            triples[0] += chunkSize;
+            if (callback != null) {
+                callback.onProgress(count, fetch.getTotal());
+            }
+        });
+        if (callback != null) {
+            callback.onMetric("observationCount", observations);
+            callback.onMetric("triplesFetched", triples[0]);
+            callback.onMetric("pagesFetched", fetch.getPagesFetched());
         }
+        return observations;
     }
 
     private String buildObservationsQuery(String cubeUri, String graphUri, int limit, int offset) {
@@ -142,15 +222,22 @@ public class FetchObservationsOperation implements Operation {
         return sb.toString();
     }
 
-    private long countObservations(Model model) {
-        String query = "PREFIX cube: <" + CUBE_NS + ">\n" +
-            "SELECT (COUNT(DISTINCT ?obs) AS ?count) WHERE { ?obs a cube:Observation }";
-        try (QueryExecution qe = QueryExecutionFactory.create(query, model)) {
-            ResultSet rs = qe.execSelect();
-            if (rs.hasNext()) {
-                return rs.next().getLiteral("count").getLong();
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    private static int intParam(Object value, int defaultValue) {
+        if (value instanceof Number num) {
+            return num.intValue();
+        }
+        if (value instanceof String str && !str.isBlank()) {
+            try {
+                return Integer.parseInt(str.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
             }
         }
-        return 0;
+        return defaultValue;
     }
 }
@@ -0,0 +1,364 @@
+package io.rdfforge.engine.cube;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.sparql.exec.http.QueryExecutionHTTP;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keyset-paginated fetch of the observations of a cube.
+ *
+ * An enumerator walks the observation IRIs page by page ({@code ORDER BY STR(?obs)}
+ * plus a {@code FILTER} on the last key instead of an ever-growing OFFSET) and
+ * hands each page to the executor; page workers run a {@code VALUES}-bound
+ * CONSTRUCT and push chunks of triples into a bounded queue that the consumer
+ * drains. Concurrency is bounded per fetch and by a limit shared by all fetches
+ * against the same endpoint ({@link EndpointPermits}). Observations are counted
+ * from the enumerated IRIs, so ones without an {@code rdf:type} count too.
+ * Closing (or any failure) stops the enumerator and the workers at their next
+ * chunk, and the workers then give back their permits; a fetch that is not
+ * drained to the end must be closed.
+ */
+@Slf4j
+final class PagedObservationFetch implements Iterator<Triple>, AutoCloseable {
+
+    static final String CUBE_NS = "https://cube.link/";
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long POLL_MILLIS = 100;
+
+    private final Executor executor;
+    private final String endpoint;
+    private final String cubeUri;
+    private final String graphUri;
+    private final int limit;
+    private final int offset;
+    private final int timeout;
+    private final int pageSize;
+    private final Semaphore executionPermits;
+    private final Semaphore endpointPermits;
+
+    private final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Phaser inFlight = new Phaser(1);
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong enumerated = new AtomicLong();
+    private final AtomicLong pagesFetched = new AtomicLong();
+    private volatile boolean exhausted;
+    private volatile boolean finished;
+
+    private Iterator<Triple> current = Collections.emptyIterator();
+
+    PagedObservationFetch(Executor executor, String endpoint, String cubeUri, String graphUri,
+                          int limit, int offset, int timeout, int pageSize, int parallelism,
+                          Semaphore endpointPermits) {
+        this.executor = executor;
+        this.endpoint = endpoint;
+        this.cubeUri = cubeUri;
+        this.graphUri = graphUri;
+        this.limit = limit;
+        this.offset = offset;
+        this.timeout = timeout;
+        this.pageSize = pageSize;
+        this.executionPermits = new Semaphore(parallelism);
+        this.endpointPermits = endpointPermits;
+    }
+
+    /**
+     * Start enumerating on the executor. Returns immediately.
+     */
+    PagedObservationFetch start() {
+        executor.execute(this::enumerate);
+        return this;
+    }
+
+    long getPagesFetched() {
+        return pagesFetched.get();
+    }
+
+    /**
+     * Observations enumerated so far, or -1 while enumeration is still running.
+     */
+    long getTotal() {
+        return exhausted ? enumerated.get() : -1;
+    }
+
+    /**
+     * Drain every remaining chunk into the graph on the calling thread and return the
+     * number of observations fetched. The listener is called after each chunk with the
+     * number of observations whose page has been fully added.
+     */
+    long drainInto(Graph graph, ChunkListener listener) {
+        long observations = 0;
+        try {
+            Chunk chunk;
+            while ((chunk = nextChunk()) != null) {
+                chunk.triples().forEach(graph::add);
+                observations += chunk.observations();
+                if (listener != null) {
+                    listener.onChunk(observations, chunk.triples().size());
+                }
+            }
+        } finally {
+            close();
+        }
+        return observations;
+    }
+
+    static QueryExecution execution(String endpoint, String query, int timeout) {
+        Query q = QueryFactory.create(query);
+        return QueryExecutionHTTP.create()
+            .endpoint(endpoint)
+            .query(q)
+            .timeout(timeout, TimeUnit.SECONDS)
+            .build();
+    }
+
+    private void enumerate() {
+        try {
+            String afterKey = null;
+            boolean first = true;
+            while (!cancelled.get()) {
+                int pageLimit = limit > 0 ? (int) Math.min(pageSize, limit - enumerated.get()) : pageSize;
+                if (pageLimit <= 0) {
+                    break;
+                }
+                List<String> page = enumeratePage(afterKey, pageLimit, first ? offset : 0);
+                first = false;
+                if (page.isEmpty()) {
+                    break;
+                }
+                enumerated.addAndGet(page.size());
+                afterKey = page.get(page.size() - 1);
+                submit(page);
+                if (page.size() < pageLimit) {
+                    break;
+                }
+            }
+            exhausted = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            inFlight.arriveAndAwaitAdvance();
+            finished = true;
+        }
+    }
+
+    private List<String> enumeratePage(String afterKey, int pageLimit, int pageOffset) {
+        String query = buildKeysetQuery(afterKey, pageLimit, pageOffset);
+        List<String> page = new ArrayList<>(pageLimit);
+        try (QueryExecution qe = execution(endpoint, query, timeout)) {
+            ResultSet rs = qe.execSelect();
+            while (rs.hasNext()) {
+                page.add(rs.next().getResource("obs").getURI());
+            }
+        }
+        return page;
+    }
+
+    private void submit(List<String> page) throws InterruptedException {
+        executionPermits.acquire();
+        try {
+            endpointPermits.acquire();
+        } catch (InterruptedException e) {
+            executionPermits.release();
+            throw e;
+        }
+        if (cancelled.get()) {
+            endpointPermits.release();
+            executionPermits.release();
+            return;
+        }
+        inFlight.register();
+        try {
+            executor.execute(() -> fetchPage(page));
+        } catch (RejectedExecutionException e) {
+            release();
+            throw e;
+        }
+    }
+
+    private void fetchPage(List<String> page) {
+        try (QueryExecution qe = execution(endpoint, buildPageQuery(page), timeout)) {
+            Iterator<Triple> triples = qe.execConstructTriples();
+            List<Triple> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (triples.hasNext() && !cancelled.get()) {
+                chunk.add(triples.next());
+                if (chunk.size() >= CHUNK_SIZE) {
+                    offer(new Chunk(chunk, 0));
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!cancelled.get()) {
+                // The last chunk of a page carries its observation count, even when empty
+                offer(new Chunk(chunk, page.size()));
+                pagesFetched.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            release();
+        }
+    }
+
+    private void release() {
+        endpointPermits.release();
+        executionPermits.release();
+        inFlight.arriveAndDeregister();
+    }
+
+    private void offer(Chunk chunk) throws InterruptedException {
+        while (!cancelled.get()) {
+            if (queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private void fail(Throwable e) {
+        if (failure.compareAndSet(null, e)) {
+            log.warn("Paged observation fetch from {} failed: {}", endpoint, e.getMessage());
+        }
+        cancelled.set(true);
+    }
+
+    /**
+     * Stop the enumerator and the workers. Workers blocked on a full queue return
+     * within {@value #POLL_MILLIS} ms and release their permits.
+     */
+    @Override
+    public void close() {
+        cancelled.set(true);
+        queue.clear();
+    }
+
+    /**
+     * Next chunk of triples, or null once every page has been delivered.
+     */
+    Chunk nextChunk() {
+        try {
+            while (true) {
+                Throwable error = failure.get();
+                if (error != null) {
+                    throw new IllegalStateException("Observation fetch failed: " + error.getMessage(), error);
+                }
+                boolean done = finished;
+                Chunk chunk = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (chunk != null) {
+                    return chunk;
+                }
+                if (done && queue.isEmpty()) {
+                    return null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("Interrupted while fetching observations", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            Chunk chunk = nextChunk();
+            if (chunk == null) {
+                close();
+                return false;
+            }
+            current = chunk.triples().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Triple next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    private String buildKeysetQuery(String afterKey, int pageLimit, int pageOffset) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("PREFIX cube: <").append(CUBE_NS).append(">\n\n");
+        sb.append("SELECT DISTINCT ?obs WHERE {\n");
+
+        if (graphUri != null && !graphUri.isBlank()) {
+            sb.append("  GRAPH <").append(graphUri).append("> {\n");
+        }
+
+        sb.append("    <").append(cubeUri).append("> cube:observationSet ?obsSet .\n");
+        sb.append("    ?obsSet cube:observation ?obs .\n");
+        sb.append("    FILTER(isIRI(?obs))\n");
+        if (afterKey != null) {
+            sb.append("    FILTER(STR(?obs) > \"").append(escapeLiteral(afterKey)).append("\")\n");
+        }
+
+        if (graphUri != null && !graphUri.isBlank()) {
+            sb.append("  }\n");
+        }
+
+        sb.append("}\n");
+        sb.append("ORDER BY STR(?obs)\n");
+        sb.append("LIMIT ").append(pageLimit).append("\n");
+        if (pageOffset > 0) {
+            sb.append("OFFSET ").append(pageOffset).append("\n");
+        }
+        return sb.toString();
+    }
+
+    private String buildPageQuery(List<String> observations) {
+        StringBuilder sb = new StringBuilder(64 + observations.size() * 80);
+        sb.append("CONSTRUCT {\n");
+        sb.append("  ?obs ?p ?v .\n");
+        sb.append("} WHERE {\n");
+
+        if (graphUri != null && !graphUri.isBlank()) {
+            sb.append("  GRAPH <").append(graphUri).append("> {\n");
+        }
+
+        sb.append("    VALUES ?obs {");
+        for (String obs : observations) {
+            sb.append(" <").append(obs).append('>');
+        }
+        sb.append(" }\n");
+        sb.append("    ?obs ?p ?v .\n");
+
+        if (graphUri != null && !graphUri.isBlank()) {
+            sb.append("  }\n");
+        }
+
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String escapeLiteral(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    record Chunk(List<Triple> triples, int observations) {
+    }
+
+    @FunctionalInterface
+    interface ChunkListener {
+        void onChunk(long observations, int chunkSize);
+    }
+}
@@ -1,20 +1,44 @@
 package io.rdfforge.engine.operation.format;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rdfforge.engine.csvw.CsvwTableConverter;
 import io.rdfforge.engine.operation.Operation;
 import io.rdfforge.engine.operation.OperationException;
 import io.rdfforge.engine.operation.Operation.OperationResult;
 import io.rdfforge.engine.operation.Operation.OperationContext;
 import io.rdfforge.engine.operation.Operation.ParameterSpec;
 import io.rdfforge.engine.operation.Operation.OperationType;
+import io.rdfforge.engine.operation.source.SourceParsers;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
 
+/**
+ * Converts CSV to RDF following CSV on the Web metadata (minimal mode).
+ *
+ * The table schema is compiled once into a {@link CsvwTableConverter}; rows are
+ * then pulled from the input stream (or the CSV referenced by the metadata) in
+ * batches and, when {@code parallel} is set, each batch is converted on the
+ * common fork-join pool before its triples are added to the model.
+ */
 @Slf4j
 @Component
 public class CsvwParseOperation implements Operation {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ROW_NUMBER_KEY = "_rowNumber";
+
     @Override
     public String getId() {
         return "csvw-parse";
@@ -38,12 +62,152 @@ public class CsvwParseOperation implements Operation {
     @Override
     public Map<String, ParameterSpec> getParameters() {
         return Map.of(
-            "metadata", new ParameterSpec("metadata", "CSVW Metadata (JSON)", String.class, true, null)
+            "metadata", new ParameterSpec("metadata", "CSVW Metadata (JSON or path to a metadata file)", String.class, true, null),
+            "file", new ParameterSpec("file", "CSV file (defaults to the metadata url when there is no input stream)", String.class, false, null),
+            "base", new ParameterSpec("base", "Absolute URL of the table, overrides the metadata url", String.class, false, null),
+            "parallel", new ParameterSpec("parallel", "Convert row batches in parallel", Boolean.class, false, true),
+            "batchSize", new ParameterSpec("batchSize", "Rows per conversion batch", Integer.class, false, 4096)
         );
     }
 
     @Override
     public OperationResult execute(OperationContext context) throws OperationException {
-        return new OperationResult(true, null, null, null, null);
+        Map<String, Object> params = context.parameters();
+        String metadataParam = (String) params.get("metadata");
+        boolean parallel = !"false".equalsIgnoreCase(String.valueOf(params.getOrDefault("parallel", true)));
+        Object batchParam = params.getOrDefault("batchSize", 4096);
+        int batchSize = Math.max(1, batchParam instanceof Number n ? n.intValue() : Integer.parseInt(batchParam.toString()));
+
+        if (metadataParam == null || metadataParam.isBlank()) {
+            throw new OperationException(getId(), "Parameter 'metadata' is required");
+        }
+
+        try {
+            Path metadataPath = null;
+            JsonNode metadata;
+            if (metadataParam.trim().startsWith("{")) {
+                metadata = OBJECT_MAPPER.readTree(metadataParam);
+            } else {
+                metadataPath = Path.of(metadataParam);
+                metadata = OBJECT_MAPPER.readTree(metadataPath.toFile());
+            }
+            JsonNode table = CsvwTableConverter.singleTable(metadata);
+
+            Path csvPath = resolveCsvPath((String) params.get("file"), table, metadataPath);
+            String tableUrl = resolveTableUrl((String) params.get("base"), table, csvPath);
+            CsvwTableConverter converter = CsvwTableConverter.compile(table, tableUrl);
+
+            Stream<?> rows;
+            if (context.inputStream() != null) {
+                rows = context.inputStream();
+            } else if (csvPath != null) {
+                JsonNode dialect = table.has("dialect") ? table.get("dialect") : metadata.path("dialect");
+                InputStream in = Files.newInputStream(csvPath);
+                rows = SourceParsers.csvRows(
+                    in,
+                    StandardCharsets.UTF_8,
+                    dialect.path("delimiter").asText(",").charAt(0),
+                    dialect.path("header").asBoolean(true),
+                    dialect.path("skipRows").asInt(0)
+                ).rows();
+            } else {
+                throw new OperationException(getId(), "No input stream and no CSV file to read");
+            }
+
+            Model model = ModelFactory.createDefaultModel();
+            long processed = convert(rows, converter, model.getGraph(), parallel, batchSize, context.callback());
+
+            if (context.callback() != null) {
+                context.callback().onLog("INFO", "Converted " + processed + " CSVW rows to " + model.size() + " triples");
+                context.callback().onMetric("rowsProcessed", processed);
+                context.callback().onMetric("triplesGenerated", model.size());
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("tableUrl", tableUrl);
+            result.put("columns", converter.getColumnNames());
+            result.put("rowsProcessed", processed);
+            result.put("triplesGenerated", model.size());
+
+            return new OperationResult(true, null, model, result, null);
+
+        } catch (OperationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OperationException(getId(), "Error converting CSVW: " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private long convert(Stream<?> rows, CsvwTableConverter converter, Graph graph, boolean parallel,
+                         int batchSize, OperationCallback callback) {
+        long processed = 0;
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+
+        try (rows) {
+            Iterator<?> it = rows.iterator();
+            while (it.hasNext()) {
+                Object item = it.next();
+                if (!(item instanceof Map)) {
+                    continue;
+                }
+                Map<String, Object> row = (Map<String, Object>) item;
+                processed++;
+                if (!row.containsKey(ROW_NUMBER_KEY)) {
+                    row = new HashMap<>(row);
+                    row.put(ROW_NUMBER_KEY, processed);
+                }
+                batch.add(row);
+
+                if (batch.size() >= batchSize) {
+                    flush(batch, converter, graph, parallel);
+                    batch = new ArrayList<>(batchSize);
+                    if (callback != null) {
+                        callback.onProgress(processed, -1);
+                    }
+                }
+            }
+            flush(batch, converter, graph, parallel);
+        }
+        return processed;
+    }
+
+    private void flush(List<Map<String, Object>> batch, CsvwTableConverter converter, Graph graph, boolean parallel) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Conversion is side-effect free; only the model insert has to stay on this thread
+        Stream<Map<String, Object>> stream = parallel && batch.size() > 1 ? batch.parallelStream() : batch.stream();
+        List<List<Triple>> converted = stream.map(converter::convert).toList();
+        for (List<Triple> triples : converted) {
+            triples.forEach(graph::add);
+        }
+    }
+
+    private Path resolveCsvPath(String file, JsonNode table, Path metadataPath) {
+        if (file != null && !file.isBlank()) {
+            return Path.of(file);
+        }
+        String url = table.path("url").asText(null);
+        if (url == null || url.contains("://")) {
+            return null;
+        }
+        return metadataPath != null && metadataPath.getParent() != null
+            ? metadataPath.getParent().resolve(url)
+            : Path.of(url);
+    }
+
+    private String resolveTableUrl(String base, JsonNode table, Path csvPath) {
+        if (base != null && !base.isBlank()) {
+            return base;
+        }
+        String url = table.path("url").asText(null);
+        if (url != null && url.contains("://")) {
+            return url;
+        }
+        if (csvPath != null) {
+            return csvPath.toAbsolutePath().toUri().toString();
+        }
+        return "urn:rdf-forge:csvw:" + (url != null ? url : "table");
     }
-}
\ No newline at end of file
+}
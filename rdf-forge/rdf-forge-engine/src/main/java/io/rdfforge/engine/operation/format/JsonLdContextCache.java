@@ -0,0 +1,184 @@
+package io.rdfforge.engine.operation.format;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import com.apicatalog.jsonld.loader.HttpLoader;
+import com.apicatalog.jsonld.loader.SchemeRouter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide JSON-LD document loader that caches remote {@code @context}s. The
+ * capacity is set with {@code rdfforge.jsonld.context-cache-size} (256 by default).
+ *
+ * Contexts listed in {@code jsonld/contexts/index.json} on the classpath are
+ * preloaded and never fetched. Everything else is loaded once through the default
+ * scheme router and kept in a size-bounded LRU, so a run that parses thousands of
+ * documents sharing a context dereferences it a single time.
+ *
+ * Cached entries are keyed by URL and the Accept header the request profiles
+ * produce, so a context negotiated for one profile is never served for another.
+ * The loader sends no Authorization header of its own; URLs carrying credentials
+ * in their user info are fetched every time and never cached. Contexts supplied by
+ * a pipeline only live in the loader of that execution, see {@link #withContexts}.
+ */
+@Slf4j
+@Component
+public class JsonLdContextCache implements DocumentLoader {
+
+    private static final String PRELOAD_INDEX = "jsonld/contexts/index.json";
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final Map<URI, Document> preloaded = new ConcurrentHashMap<>();
+    private final Map<ContextKey, Document> cache;
+    private final DocumentLoader delegate;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public JsonLdContextCache(
+            @Value("${rdfforge.jsonld.context-cache-size:" + DEFAULT_MAX_ENTRIES + "}") int maxEntries) {
+        this(maxEntries, SchemeRouter.defaultInstance());
+    }
+
+    public JsonLdContextCache(int maxEntries, DocumentLoader delegate) {
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ContextKey, Document> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        preloadFromClasspath();
+    }
+
+    @Override
+    public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+        Document document = preloaded.get(url);
+        if (document != null) {
+            hits.incrementAndGet();
+            return document;
+        }
+        if (url.getUserInfo() != null) {
+            misses.incrementAndGet();
+            return delegate.loadDocument(url, options);
+        }
+
+        ContextKey key = new ContextKey(url, acceptHeader(options));
+        synchronized (cache) {
+            document = cache.get(key);
+        }
+        if (document != null) {
+            hits.incrementAndGet();
+            return document;
+        }
+
+        misses.incrementAndGet();
+        log.debug("Loading JSON-LD context {}", url);
+        document = delegate.loadDocument(url, options);
+        synchronized (cache) {
+            cache.put(key, document);
+        }
+        return document;
+    }
+
+    private static String acceptHeader(DocumentLoaderOptions options) {
+        if (options == null || options.getRequestProfile() == null || options.getRequestProfile().isEmpty()) {
+            return HttpLoader.getAcceptHeader();
+        }
+        return HttpLoader.getAcceptHeader(options.getRequestProfile());
+    }
+
+    /**
+     * A loader for one execution that serves the given context documents, e.g. inline
+     * contexts from pipeline parameters or vendored copies for offline runs, and
+     * everything else through this cache. The documents never enter the cache, so
+     * one pipeline cannot shadow a context URL for later jobs.
+     *
+     * @param contexts context JSON by URL
+     */
+    public DocumentLoader withContexts(Map<String, String> contexts) throws JsonLdError {
+        if (contexts.isEmpty()) {
+            return this;
+        }
+        Map<URI, Document> supplied = new HashMap<>();
+        for (Map.Entry<String, String> entry : contexts.entrySet()) {
+            URI url = URI.create(entry.getKey());
+            supplied.put(url, parse(url, entry.getValue().getBytes(StandardCharsets.UTF_8)));
+        }
+        return (url, options) -> {
+            Document document = supplied.get(url);
+            return document != null ? document : loadDocument(url, options);
+        };
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size() + preloaded.size();
+        }
+    }
+
+    private void preloadFromClasspath() {
+        ClassLoader loader = JsonLdContextCache.class.getClassLoader();
+        try (InputStream index = loader.getResourceAsStream(PRELOAD_INDEX)) {
+            if (index == null) {
+                return;
+            }
+            Map<String, String> entries = new ObjectMapper().readValue(index, new TypeReference<>() {});
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                try (InputStream in = loader.getResourceAsStream("jsonld/contexts/" + entry.getValue())) {
+                    if (in == null) {
+                        log.warn("Preloaded JSON-LD context {} not found", entry.getValue());
+                        continue;
+                    }
+                    URI url = URI.create(entry.getKey());
+                    preloaded.put(url, parse(url, in.readAllBytes()));
+                }
+            }
+            log.debug("Preloaded {} JSON-LD contexts", preloaded.size());
+        } catch (Exception e) {
+            log.warn("Could not preload JSON-LD contexts: {}", e.getMessage());
+        }
+    }
+
+    private static Document parse(URI url, byte[] json) throws JsonLdError {
+        try {
+            Document document = JsonDocument.of(new ByteArrayInputStream(json));
+            document.setDocumentUrl(url);
+            return document;
+        } catch (JsonLdError e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Invalid context " + url + ": " + e.getMessage());
+        }
+    }
+
+    private record ContextKey(URI url, String accept) {
+    }
+}
@@ -1,20 +1,70 @@
 package io.rdfforge.engine.operation.format;
 
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.RdfLiteral;
+import com.apicatalog.rdf.RdfNQuad;
+import com.apicatalog.rdf.RdfValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.rdfforge.engine.operation.Operation;
 import io.rdfforge.engine.operation.OperationException;
 import io.rdfforge.engine.operation.Operation.OperationResult;
 import io.rdfforge.engine.operation.Operation.OperationContext;
 import io.rdfforge.engine.operation.Operation.ParameterSpec;
 import io.rdfforge.engine.operation.Operation.OperationType;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
 
+/**
+ * Streams JSON-LD into triples.
+ *
+ * Input is either a JSON-LD file whose root is an array of nodes (or an object
+ * with a {@code @graph} array), or the row stream of an upstream JSON source where
+ * each row is a node. Nodes are read one at a time with a streaming JSON parser
+ * and expanded in batches of {@code batchSize}, so memory does not grow with the
+ * document size. Remote contexts are resolved through the process-wide
+ * {@link JsonLdContextCache}; contexts given in {@code contexts} apply to this
+ * execution only. A root {@code @context} must come before {@code @graph} unless
+ * the whole document is one batch, since earlier batches are already converted.
+ *
+ * Blank node identifiers are scoped to a batch; documents that reference the same
+ * blank node from nodes far apart should use {@code batchSize} 0 (single batch).
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JsonLdParseOperation implements Operation {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final JsonLdContextCache contextCache;
+
     @Override
     public String getId() {
         return "jsonld-parse";
@@ -37,11 +87,250 @@ public class JsonLdParseOperation implements Operation {
 
     @Override
     public Map<String, ParameterSpec> getParameters() {
-        return Map.of();
+        return Map.of(
+            "file", new ParameterSpec("file", "Path to a JSON-LD file (otherwise the input stream is used)", String.class, false, null),
+            "context", new ParameterSpec("context", "Context applied to every node: a URL or inline JSON", String.class, false, null),
+            "contexts", new ParameterSpec("contexts", "Additional offline contexts as JSON object {url: context}", String.class, false, null),
+            "base", new ParameterSpec("base", "Base IRI for relative references", String.class, false, null),
+            "batchSize", new ParameterSpec("batchSize", "Nodes expanded per batch (0 = whole document)", Integer.class, false, 1000)
+        );
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public OperationResult execute(OperationContext context) throws OperationException {
-        return new OperationResult(true, null, null, null, null);
+        Map<String, Object> params = context.parameters();
+        String file = (String) params.get("file");
+        String base = (String) params.get("base");
+        Object batchParam = params.getOrDefault("batchSize", 1000);
+        int batchSize = batchParam instanceof Number n ? n.intValue() : Integer.parseInt(batchParam.toString());
+
+        long hitsBefore = contextCache.getHits();
+        long missesBefore = contextCache.getMisses();
+
+        try {
+            DocumentLoader loader = contextCache.withContexts(suppliedContexts(params.get("contexts")));
+            JsonNode sharedContext = parseContextParam(params.get("context"));
+
+            Model model = ModelFactory.createDefaultModel();
+            BatchConverter converter = new BatchConverter(model.getGraph(), loader, base, batchSize);
+
+            if (file != null && !file.isBlank()) {
+                Path path = Path.of(file);
+                if (!Files.exists(path)) {
+                    throw new OperationException(getId(), "File not found: " + file);
+                }
+                streamFile(path, sharedContext, converter);
+            } else if (context.inputStream() != null) {
+                converter.setContext(sharedContext);
+                try (Stream<?> input = context.inputStream()) {
+                    Iterator<?> it = input.iterator();
+                    while (it.hasNext()) {
+                        Object item = it.next();
+                        if (item instanceof Map<?, ?> row) {
+                            converter.add(OBJECT_MAPPER.valueToTree(row));
+                        } else if (item instanceof String json) {
+                            converter.add(OBJECT_MAPPER.readTree(json));
+                        } else if (item instanceof JsonNode node) {
+                            converter.add(node);
+                        } else if (item != null) {
+                            throw new OperationException(getId(), "Unsupported input row type "
+                                + item.getClass().getName() + "; expected a JSON object, map or JSON string");
+                        }
+                    }
+                }
+            } else {
+                throw new OperationException(getId(), "Either 'file' or an input stream is required");
+            }
+            converter.flush();
+
+            long contextLoads = contextCache.getMisses() - missesBefore;
+            long contextHits = contextCache.getHits() - hitsBefore;
+            if (context.callback() != null) {
+                context.callback().onLog("INFO", "Parsed " + converter.nodes + " JSON-LD nodes into " + model.size() +
+                    " triples (" + contextLoads + " context fetches)");
+                context.callback().onMetric("nodesParsed", converter.nodes);
+                context.callback().onMetric("triplesGenerated", model.size());
+                context.callback().onMetric("contextFetches", contextLoads);
+                context.callback().onMetric("contextCacheHits", contextHits);
+            }
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("nodesParsed", converter.nodes);
+            metadata.put("triplesGenerated", model.size());
+            metadata.put("contextFetches", contextLoads);
+            metadata.put("contextCacheHits", contextHits);
+
+            return new OperationResult(true, null, model, metadata, null);
+
+        } catch (OperationException e) {
+            throw e;
+        } catch (JsonLdError e) {
+            throw new OperationException(getId(), "Invalid JSON-LD: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new OperationException(getId(), "Error parsing JSON-LD: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Walk the file with a streaming parser, handing each top-level node to the
+     * converter. A root-level {@code @context} is kept and applied to every batch.
+     */
+    private void streamFile(Path path, JsonNode sharedContext, BatchConverter converter)
+            throws IOException, JsonLdError {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(path.toFile())) {
+            JsonToken root = parser.nextToken();
+            converter.setContext(sharedContext);
+
+            if (root == JsonToken.START_ARRAY) {
+                streamArray(parser, converter);
+                return;
+            }
+            if (root != JsonToken.START_OBJECT) {
+                throw new IOException("Expected JSON object or array at root");
+            }
+
+            ObjectNode rest = OBJECT_MAPPER.createObjectNode();
+            boolean sawGraph = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("@context".equals(field) && sharedContext == null) {
+                    if (converter.batchesConverted > 0) {
+                        throw new IOException("Root @context follows @graph and would not apply to nodes already "
+                            + "converted; move it before @graph or set batchSize to 0");
+                    }
+                    converter.setContext(OBJECT_MAPPER.readTree(parser));
+                } else if ("@graph".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    sawGraph = true;
+                    streamArray(parser, converter);
+                } else {
+                    rest.set(field, OBJECT_MAPPER.readTree(parser));
+                }
+            }
+            // A plain node object, or the properties of a named graph / top-level node alongside @graph
+            if (!sawGraph || rest.size() > 0) {
+                converter.add(rest);
+            }
+        }
+    }
+
+    private void streamArray(JsonParser parser, BatchConverter converter) throws IOException, JsonLdError {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            converter.add(OBJECT_MAPPER.readTree(parser));
+        }
+    }
+
+    private JsonNode parseContextParam(Object value) throws IOException {
+        if (value instanceof Map<?, ?> map) {
+            return OBJECT_MAPPER.valueToTree(map);
+        }
+        if (value instanceof String str && !str.isBlank()) {
+            String trimmed = str.trim();
+            if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+                JsonNode node = OBJECT_MAPPER.readTree(trimmed);
+                return node.has("@context") ? node.get("@context") : node;
+            }
+            return OBJECT_MAPPER.getNodeFactory().textNode(trimmed);
+        }
+        return null;
+    }
+
+    private Map<String, String> suppliedContexts(Object value) throws IOException {
+        if (value == null) {
+            return Map.of();
+        }
+        JsonNode contexts = value instanceof String str ? OBJECT_MAPPER.readTree(str) : OBJECT_MAPPER.valueToTree(value);
+        Map<String, String> supplied = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = contexts.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode ctx = entry.getValue().has("@context")
+                ? entry.getValue()
+                : OBJECT_MAPPER.createObjectNode().set("@context", entry.getValue());
+            supplied.put(entry.getKey(), OBJECT_MAPPER.writeValueAsString(ctx));
+        }
+        return supplied;
+    }
+
+    /**
+     * Accumulates nodes and converts each full batch into triples.
+     */
+    private static final class BatchConverter {
+        private final Graph graph;
+        private final DocumentLoader loader;
+        private final String base;
+        private final int batchSize;
+        private ArrayNode batch = OBJECT_MAPPER.createArrayNode();
+        private JsonNode context;
+        private long nodes;
+        private int batchesConverted;
+
+        BatchConverter(Graph graph, DocumentLoader loader, String base, int batchSize) {
+            this.graph = graph;
+            this.loader = loader;
+            this.base = base;
+            this.batchSize = batchSize;
+        }
+
+        void setContext(JsonNode context) {
+            this.context = context;
+        }
+
+        void add(JsonNode node) throws IOException, JsonLdError {
+            if (node == null || node.isNull() || node.isEmpty()) {
+                return;
+            }
+            batch.add(node);
+            nodes++;
+            if (batchSize > 0 && batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException, JsonLdError {
+            if (batch.isEmpty()) {
+                return;
+            }
+            ObjectNode document = OBJECT_MAPPER.createObjectNode();
+            if (context != null) {
+                document.set("@context", context);
+            }
+            document.set("@graph", batch);
+            batch = OBJECT_MAPPER.createArrayNode();
+            batchesConverted++;
+
+            var toRdf = JsonLd.toRdf(JsonDocument.of(new ByteArrayInputStream(OBJECT_MAPPER.writeValueAsBytes(document))))
+                .loader(loader);
+            if (base != null && !base.isBlank()) {
+                toRdf.base(URI.create(base));
+            }
+            RdfDataset dataset = toRdf.get();
+
+            // Blank node labels produced by the expansion are only unique within this batch
+            Map<String, Node> blankNodes = new HashMap<>();
+            for (RdfNQuad quad : dataset.toList()) {
+                graph.add(Triple.create(
+                    toNode(quad.getSubject(), blankNodes),
+                    toNode(quad.getPredicate(), blankNodes),
+                    toNode(quad.getObject(), blankNodes)
+                ));
+            }
+        }
+
+        private static Node toNode(RdfValue value, Map<String, Node> blankNodes) {
+            if (value.isBlankNode()) {
+                return blankNodes.computeIfAbsent(value.getValue(), label -> NodeFactory.createBlankNode());
+            }
+            if (value.isLiteral()) {
+                RdfLiteral literal = value.asLiteral();
+                if (literal.getLanguage().isPresent()) {
+                    return NodeFactory.createLiteralLang(literal.getValue(), literal.getLanguage().get());
+                }
+                return NodeFactory.createLiteral(literal.getValue(),
+                    TypeMapper.getInstance().getSafeTypeByName(literal.getDatatype()));
+            }
+            return NodeFactory.createURI(value.getValue());
+        }
     }
-}
\ No newline at end of file
+}
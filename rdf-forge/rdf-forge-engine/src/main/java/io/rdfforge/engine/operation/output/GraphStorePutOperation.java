@@ -2,22 +2,77 @@ package io.rdfforge.engine.operation.output;
 
 import io.rdfforge.engine.operation.Operation;
 import io.rdfforge.engine.operation.OperationException;
+import io.rdfforge.engine.rdf.BinaryRdf;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.util.iterator.ExtendedIterator;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
-import java.net.HttpURLConnection;
+import java.net.ConnectException;
 import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Uploads a model to a SPARQL Graph Store Protocol endpoint in batches.
+ *
+ * Triples are read from the model {@code batchSize} at a time, serialized and
+ * gzipped into a request body, and sent over a shared pooled HTTP client with up to
+ * {@code concurrency} batches in flight, so memory stays bounded by a few batches
+ * instead of a full serialized copy of the model. The first batch is sent with the
+ * configured method (PUT replaces the graph) and completes before the rest are
+ * appended with POST. Batches are retried with backoff on I/O errors, 429 and
+ * 5xx responses, honouring Retry-After up to the backoff cap. Re-sending the PUT
+ * or a batch of ground triples is harmless because a graph is a set, but a
+ * re-sent POST with blank nodes would add fresh copies of them if the first
+ * attempt was applied. Such a batch is only retried when it cannot have been
+ * applied (429, or no connection); otherwise the upload fails, and the data
+ * should be skolemized to make retries safe.
+ *
+ * Blank node labels are scoped to a single request, so triples with blank nodes
+ * are held back and sent last, each group of triples connected through blank nodes
+ * kept within one batch. Groups are packed up to {@code batchSize}; a single group
+ * larger than that is sent on its own. At most {@code maxBlankNodeTriples} such
+ * triples are held; beyond that the upload fails rather than buffering without
+ * bound, and the data should be skolemized first.
+ */
 @Slf4j
 @Component
 public class GraphStorePutOperation implements Operation {
 
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(30))
+        .build();
+
+    private final ExecutorService uploadExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "gsp-upload-" + THREAD_COUNTER.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
     @Override
     public String getId() {
         return "graph-store-put";
@@ -40,25 +95,31 @@ public class GraphStorePutOperation implements Operation {
 
     @Override
     public Map<String, ParameterSpec> getParameters() {
-        return Map.of(
-            "endpoint", new ParameterSpec("endpoint", "Graph Store endpoint URL", String.class, true, null),
-            "graph", new ParameterSpec("graph", "Target graph URI (null for default)", String.class, false, null),
-            "method", new ParameterSpec("method", "HTTP method (PUT or POST)", String.class, false, "PUT"),
-            "username", new ParameterSpec("username", "Basic auth username", String.class, false, null),
-            "password", new ParameterSpec("password", "Basic auth password", String.class, false, null),
-            "format", new ParameterSpec("format", "RDF format (turtle, ntriples, rdfxml)", String.class, false, "ntriples"),
-            "batchSize", new ParameterSpec("batchSize", "Batch size for large uploads", Integer.class, false, 10000)
+        return Map.ofEntries(
+            Map.entry("endpoint", new ParameterSpec("endpoint", "Graph Store endpoint URL", String.class, true, null)),
+            Map.entry("graph", new ParameterSpec("graph", "Target graph URI (null for default)", String.class, false, null)),
+            Map.entry("method", new ParameterSpec("method", "HTTP method (PUT or POST)", String.class, false, "PUT")),
+            Map.entry("username", new ParameterSpec("username", "Basic auth username", String.class, false, null)),
+            Map.entry("password", new ParameterSpec("password", "Basic auth password", String.class, false, null)),
+            Map.entry("format", new ParameterSpec("format", "RDF format (turtle, ntriples, rdfxml, thrift, protobuf)", String.class, false, "ntriples")),
+            Map.entry("batchSize", new ParameterSpec("batchSize", "Batch size for large uploads", Integer.class, false, 10000)),
+            Map.entry("concurrency", new ParameterSpec("concurrency", "Batches in flight at once", Integer.class, false, 4)),
+            Map.entry("gzip", new ParameterSpec("gzip", "Gzip request bodies", Boolean.class, false, true)),
+            Map.entry("maxRetries", new ParameterSpec("maxRetries", "Retries per batch on transient failures", Integer.class, false, 5)),
+            Map.entry("maxBlankNodeTriples", new ParameterSpec("maxBlankNodeTriples", "Maximum triples with blank nodes held back for grouping", Integer.class, false, 1_000_000)),
+            Map.entry("timeoutSeconds", new ParameterSpec("timeoutSeconds", "Request timeout per batch", Integer.class, false, 300))
         );
     }
 
     @Override
     public OperationResult execute(OperationContext context) throws OperationException {
-        String endpoint = (String) context.parameters().get("endpoint");
-        String graph = (String) context.parameters().get("graph");
-        String method = (String) context.parameters().getOrDefault("method", "PUT");
-        String username = (String) context.parameters().get("username");
-        String password = (String) context.parameters().get("password");
-        String format = (String) context.parameters().getOrDefault("format", "ntriples");
+        Map<String, Object> params = context.parameters();
+        String endpoint = (String) params.get("endpoint");
+        String graph = (String) params.get("graph");
+        String method = ((String) params.getOrDefault("method", "PUT")).toUpperCase(Locale.ROOT);
+        String username = (String) params.get("username");
+        String password = (String) params.get("password");
+        String format = (String) params.getOrDefault("format", "ntriples");
 
         if (context.inputModel() == null) {
             throw new OperationException(getId(), "No RDF model provided for upload");
@@ -67,65 +128,419 @@ public class GraphStorePutOperation implements Operation {
         Model model = context.inputModel();
         long tripleCount = model.size();
 
+        String targetUrl = endpoint;
+        if (graph != null && !graph.isEmpty()) {
+            targetUrl = endpoint + (endpoint.contains("?") ? "&" : "?") + "graph=" +
+                java.net.URLEncoder.encode(graph, StandardCharsets.UTF_8);
+        }
+
+        RDFFormat rdfFormat = switch (format.toLowerCase()) {
+            case "turtle", "ttl" -> RDFFormat.TURTLE;
+            case "rdfxml", "rdf" -> RDFFormat.RDFXML;
+            case "thrift", "rdf-thrift" -> RDFFormat.RDF_THRIFT;
+            case "protobuf", "rdf-protobuf" -> RDFFormat.RDF_PROTO;
+            default -> RDFFormat.NTRIPLES;
+        };
+
+        UploadSettings settings = new UploadSettings(
+            URI.create(targetUrl),
+            rdfFormat,
+            username != null && password != null
+                ? "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8))
+                : null,
+            Math.max(1, intParam(params.get("batchSize"), 10000)),
+            Math.max(1, intParam(params.get("concurrency"), 4)),
+            !"false".equalsIgnoreCase(String.valueOf(params.getOrDefault("gzip", true))),
+            Math.max(0, intParam(params.get("maxRetries"), 5)),
+            Math.max(0, intParam(params.get("maxBlankNodeTriples"), 1_000_000)),
+            Duration.ofSeconds(intParam(params.get("timeoutSeconds"), 300))
+        );
+
+        if (context.callback() != null) {
+            context.callback().onLog("INFO", "Uploading " + tripleCount + " triples to " + targetUrl +
+                " in batches of " + settings.batchSize() + " (" + settings.concurrency() + " in flight)");
+        }
+
+        UploadStats stats = new UploadStats();
+        long started = System.nanoTime();
         try {
-            String targetUrl = endpoint;
-            if (graph != null && !graph.isEmpty()) {
-                targetUrl = endpoint + (endpoint.contains("?") ? "&" : "?") + "graph=" + 
-                    java.net.URLEncoder.encode(graph, StandardCharsets.UTF_8);
+            upload(model.getGraph(), method, settings, stats, tripleCount, context.callback());
+        } catch (OperationException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException(getId(), "Upload interrupted after " + stats.triples + " triples", e);
+        } catch (IOException e) {
+            throw new OperationException(getId(), "Error uploading to triplestore: " + e.getMessage(), e);
+        }
+
+        double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+        long triplesPerSecond = Math.round(stats.triples / seconds);
+
+        if (context.callback() != null) {
+            context.callback().onLog("INFO", "Successfully uploaded " + stats.triples + " triples in " +
+                stats.batches + " batches (" + triplesPerSecond + " triples/s, " + stats.retries + " retries)");
+            context.callback().onMetric("triplesUploaded", stats.triples);
+            context.callback().onMetric("batchesUploaded", stats.batches);
+            context.callback().onMetric("batchRetries", stats.retries);
+            context.callback().onMetric("bytesSent", stats.bytes);
+            context.callback().onMetric("batchLatencyAvgMs", stats.batches > 0 ? stats.latencyMs / stats.batches : 0);
+            context.callback().onMetric("batchLatencyMaxMs", stats.maxLatencyMs);
+            context.callback().onMetric("triplesPerSecond", triplesPerSecond);
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("endpoint", endpoint);
+        metadata.put("graph", graph);
+        metadata.put("triplesUploaded", stats.triples);
+        metadata.put("batches", stats.batches);
+        metadata.put("retries", stats.retries);
+        metadata.put("bytesSent", stats.bytes);
+        metadata.put("triplesPerSecond", triplesPerSecond);
+        metadata.put("responseCode", stats.lastStatus);
+
+        return new OperationResult(true, null, model, metadata, null);
+    }
+
+    private void upload(Graph graph, String method, UploadSettings settings, UploadStats stats,
+                        long total, OperationCallback callback) throws IOException, InterruptedException, OperationException {
+        BatchSender sender = new BatchSender(method, settings, stats, total, callback);
+        BlankNodeComponents blankNodeTriples = new BlankNodeComponents();
+        List<Triple> batch = new ArrayList<>(settings.batchSize());
+
+        try {
+            ExtendedIterator<Triple> triples = graph.find();
+            try {
+                while (triples.hasNext()) {
+                    Triple triple = triples.next();
+                    if (hasBlankNode(triple)) {
+                        if (blankNodeTriples.size() >= settings.maxBlankNodeTriples()) {
+                            throw new OperationException(getId(), "More than " + settings.maxBlankNodeTriples()
+                                + " triples with blank nodes; raise maxBlankNodeTriples or skolemize the data before upload");
+                        }
+                        blankNodeTriples.add(triple);
+                        continue;
+                    }
+                    batch.add(triple);
+                    if (batch.size() >= settings.batchSize()) {
+                        sender.send(batch);
+                        batch = new ArrayList<>(settings.batchSize());
+                    }
+                }
+            } finally {
+                triples.close();
             }
 
-            if (context.callback() != null) {
-                context.callback().onLog("INFO", "Uploading " + tripleCount + " triples to " + targetUrl);
+            // Blank node labels are scoped to a request, so every connected group of blank
+            // node triples goes into one batch; groups are packed up to batchSize
+            for (List<Triple> component : blankNodeTriples.components()) {
+                if (!batch.isEmpty() && batch.size() + component.size() > settings.batchSize()) {
+                    sender.send(batch);
+                    batch = new ArrayList<>(settings.batchSize());
+                }
+                batch.addAll(component);
+            }
+            if (!batch.isEmpty() || sender.first) {
+                sender.send(batch);
             }
+            sender.drain();
+        } finally {
+            sender.cancel();
+        }
+    }
+
+    /**
+     * Sends batches in order: the first with the configured method, waiting for it to
+     * land, the rest appended with POST with up to {@code concurrency} in flight.
+     */
+    private final class BatchSender {
+
+        private final CompletionService<BatchResult> completion = new ExecutorCompletionService<>(uploadExecutor);
+        private final List<Future<BatchResult>> pending = new ArrayList<>();
+        private final String method;
+        private final UploadSettings settings;
+        private final UploadStats stats;
+        private final long total;
+        private final OperationCallback callback;
+        private int batchNumber;
+        private boolean first = true;
 
-            RDFFormat rdfFormat = switch (format.toLowerCase()) {
-                case "turtle", "ttl" -> RDFFormat.TURTLE;
-                case "rdfxml", "rdf" -> RDFFormat.RDFXML;
-                default -> RDFFormat.NTRIPLES;
-            };
+        BatchSender(String method, UploadSettings settings, UploadStats stats, long total, OperationCallback callback) {
+            this.method = method;
+            this.settings = settings;
+            this.stats = stats;
+            this.total = total;
+            this.callback = callback;
+        }
+
+        void send(List<Triple> batch) throws IOException, InterruptedException, OperationException {
+            byte[] body = serialize(batch, settings);
+            int size = batch.size();
+            int number = ++batchNumber;
+
+            String batchMethod = first ? method : "POST";
+            boolean idempotent = "PUT".equals(batchMethod) || batch.stream().noneMatch(GraphStorePutOperation::hasBlankNode);
+
+            if (first) {
+                // The initial request may replace the graph, so it has to land before any append
+                report(sendWithRetry(number, size, body, batchMethod, idempotent, settings), stats, total, callback);
+                first = false;
+                return;
+            }
+            if (pending.size() >= settings.concurrency()) {
+                awaitOne(completion, pending, stats, total, callback);
+            }
+            pending.add(completion.submit(() -> sendWithRetry(number, size, body, batchMethod, idempotent, settings)));
+        }
+
+        void drain() throws IOException, InterruptedException, OperationException {
+            while (!pending.isEmpty()) {
+                awaitOne(completion, pending, stats, total, callback);
+            }
+        }
+
+        void cancel() {
+            pending.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * Triples with blank nodes, grouped by the blank nodes they share (union-find over
+     * the blank nodes in subject and object position).
+     */
+    private static final class BlankNodeComponents {
+
+        private final List<Triple> triples = new ArrayList<>();
+        private final Map<Node, Node> parent = new HashMap<>();
+
+        int size() {
+            return triples.size();
+        }
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            RDFDataMgr.write(baos, model, rdfFormat);
-            byte[] data = baos.toByteArray();
+        void add(Triple triple) {
+            triples.add(triple);
+            Node subject = triple.getSubject();
+            Node object = triple.getObject();
+            if (subject.isBlank() && object.isBlank()) {
+                Node a = root(subject);
+                Node b = root(object);
+                if (!a.equals(b)) {
+                    parent.put(a, b);
+                }
+            } else {
+                root(subject.isBlank() ? subject : object);
+            }
+        }
 
-            HttpURLConnection conn = (HttpURLConnection) URI.create(targetUrl).toURL().openConnection();
-            conn.setRequestMethod(method);
-            conn.setDoOutput(true);
-            conn.setRequestProperty("Content-Type", rdfFormat.getLang().getContentType().getContentTypeStr());
+        Collection<List<Triple>> components() {
+            Map<Node, List<Triple>> components = new LinkedHashMap<>();
+            for (Triple triple : triples) {
+                Node node = triple.getSubject().isBlank() ? triple.getSubject() : triple.getObject();
+                components.computeIfAbsent(root(node), k -> new ArrayList<>()).add(triple);
+            }
+            return components.values();
+        }
 
-            if (username != null && password != null) {
-                String auth = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
-                conn.setRequestProperty("Authorization", "Basic " + auth);
+        private Node root(Node node) {
+            Node current = parent.putIfAbsent(node, node);
+            if (current == null) {
+                return node;
+            }
+            Node root = node;
+            while (!parent.get(root).equals(root)) {
+                root = parent.get(root);
             }
+            // Path compression
+            while (!node.equals(root)) {
+                Node next = parent.get(node);
+                parent.put(node, root);
+                node = next;
+            }
+            return root;
+        }
+    }
 
-            try (OutputStream os = conn.getOutputStream()) {
-                os.write(data);
+    private void awaitOne(CompletionService<BatchResult> completion, List<Future<BatchResult>> pending,
+                          UploadStats stats, long total, OperationCallback callback)
+            throws InterruptedException, IOException, OperationException {
+        Future<BatchResult> done = completion.take();
+        pending.remove(done);
+        try {
+            report(done.get(), stats, total, callback);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof OperationException oe) {
+                throw oe;
             }
+            throw cause instanceof IOException io ? io : new IOException(cause.getMessage(), cause);
+        }
+    }
 
-            int responseCode = conn.getResponseCode();
-            if (responseCode < 200 || responseCode >= 300) {
-                String errorBody = "";
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(conn.getErrorStream()))) {
-                    errorBody = br.lines().reduce("", (a, b) -> a + b);
+    private void report(BatchResult result, UploadStats stats, long total, OperationCallback callback) {
+        stats.batches++;
+        stats.triples += result.triples();
+        stats.bytes += result.bytes();
+        stats.retries += result.retries();
+        stats.latencyMs += result.latencyMs();
+        stats.maxLatencyMs = Math.max(stats.maxLatencyMs, result.latencyMs());
+        stats.lastStatus = result.status();
+
+        log.debug("Batch {}: {} triples, {} bytes, {} ms, {} retries",
+            result.number(), result.triples(), result.bytes(), result.latencyMs(), result.retries());
+        if (callback != null) {
+            callback.onMetric("lastBatchLatencyMs", result.latencyMs());
+            callback.onMetric("lastBatchTriplesPerSecond",
+                result.latencyMs() > 0 ? result.triples() * 1000 / result.latencyMs() : result.triples());
+            callback.onProgress(stats.triples, total);
+        }
+    }
+
+    private static boolean hasBlankNode(Triple triple) {
+        return triple.getSubject().isBlank() || triple.getObject().isBlank();
+    }
+
+    /**
+     * Send one batch, retrying transient failures. A batch that is not idempotent is
+     * only retried when the failed attempt cannot have reached the store.
+     */
+    private BatchResult sendWithRetry(int number, int triples, byte[] body, String method, boolean idempotent,
+                                      UploadSettings settings) throws IOException, InterruptedException, OperationException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(settings.target())
+            .timeout(settings.timeout())
+            .header("Content-Type", settings.format().getLang().getContentType().getContentTypeStr())
+            .method(method, HttpRequest.BodyPublishers.ofByteArray(body));
+        if (settings.gzip()) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        if (settings.authorization() != null) {
+            builder.header("Authorization", settings.authorization());
+        }
+        HttpRequest request = builder.build();
+
+        long started = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            long retryAfterMs = -1;
+            boolean notApplied;
+            String failure;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                int status = response.statusCode();
+                if (status >= 200 && status < 300) {
+                    long latency = (System.nanoTime() - started) / 1_000_000;
+                    return new BatchResult(number, triples, body.length, attempt, latency, status);
                 }
-                throw new OperationException(getId(), "HTTP error " + responseCode + ": " + errorBody);
+                failure = "HTTP error " + status + ": " + response.body();
+                if (status != 429 && status < 500) {
+                    throw new OperationException(getId(), "Batch " + number + " rejected - " + failure);
+                }
+                retryAfterMs = response.headers().firstValue("Retry-After").map(GraphStorePutOperation::retryAfterMs).orElse(-1L);
+                notApplied = status == 429;
+            } catch (IOException e) {
+                failure = e.getMessage();
+                notApplied = e instanceof ConnectException;
             }
 
-            if (context.callback() != null) {
-                context.callback().onLog("INFO", "Successfully uploaded " + tripleCount + " triples");
-                context.callback().onMetric("triplesUploaded", tripleCount);
+            if (!idempotent && !notApplied) {
+                throw new OperationException(getId(), "Batch " + number + " with blank nodes failed (" + failure
+                    + ") and is not retried, since a repeated POST would duplicate its blank nodes;"
+                    + " skolemize the data to make retries safe");
+            }
+            if (attempt >= settings.maxRetries()) {
+                throw new IOException("Batch " + number + " failed after " + (attempt + 1) + " attempts: " + failure);
             }
+            long backoff = backoffMs(attempt, retryAfterMs);
+            log.warn("Batch {} failed ({}), retrying in {} ms", number, failure, backoff);
+            Thread.sleep(backoff);
+        }
+    }
 
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("endpoint", endpoint);
-            metadata.put("graph", graph);
-            metadata.put("triplesUploaded", tripleCount);
-            metadata.put("responseCode", responseCode);
+    /**
+     * Delay before the next attempt: the Retry-After delay if one was given, else
+     * exponential backoff from 500 ms; both capped at {@value #MAX_BACKOFF_MS} ms.
+     */
+    static long backoffMs(int attempt, long retryAfterMs) {
+        if (retryAfterMs > 0) {
+            return Math.min(MAX_BACKOFF_MS, retryAfterMs);
+        }
+        return Math.min(MAX_BACKOFF_MS, 500L << Math.min(attempt, 16));
+    }
 
-            return new OperationResult(true, null, model, metadata, null);
+    /**
+     * Delay requested by a Retry-After header, either delta-seconds or an HTTP-date
+     * (RFC 9110), or -1 when the value cannot be parsed.
+     */
+    static long retryAfterMs(String value) {
+        String trimmed = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(trimmed)) * 1000;
+        } catch (NumberFormatException e) {
+            // Not delta-seconds, try the HTTP-date form
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(Instant.now(), at.toInstant()).toMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
 
-        } catch (IOException e) {
-            throw new OperationException(getId(), "Error uploading to triplestore: " + e.getMessage(), e);
+    private byte[] serialize(List<Triple> triples, UploadSettings settings) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(1024, triples.size() * 120));
+        OutputStream out = settings.gzip() ? new GZIPOutputStream(buffer, 64 * 1024) : buffer;
+        try (out) {
+            if (settings.format() == RDFFormat.NTRIPLES) {
+                RDFDataMgr.writeTriples(out, triples.iterator());
+            } else if (BinaryRdf.isBinary(settings.format().getLang())) {
+                BinaryRdf.write(out, triples.iterator(), null, settings.format().getLang());
+            } else {
+                Model batchModel = ModelFactory.createDefaultModel();
+                triples.forEach(batchModel.getGraph()::add);
+                RDFDataMgr.write(out, batchModel, settings.format());
+            }
         }
+        return buffer.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdownNow();
+    }
+
+    private static int intParam(Object value, int defaultValue) {
+        if (value instanceof Number num) {
+            return num.intValue();
+        }
+        if (value instanceof String str && !str.isBlank()) {
+            try {
+                return Integer.parseInt(str.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    private record UploadSettings(
+        URI target,
+        RDFFormat format,
+        String authorization,
+        int batchSize,
+        int concurrency,
+        boolean gzip,
+        int maxRetries,
+        int maxBlankNodeTriples,
+        Duration timeout
+    ) {}
+
+    private record BatchResult(int number, int triples, long bytes, int retries, long latencyMs, int status) {}
+
+    private static final class UploadStats {
+        long triples;
+        long batches;
+        long bytes;
+        long retries;
+        long latencyMs;
+        long maxLatencyMs;
+        int lastStatus;
     }
 }
@@ -0,0 +1,68 @@
+package io.rdfforge.engine.operation.source;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator turning CSV records into row maps keyed by header name
+ * (or {@code column<i>} when the file has no header).
+ */
+class CsvRowSpliterator implements Spliterator<Map<String, Object>> {
+    private final CSVReader reader;
+    private final String[] headers;
+    private long rowCount = 0;
+
+    CsvRowSpliterator(CSVReader reader, String[] headers) {
+        this.reader = reader;
+        this.headers = headers;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map<String, Object>> action) {
+        try {
+            String[] row = reader.readNext();
+            if (row == null) {
+                return false;
+            }
+
+            Map<String, Object> rowMap = new LinkedHashMap<>();
+            rowMap.put("_rowNumber", ++rowCount);
+
+            if (headers != null) {
+                for (int i = 0; i < headers.length && i < row.length; i++) {
+                    rowMap.put(headers[i], row[i]);
+                }
+            } else {
+                for (int i = 0; i < row.length; i++) {
+                    rowMap.put("column" + i, row[i]);
+                }
+            }
+
+            action.accept(rowMap);
+            return true;
+        } catch (IOException | CsvValidationException e) {
+            throw new RuntimeException("Error reading CSV row", e);
+        }
+    }
+
+    @Override
+    public Spliterator<Map<String, Object>> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
@@ -0,0 +1,307 @@
+package io.rdfforge.engine.operation.source;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of HTTP response bodies, used for conditional GETs.
+ *
+ * Entries are keyed by URL and the request headers, since headers such as
+ * {@code Accept} or {@code Authorization} select a different response; conditional
+ * headers are left out of the key. Each entry is a properties file holding the
+ * validators ({@code ETag}, {@code Last-Modified}), the Content-Type and the name of
+ * its body file. Bodies are written through a {@link #tee} stream while the parser
+ * consumes them, under a fresh name, and the entry only becomes visible once the
+ * body was read to the end and the properties file naming it was moved into place,
+ * so readers never see a body with another response's validators and a partially
+ * consumed download never replaces a good cached copy. The cache is kept below
+ * {@code maxBytes} by evicting least recently used entries.
+ */
+@Slf4j
+public class HttpResponseCache {
+
+    private static final Set<String> CONDITIONAL_HEADERS = Set.of("if-none-match", "if-modified-since");
+    /** Unreferenced bodies younger than this may belong to an entry being committed. */
+    private static final Duration ORPHAN_AGE = Duration.ofMinutes(10);
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public HttpResponseCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public record Entry(Path body, String etag, String lastModified, String contentType) {}
+
+    public Optional<Entry> get(String url, Map<String, String> headers) {
+        Optional<Properties> props = readMeta(key(url, headers));
+        if (props.isEmpty() || !url.equals(props.get().getProperty("url"))) {
+            return Optional.empty();
+        }
+        Path body = directory.resolve(props.get().getProperty("body", ""));
+        if (!Files.isRegularFile(body)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Entry(
+            body,
+            props.get().getProperty("etag"),
+            props.get().getProperty("lastModified"),
+            props.get().getProperty("contentType")
+        ));
+    }
+
+    /**
+     * Open the body of an entry, or return empty if it was evicted or replaced since
+     * {@link #get} returned it.
+     */
+    public Optional<InputStream> open(Entry entry) throws IOException {
+        try {
+            InputStream in = Files.newInputStream(entry.body());
+            // The body's mtime doubles as the last-access time for eviction
+            Files.setLastModifiedTime(entry.body(), FileTime.from(Instant.now()));
+            return Optional.of(in);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Wrap a response body so that everything read from it is also written to the
+     * cache. The entry is committed when the body reaches EOF and discarded if the
+     * stream is closed early.
+     */
+    public InputStream tee(String url, Map<String, String> headers, InputStream body, String etag,
+                           String lastModified, String contentType) throws IOException {
+        Files.createDirectories(directory);
+        String key = key(url, headers);
+        Path tmp = Files.createTempFile(directory, key, ".part");
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024);
+
+        return new FilterInputStream(body) {
+            private boolean done;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b < 0) {
+                    finish(true);
+                } else if (!done) {
+                    out.write(b);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buf, int off, int len) throws IOException {
+                int n = super.read(buf, off, len);
+                if (n < 0) {
+                    finish(true);
+                } else if (!done) {
+                    out.write(buf, off, n);
+                }
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    finish(false);
+                } finally {
+                    super.close();
+                }
+            }
+
+            private void finish(boolean complete) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                try {
+                    out.close();
+                    if (complete) {
+                        commit(url, key, tmp, etag, lastModified, contentType);
+                    } else {
+                        Files.deleteIfExists(tmp);
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not cache response for {}: {}", url, e.getMessage());
+                    try {
+                        Files.deleteIfExists(tmp);
+                    } catch (IOException ignored) {
+                        // best effort
+                    }
+                }
+            }
+        };
+    }
+
+    public void invalidate(String url, Map<String, String> headers) {
+        String key = key(url, headers);
+        try {
+            Optional<Properties> props = readMeta(key);
+            Files.deleteIfExists(directory.resolve(key + ".properties"));
+            if (props.isPresent() && props.get().getProperty("body") != null) {
+                Files.deleteIfExists(directory.resolve(props.get().getProperty("body")));
+            }
+        } catch (IOException e) {
+            log.debug("Could not invalidate cache entry for {}: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Move the body under a name of its own, then publish it by atomically replacing
+     * the properties file, and only then drop the body it replaced.
+     */
+    private void commit(String url, String key, Path tmp, String etag, String lastModified,
+                        String contentType) throws IOException {
+        String bodyName = key + "-" + UUID.randomUUID() + ".body";
+        move(tmp, directory.resolve(bodyName));
+
+        Properties props = new Properties();
+        props.setProperty("url", url);
+        props.setProperty("body", bodyName);
+        if (etag != null) {
+            props.setProperty("etag", etag);
+        }
+        if (lastModified != null) {
+            props.setProperty("lastModified", lastModified);
+        }
+        if (contentType != null) {
+            props.setProperty("contentType", contentType);
+        }
+
+        Optional<Properties> previous = readMeta(key);
+        Path metaTmp = Files.createTempFile(directory, key, ".meta");
+        try (Writer writer = Files.newBufferedWriter(metaTmp, StandardCharsets.UTF_8)) {
+            props.store(writer, null);
+        }
+        move(metaTmp, directory.resolve(key + ".properties"));
+        if (previous.isPresent() && previous.get().getProperty("body") != null) {
+            Files.deleteIfExists(directory.resolve(previous.get().getProperty("body")));
+        }
+        evict();
+    }
+
+    /**
+     * Delete least recently used entries until the cached bodies fit in maxBytes, and
+     * files no entry refers to any more.
+     */
+    void evict() throws IOException {
+        Map<Path, Path> entries = new HashMap<>();
+        List<Path> bodies = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".properties")) {
+                    String key = name.substring(0, name.length() - ".properties".length());
+                    readMeta(key).map(props -> props.getProperty("body"))
+                        .ifPresent(body -> entries.put(directory.resolve(body), file));
+                } else if (name.endsWith(".body") || name.endsWith(".meta")) {
+                    // Left-over metadata files of interrupted commits are cleaned up like orphaned bodies
+                    bodies.add(file);
+                }
+            }
+        }
+
+        long total = 0;
+        Map<Path, Long> sizes = new HashMap<>();
+        Map<Path, FileTime> accessed = new HashMap<>();
+        Instant orphanBefore = Instant.now().minus(ORPHAN_AGE);
+        for (Path body : bodies) {
+            try {
+                FileTime mtime = Files.getLastModifiedTime(body);
+                if (!entries.containsKey(body)) {
+                    if (mtime.toInstant().isBefore(orphanBefore)) {
+                        Files.deleteIfExists(body);
+                    }
+                    continue;
+                }
+                long size = Files.size(body);
+                sizes.put(body, size);
+                accessed.put(body, mtime);
+                total += size;
+            } catch (NoSuchFileException e) {
+                // evicted concurrently
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        List<Path> oldestFirst = new ArrayList<>(sizes.keySet());
+        oldestFirst.sort(Comparator.comparing(accessed::get));
+        for (Path body : oldestFirst) {
+            if (total <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(entries.get(body));
+            Files.deleteIfExists(body);
+            total -= sizes.get(body);
+            log.debug("Evicted HTTP cache entry {} ({} bytes)", entries.get(body).getFileName(), sizes.get(body));
+        }
+    }
+
+    private Optional<Properties> readMeta(String key) {
+        Path meta = directory.resolve(key + ".properties");
+        if (!Files.isRegularFile(meta)) {
+            return Optional.empty();
+        }
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            log.debug("Unreadable cache metadata {}: {}", meta.getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.of(props);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static boolean isConditional(String header) {
+        return CONDITIONAL_HEADERS.contains(header.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * SHA-256 over the URL and the request headers, names lower-cased and sorted.
+     */
+    static String key(String url, Map<String, String> headers) {
+        SortedMap<String, String> normalized = new TreeMap<>();
+        headers.forEach((name, value) -> {
+            if (!isConditional(name)) {
+                normalized.put(name.toLowerCase(Locale.ROOT), value);
+            }
+        });
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(url.getBytes(StandardCharsets.UTF_8));
+            normalized.forEach((name, value) -> {
+                digest.update((byte) '\n');
+                digest.update((name + ": " + value).getBytes(StandardCharsets.UTF_8));
+            });
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -98,60 +98,6 @@ public class LoadCsvOperation implements Operation {
         }
     }
 
-    private static class CsvRowSpliterator implements Spliterator<Map<String, Object>> {
-        private final CSVReader reader;
-        private final String[] headers;
-        private long rowCount = 0;
-
-        CsvRowSpliterator(CSVReader reader, String[] headers) {
-            this.reader = reader;
-            this.headers = headers;
-        }
-
-        @Override
-        public boolean tryAdvance(java.util.function.Consumer<? super Map<String, Object>> action) {
-            try {
-                String[] row = reader.readNext();
-                if (row == null) {
-                    return false;
-                }
-                
-                Map<String, Object> rowMap = new LinkedHashMap<>();
-                rowMap.put("_rowNumber", ++rowCount);
-                
-                if (headers != null) {
-                    for (int i = 0; i < headers.length && i < row.length; i++) {
-                        rowMap.put(headers[i], row[i]);
-                    }
-                } else {
-                    for (int i = 0; i < row.length; i++) {
-                        rowMap.put("column" + i, row[i]);
-                    }
-                }
-                
-                action.accept(rowMap);
-                return true;
-            } catch (IOException | CsvValidationException e) {
-                throw new RuntimeException("Error reading CSV row", e);
-            }
-        }
-
-        @Override
-        public Spliterator<Map<String, Object>> trySplit() {
-            return null;
-        }
-
-        @Override
-        public long estimateSize() {
-            return Long.MAX_VALUE;
-        }
-
-        @Override
-        public int characteristics() {
-            return ORDERED | NONNULL;
-        }
-    }
-
     /**
      * Parse delimiter from various input types (String, Character, char)
      */
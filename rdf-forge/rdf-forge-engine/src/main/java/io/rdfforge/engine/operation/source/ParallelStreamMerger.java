@@ -0,0 +1,134 @@
+package io.rdfforge.engine.operation.source;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Merges several lazily produced streams into one, draining up to
+ * {@code concurrency} of them at the same time.
+ *
+ * Used when a source fans out over many partitioned objects: each partition is
+ * parsed on its own thread and its items are pushed into a bounded queue, so the
+ * downstream consumer applies backpressure to all producers. Item order across
+ * partitions is not preserved.
+ */
+final class ParallelStreamMerger {
+
+    private static final Object END = new Object();
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private ParallelStreamMerger() {
+    }
+
+    @FunctionalInterface
+    interface StreamSource<T> {
+        Stream<T> open() throws Exception;
+    }
+
+    static <T> Stream<T> merge(List<StreamSource<T>> sources, int concurrency, int queueCapacity) {
+        if (sources.size() == 1) {
+            try {
+                return sources.get(0).open();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(Math.max(16, queueCapacity));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread t = new Thread(r, "source-merge-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        for (StreamSource<T> source : sources) {
+            pool.submit(() -> {
+                try (Stream<T> stream = source.open()) {
+                    Iterator<T> it = stream.iterator();
+                    while (it.hasNext() && failure.get() == null) {
+                        queue.put(it.next());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+                try {
+                    queue.put(END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        pool.shutdown();
+
+        Iterator<T> merged = new Iterator<>() {
+            private int remaining = sources.size();
+            private Object next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (remaining == 0) {
+                        rethrowFailure();
+                        return false;
+                    }
+                    Object item;
+                    try {
+                        item = queue.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        pool.shutdownNow();
+                        throw new RuntimeException("Interrupted while merging source streams", e);
+                    }
+                    if (item == END) {
+                        remaining--;
+                        rethrowFailure();
+                    } else {
+                        next = item;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T item = (T) next;
+                next = null;
+                return item;
+            }
+
+            private void rethrowFailure() {
+                Throwable t = failure.get();
+                if (t != null) {
+                    pool.shutdownNow();
+                    throw t instanceof RuntimeException re ? re : new RuntimeException(t.getMessage(), t);
+                }
+            }
+        };
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(merged, Spliterator.NONNULL),
+            false
+        ).onClose(pool::shutdownNow);
+    }
+}
@@ -0,0 +1,169 @@
+package io.rdfforge.engine.operation.source;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * InputStream over a remote object that is downloaded as a sequence of byte
+ * ranges fetched in parallel.
+ *
+ * Up to {@code readAhead} parts are in flight at any time; parts are handed to
+ * the reader strictly in order, so the consumer sees one contiguous stream while
+ * the next ranges are already downloading. Memory use is bounded by
+ * {@code readAhead * partSize} regardless of the object size.
+ */
+@Slf4j
+public class RangedInputStream extends InputStream {
+
+    /**
+     * Fetches the inclusive byte range {@code [start, end]} of the remote object.
+     */
+    @FunctionalInterface
+    public interface RangeFetcher {
+        byte[] fetch(long start, long end) throws IOException;
+    }
+
+    private final RangeFetcher fetcher;
+    private final long length;
+    private final int partSize;
+    private final int readAhead;
+    private final int maxRetries;
+    private final Executor executor;
+    private final Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+
+    private long nextOffset = 0;
+    private long bytesRead = 0;
+    private byte[] current;
+    private int position;
+    private boolean closed;
+
+    public RangedInputStream(RangeFetcher fetcher, long length, int partSize, int readAhead,
+                             int maxRetries, Executor executor) {
+        if (partSize <= 0) {
+            throw new IllegalArgumentException("partSize must be positive");
+        }
+        this.fetcher = fetcher;
+        this.length = length;
+        this.partSize = partSize;
+        this.readAhead = Math.max(1, readAhead);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.executor = executor;
+        scheduleParts();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        bytesRead++;
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, n);
+        position += n;
+        bytesRead += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current != null ? current.length - position : 0;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        inFlight.forEach(f -> f.cancel(true));
+        inFlight.clear();
+        current = null;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    private boolean ensureData() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (current == null || position >= current.length) {
+            CompletableFuture<byte[]> next = inFlight.poll();
+            if (next == null) {
+                return false;
+            }
+            try {
+                current = next.join();
+            } catch (CancellationException e) {
+                throw new InterruptedIOException("Ranged download cancelled");
+            } catch (CompletionException e) {
+                close();
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                throw cause instanceof IOException io ? io : new IOException(cause.getMessage(), cause);
+            }
+            position = 0;
+            scheduleParts();
+        }
+        return true;
+    }
+
+    private void scheduleParts() {
+        while (inFlight.size() < readAhead && nextOffset < length) {
+            long start = nextOffset;
+            long end = Math.min(start + partSize, length) - 1;
+            inFlight.add(CompletableFuture.supplyAsync(() -> fetchWithRetry(start, end), executor));
+            nextOffset = end + 1;
+        }
+    }
+
+    private byte[] fetchWithRetry(long start, long end) {
+        IOException last = null;
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            try {
+                byte[] part = fetcher.fetch(start, end);
+                long expected = end - start + 1;
+                if (part.length != expected) {
+                    throw new IOException("Short range read: expected " + expected + " bytes, got " + part.length);
+                }
+                return part;
+            } catch (IOException e) {
+                last = e;
+                log.debug("Range {}-{} failed (attempt {}): {}", start, end, attempt + 1, e.getMessage());
+                if (attempt < maxRetries) {
+                    try {
+                        Thread.sleep(200L << attempt);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new CompletionException(new InterruptedIOException("Interrupted while retrying range"));
+                    }
+                }
+            }
+        }
+        throw new CompletionException(last);
+    }
+}
@@ -6,16 +6,59 @@ import io.rdfforge.engine.operation.Operation.OperationResult;
 import io.rdfforge.engine.operation.Operation.OperationContext;
 import io.rdfforge.engine.operation.Operation.ParameterSpec;
 import io.rdfforge.engine.operation.Operation.OperationType;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.Map;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
+/**
+ * Reads objects from S3-compatible storage (AWS S3, MinIO, ...).
+ *
+ * Each object is downloaded with parallel ranged GETs and a bounded read-ahead
+ * window, and the bytes are fed straight into the CSV, JSON or RDF parser, so no
+ * temporary file is written and memory stays at {@code parallelism * partSizeMb}
+ * per object. With {@code prefix} all matching objects are listed and read
+ * concurrently; tabular rows from the partitions are merged into one stream and
+ * RDF partitions are merged into one model.
+ */
 @Slf4j
 @Component
 public class S3GetOperation implements Operation {
 
+    private static final int MB = 1024 * 1024;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Map<String, S3Client> clients = new ConcurrentHashMap<>();
+    private final ExecutorService rangeExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "s3-range-" + THREAD_COUNTER.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
     @Override
     public String getId() {
         return "s3-get";
@@ -28,7 +71,7 @@ public class S3GetOperation implements Operation {
 
     @Override
     public String getDescription() {
-        return "Retrieves a file from S3 bucket";
+        return "Streams one object or all objects under a prefix from an S3 bucket into the CSV, JSON or RDF parser";
     }
 
     @Override
@@ -38,16 +81,276 @@ public class S3GetOperation implements Operation {
 
     @Override
     public Map<String, ParameterSpec> getParameters() {
-        return Map.of(
-            "bucket", new ParameterSpec("bucket", "S3 Bucket Name", String.class, true, null),
-            "key", new ParameterSpec("key", "Object Key (Path)", String.class, true, null),
-            "endpoint", new ParameterSpec("endpoint", "S3 Endpoint URL (optional)", String.class, false, null)
+        return Map.ofEntries(
+            Map.entry("bucket", new ParameterSpec("bucket", "S3 Bucket Name", String.class, true, null)),
+            Map.entry("key", new ParameterSpec("key", "Object Key (Path)", String.class, false, null)),
+            Map.entry("prefix", new ParameterSpec("prefix", "Key prefix to load all matching objects (instead of key)", String.class, false, null)),
+            Map.entry("endpoint", new ParameterSpec("endpoint", "S3 Endpoint URL (optional)", String.class, false, null)),
+            Map.entry("region", new ParameterSpec("region", "S3 region", String.class, false, "us-east-1")),
+            Map.entry("accessKey", new ParameterSpec("accessKey", "Access key (default credential chain if empty)", String.class, false, null)),
+            Map.entry("secretKey", new ParameterSpec("secretKey", "Secret key", String.class, false, null)),
+            Map.entry("format", new ParameterSpec("format", "Payload format (auto, csv, json, turtle, ntriples, ...)", String.class, false, "auto")),
+            Map.entry("partSizeMb", new ParameterSpec("partSizeMb", "Size of each ranged GET in MB", Integer.class, false, 8)),
+            Map.entry("parallelism", new ParameterSpec("parallelism", "Ranged GETs in flight per object (read-ahead)", Integer.class, false, 4)),
+            Map.entry("objectConcurrency", new ParameterSpec("objectConcurrency", "Objects read concurrently when using prefix", Integer.class, false, 4)),
+            Map.entry("delimiter", new ParameterSpec("delimiter", "CSV column delimiter", Character.class, false, ',')),
+            Map.entry("encoding", new ParameterSpec("encoding", "Character encoding", String.class, false, "UTF-8")),
+            Map.entry("hasHeader", new ParameterSpec("hasHeader", "First CSV row is header", Boolean.class, false, true))
         );
     }
 
     @Override
     public OperationResult execute(OperationContext context) throws OperationException {
-        log.info("Executing S3 Get: {}", context.parameters());
-        return new OperationResult(true, null, null, null, null);
+        Map<String, Object> params = context.parameters();
+        String bucket = (String) params.get("bucket");
+        String key = (String) params.get("key");
+        String prefix = (String) params.get("prefix");
+        String format = (String) params.getOrDefault("format", "auto");
+
+        if (bucket == null || bucket.isBlank()) {
+            throw new OperationException(getId(), "Parameter 'bucket' is required");
+        }
+        if ((key == null || key.isBlank()) && prefix == null) {
+            throw new OperationException(getId(), "Either 'key' or 'prefix' must be provided");
+        }
+
+        S3Client s3 = getClient(params);
+        ReadSettings settings = new ReadSettings(
+            Math.max(1, intParam(params, "partSizeMb", 8)) * MB,
+            Math.max(1, intParam(params, "parallelism", 4)),
+            Math.max(1, intParam(params, "objectConcurrency", 4)),
+            delimiterParam(params.getOrDefault("delimiter", ',')),
+            Charset.forName((String) params.getOrDefault("encoding", "UTF-8")),
+            boolParam(params.getOrDefault("hasHeader", true))
+        );
+
+        try {
+            List<S3Object> objects = key != null && !key.isBlank()
+                ? List.of(headObject(s3, bucket, key))
+                : listObjects(s3, bucket, prefix);
+
+            if (objects.isEmpty()) {
+                throw new OperationException(getId(), "No objects found in s3://" + bucket + "/" + prefix);
+            }
+
+            long totalBytes = objects.stream().mapToLong(S3Object::size).sum();
+            SourceParsers.Format sourceFormat = SourceParsers.detectFormat(format, objects.get(0).key(), null);
+
+            if (context.callback() != null) {
+                context.callback().onLog("INFO", "Reading " + objects.size() + " object(s) (" + totalBytes +
+                    " bytes) from s3://" + bucket + " as " + sourceFormat);
+                context.callback().onMetric("objectsRead", objects.size());
+                context.callback().onMetric("bytesTotal", totalBytes);
+            }
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("bucket", bucket);
+            metadata.put("objectCount", objects.size());
+            metadata.put("bytesTotal", totalBytes);
+            metadata.put("format", sourceFormat.name());
+            metadata.put("keys", objects.stream().map(S3Object::key).limit(100).toList());
+
+            if (sourceFormat == SourceParsers.Format.RDF) {
+                Model model = readRdf(s3, bucket, objects, format, settings);
+                metadata.put("tripleCount", model.size());
+                if (context.callback() != null) {
+                    context.callback().onMetric("triplesLoaded", model.size());
+                }
+                return new OperationResult(true, null, model, metadata, null);
+            }
+
+            List<ParallelStreamMerger.StreamSource<Map<String, Object>>> sources = new ArrayList<>();
+            for (S3Object object : objects) {
+                sources.add(() -> openRows(s3, bucket, object, sourceFormat, settings));
+            }
+            Stream<Map<String, Object>> rows = ParallelStreamMerger.merge(
+                sources, settings.objectConcurrency(), 10_000);
+
+            return new OperationResult(true, rows, null, metadata, null);
+
+        } catch (OperationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OperationException(getId(), "Error reading from S3: " + e.getMessage(), e);
+        }
+    }
+
+    private Stream<Map<String, Object>> openRows(S3Client s3, String bucket, S3Object object,
+                                                 SourceParsers.Format format, ReadSettings settings) throws IOException {
+        InputStream in = openObject(s3, bucket, object, settings);
+        Stream<Map<String, Object>> rows = format == SourceParsers.Format.JSON
+            ? SourceParsers.jsonRows(in)
+            : SourceParsers.csvRows(in, settings.charset(), settings.delimiter(), settings.hasHeader(), 0).rows();
+        return rows.onClose(() -> closeQuietly(in));
+    }
+
+    private Model readRdf(S3Client s3, String bucket, List<S3Object> objects, String format,
+                          ReadSettings settings) throws Exception {
+        Model result = ModelFactory.createDefaultModel();
+        if (objects.size() == 1) {
+            S3Object object = objects.get(0);
+            try (InputStream in = openObject(s3, bucket, object, settings)) {
+                SourceParsers.readRdf(result, in, SourceParsers.detectLang(format, object.key(), null), null);
+            }
+            return result;
+        }
+
+        // Partitions are parsed into private models concurrently and merged as they complete,
+        // since Jena models are not safe for concurrent writers.
+        ExecutorService parsers = Executors.newFixedThreadPool(settings.objectConcurrency(), r -> {
+            Thread t = new Thread(r, "s3-parse-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            CompletionService<Model> completion = new ExecutorCompletionService<>(parsers);
+            for (S3Object object : objects) {
+                completion.submit(() -> {
+                    Lang lang = SourceParsers.detectLang(format, object.key(), null);
+                    try (InputStream in = openObject(s3, bucket, object, settings)) {
+                        return SourceParsers.rdfModel(in, lang, null);
+                    }
+                });
+            }
+            for (int i = 0; i < objects.size(); i++) {
+                try {
+                    result.add(completion.take().get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+            return result;
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+
+    private InputStream openObject(S3Client s3, String bucket, S3Object object, ReadSettings settings) {
+        return new RangedInputStream(
+            (start, end) -> fetchRange(s3, bucket, object.key(), start, end),
+            object.size(),
+            settings.partSize(),
+            settings.parallelism(),
+            3,
+            rangeExecutor
+        );
     }
-}
\ No newline at end of file
+
+    private byte[] fetchRange(S3Client s3, String bucket, String key, long start, long end) throws IOException {
+        GetObjectRequest request = GetObjectRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .range("bytes=" + start + "-" + end)
+            .build();
+        try {
+            return s3.getObjectAsBytes(request).asByteArray();
+        } catch (SdkException e) {
+            throw new IOException("GET s3://" + bucket + "/" + key + " [" + start + "-" + end + "] failed: " + e.getMessage(), e);
+        }
+    }
+
+    private S3Object headObject(S3Client s3, String bucket, String key) {
+        HeadObjectResponse head = s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+        return S3Object.builder()
+            .key(key)
+            .size(head.contentLength())
+            .eTag(head.eTag())
+            .lastModified(head.lastModified())
+            .build();
+    }
+
+    private List<S3Object> listObjects(S3Client s3, String bucket, String prefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+            .bucket(bucket)
+            .prefix(prefix)
+            .build();
+        List<S3Object> objects = new ArrayList<>();
+        for (S3Object object : s3.listObjectsV2Paginator(request).contents()) {
+            // Skip "directory" placeholders and empty markers such as _SUCCESS
+            if (!object.key().endsWith("/") && object.size() > 0) {
+                objects.add(object);
+            }
+        }
+        objects.sort(Comparator.comparing(S3Object::key));
+        return objects;
+    }
+
+    private S3Client getClient(Map<String, Object> params) {
+        String endpoint = (String) params.get("endpoint");
+        String region = (String) params.getOrDefault("region", "us-east-1");
+        String accessKey = (String) params.get("accessKey");
+        String secretKey = (String) params.get("secretKey");
+        String cacheKey = endpoint + "|" + region + "|" + accessKey;
+
+        return clients.computeIfAbsent(cacheKey, k -> {
+            AwsCredentialsProvider credentials = accessKey != null && !accessKey.isBlank()
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.create();
+
+            S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials);
+            if (endpoint != null && !endpoint.isBlank()) {
+                // Custom endpoints (MinIO, Ceph, ...) generally require path-style addressing
+                builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+            }
+            return builder.build();
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rangeExecutor.shutdownNow();
+        clients.values().forEach(S3Client::close);
+        clients.clear();
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.debug("Error closing S3 stream: {}", e.getMessage());
+        }
+    }
+
+    private static int intParam(Map<String, Object> params, String name, int defaultValue) {
+        Object value = params.get(name);
+        if (value instanceof Number num) {
+            return num.intValue();
+        }
+        if (value instanceof String str && !str.isBlank()) {
+            try {
+                return Integer.parseInt(str.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    private static char delimiterParam(Object value) {
+        if (value instanceof Character c) {
+            return c;
+        }
+        if (value instanceof String str && !str.isEmpty()) {
+            return "\\t".equals(str) ? '\t' : str.charAt(0);
+        }
+        return ',';
+    }
+
+    private static boolean boolParam(Object value) {
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return value == null || Boolean.parseBoolean(value.toString());
+    }
+
+    private record ReadSettings(
+        int partSize,
+        int parallelism,
+        int objectConcurrency,
+        char delimiter,
+        Charset charset,
+        boolean hasHeader
+    ) {}
+}
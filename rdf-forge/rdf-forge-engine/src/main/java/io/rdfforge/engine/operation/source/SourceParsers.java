@@ -0,0 +1,191 @@
+package io.rdfforge.engine.operation.source;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parsers shared by the remote SOURCE operations (S3, HTTP).
+ *
+ * Every parser consumes an {@link InputStream} directly, so remote bodies are
+ * turned into rows or triples while they are still being downloaded instead of
+ * being spooled to a temporary file first. Row parsers are lazy and close the
+ * underlying stream when the returned {@link Stream} is closed or exhausted.
+ */
+@Slf4j
+public final class SourceParsers {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private SourceParsers() {
+    }
+
+    public enum Format {
+        CSV,
+        JSON,
+        RDF
+    }
+
+    /**
+     * Resolve the payload format from an explicit parameter, falling back to the
+     * Content-Type and finally the object name / URL extension.
+     *
+     * @param explicit    value of the operation's {@code format} parameter ("auto" or null to detect)
+     * @param name        object key, file name or URL path
+     * @param contentType Content-Type reported by the remote side (may be null)
+     */
+    public static Format detectFormat(String explicit, String name, String contentType) {
+        if (explicit != null && !explicit.isBlank() && !"auto".equalsIgnoreCase(explicit)) {
+            return switch (explicit.toLowerCase(Locale.ROOT)) {
+                case "csv", "tsv" -> Format.CSV;
+                case "json", "ndjson" -> Format.JSON;
+                default -> Format.RDF;
+            };
+        }
+
+        String ct = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (ct.contains("text/csv") || ct.contains("tab-separated-values")) {
+            return Format.CSV;
+        }
+        if (ct.contains("application/ld+json")) {
+            return Format.RDF;
+        }
+        if (ct.contains("json")) {
+            return Format.JSON;
+        }
+        if (detectLang(null, name, contentType) != null) {
+            return Format.RDF;
+        }
+
+        String lower = name != null ? stripQuery(name).toLowerCase(Locale.ROOT) : "";
+        if (lower.endsWith(".json") || lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return Format.JSON;
+        }
+        return Format.CSV;
+    }
+
+    /**
+     * Resolve the RDF syntax of a payload, or null if it does not look like RDF.
+     */
+    public static Lang detectLang(String explicit, String name, String contentType) {
+        if (explicit != null && !explicit.isBlank() && !"auto".equalsIgnoreCase(explicit)) {
+            Lang lang = RDFLanguages.shortnameToLang(explicit);
+            if (isRdf(lang)) {
+                return lang;
+            }
+        }
+        if (contentType != null && !contentType.isBlank()) {
+            Lang lang = RDFLanguages.contentTypeToLang(contentType.split(";")[0].trim());
+            if (isRdf(lang)) {
+                return lang;
+            }
+        }
+        if (name != null && !name.isBlank()) {
+            Lang lang = RDFLanguages.filenameToLang(stripQuery(name));
+            if (isRdf(lang)) {
+                return lang;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lazily parse CSV rows from a stream.
+     */
+    public static CsvRows csvRows(InputStream in, Charset charset, char delimiter,
+                                  boolean hasHeader, int skipRows) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, charset), 64 * 1024);
+        CSVReader csvReader = new CSVReaderBuilder(reader)
+            .withCSVParser(new CSVParserBuilder().withSeparator(delimiter).build())
+            .withSkipLines(skipRows)
+            .build();
+
+        String[] headers;
+        try {
+            headers = hasHeader ? csvReader.readNext() : null;
+        } catch (CsvValidationException e) {
+            csvReader.close();
+            throw new IOException("Invalid CSV header: " + e.getMessage(), e);
+        }
+
+        Stream<Map<String, Object>> rows = StreamSupport.stream(
+            new CsvRowSpliterator(csvReader, headers),
+            false
+        ).onClose(() -> {
+            try {
+                csvReader.close();
+            } catch (IOException e) {
+                log.warn("Error closing CSV reader", e);
+            }
+        });
+
+        return new CsvRows(headers != null ? Arrays.asList(headers) : Collections.emptyList(), rows);
+    }
+
+    /**
+     * Lazily parse JSON objects from a stream. Accepts a root-level array of
+     * objects, a single object, or newline-delimited JSON.
+     */
+    @SuppressWarnings("unchecked")
+    public static Stream<Map<String, Object>> jsonRows(InputStream in) throws IOException {
+        MappingIterator<Map<String, Object>> iterator = OBJECT_MAPPER
+            .readerFor(Map.class)
+            .readValues(new BufferedInputStream(in, 64 * 1024));
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false
+        ).onClose(() -> {
+            try {
+                iterator.close();
+            } catch (IOException e) {
+                log.warn("Error closing JSON parser", e);
+            }
+        });
+    }
+
+    /**
+     * Parse an RDF payload straight into a new model.
+     */
+    public static Model rdfModel(InputStream in, Lang lang, String baseUri) {
+        Model model = ModelFactory.createDefaultModel();
+        readRdf(model, in, lang, baseUri);
+        return model;
+    }
+
+    /**
+     * Parse an RDF payload into an existing model.
+     */
+    public static void readRdf(Model model, InputStream in, Lang lang, String baseUri) {
+        RDFDataMgr.read(model, new BufferedInputStream(in, 64 * 1024), baseUri, lang != null ? lang : Lang.TURTLE);
+    }
+
+    private static boolean isRdf(Lang lang) {
+        return lang != null && (RDFLanguages.isTriples(lang) || RDFLanguages.isQuads(lang));
+    }
+
+    private static String stripQuery(String name) {
+        int idx = name.indexOf('?');
+        return idx >= 0 ? name.substring(0, idx) : name;
+    }
+
+    /**
+     * Parsed CSV header plus the lazy row stream.
+     */
+    public record CsvRows(List<String> headers, Stream<Map<String, Object>> rows) {}
+}
@@ -1,26 +1,44 @@
 package io.rdfforge.engine.operation.validation;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.rdfforge.common.model.ValidationReport;
 import io.rdfforge.engine.operation.Operation;
 import io.rdfforge.engine.operation.OperationException;
+import io.rdfforge.engine.shacl.ReportOptions;
 import io.rdfforge.engine.shacl.ShaclValidator;
+import io.rdfforge.engine.shacl.ShapesCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.shacl.Shapes;
 import org.springframework.stereotype.Component;
 
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ValidateShaclOperation implements Operation {
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final ObjectMapper REPORT_MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
     private final ShaclValidator shaclValidator;
+    private final ShapesCache shapesCache;
 
     @Override
     public String getId() {
@@ -49,7 +67,11 @@ public class ValidateShaclOperation implements Operation {
             "shapeContent", new ParameterSpec("shapeContent", "SHACL shapes as Turtle string", String.class, false, null),
             "shapeUri", new ParameterSpec("shapeUri", "URI of shapes in repository", String.class, false, null),
             "onViolation", new ParameterSpec("onViolation", "Action on violation (error|warn|continue)", String.class, false, "error"),
-            "maxViolations", new ParameterSpec("maxViolations", "Maximum violations to report", Integer.class, false, 100)
+            "maxViolations", new ParameterSpec("maxViolations", "Maximum results kept in the report, -1 for all (a truncated report cannot seed an incremental run)", Integer.class, false, -1),
+            "previousReport", new ParameterSpec("previousReport", "Report of an earlier run to update incrementally", ValidationReport.class, false, null),
+            "addedFile", new ParameterSpec("addedFile", "RDF file with triples added since the previous report", String.class, false, null),
+            "removedFile", new ParameterSpec("removedFile", "RDF file with triples removed since the previous report", String.class, false, null),
+            "detailsFile", new ParameterSpec("detailsFile", "Write every validation result to this JSON Lines file", String.class, false, null)
         );
     }
 
@@ -63,10 +85,10 @@ public class ValidateShaclOperation implements Operation {
             throw new OperationException(getId(), "No RDF model provided for validation");
         }
 
-        Model shapesModel = loadShapes(shapeFile, shapeContent);
+        Shapes shapes = loadShapes(shapeFile, shapeContent);
 
         // If no shapes provided, skip validation and pass through the model
-        if (shapesModel == null) {
+        if (shapes == null) {
             if (context.callback() != null) {
                 context.callback().onLog("WARN", "SHACL validation skipped: no shapes provided (shapeFile or shapeContent)");
             }
@@ -76,7 +98,23 @@ public class ValidateShaclOperation implements Operation {
             return new OperationResult(true, null, context.inputModel(), metadata, null);
         }
 
-        ValidationReport report = shaclValidator.validate(context.inputModel(), shapesModel);
+        ValidationReport report;
+        ValidationReport previousReport = toReport(context.parameters().get("previousReport"));
+        String addedFile = (String) context.parameters().get("addedFile");
+        String removedFile = (String) context.parameters().get("removedFile");
+        if (previousReport != null && (addedFile != null || removedFile != null)) {
+            if (previousReport.isTruncated() && context.callback() != null) {
+                context.callback().onLog("WARN", "Previous report is truncated, validating all focus nodes");
+            }
+            // The input model is the data after the change; only focus nodes the delta reaches are re-validated
+            Model added = loadDelta(addedFile);
+            Model removed = loadDelta(removedFile);
+            report = validate(context, options -> shaclValidator.validateIncremental(context.inputModel(), shapes,
+                previousReport, added, removed, options));
+        } else {
+            report = validate(context, options -> shaclValidator.validate(context.inputModel(), shapes,
+                DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors(), options));
+        }
 
         if (context.callback() != null) {
             context.callback().onLog("INFO", "SHACL validation complete: " + 
@@ -90,6 +128,15 @@ public class ValidateShaclOperation implements Operation {
         metadata.put("violationCount", report.getViolationCount());
         metadata.put("warningCount", report.getWarningCount());
         metadata.put("report", report);
+        metadata.put("totalResults", report.getTotalResults());
+        metadata.put("truncated", report.isTruncated());
+        if (report.getDetailsLocation() != null) {
+            metadata.put("detailsFile", report.getDetailsLocation());
+        }
+        if (report.getMetadata() != null && report.getMetadata().containsKey("incremental")) {
+            metadata.put("incremental", report.getMetadata().get("incremental"));
+            metadata.put("affectedFocusNodes", report.getMetadata().getOrDefault("affectedFocusNodes", 0L));
+        }
 
         if (!report.isConforms() && "error".equalsIgnoreCase(onViolation)) {
             StringBuilder errorMsg = new StringBuilder("SHACL validation failed with ")
@@ -106,30 +153,105 @@ public class ValidateShaclOperation implements Operation {
         return new OperationResult(true, null, context.inputModel(), metadata, null);
     }
 
-    private Model loadShapes(String shapeFile, String shapeContent) throws OperationException {
-        Model shapesModel = ModelFactory.createDefaultModel();
+    /**
+     * Run a full or incremental validation keeping at most {@code maxViolations}
+     * individual results in the report (all by default); the complete list goes to
+     * {@code detailsFile} when one is given.
+     */
+    private ValidationReport validate(OperationContext context, Function<ReportOptions, ValidationReport> validation)
+            throws OperationException {
+        ReportOptions options = shaclValidator.defaultReportOptions()
+            .withMaxResults(intParam(context.parameters().get("maxViolations"), -1));
+        String detailsFile = (String) context.parameters().get("detailsFile");
+        if (detailsFile == null || detailsFile.isEmpty()) {
+            return validation.apply(options);
+        }
+
+        Path path = Path.of(detailsFile);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                ValidationReport report = validation.apply(options.withDetails(writer));
+                report.setDetailsLocation(path.toString());
+                return report;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new OperationException(getId(), "Error writing validation details: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Pipeline definitions pass the previous report as parsed JSON or YAML, so a map
+     * is converted to a report; a report built in code is used as is.
+     */
+    private ValidationReport toReport(Object value) throws OperationException {
+        if (value == null || value instanceof ValidationReport) {
+            return (ValidationReport) value;
+        }
+        if (!(value instanceof Map<?, ?>)) {
+            throw new OperationException(getId(), "previousReport must be a validation report object");
+        }
+        try {
+            return REPORT_MAPPER.convertValue(value, ValidationReport.class);
+        } catch (IllegalArgumentException e) {
+            throw new OperationException(getId(), "Invalid previousReport: " + e.getMessage(), e);
+        }
+    }
+
+    private Model loadDelta(String file) throws OperationException {
+        if (file == null || file.isEmpty()) {
+            return ModelFactory.createDefaultModel();
+        }
+        if (!Files.exists(Path.of(file))) {
+            throw new OperationException(getId(), "Delta file not found: " + file);
+        }
+        try {
+            return RDFDataMgr.loadModel(file);
+        } catch (Exception e) {
+            throw new OperationException(getId(), "Error loading delta from file: " + e.getMessage(), e);
+        }
+    }
 
+    /**
+     * Load compiled shapes through the shared cache, so an unchanged shapes file or
+     * content is only compiled on its first run.
+     */
+    private Shapes loadShapes(String shapeFile, String shapeContent) throws OperationException {
         if (shapeFile != null && !shapeFile.isEmpty()) {
             try {
                 Path path = Path.of(shapeFile);
                 if (!Files.exists(path)) {
                     throw new OperationException(getId(), "Shape file not found: " + shapeFile);
                 }
-                RDFDataMgr.read(shapesModel, shapeFile);
+                Lang lang = RDFLanguages.filenameToLang(shapeFile, Lang.TURTLE);
+                return shapesCache.get(Files.readString(path), lang);
             } catch (Exception e) {
                 throw new OperationException(getId(), "Error loading shapes from file: " + e.getMessage(), e);
             }
         } else if (shapeContent != null && !shapeContent.isEmpty()) {
             try {
-                shapesModel.read(new StringReader(shapeContent), null, "TURTLE");
+                return shapesCache.get(shapeContent);
             } catch (Exception e) {
                 throw new OperationException(getId(), "Error parsing shape content: " + e.getMessage(), e);
             }
-        } else {
-            // No shapes provided - return null to indicate skip validation
-            return null;
         }
+        // No shapes provided - return null to indicate skip validation
+        return null;
+    }
 
-        return shapesModel;
+    private static int intParam(Object value, int defaultValue) {
+        if (value instanceof Number num) {
+            return num.intValue();
+        }
+        if (value instanceof String str && !str.isBlank()) {
+            try {
+                return Integer.parseInt(str.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
     }
 }
@@ -0,0 +1,20 @@
+package io.rdfforge.engine.pipeline;
+
+import io.rdfforge.engine.operation.Operation;
+import io.rdfforge.engine.operation.OperationException;
+
+/**
+ * Decides which thread runs an operation of a pipeline step.
+ *
+ * {@link PipelineExecutor} runs each step through the dispatcher. The default runs
+ * it on the thread executing the pipeline; a host service can provide a bean to
+ * move some operation types, e.g. CPU-heavy transforms, to a dedicated pool.
+ * Implementations must return or throw what the operation returns or throws.
+ */
+public interface OperationDispatcher {
+
+    OperationDispatcher DIRECT = Operation::execute;
+
+    Operation.OperationResult execute(Operation operation, Operation.OperationContext context)
+        throws OperationException;
+}
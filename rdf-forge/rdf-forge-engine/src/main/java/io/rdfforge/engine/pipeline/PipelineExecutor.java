@@ -5,10 +5,11 @@ import io.rdfforge.common.model.PipelineStep;
 import io.rdfforge.engine.operation.Operation;
 import io.rdfforge.engine.operation.OperationException;
 import io.rdfforge.engine.operation.OperationRegistry;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -18,9 +19,23 @@ import java.util.stream.Stream;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class PipelineExecutor {
     private final OperationRegistry operationRegistry;
+    private final OperationDispatcher dispatcher;
+
+    @Autowired
+    public PipelineExecutor(OperationRegistry operationRegistry, ObjectProvider<OperationDispatcher> dispatcher) {
+        this(operationRegistry, dispatcher.getIfAvailable(() -> OperationDispatcher.DIRECT));
+    }
+
+    public PipelineExecutor(OperationRegistry operationRegistry) {
+        this(operationRegistry, OperationDispatcher.DIRECT);
+    }
+
+    public PipelineExecutor(OperationRegistry operationRegistry, OperationDispatcher dispatcher) {
+        this.operationRegistry = operationRegistry;
+        this.dispatcher = dispatcher;
+    }
 
     public ExecutionResult execute(PipelineDefinition pipeline, Map<String, Object> variables, 
                                     boolean dryRun, ExecutionCallback callback) {
@@ -57,6 +72,25 @@ public class PipelineExecutor {
             log.error("Pipeline execution failed", e);
             callback.onComplete(false, e.getMessage());
             return buildResult(context, false, e.getMessage());
+        } finally {
+            closeStreams(context);
+        }
+    }
+
+    /**
+     * Close the output streams of every step once the pipeline is done, so sources
+     * that hold connections or worker threads for a stream release them even when a
+     * later step did not consume it.
+     */
+    private void closeStreams(ExecutionContext context) {
+        for (StepResult result : context.getAllStepResults().values()) {
+            if (result.getOutputStream() != null) {
+                try {
+                    result.getOutputStream().close();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to close output stream of step {}: {}", result.getStepId(), e.getMessage());
+                }
+            }
         }
     }
 
@@ -120,6 +154,7 @@ public class PipelineExecutor {
             @Override
             public void onMetric(String name, Object value) {
                 context.addMetric(step.getId() + "." + name, value);
+                context.getCallback().onMetric(step.getId(), name, value);
             }
         };
 
@@ -128,7 +163,7 @@ public class PipelineExecutor {
         );
 
         try {
-            Operation.OperationResult opResult = operation.execute(opContext);
+            Operation.OperationResult opResult = dispatcher.execute(operation, opContext);
             
             return StepResult.builder()
                 .stepId(step.getId())
@@ -298,5 +333,9 @@ public class PipelineExecutor {
         void onProgress(String stepId, long processed, long total);
         void onLog(String stepId, String level, String message);
         void onComplete(boolean success, String errorMessage);
+
+        /** Metrics reported by the step's operation, e.g. {@code triplesGenerated}. */
+        default void onMetric(String stepId, String name, Object value) {
+        }
     }
 }
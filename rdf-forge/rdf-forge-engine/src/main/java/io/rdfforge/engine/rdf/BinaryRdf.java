@@ -0,0 +1,167 @@
+package io.rdfforge.engine.rdf;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.Prefixes;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Binary RDF encoding used for data that stays inside rdf-forge: step
+ * checkpoints and service-to-service uploads.
+ *
+ * Wraps Jena's RDF Thrift and RDF Protobuf codecs. Terms are written as typed
+ * binary records instead of escaped text, so encoding skips string escaping and
+ * decoding skips tokenizing; the prefix table of a graph is written at the start
+ * of the stream and used to abbreviate IRIs. Thrift is the default because
+ * Fuseki accepts it natively on its Graph Store endpoint.
+ */
+public final class BinaryRdf {
+
+    public static final Lang DEFAULT_LANG = Lang.RDFTHRIFT;
+    public static final String THRIFT_CONTENT_TYPE = "application/rdf+thrift";
+    public static final String PROTOBUF_CONTENT_TYPE = "application/rdf+protobuf";
+    public static final String FILE_EXTENSION = ".rt";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private BinaryRdf() {
+    }
+
+    /**
+     * Resolve a binary format name ("thrift", "rdf-thrift", "protobuf", "rdf-proto", ...)
+     * or content type. Returns null for anything that is not a binary RDF syntax.
+     */
+    public static Lang lang(String format) {
+        if (format == null || format.isBlank()) {
+            return null;
+        }
+        return switch (format.toLowerCase(Locale.ROOT).trim()) {
+            case "thrift", "rdf-thrift", "rdfthrift", "rt", "binary", THRIFT_CONTENT_TYPE -> Lang.RDFTHRIFT;
+            case "protobuf", "proto", "rdf-proto", "rdf-protobuf", "rdfproto", "rpb", PROTOBUF_CONTENT_TYPE -> Lang.RDFPROTO;
+            default -> null;
+        };
+    }
+
+    public static boolean isBinary(Lang lang) {
+        return Lang.RDFTHRIFT.equals(lang) || Lang.RDFPROTO.equals(lang);
+    }
+
+    public static RDFFormat format(Lang lang) {
+        return Lang.RDFPROTO.equals(lang) ? RDFFormat.RDF_PROTO : RDFFormat.RDF_THRIFT;
+    }
+
+    public static String contentType(Lang lang) {
+        return lang.getContentType().getContentTypeStr();
+    }
+
+    /**
+     * Stream all triples of a graph to the output in the given binary syntax.
+     */
+    public static void write(OutputStream out, Graph graph, Lang lang) {
+        ExtendedIterator<Triple> triples = graph.find();
+        try {
+            write(out, triples, Prefixes.adapt(graph.getPrefixMapping()), lang);
+        } finally {
+            triples.close();
+        }
+    }
+
+    /**
+     * Stream triples to the output in the given binary syntax.
+     */
+    public static void write(OutputStream out, Iterator<Triple> triples, PrefixMap prefixes, Lang lang) {
+        StreamRDF writer = StreamRDFWriter.getWriterStream(out, format(lang));
+        writer.start();
+        if (prefixes != null) {
+            prefixes.forEach(writer::prefix);
+        }
+        while (triples.hasNext()) {
+            writer.triple(triples.next());
+        }
+        writer.finish();
+    }
+
+    public static byte[] toBytes(Graph graph, Lang lang) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, graph, lang);
+        return out.toByteArray();
+    }
+
+    /**
+     * Parse a binary RDF stream into an existing graph.
+     */
+    public static void read(InputStream in, Graph graph, Lang lang) {
+        RDFParser.source(in).lang(lang).parse(graph);
+    }
+
+    public static Model read(InputStream in, Lang lang) {
+        Model model = ModelFactory.createDefaultModel();
+        read(in, model.getGraph(), lang);
+        return model;
+    }
+
+    /**
+     * Atomically write a model to a checkpoint file.
+     */
+    public static void writeCheckpoint(Path path, Model model) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), BUFFER_SIZE)) {
+                write(out, model.getGraph(), DEFAULT_LANG);
+            }
+            try {
+                Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public static Model readCheckpoint(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+            return read(in, DEFAULT_LANG);
+        }
+    }
+
+    /**
+     * Resolve any format name, preferring the binary syntaxes, then Jena's registry
+     * of short names and content types.
+     */
+    public static Lang anyLang(String format, Lang defaultLang) {
+        Lang binary = lang(format);
+        if (binary != null) {
+            return binary;
+        }
+        if (format != null && !format.isBlank()) {
+            Lang lang = RDFLanguages.shortnameToLang(format);
+            if (lang == null) {
+                lang = RDFLanguages.contentTypeToLang(format.split(";")[0].trim());
+            }
+            if (lang != null) {
+                return lang;
+            }
+        }
+        return defaultLang;
+    }
+}
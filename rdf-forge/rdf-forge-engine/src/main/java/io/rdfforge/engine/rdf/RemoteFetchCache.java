@@ -0,0 +1,345 @@
+package io.rdfforge.engine.rdf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.query.*;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.sparql.exec.http.QueryExecutionHTTP;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Engine-wide on-disk cache for results of remote SPARQL CONSTRUCT fetches.
+ *
+ * Entries are keyed by endpoint and the normalized query (parsed and re-serialized,
+ * so formatting differences do not matter), plus an optional variant for loaders
+ * that produce different results for the same query. They are stored as binary RDF
+ * next to a properties file with the fetch time, an optional validator and the
+ * attributes the loader recorded about the fetch. An entry younger
+ * than its TTL is served directly. Once it is stale, an optional probe query (a
+ * cheap ASK or SELECT, e.g. on {@code schema:dateModified}) is run and its result
+ * compared with the validator recorded at fetch time, much like an ETag; if it is
+ * unchanged the entry is renewed without refetching. The cache is kept below a
+ * size limit by evicting least recently used entries.
+ *
+ * Configuration: {@code rdfforge.fetch-cache.dir} (default
+ * {@code <tmpdir>/rdf-forge/fetch-cache}) and {@code rdfforge.fetch-cache.max-bytes}
+ * (default 512 MB).
+ */
+@Slf4j
+public class RemoteFetchCache {
+
+    private static final long DEFAULT_MAX_BYTES = 512L * 1024 * 1024;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final RemoteFetchCache SHARED = new RemoteFetchCache(
+        Path.of(System.getProperty("rdfforge.fetch-cache.dir",
+            Path.of(System.getProperty("java.io.tmpdir"), "rdf-forge", "fetch-cache").toString())),
+        Long.getLong("rdfforge.fetch-cache.max-bytes", DEFAULT_MAX_BYTES)
+    );
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Map<String, KeyLock> locks = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RemoteFetchCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public static RemoteFetchCache shared() {
+        return SHARED;
+    }
+
+    public enum Status { HIT, REVALIDATED, MISS }
+
+    /**
+     * @param attributes what the loader recorded about the fetch, e.g. counts and timings,
+     *                   as recorded on the original miss
+     */
+    public record Result(Model model, Status status, Instant fetchedAt, Map<String, Object> attributes) {}
+
+    @FunctionalInterface
+    public interface Loader {
+        Model load() throws Exception;
+    }
+
+    /**
+     * Return the cached result for the query, or run the loader and cache its model.
+     *
+     * @param endpoint   SPARQL endpoint the query targets
+     * @param query      the query whose result the loader produces; only used as key
+     * @param ttl        how long an entry is served without any remote call
+     * @param probeQuery optional ASK/SELECT whose result changes when the data does
+     * @param timeout    timeout in seconds for the probe query
+     * @param loader     fetches the result on a miss
+     */
+    public Result fetch(String endpoint, String query, Duration ttl, String probeQuery, int timeout,
+                        Loader loader) throws Exception {
+        return fetch(endpoint, query, null, ttl, probeQuery, timeout, new HashMap<>(), loader);
+    }
+
+    /**
+     * Like {@link #fetch(String, String, Duration, String, int, Loader)}, for loaders
+     * whose result also depends on {@code variant}, and that record {@code attributes}
+     * about the fetch while loading. The attributes are stored with the entry and
+     * returned with every hit.
+     */
+    public Result fetch(String endpoint, String query, String variant, Duration ttl, String probeQuery, int timeout,
+                        Map<String, Object> attributes, Loader loader) throws Exception {
+        String normalized = normalize(query);
+        String key = key(endpoint, variant != null ? normalized + "\n" + variant : normalized);
+        // Concurrent fetches of the same entry wait for the first one instead of all hitting the endpoint.
+        // A ReentrantLock rather than a monitor, so waiting virtual threads do not pin their carrier
+        KeyLock lock = acquire(key);
+        try {
+            Optional<Properties> meta = readMeta(key, endpoint);
+            Path body = directory.resolve(key + BinaryRdf.FILE_EXTENSION);
+            if (meta.isPresent() && Files.isRegularFile(body)) {
+                Instant fetchedAt = Instant.ofEpochMilli(Long.parseLong(meta.get().getProperty("fetchedAt", "0")));
+                if (fetchedAt.plus(ttl).isAfter(Instant.now())) {
+                    return serve(body, Status.HIT, fetchedAt, meta.get());
+                }
+                String validator = meta.get().getProperty("validator");
+                if (probeQuery != null && validator != null) {
+                    String current = probe(endpoint, probeQuery, timeout);
+                    if (validator.equals(current)) {
+                        Instant now = Instant.now();
+                        writeMeta(key, endpoint, now, validator, meta.get().getProperty("attributes"));
+                        return serve(body, Status.REVALIDATED, now, meta.get());
+                    }
+                    log.debug("Cached fetch from {} changed ({} -> {})", endpoint, validator, current);
+                }
+            }
+
+            misses.incrementAndGet();
+            String validator = probeQuery != null ? probe(endpoint, probeQuery, timeout) : null;
+            Model model = loader.load();
+            Instant now = Instant.now();
+            store(key, endpoint, model, now, validator, attributes);
+            return new Result(model, Status.MISS, now, attributes);
+        } finally {
+            release(key, lock);
+        }
+    }
+
+    private KeyLock acquire(String key) {
+        KeyLock lock = locks.compute(key, (k, existing) -> {
+            KeyLock held = existing != null ? existing : new KeyLock();
+            held.users++;
+            return held;
+        });
+        lock.lock.lock();
+        return lock;
+    }
+
+    /** Unlock, and drop the key's lock once no other fetch holds or waits for it. */
+    private void release(String key, KeyLock lock) {
+        lock.lock.unlock();
+        locks.computeIfPresent(key, (k, held) -> --held.users == 0 ? null : held);
+    }
+
+    int lockCount() {
+        return locks.size();
+    }
+
+    public void invalidate(String endpoint, String query) {
+        String key = key(endpoint, normalize(query));
+        try {
+            Files.deleteIfExists(directory.resolve(key + ".properties"));
+            Files.deleteIfExists(directory.resolve(key + BinaryRdf.FILE_EXTENSION));
+        } catch (IOException e) {
+            log.debug("Could not invalidate fetch cache entry: {}", e.getMessage());
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private Result serve(Path body, Status status, Instant fetchedAt, Properties meta) throws IOException {
+        (status == Status.HIT ? hits : revalidations).incrementAndGet();
+        // The body's mtime doubles as the last-access time for eviction
+        Files.setLastModifiedTime(body, FileTime.from(Instant.now()));
+        String attributes = meta.getProperty("attributes");
+        return new Result(BinaryRdf.readCheckpoint(body), status, fetchedAt,
+            attributes != null ? MAPPER.readValue(attributes, new TypeReference<Map<String, Object>>() {}) : Map.of());
+    }
+
+    /**
+     * Run the probe and reduce its result to a comparable string: "true"/"false" for
+     * ASK, the sorted bindings for SELECT. An empty SELECT result yields null, which
+     * never matches, so data without a change marker is refetched after the TTL.
+     */
+    String probe(String endpoint, String probeQuery, int timeout) {
+        Query q = QueryFactory.create(probeQuery);
+        try (QueryExecution qe = QueryExecutionHTTP.create()
+                .endpoint(endpoint)
+                .query(q)
+                .timeout(timeout, TimeUnit.SECONDS)
+                .build()) {
+            if (q.isAskType()) {
+                return String.valueOf(qe.execAsk());
+            }
+            List<String> rows = new ArrayList<>();
+            ResultSet rs = qe.execSelect();
+            while (rs.hasNext()) {
+                QuerySolution solution = rs.next();
+                StringBuilder row = new StringBuilder();
+                for (String var : rs.getResultVars()) {
+                    RDFNode node = solution.get(var);
+                    row.append(var).append('=').append(node != null ? node.toString() : "").append(';');
+                }
+                rows.add(row.toString());
+            }
+            if (rows.isEmpty()) {
+                return null;
+            }
+            Collections.sort(rows);
+            return String.join("|", rows);
+        }
+    }
+
+    private void store(String key, String endpoint, Model model, Instant fetchedAt, String validator,
+                       Map<String, Object> attributes) {
+        try {
+            BinaryRdf.writeCheckpoint(directory.resolve(key + BinaryRdf.FILE_EXTENSION), model);
+            writeMeta(key, endpoint, fetchedAt, validator,
+                attributes.isEmpty() ? null : MAPPER.writeValueAsString(attributes));
+            evict();
+        } catch (IOException e) {
+            log.warn("Could not cache fetch result from {}: {}", endpoint, e.getMessage());
+        }
+    }
+
+    private Optional<Properties> readMeta(String key, String endpoint) {
+        Path meta = directory.resolve(key + ".properties");
+        if (!Files.isRegularFile(meta)) {
+            return Optional.empty();
+        }
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            log.debug("Unreadable fetch cache metadata: {}", e.getMessage());
+            return Optional.empty();
+        }
+        return endpoint.equals(props.getProperty("endpoint")) ? Optional.of(props) : Optional.empty();
+    }
+
+    private void writeMeta(String key, String endpoint, Instant fetchedAt, String validator, String attributes)
+            throws IOException {
+        Properties props = new Properties();
+        props.setProperty("endpoint", endpoint);
+        props.setProperty("fetchedAt", String.valueOf(fetchedAt.toEpochMilli()));
+        if (validator != null) {
+            props.setProperty("validator", validator);
+        }
+        if (attributes != null) {
+            props.setProperty("attributes", attributes);
+        }
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, key, ".meta");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            props.store(writer, null);
+        }
+        try {
+            Files.move(tmp, directory.resolve(key + ".properties"),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, directory.resolve(key + ".properties"), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Delete least recently used entries until the cached bodies fit in maxBytes.
+     */
+    private void evict() throws IOException {
+        List<Path> bodies;
+        try (Stream<Path> files = Files.list(directory)) {
+            bodies = files.filter(p -> p.getFileName().toString().endsWith(BinaryRdf.FILE_EXTENSION)).toList();
+        }
+        long total = 0;
+        Map<Path, Long> sizes = new HashMap<>();
+        Map<Path, FileTime> accessed = new HashMap<>();
+        for (Path body : bodies) {
+            try {
+                long size = Files.size(body);
+                sizes.put(body, size);
+                accessed.put(body, Files.getLastModifiedTime(body));
+                total += size;
+            } catch (NoSuchFileException e) {
+                // evicted concurrently
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        List<Path> oldestFirst = new ArrayList<>(sizes.keySet());
+        oldestFirst.sort(Comparator.comparing(accessed::get));
+        for (Path body : oldestFirst) {
+            if (total <= maxBytes) {
+                break;
+            }
+            String name = body.getFileName().toString();
+            String key = name.substring(0, name.length() - BinaryRdf.FILE_EXTENSION.length());
+            Files.deleteIfExists(directory.resolve(key + ".properties"));
+            Files.deleteIfExists(body);
+            total -= sizes.get(body);
+            log.debug("Evicted fetch cache entry {} ({} bytes)", key, sizes.get(body));
+        }
+    }
+
+    static String normalize(String query) {
+        try {
+            return QueryFactory.create(query).serialize();
+        } catch (QueryException e) {
+            return query.strip().replaceAll("\\s+", " ");
+        }
+    }
+
+    private static String key(String endpoint, String normalizedQuery) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(endpoint.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return HexFormat.of().formatHex(digest.digest(normalizedQuery.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class KeyLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by the map's compute on the key
+        private int users;
+    }
+}
@@ -0,0 +1,258 @@
+package io.rdfforge.engine.shacl;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.shacl.Shapes;
+import org.apache.jena.shacl.engine.Target;
+import org.apache.jena.shacl.engine.TargetType;
+import org.apache.jena.shacl.engine.constraint.ConstraintComponentSPARQL;
+import org.apache.jena.shacl.engine.constraint.SparqlConstraint;
+import org.apache.jena.shacl.parser.Constraint;
+import org.apache.jena.shacl.parser.PropertyShape;
+import org.apache.jena.shacl.parser.Shape;
+import org.apache.jena.shacl.validation.VLib;
+import org.apache.jena.sparql.path.*;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDFS;
+
+import java.util.*;
+
+/**
+ * Works out which focus nodes a delta of added and removed triples can affect.
+ *
+ * A constraint on a focus node only reads triples reachable from it along the
+ * property paths of its shape (and of nested shapes). Walking backwards from the
+ * subjects of the changed triples over those path predicates, for at most as many
+ * steps as the longest path, therefore finds every focus node whose result may
+ * have changed. Objects of changed triples are seeded too when their predicate is
+ * named by an {@code sh:targetObjectsOf}, since the change decides whether they are
+ * focus nodes at all. Shapes with unbounded paths ({@code *}, {@code +}), SPARQL-based
+ * constraints or SPARQL-based targets have no such limit; {@link #analyze} returns
+ * null for them and callers validate everything. So do deltas that change
+ * {@code rdfs:subClassOf}, see {@link #changesClassHierarchy}.
+ */
+final class IncrementalScope {
+
+    private static final int MAX_NESTING = 8;
+
+    private final int depth;
+    private final boolean bidirectional;
+    private final boolean anyPredicate;
+    private final Set<Node> predicates;
+    private final Set<Node> targetObjectPredicates;
+
+    private IncrementalScope(int depth, boolean bidirectional, boolean anyPredicate, Set<Node> predicates,
+                             Set<Node> targetObjectPredicates) {
+        this.depth = depth;
+        this.bidirectional = bidirectional;
+        this.anyPredicate = anyPredicate;
+        this.predicates = predicates;
+        this.targetObjectPredicates = targetObjectPredicates;
+    }
+
+    /**
+     * Analyze the paths of the shapes, or return null when the affected nodes cannot
+     * be bounded.
+     */
+    static IncrementalScope analyze(Shapes shapes) {
+        PathStats stats = new PathStats();
+        Set<Node> targetObjectPredicates = new HashSet<>();
+        int targetDepth = 0;
+        for (Shape shape : shapes.getTargetShapes()) {
+            for (Target target : shape.getTargets()) {
+                if (target.getTargetType() == TargetType.targetExtension) {
+                    return null;
+                }
+                if (target.getTargetType() == TargetType.targetObjectsOf) {
+                    targetObjectPredicates.add(target.getObject());
+                }
+            }
+            targetDepth = Math.max(targetDepth, shapeDepth(shape, stats, 0));
+        }
+
+        // Shapes reached through sh:node, sh:property references or logical constraints
+        // are not targets themselves; their paths extend the reach of the target shapes
+        int nestedDepth = 0;
+        for (Shape shape : shapes.getShapeMap().values()) {
+            if (hasSparqlConstraint(shape)) {
+                return null;
+            }
+            if (!shape.hasTarget() && !(shape instanceof PropertyShape)) {
+                nestedDepth = Math.max(nestedDepth, shapeDepth(shape, stats, 0));
+            }
+        }
+
+        if (stats.unbounded) {
+            return null;
+        }
+        return new IncrementalScope(targetDepth + nestedDepth, stats.bidirectional, stats.anyPredicate,
+            Set.copyOf(stats.predicates), Set.copyOf(targetObjectPredicates));
+    }
+
+    /**
+     * SPARQL-based constraints may read any triple of the data graph, so no path
+     * analysis bounds what they depend on.
+     */
+    private static boolean hasSparqlConstraint(Shape shape) {
+        for (Constraint constraint : shape.getConstraints()) {
+            if (constraint instanceof SparqlConstraint || constraint instanceof ConstraintComponentSPARQL) {
+                return true;
+            }
+        }
+        for (PropertyShape property : shape.getPropertyShapes()) {
+            if (hasSparqlConstraint(property)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the delta adds or removes {@code rdfs:subClassOf} triples. Those change
+     * the instances of {@code sh:targetClass} and {@code sh:class} far from the
+     * changed triples, so the affected focus nodes cannot be found by walking paths.
+     */
+    static boolean changesClassHierarchy(Graph added, Graph removed) {
+        return added.contains(Node.ANY, RDFS.Nodes.subClassOf, Node.ANY)
+            || removed.contains(Node.ANY, RDFS.Nodes.subClassOf, Node.ANY);
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Focus nodes of target shapes in {@code data} that may be affected by the delta,
+     * grouped by shape.
+     */
+    Map<Shape, List<Node>> affectedFocusNodes(Shapes shapes, Graph data, Graph added, Graph removed) {
+        Set<Node> reached = reachedNodes(data, added, removed);
+        Map<Shape, List<Node>> affected = new LinkedHashMap<>();
+        for (Shape shape : shapes.getTargetShapes()) {
+            List<Node> focusNodes = new ArrayList<>();
+            for (Node node : reached) {
+                if (VLib.isFocusNode(shape, node, data)) {
+                    focusNodes.add(node);
+                }
+            }
+            if (!focusNodes.isEmpty()) {
+                affected.put(shape, focusNodes);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Nodes within {@code depth} reverse steps of a changed triple. Removed triples are
+     * walked as well, since a focus node may only have reached them before the change.
+     */
+    Set<Node> reachedNodes(Graph data, Graph added, Graph removed) {
+        Set<Node> reached = new HashSet<>();
+        Deque<Node> frontier = new ArrayDeque<>();
+        for (Graph delta : List.of(added, removed)) {
+            ExtendedIterator<Triple> triples = delta.find();
+            try {
+                while (triples.hasNext()) {
+                    Triple triple = triples.next();
+                    seed(triple.getSubject(), reached, frontier);
+                    if (bidirectional || targetObjectPredicates.contains(triple.getPredicate())) {
+                        seed(triple.getObject(), reached, frontier);
+                    }
+                }
+            } finally {
+                triples.close();
+            }
+        }
+
+        for (int step = 0; step < depth && !frontier.isEmpty(); step++) {
+            Deque<Node> next = new ArrayDeque<>();
+            for (Node node : frontier) {
+                for (Graph graph : List.of(data, removed)) {
+                    for (Node predicate : walkPredicates()) {
+                        collect(graph.find(Node.ANY, predicate, node), true, reached, next);
+                        if (bidirectional) {
+                            collect(graph.find(node, predicate, Node.ANY), false, reached, next);
+                        }
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return reached;
+    }
+
+    private Collection<Node> walkPredicates() {
+        return anyPredicate ? List.of(Node.ANY) : predicates;
+    }
+
+    private static void seed(Node node, Set<Node> reached, Deque<Node> frontier) {
+        if (!node.isLiteral() && reached.add(node)) {
+            frontier.add(node);
+        }
+    }
+
+    private static void collect(ExtendedIterator<Triple> triples, boolean subjects, Set<Node> reached,
+                                Deque<Node> next) {
+        try {
+            while (triples.hasNext()) {
+                Triple triple = triples.next();
+                seed(subjects ? triple.getSubject() : triple.getObject(), reached, next);
+            }
+        } finally {
+            triples.close();
+        }
+    }
+
+    private static int shapeDepth(Shape shape, PathStats stats, int nesting) {
+        if (nesting > MAX_NESTING) {
+            stats.unbounded = true;
+            return 0;
+        }
+        int depth = 0;
+        for (PropertyShape property : shape.getPropertyShapes()) {
+            int length = pathLength(property.getPath(), stats);
+            depth = Math.max(depth, length + shapeDepth(property, stats, nesting + 1));
+        }
+        return depth;
+    }
+
+    private static int pathLength(Path path, PathStats stats) {
+        if (path instanceof P_Link link) {
+            stats.predicates.add(link.getNode());
+            return 1;
+        }
+        if (path instanceof P_ReverseLink link) {
+            stats.predicates.add(link.getNode());
+            stats.bidirectional = true;
+            return 1;
+        }
+        if (path instanceof P_Inverse inverse) {
+            stats.bidirectional = true;
+            return pathLength(inverse.getSubPath(), stats);
+        }
+        if (path instanceof P_Seq seq) {
+            return pathLength(seq.getLeft(), stats) + pathLength(seq.getRight(), stats);
+        }
+        if (path instanceof P_Alt alt) {
+            return Math.max(pathLength(alt.getLeft(), stats), pathLength(alt.getRight(), stats));
+        }
+        if (path instanceof P_ZeroOrOne optional) {
+            return pathLength(optional.getSubPath(), stats);
+        }
+        if (path instanceof P_NegPropSet) {
+            stats.anyPredicate = true;
+            stats.bidirectional = true;
+            return 1;
+        }
+        stats.unbounded = true;
+        return 0;
+    }
+
+    private static final class PathStats {
+        private final Set<Node> predicates = new HashSet<>();
+        private boolean bidirectional;
+        private boolean anyPredicate;
+        private boolean unbounded;
+    }
+}
@@ -0,0 +1,165 @@
+package io.rdfforge.engine.shacl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rdfforge.common.model.ValidationReport;
+import io.rdfforge.common.model.ValidationReport.ResultGroup;
+import io.rdfforge.common.model.ValidationReport.ValidationResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Builds a bounded {@link ValidationReport} from a stream of results.
+ *
+ * Results are counted by severity and aggregated into groups by source shape,
+ * constraint component, path and severity. Each group keeps a sample of focus nodes:
+ * those with the lowest hash seeded by the group, so the sample is uniform but the
+ * same for the same results in any order. The report keeps only the first
+ * {@code maxResults} results in result order, so its size does not grow with the
+ * number of violations. When a
+ * details writer is set, every result is also written to it as a JSON line.
+ * Not thread-safe; feed it from one thread.
+ */
+final class ReportAggregator {
+
+    static final Comparator<ValidationResult> RESULT_ORDER = Comparator
+        .comparing(ValidationResult::getFocusNode, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+        .thenComparing(ValidationResult::getResultPath, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+        .thenComparing(ValidationResult::getSourceShape, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+        .thenComparing(ValidationResult::getSourceConstraintComponent, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+        .thenComparing(ValidationResult::getValue, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+        .thenComparing(ValidationResult::getMessage, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ReportOptions options;
+    // Max-heap on result order: the head is the first result to drop when over the limit
+    private final PriorityQueue<ValidationResult> kept = new PriorityQueue<>(RESULT_ORDER.reversed());
+    private final Map<GroupKey, Group> groups = new HashMap<>();
+    private long total;
+    private int violationCount;
+    private int warningCount;
+    private int infoCount;
+
+    ReportAggregator(ReportOptions options) {
+        this.options = options;
+    }
+
+    void add(ValidationResult result) {
+        total++;
+        switch (result.getSeverity()) {
+            case VIOLATION -> violationCount++;
+            case WARNING -> warningCount++;
+            case INFO -> infoCount++;
+        }
+
+        GroupKey key = new GroupKey(result.getSourceShape(), result.getSourceConstraintComponent(),
+            result.getResultPath(), result.getSeverity());
+        groups.computeIfAbsent(key, k -> new Group(result.getMessage(), k.seed()))
+            .add(result.getFocusNode(), options.sampleSize());
+
+        int maxResults = options.maxResults();
+        if (maxResults < 0 || kept.size() < maxResults) {
+            kept.add(result);
+        } else if (maxResults > 0 && RESULT_ORDER.compare(result, kept.peek()) < 0) {
+            kept.poll();
+            kept.add(result);
+        }
+
+        if (options.details() != null) {
+            try {
+                options.details().write(MAPPER.writeValueAsString(result));
+                options.details().write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write validation details", e);
+            }
+        }
+    }
+
+    ValidationReport build(long startTime, Map<String, Object> metadata) {
+        List<ValidationResult> results = new ArrayList<>(kept);
+        results.sort(RESULT_ORDER);
+
+        List<ResultGroup> resultGroups = new ArrayList<>(groups.size());
+        groups.forEach((key, group) -> resultGroups.add(ResultGroup.builder()
+            .sourceShape(key.sourceShape())
+            .sourceConstraintComponent(key.sourceConstraintComponent())
+            .resultPath(key.resultPath())
+            .severity(key.severity())
+            .message(group.message)
+            .count(group.count)
+            .sampleFocusNodes(group.samples.stream().map(Sample::focusNode).sorted().toList())
+            .build()));
+        resultGroups.sort(Comparator.comparingLong(ResultGroup::getCount).reversed()
+            .thenComparing(ResultGroup::getSourceShape, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(ResultGroup::getResultPath, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(ResultGroup::getSourceConstraintComponent, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(ResultGroup::getSeverity));
+
+        return ValidationReport.builder()
+            .id(UUID.randomUUID())
+            .conforms(total == 0)
+            .violationCount(violationCount)
+            .warningCount(warningCount)
+            .infoCount(infoCount)
+            .results(results)
+            .groups(resultGroups)
+            .totalResults(total)
+            .truncated(results.size() < total)
+            .validatedAt(Instant.now())
+            .durationMs(System.currentTimeMillis() - startTime)
+            .metadata(metadata)
+            .build();
+    }
+
+    private record GroupKey(String sourceShape, String sourceConstraintComponent, String resultPath,
+                            ValidationResult.Severity severity) {
+
+        /** From the strings only; the record's hashCode includes the identity hash of the enum. */
+        long seed() {
+            return Objects.hash(sourceShape, sourceConstraintComponent, resultPath,
+                severity != null ? severity.name() : null);
+        }
+    }
+
+    private record Sample(long rank, String focusNode) {
+    }
+
+    private static final Comparator<Sample> SAMPLE_ORDER =
+        Comparator.comparingLong(Sample::rank).thenComparing(Sample::focusNode);
+
+    private static final class Group {
+        private final String message;
+        private final long seed;
+        private final TreeSet<Sample> samples = new TreeSet<>(SAMPLE_ORDER);
+        private long count;
+
+        private Group(String message, long seed) {
+            this.message = message;
+            this.seed = seed;
+        }
+
+        /** Bottom-k sampling: keeps the focus nodes of lowest rank, whatever the order they arrive in. */
+        private void add(String focusNode, int sampleSize) {
+            count++;
+            if (focusNode == null || sampleSize <= 0) {
+                return;
+            }
+            Sample sample = new Sample(mix(seed ^ focusNode.hashCode()), focusNode);
+            if (samples.size() < sampleSize) {
+                samples.add(sample);
+            } else if (SAMPLE_ORDER.compare(sample, samples.last()) < 0 && samples.add(sample)) {
+                samples.pollLast();
+            }
+        }
+
+        /** SplitMix64 finalizer, spreads string hash codes over the whole long range. */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
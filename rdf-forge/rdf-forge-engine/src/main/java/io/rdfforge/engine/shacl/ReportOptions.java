@@ -0,0 +1,26 @@
+package io.rdfforge.engine.shacl;
+
+import java.io.Writer;
+
+/**
+ * Controls how much detail a validation report carries. The defaults a deployment
+ * configures ({@code rdfforge.shacl.max-results}, {@code rdfforge.shacl.group-samples})
+ * come from {@link ShaclValidator#defaultReportOptions()}.
+ *
+ * @param maxResults  individual results kept in the report, negative for all
+ * @param sampleSize  focus nodes sampled per result group
+ * @param details     optional sink receiving every result as a JSON line; owned by the caller
+ */
+public record ReportOptions(int maxResults, int sampleSize, Writer details) {
+
+    static final int DEFAULT_MAX_RESULTS = 1000;
+    static final int DEFAULT_SAMPLE_SIZE = 10;
+
+    public ReportOptions withMaxResults(int maxResults) {
+        return new ReportOptions(maxResults, sampleSize, details);
+    }
+
+    public ReportOptions withDetails(Writer details) {
+        return new ReportOptions(maxResults, sampleSize, details);
+    }
+}
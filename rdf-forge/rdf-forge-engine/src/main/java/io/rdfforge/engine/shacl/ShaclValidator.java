@@ -2,9 +2,22 @@ package io.rdfforge.engine.shacl;
 
 import io.rdfforge.common.model.ValidationReport;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.shacl.Shapes;
 
 public interface ShaclValidator {
     ValidationReport validate(Model dataModel, Model shapesModel);
     ValidationReport validate(Model dataModel, String shapesContent);
+    ValidationReport validate(Model dataModel, Shapes shapes);
+    ValidationReport validate(Model dataModel, Shapes shapes, int batchSize, int parallelism);
+    ValidationReport validate(Model dataModel, Shapes shapes, int batchSize, int parallelism, ReportOptions options);
+    ValidationReport validateIncremental(Model dataModel, Shapes shapes, ValidationReport previous,
+                                         Model added, Model removed);
+    ValidationReport validateIncremental(Model dataModel, Shapes shapes, ValidationReport previous,
+                                         Model added, Model removed, ReportOptions options);
     boolean validateSyntax(String shapesContent);
+
+    /**
+     * Report limits applied when a caller passes no options of its own.
+     */
+    ReportOptions defaultReportOptions();
 }
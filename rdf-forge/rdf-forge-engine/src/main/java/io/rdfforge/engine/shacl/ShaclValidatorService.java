@@ -1,53 +1,209 @@
 package io.rdfforge.engine.shacl;
 
 import io.rdfforge.common.model.ValidationReport;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.shacl.ShaclValidator;
 import org.apache.jena.shacl.Shapes;
+import org.apache.jena.shacl.engine.ValidationContext;
+import org.apache.jena.shacl.parser.Shape;
 import org.apache.jena.shacl.validation.ReportEntry;
 import org.apache.jena.shacl.validation.Severity;
+import org.apache.jena.shacl.validation.VLib;
 import org.apache.jena.shacl.lib.ShLib;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
 public class ShaclValidatorService implements io.rdfforge.engine.shacl.ShaclValidator {
 
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 5000;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ShapesCache shapesCache;
+    private final int parallelThreshold;
+    private final ReportOptions reportOptions;
+
+    private final ExecutorService validationExecutor = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "shacl-validate-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+    /**
+     * @param parallelThreshold focus nodes from which a validation is partitioned into concurrent batches
+     */
+    @Autowired
+    public ShaclValidatorService(ShapesCache shapesCache,
+                                 @Value("${rdfforge.shacl.parallel-threshold:5000}") int parallelThreshold,
+                                 @Value("${rdfforge.shacl.max-results:1000}") int maxResults,
+                                 @Value("${rdfforge.shacl.group-samples:10}") int groupSamples) {
+        this.shapesCache = shapesCache;
+        this.parallelThreshold = parallelThreshold;
+        this.reportOptions = new ReportOptions(maxResults, groupSamples, null);
+    }
+
+    public ShaclValidatorService(ShapesCache shapesCache, int parallelThreshold) {
+        this(shapesCache, parallelThreshold, ReportOptions.DEFAULT_MAX_RESULTS, ReportOptions.DEFAULT_SAMPLE_SIZE);
+    }
+
+    public ShaclValidatorService(ShapesCache shapesCache) {
+        this(shapesCache, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    @Override
+    public ReportOptions defaultReportOptions() {
+        return reportOptions;
+    }
+
     @Override
     public ValidationReport validate(Model dataModel, Model shapesModel) {
+        return validate(dataModel, shapesCache.get(shapesModel.getGraph()));
+    }
+
+    @Override
+    public ValidationReport validate(Model dataModel, Shapes shapes) {
+        return validate(dataModel, shapes, DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public ValidationReport validate(Model dataModel, Shapes shapes, int batchSize, int parallelism) {
+        return validate(dataModel, shapes, batchSize, parallelism, reportOptions);
+    }
+
+    /**
+     * Validate with focus nodes partitioned into batches that are checked concurrently
+     * against the shared compiled shapes and the read-only data graph. Small inputs
+     * go through Jena's validator directly. Results of each batch are folded into a
+     * bounded report as the batch completes, so the report neither depends on
+     * scheduling nor grows with the number of violations.
+     */
+    @Override
+    public ValidationReport validate(Model dataModel, Shapes shapes, int batchSize, int parallelism,
+                                     ReportOptions options) {
+        long startTime = System.currentTimeMillis();
+
+        Graph dataGraph = dataModel.getGraph();
+        List<FocusBatch> batches = partition(shapes, dataGraph, Math.max(1, batchSize));
+        long focusNodes = batches.stream().mapToLong(batch -> batch.focusNodes().size()).sum();
+
+        ReportAggregator aggregator = new ReportAggregator(options);
+        boolean partitioned = parallelism > 1 && batches.size() > 1 && focusNodes >= parallelThreshold;
+        if (partitioned) {
+            validatePartitioned(shapes, dataGraph, batches, parallelism, entries -> addAll(aggregator, entries));
+        } else {
+            addAll(aggregator, ShaclValidator.get().validate(shapes, dataGraph).getEntries());
+        }
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("focusNodes", focusNodes);
+        metadata.put("batches", batches.size());
+        metadata.put("parallelism", partitioned ? Math.min(parallelism, batches.size()) : 1);
+        return aggregator.build(startTime, metadata);
+    }
+
+    /**
+     * Re-validate only the focus nodes the delta can affect and merge the outcome into
+     * the previous report. {@code dataModel} is the data after the change; results of
+     * unaffected focus nodes are carried over from {@code previous}. Falls back to a
+     * full validation when there is no complete previous report, the shapes use
+     * unbounded paths or the delta changes the class hierarchy.
+     */
+    @Override
+    public ValidationReport validateIncremental(Model dataModel, Shapes shapes, ValidationReport previous,
+                                                Model added, Model removed) {
+        return validateIncremental(dataModel, shapes, previous, added, removed, reportOptions);
+    }
+
+    /**
+     * Incremental validation whose report, like a full one, is bounded by {@code options};
+     * a report truncated there cannot seed the next incremental run.
+     */
+    @Override
+    public ValidationReport validateIncremental(Model dataModel, Shapes shapes, ValidationReport previous,
+                                                Model added, Model removed, ReportOptions options) {
         long startTime = System.currentTimeMillis();
-        
-        Graph shapesGraph = shapesModel.getGraph();
+        Graph addedGraph = added != null ? added.getGraph() : ModelFactory.createDefaultModel().getGraph();
+        Graph removedGraph = removed != null ? removed.getGraph() : ModelFactory.createDefaultModel().getGraph();
+        // A truncated report lacks the results of unaffected focus nodes, so it cannot be carried over
+        IncrementalScope scope = previous != null && !previous.isTruncated()
+            && !IncrementalScope.changesClassHierarchy(addedGraph, removedGraph)
+            ? IncrementalScope.analyze(shapes) : null;
+        if (scope == null) {
+            log.debug("Incremental validation not possible, validating all focus nodes");
+            ValidationReport report = validate(dataModel, shapes, DEFAULT_BATCH_SIZE,
+                Runtime.getRuntime().availableProcessors(), options);
+            Map<String, Object> metadata = new LinkedHashMap<>(report.getMetadata());
+            metadata.put("incremental", false);
+            report.setMetadata(metadata);
+            return report;
+        }
+
         Graph dataGraph = dataModel.getGraph();
-        
-        Shapes shapes = Shapes.parse(shapesGraph);
-        org.apache.jena.shacl.ValidationReport jenaReport = ShaclValidator.get().validate(shapes, dataGraph);
-        
-        List<ValidationReport.ValidationResult> results = new ArrayList<>();
-        int violationCount = 0;
-        int warningCount = 0;
-        int infoCount = 0;
-
-        for (ReportEntry entry : jenaReport.getEntries()) {
-            ValidationReport.ValidationResult.Severity severity = mapSeverity(entry.severity());
-            
-            switch (severity) {
-                case VIOLATION -> violationCount++;
-                case WARNING -> warningCount++;
-                case INFO -> infoCount++;
+        Map<Shape, List<Node>> affected = scope.affectedFocusNodes(shapes, dataGraph, addedGraph, removedGraph);
+
+        // Focus nodes whose old results are replaced; removed triples may also have
+        // taken a node out of a target, which drops its old results without new ones
+        Set<String> replaced = new HashSet<>();
+        for (Node node : scope.reachedNodes(dataGraph, addedGraph, removedGraph)) {
+            replaced.add(nodeToString(node));
+        }
+
+        List<FocusBatch> batches = new ArrayList<>();
+        affected.forEach((shape, nodes) -> {
+            for (int i = 0; i < nodes.size(); i += DEFAULT_BATCH_SIZE) {
+                batches.add(new FocusBatch(shape, nodes.subList(i, Math.min(i + DEFAULT_BATCH_SIZE, nodes.size()))));
             }
+        });
+        long focusNodes = batches.stream().mapToLong(batch -> batch.focusNodes().size()).sum();
+
+        ReportAggregator aggregator = new ReportAggregator(options);
+        if (previous.getResults() != null) {
+            for (ValidationReport.ValidationResult result : previous.getResults()) {
+                if (!replaced.contains(result.getFocusNode())) {
+                    aggregator.add(result);
+                }
+            }
+        }
+        if (batches.size() > 1 && focusNodes >= parallelThreshold) {
+            validatePartitioned(shapes, dataGraph, batches, Runtime.getRuntime().availableProcessors(),
+                entries -> addAll(aggregator, entries));
+        } else {
+            for (FocusBatch batch : batches) {
+                addAll(aggregator, validateBatch(shapes, dataGraph, batch));
+            }
+        }
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("incremental", true);
+        metadata.put("previousReportId", String.valueOf(previous.getId()));
+        metadata.put("affectedFocusNodes", focusNodes);
+        metadata.put("pathDepth", scope.getDepth());
+        metadata.put("batches", batches.size());
+        log.debug("Incremental validation re-checked {} focus nodes in {} batches", focusNodes, batches.size());
+        return aggregator.build(startTime, metadata);
+    }
 
-            results.add(ValidationReport.ValidationResult.builder()
-                .severity(severity)
+    private static void addAll(ReportAggregator aggregator, Collection<ReportEntry> entries) {
+        for (ReportEntry entry : entries) {
+            aggregator.add(ValidationReport.ValidationResult.builder()
+                .severity(mapSeverity(entry.severity()))
                 .focusNode(nodeToString(entry.focusNode()))
                 .resultPath(entry.resultPath() != null ? entry.resultPath().toString() : null)
                 .value(nodeToString(entry.value()))
@@ -56,34 +212,81 @@ public class ShaclValidatorService implements io.rdfforge.engine.shacl.ShaclVali
                 .sourceShape(nodeToString(entry.sourceConstraint()))
                 .build());
         }
+    }
+
+    private List<FocusBatch> partition(Shapes shapes, Graph data, int batchSize) {
+        List<FocusBatch> batches = new ArrayList<>();
+        for (Shape shape : shapes.getTargetShapes()) {
+            List<Node> focusNodes = new ArrayList<>(VLib.focusNodes(data, shape));
+            for (int i = 0; i < focusNodes.size(); i += batchSize) {
+                batches.add(new FocusBatch(shape, focusNodes.subList(i, Math.min(i + batchSize, focusNodes.size()))));
+            }
+        }
+        return batches;
+    }
 
-        long durationMs = System.currentTimeMillis() - startTime;
+    /**
+     * Run the batches on the validation pool, keeping at most {@code parallelism} of
+     * them in flight. Each batch gets its own validation context; its entries are
+     * handed to {@code onBatch} on the calling thread.
+     */
+    private void validatePartitioned(Shapes shapes, Graph data, List<FocusBatch> batches, int parallelism,
+                                     Consumer<List<ReportEntry>> onBatch) {
+        CompletionService<List<ReportEntry>> completion = new ExecutorCompletionService<>(validationExecutor);
+        Iterator<FocusBatch> pending = batches.iterator();
+        List<Future<List<ReportEntry>>> submitted = new ArrayList<>();
+        int running = 0;
+        try {
+            while (running < parallelism && pending.hasNext()) {
+                FocusBatch batch = pending.next();
+                submitted.add(completion.submit(() -> validateBatch(shapes, data, batch)));
+                running++;
+            }
+            while (running > 0) {
+                onBatch.accept(completion.take().get());
+                running--;
+                if (pending.hasNext()) {
+                    FocusBatch batch = pending.next();
+                    submitted.add(completion.submit(() -> validateBatch(shapes, data, batch)));
+                    running++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during SHACL validation", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("SHACL validation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            submitted.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static List<ReportEntry> validateBatch(Shapes shapes, Graph data, FocusBatch batch) {
+        ValidationContext context = ValidationContext.create(shapes, data);
+        for (Node focusNode : batch.focusNodes()) {
+            VLib.validateShape(context, data, batch.shape(), focusNode);
+        }
+        return new ArrayList<>(context.generateReport().getEntries());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationExecutor.shutdownNow();
+    }
 
-        return ValidationReport.builder()
-            .id(UUID.randomUUID())
-            .conforms(jenaReport.conforms())
-            .violationCount(violationCount)
-            .warningCount(warningCount)
-            .infoCount(infoCount)
-            .results(results)
-            .validatedAt(Instant.now())
-            .durationMs(durationMs)
-            .build();
+    private record FocusBatch(Shape shape, List<Node> focusNodes) {
     }
 
     @Override
     public ValidationReport validate(Model dataModel, String shapesContent) {
-        Model shapesModel = org.apache.jena.rdf.model.ModelFactory.createDefaultModel();
-        shapesModel.read(new java.io.StringReader(shapesContent), null, "TURTLE");
-        return validate(dataModel, shapesModel);
+        return validate(dataModel, shapesCache.get(shapesContent));
     }
 
     @Override
     public boolean validateSyntax(String shapesContent) {
         try {
-            Model shapesModel = org.apache.jena.rdf.model.ModelFactory.createDefaultModel();
-            shapesModel.read(new java.io.StringReader(shapesContent), null, "TURTLE");
-            Shapes.parse(shapesModel.getGraph());
+            // Compiling through the cache means a stored shape is ready when it is first used
+            shapesCache.get(shapesContent);
             return true;
         } catch (Exception e) {
             log.warn("Invalid SHACL syntax: {}", e.getMessage());
@@ -91,7 +294,7 @@ public class ShaclValidatorService implements io.rdfforge.engine.shacl.ShaclVali
         }
     }
 
-    private ValidationReport.ValidationResult.Severity mapSeverity(Severity severity) {
+    private static ValidationReport.ValidationResult.Severity mapSeverity(Severity severity) {
         if (severity == null) {
             return ValidationReport.ValidationResult.Severity.VIOLATION;
         }
@@ -103,7 +306,7 @@ public class ShaclValidatorService implements io.rdfforge.engine.shacl.ShaclVali
         return ValidationReport.ValidationResult.Severity.VIOLATION;
     }
 
-    private String nodeToString(RDFNode node) {
+    private static String nodeToString(RDFNode node) {
         if (node == null) return null;
         if (node.isURIResource()) {
             return node.asResource().getURI();
@@ -115,7 +318,7 @@ public class ShaclValidatorService implements io.rdfforge.engine.shacl.ShaclVali
         return node.toString();
     }
 
-    private String nodeToString(org.apache.jena.graph.Node node) {
+    private static String nodeToString(org.apache.jena.graph.Node node) {
         if (node == null) return null;
         if (node.isURI()) {
             return node.getURI();
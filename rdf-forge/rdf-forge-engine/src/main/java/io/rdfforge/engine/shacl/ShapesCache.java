@@ -0,0 +1,186 @@
+package io.rdfforge.engine.shacl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.shacl.Shapes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of compiled SHACL {@link Shapes}, keyed by a SHA-256 hash of the
+ * shapes source and its syntax.
+ *
+ * Compiled shapes are immutable and safe to share between validations, so the same
+ * constraint or profile is parsed and compiled once and reused across batches,
+ * pipeline runs and services. Hits, misses and compile time are exported to
+ * Micrometer when a registry is available. The capacity defaults to 64 entries and
+ * is set with {@code rdfforge.shacl.shapes-cache-size}.
+ */
+@Slf4j
+@Component
+public class ShapesCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final int maxEntries;
+    private final Map<String, Shapes> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong compileNanos = new AtomicLong();
+    private final Timer compileTimer;
+
+    @Autowired
+    public ShapesCache(ObjectProvider<MeterRegistry> meterRegistry,
+                       @Value("${rdfforge.shacl.shapes-cache-size:" + DEFAULT_MAX_ENTRIES + "}") int maxEntries) {
+        this(maxEntries, meterRegistry.getIfAvailable());
+    }
+
+    public ShapesCache(int maxEntries, MeterRegistry meterRegistry) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Shapes> eldest) {
+                return size() > ShapesCache.this.maxEntries;
+            }
+        };
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("rdfforge.shacl.shapes.cache", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Compiled SHACL shapes served from the cache")
+                .register(meterRegistry);
+            FunctionCounter.builder("rdfforge.shacl.shapes.cache", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("SHACL shapes compiled because they were not cached")
+                .register(meterRegistry);
+            Gauge.builder("rdfforge.shacl.shapes.cache.size", this, ShapesCache::size)
+                .register(meterRegistry);
+            this.compileTimer = Timer.builder("rdfforge.shacl.shapes.compile")
+                .description("Time to parse and compile SHACL shapes")
+                .register(meterRegistry);
+        } else {
+            this.compileTimer = null;
+        }
+    }
+
+    /**
+     * Compiled shapes for the given shapes document.
+     *
+     * @param content shapes source
+     * @param lang    syntax of the source, Turtle when null
+     */
+    public Shapes get(String content, Lang lang) {
+        Lang syntax = lang != null ? lang : Lang.TURTLE;
+        return get(key(syntax.getName(), content), () -> {
+            Model model = ModelFactory.createDefaultModel();
+            RDFParser.fromString(content, syntax).parse(model);
+            return Shapes.parse(model.getGraph());
+        });
+    }
+
+    public Shapes get(String content) {
+        return get(content, Lang.TURTLE);
+    }
+
+    /**
+     * Compiled shapes for a shapes graph, keyed by its sorted triples. Blank node
+     * labels are part of the key, so the same graph is compiled once but a fresh parse
+     * of the same document is not recognized; callers holding the source document
+     * should pass that instead.
+     */
+    public Shapes get(Graph shapesGraph) {
+        List<String> triples = new ArrayList<>();
+        shapesGraph.find().forEachRemaining(triple -> triples.add(NodeFmtLib.str(triple)));
+        Collections.sort(triples);
+        return get(key("graph", String.join("\n", triples)), () -> Shapes.parse(shapesGraph));
+    }
+
+    private Shapes get(String key, Supplier<Shapes> compiler) {
+        Shapes shapes;
+        synchronized (entries) {
+            shapes = entries.get(key);
+        }
+        if (shapes != null) {
+            hits.incrementAndGet();
+            return shapes;
+        }
+
+        // Compile outside the lock; threads missing the same key may both compile, the last put wins
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        shapes = compiler.get();
+        recordCompile(System.nanoTime() - start);
+
+        synchronized (entries) {
+            entries.put(key, shapes);
+        }
+        return shapes;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getCompileTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(compileNanos.get());
+    }
+
+    private void recordCompile(long nanos) {
+        compileNanos.addAndGet(nanos);
+        if (compileTimer != null) {
+            compileTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        log.debug("Compiled SHACL shapes in {} ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private static String key(String syntax, String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(syntax.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
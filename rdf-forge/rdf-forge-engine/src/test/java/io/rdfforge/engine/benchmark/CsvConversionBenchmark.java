@@ -0,0 +1,118 @@
+package io.rdfforge.engine.benchmark;
+
+import io.rdfforge.engine.operation.Operation.OperationContext;
+import io.rdfforge.engine.operation.OperationException;
+import io.rdfforge.engine.operation.format.CsvwParseOperation;
+import io.rdfforge.engine.operation.transform.MapToRdfOperation;
+import org.apache.jena.rdf.model.Model;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row-to-triple throughput of the CSVW conversion against the generic
+ * {@code map-to-rdf} mapping for an equivalent observation table.
+ *
+ * Run from the IDE via {@link #main}, or with
+ * {@code mvn -pl rdf-forge-engine test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.rdfforge.engine.benchmark.CsvConversionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvConversionBenchmark {
+
+    private static final String CSVW_METADATA = """
+        {
+          "url": "http://example.org/data/observations.csv",
+          "tableSchema": {
+            "aboutUrl": "http://example.org/observation/{year}/{canton}",
+            "columns": [
+              {"name": "year", "titles": "Year", "datatype": "gYear",
+               "propertyUrl": "http://example.org/dimension/year"},
+              {"name": "canton", "titles": "Canton",
+               "propertyUrl": "http://example.org/dimension/canton",
+               "valueUrl": "http://example.org/canton/{canton}"},
+              {"name": "population", "titles": "Population", "datatype": "integer",
+               "propertyUrl": "http://example.org/measure/population"},
+              {"name": "area", "titles": "Area", "datatype": "decimal",
+               "propertyUrl": "http://example.org/measure/area"},
+              {"name": "type", "virtual": true, "propertyUrl": "rdf:type",
+               "valueUrl": "https://cube.link/Observation"}
+            ]
+          }
+        }
+        """;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private List<Map<String, Object>> data;
+    private final CsvwParseOperation csvw = new CsvwParseOperation();
+    private final MapToRdfOperation mapToRdf = new MapToRdfOperation();
+
+    @Setup
+    public void setup() {
+        String[] cantons = {"ZH", "BE", "LU", "UR", "SZ", "OW", "NW", "GL", "ZG", "FR"};
+        Random random = new Random(42);
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("Year", String.valueOf(1990 + i % 30));
+            row.put("Canton", cantons[(i / 30) % cantons.length] + "-" + (i / 300));
+            row.put("Population", String.valueOf(random.nextInt(2_000_000)));
+            row.put("Area", String.format(Locale.ROOT, "%.2f", random.nextDouble() * 2000));
+            row.put("_rowNumber", (long) i + 1);
+            data.add(row);
+        }
+    }
+
+    @Benchmark
+    public Model csvwParse() throws OperationException {
+        return csvw.execute(context(Map.of("metadata", CSVW_METADATA, "parallel", false))).outputModel();
+    }
+
+    @Benchmark
+    public Model csvwParseParallel() throws OperationException {
+        return csvw.execute(context(Map.of("metadata", CSVW_METADATA, "parallel", true))).outputModel();
+    }
+
+    @Benchmark
+    public Model mapToRdf() throws OperationException {
+        Map<String, Object> params = new HashMap<>();
+        params.put("baseUri", "http://example.org/observation/");
+        params.put("subjectTemplate", "{Year}/{Canton}");
+        params.put("typeUri", "https://cube.link/Observation");
+        params.put("propertyMappings", Map.of(
+            "Year", "http://example.org/dimension/year",
+            "Canton", "http://example.org/dimension/canton",
+            "Population", "http://example.org/measure/population",
+            "Area", "http://example.org/measure/area"
+        ));
+        params.put("datatypeMappings", Map.of(
+            "Year", "http://www.w3.org/2001/XMLSchema#gYear",
+            "Population", "http://www.w3.org/2001/XMLSchema#integer",
+            "Area", "http://www.w3.org/2001/XMLSchema#decimal"
+        ));
+        return mapToRdf.execute(context(params)).outputModel();
+    }
+
+    private OperationContext context(Map<String, Object> params) {
+        return new OperationContext(params, data.stream(), null, Map.of(), null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(CsvConversionBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
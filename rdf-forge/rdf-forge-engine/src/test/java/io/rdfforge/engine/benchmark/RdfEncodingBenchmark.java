@@ -0,0 +1,99 @@
+package io.rdfforge.engine.benchmark;
+
+import io.rdfforge.engine.rdf.BinaryRdf;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode throughput of N-Triples against the binary RDF syntaxes for
+ * a cube-shaped graph (observations with IRI dimensions and typed measures).
+ *
+ * Run via {@link #main}; JMH reports operations per second for the whole graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RdfEncodingBenchmark {
+
+    @Param({"ntriples", "thrift", "protobuf"})
+    private String format;
+
+    @Param({"100000"})
+    private int observations;
+
+    private Model model;
+    private Lang lang;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        lang = "ntriples".equals(format) ? Lang.NTRIPLES : BinaryRdf.lang(format);
+        model = ModelFactory.createDefaultModel();
+        model.setNsPrefix("ex", "http://example.org/");
+        model.setNsPrefix("cube", "https://cube.link/");
+
+        Graph graph = model.getGraph();
+        Node type = NodeFactory.createURI("http://www.w3.org/1999/02/22-rdf-syntax-ns#type");
+        Node observation = NodeFactory.createURI("https://cube.link/Observation");
+        Node year = NodeFactory.createURI("http://example.org/dimension/year");
+        Node canton = NodeFactory.createURI("http://example.org/dimension/canton");
+        Node population = NodeFactory.createURI("http://example.org/measure/population");
+        Node label = NodeFactory.createURI("http://www.w3.org/2000/01/rdf-schema#label");
+
+        for (int i = 0; i < observations; i++) {
+            Node subject = NodeFactory.createURI("http://example.org/observation/" + i);
+            graph.add(Triple.create(subject, type, observation));
+            graph.add(Triple.create(subject, year, NodeFactory.createLiteral(String.valueOf(1990 + i % 30), XSDDatatype.XSDgYear)));
+            graph.add(Triple.create(subject, canton, NodeFactory.createURI("http://example.org/canton/" + (i % 26))));
+            graph.add(Triple.create(subject, population, NodeFactory.createLiteral(String.valueOf(i * 37 % 1_000_000), XSDDatatype.XSDinteger)));
+            graph.add(Triple.create(subject, label, NodeFactory.createLiteralLang("Observation \"" + i + "\"", "en")));
+        }
+
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024 * 1024);
+        if (BinaryRdf.isBinary(lang)) {
+            BinaryRdf.write(out, model.getGraph(), lang);
+        } else {
+            RDFDataMgr.write(out, model, lang);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Graph decode() {
+        Model decoded = ModelFactory.createDefaultModel();
+        RDFParser.source(new ByteArrayInputStream(encoded)).lang(lang).parse(decoded.getGraph());
+        return decoded.getGraph();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(RdfEncodingBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,121 @@
+package io.rdfforge.engine.benchmark;
+
+import io.rdfforge.engine.csvw.CompiledUriTemplate;
+import io.rdfforge.engine.csvw.UriTemplateService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * URI minting cost per row: the former regex expansion with {@link URLEncoder}
+ * against the compiled template, for rows with unique values (observation URIs)
+ * and rows repeating a few value tuples (dimension member URIs).
+ *
+ * Run from the IDE via {@link #main}, or with
+ * {@code mvn -pl rdf-forge-engine test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.rdfforge.engine.benchmark.UriTemplateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UriTemplateBenchmark {
+
+    private static final String TEMPLATE = "http://example.org/observation/{year}/{canton}/{station}";
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{([+#/]?)([^}]+)\\}");
+    private static final int ROWS = 10_000;
+
+    @Param({"unique", "repeated"})
+    private String values;
+
+    private List<Map<String, Object>> rows;
+    private final UriTemplateService service = new UriTemplateService();
+    private CompiledUriTemplate compiled;
+
+    @Setup
+    public void setup() {
+        String[] cantons = {"Zürich", "Bern", "Luzern", "Uri", "Schwyz", "Obwalden", "Nidwalden", "Glarus"};
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            int key = "repeated".equals(values) ? i % 64 : i;
+            Map<String, Object> row = new HashMap<>();
+            row.put("year", 1990 + key % 30);
+            row.put("canton", cantons[key % cantons.length]);
+            row.put("station", "Station " + key);
+            rows.add(row);
+        }
+        compiled = service.compile(TEMPLATE);
+    }
+
+    @Benchmark
+    public void regexExpansion(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            blackhole.consume(legacyExpand(TEMPLATE, row));
+        }
+    }
+
+    @Benchmark
+    public void serviceExpansion(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            blackhole.consume(service.expandTemplate(TEMPLATE, row));
+        }
+    }
+
+    @Benchmark
+    public void compiledExpansion(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            blackhole.consume(compiled.expand(row));
+        }
+    }
+
+    /** {@code UriTemplateService.expandTemplate} before templates were compiled. */
+    private static String legacyExpand(String template, Map<String, Object> values) {
+        StringBuffer result = new StringBuffer();
+        Matcher matcher = VARIABLE_PATTERN.matcher(template);
+        while (matcher.find()) {
+            String modifier = matcher.group(1);
+            Object value = values.get(matcher.group(2));
+            String replacement;
+            if (value == null) {
+                replacement = "";
+            } else if ("+".equals(modifier)) {
+                replacement = value.toString();
+            } else if ("#".equals(modifier)) {
+                replacement = "#" + legacyEncode(value.toString());
+            } else if ("/".equals(modifier)) {
+                replacement = "/" + legacyEncode(value.toString());
+            } else {
+                replacement = legacyEncode(value.toString());
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static String legacyEncode(String value) {
+        String sanitized = value.trim().replaceAll("\\s+", "_");
+        return URLEncoder.encode(sanitized, StandardCharsets.UTF_8)
+            .replace("+", "%20")
+            .replace("%2F", "/");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(UriTemplateBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,38 @@
+package io.rdfforge.engine.csvw;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledUriTemplateTest {
+
+    @Test
+    void testMatchesUriTemplateService() {
+        UriTemplateService service = new UriTemplateService();
+        Map<String, Object> row = Map.of("year", 2024, "canton", "Zürich Nord", "id", "a/b c");
+
+        for (String template : new String[] {
+            "http://example.org/obs/{year}/{canton}",
+            "http://example.org/obs/{+id}",
+            "http://example.org/obs{/canton}{#year}",
+            "http://example.org/static",
+            "http://example.org/{missing}/x"
+        }) {
+            assertEquals(service.expandTemplate(template, row), CompiledUriTemplate.compile(template).expand(row), template);
+        }
+    }
+
+    @Test
+    void testBindsColumnKeysAndConstants() {
+        CompiledUriTemplate template = CompiledUriTemplate.compile(
+            "http://example.org/{year}#{_name}",
+            Map.of("year", "Year"),
+            Map.of("_name", "population")
+        );
+
+        assertEquals(1, template.getSlots().size());
+        assertEquals("http://example.org/2024#population", template.expand(Map.of("Year", "2024")));
+    }
+}
@@ -0,0 +1,41 @@
+package io.rdfforge.engine.csvw;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UriEncoderTest {
+
+    @Test
+    void testMatchesUrlEncoderBasedEncoding() {
+        for (String value : new String[] {
+            "ZH", "a/b c", "  Zürich   Nord ", "tab\tand\nnewline", "100% + more", "~tilde*star.dot-dash_",
+            "no break", "emoji 😀", "lone \uD800 surrogate", "control\u0001char", "", "   "
+        }) {
+            assertEquals(reference(value), UriEncoder.encode(value), value);
+        }
+    }
+
+    @Test
+    void testCachedExpansionIsReused() {
+        CompiledUriTemplate template = CompiledUriTemplate.compile("http://example.org/{year}/{canton}");
+
+        String first = template.expand(Map.of("year", 2024, "canton", "ZH"));
+        String second = template.expand(Map.of("year", "2024", "canton", "ZH"));
+
+        assertEquals("http://example.org/2024/ZH", first);
+        assertSame(first, second);
+    }
+
+    /** The encoding previously done with regex and URLEncoder. */
+    private static String reference(String value) {
+        String sanitized = value.trim().replaceAll("\\s+", "_");
+        return URLEncoder.encode(sanitized, StandardCharsets.UTF_8)
+            .replace("+", "%20")
+            .replace("%2F", "/");
+    }
+}
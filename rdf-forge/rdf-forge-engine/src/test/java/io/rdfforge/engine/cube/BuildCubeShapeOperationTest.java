@@ -0,0 +1,140 @@
+package io.rdfforge.engine.cube;
+
+import io.rdfforge.engine.operation.Operation.OperationContext;
+import io.rdfforge.engine.operation.Operation.OperationResult;
+import io.rdfforge.engine.operation.OperationException;
+import org.apache.jena.rdf.model.*;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildCubeShapeOperationTest {
+
+    private static final String SH = "http://www.w3.org/ns/shacl#";
+    private static final String CUBE = "https://cube.link/";
+    private static final String EX = "http://example.org/";
+
+    private final BuildCubeShapeOperation operation = new BuildCubeShapeOperation();
+
+    @AfterEach
+    void tearDown() {
+        operation.shutdown();
+    }
+
+    @Test
+    void testValueEnumerationUpToMaxEnumValues() throws Exception {
+        OperationResult result = operation.execute(context(observations(40), Map.of("maxEnumValues", 10)));
+        Model shape = result.outputModel();
+
+        Set<String> regions = shIn(shape, "region").stream().map(RDFNode::toString).collect(Collectors.toSet());
+        assertEquals(Set.of(EX + "region0", EX + "region1", EX + "region2"), regions);
+        assertEquals(List.of("2000", "2001", "2002", "2003", "2004"),
+            shIn(shape, "year").stream().map(node -> node.asLiteral().getLexicalForm()).sorted().toList());
+        assertTrue(shIn(shape, "value").isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDistinctValuesAboveMaxEnumValuesAreEstimated() throws Exception {
+        OperationResult result = operation.execute(context(observations(1000), Map.of("maxEnumValues", 10)));
+
+        Map<String, Map<String, Object>> statistics =
+            (Map<String, Map<String, Object>>) result.metadata().get("propertyStatistics");
+        Map<String, Object> value = statistics.get(EX + "value");
+        assertEquals(false, value.get("distinctExact"));
+        assertEquals(1000L, value.get("count"));
+        long estimate = (Long) value.get("distinct");
+        assertTrue(Math.abs(estimate - 1000) < 50, "estimate " + estimate);
+        assertEquals("0.5", value.get("min"));
+        assertEquals("999.5", value.get("max"));
+
+        Map<String, Object> year = statistics.get(EX + "year");
+        assertEquals(true, year.get("distinctExact"));
+        assertEquals(5L, year.get("distinct"));
+        assertEquals(1000L, result.metadata().get("observationsAnalyzed"));
+    }
+
+    @Test
+    void testDimensionRolesAreInferred() throws Exception {
+        Model shape = operation.execute(context(observations(40), Map.of())).outputModel();
+
+        assertTrue(hasType(shape, "value", "MeasureDimension"));
+        // Numeric, but with few distinct values
+        assertTrue(hasType(shape, "year", "KeyDimension"));
+        assertTrue(hasType(shape, "region", "KeyDimension"));
+        assertFalse(hasType(shape, "region", "MeasureDimension"));
+
+        Model withoutRoles = operation.execute(context(observations(40), Map.of("inferDimensionRoles", false)))
+            .outputModel();
+        assertFalse(hasType(withoutRoles, "value", "MeasureDimension"));
+    }
+
+    @Test
+    void testParallelAndSequentialAnalysisAgree() throws Exception {
+        Model parallel = operation.execute(context(observations(200), Map.of("parallel", true))).outputModel();
+        Model sequential = operation.execute(context(observations(200), Map.of("parallel", false))).outputModel();
+
+        assertTrue(parallel.isIsomorphicWith(sequential));
+        assertEquals(Set.of("region", "year", "value"), paths(parallel));
+    }
+
+    @Test
+    void testInputWithoutObservationsFails() {
+        Model model = RDFParser.fromString("<http://example.org/a> <http://example.org/p> 1 .", Lang.TURTLE).toModel();
+        assertThrows(OperationException.class, () -> operation.execute(context(model, Map.of())));
+    }
+
+    private static Model observations(int count) {
+        StringBuilder turtle = new StringBuilder("""
+            @prefix cube: <https://cube.link/> .
+            @prefix ex: <http://example.org/> .
+            @prefix xsd: <http://www.w3.org/2001/XMLSchema#> .
+            """);
+        for (int i = 0; i < count; i++) {
+            turtle.append("ex:obs").append(i).append(" a cube:Observation ; ex:region ex:region").append(i % 3)
+                .append(" ; ex:year ").append(2000 + i % 5)
+                .append(" ; ex:value \"").append(i).append(".5\"^^xsd:decimal .\n");
+        }
+        // Not an observation: must not contribute values
+        turtle.append("ex:other ex:region ex:elsewhere .\n");
+        return RDFParser.fromString(turtle.toString(), Lang.TURTLE).toModel();
+    }
+
+    private static OperationContext context(Model input, Map<String, Object> extra) {
+        Map<String, Object> params = new HashMap<>(extra);
+        params.put("cubeUri", EX + "cube");
+        return new OperationContext(params, null, input, Map.of(), null);
+    }
+
+    private static Resource propertyShape(Model shape, String localName) {
+        List<Resource> shapes = shape.listSubjectsWithProperty(
+            shape.createProperty(SH, "path"), shape.createResource(EX + localName)).toList();
+        assertEquals(1, shapes.size(), "property shape for " + localName);
+        return shapes.get(0);
+    }
+
+    private static List<RDFNode> shIn(Model shape, String localName) {
+        Statement in = propertyShape(shape, localName).getProperty(shape.createProperty(SH, "in"));
+        return in == null ? List.of() : in.getObject().as(RDFList.class).asJavaList();
+    }
+
+    private static boolean hasType(Model shape, String localName, String cubeClass) {
+        return shape.contains(shape.createResource(EX + localName), RDF.type, shape.createResource(CUBE + cubeClass));
+    }
+
+    private static Set<String> paths(Model shape) {
+        return shape.listObjectsOfProperty(shape.createProperty(SH, "path")).toList().stream()
+            .map(node -> node.asResource().getLocalName())
+            .collect(Collectors.toSet());
+    }
+}
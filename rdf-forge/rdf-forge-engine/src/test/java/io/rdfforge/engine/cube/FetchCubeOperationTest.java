@@ -0,0 +1,73 @@
+package io.rdfforge.engine.cube;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.rdf.model.*;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FetchCubeOperationTest {
+
+    private static final String CUBE = "http://example.org/cube";
+    private static final String SH = "http://www.w3.org/ns/shacl#";
+
+    private static final String DATA = """
+        @prefix cube: <https://cube.link/> .
+        @prefix sh: <http://www.w3.org/ns/shacl#> .
+        @prefix ex: <http://example.org/> .
+        ex:cube a cube:Cube ;
+            cube:observationSet ex:cube\\/observations ;
+            cube:observationConstraint ex:cube\\/shape .
+        ex:cube\\/observations cube:observation ex:obs1 .
+        ex:obs1 ex:year "2020" ; ex:canton ex:bern .
+        ex:cube\\/shape a sh:NodeShape, cube:Constraint ;
+            sh:property [ sh:path ex:year ; sh:minCount 1 ] ,
+                        [ sh:path ex:canton ; sh:in ( ex:bern ex:basel ) ;
+                          sh:or ( [ sh:nodeKind sh:IRI ] [ sh:datatype ex:code ] ) ] .
+        """;
+
+    @Test
+    void testBlankNodePropertyShapesStayConnected() {
+        Dataset dataset = DatasetFactory.create();
+        RDFParser.fromString(DATA, Lang.TURTLE).parse(dataset);
+
+        // Each result set is parsed on its own, as from a remote endpoint, so blank node
+        // identity is only kept within one sub-query
+        Model merged = ModelFactory.createDefaultModel();
+        new FetchCubeOperation(new EndpointPermits(8)).structureQueries(CUBE, null).values().forEach(query -> {
+            try (QueryExecution qe = QueryExecution.create().query(query).dataset(dataset).build()) {
+                StringWriter out = new StringWriter();
+                RDFDataMgr.write(out, qe.execConstruct(), Lang.NTRIPLES);
+                RDFParser.fromString(out.toString(), Lang.NTRIPLES).parse(merged);
+            }
+        });
+
+        Resource shape = merged.createResource(CUBE + "/shape");
+        Property property = merged.createProperty(SH, "property");
+        Property path = merged.createProperty(SH, "path");
+        List<Resource> propertyShapes = merged.listObjectsOfProperty(shape, property)
+            .mapWith(RDFNode::asResource).toList();
+
+        assertEquals(2, propertyShapes.size());
+        assertEquals(2, merged.listSubjectsWithProperty(path).toList().size());
+        propertyShapes.forEach(propShape -> assertTrue(propShape.hasProperty(path)));
+
+        Resource canton = merged.listSubjectsWithProperty(path, merged.createResource("http://example.org/canton"))
+            .next();
+        RDFList in = canton.getPropertyResourceValue(merged.createProperty(SH, "in")).as(RDFList.class);
+        assertEquals(2, in.size());
+        RDFList or = canton.getPropertyResourceValue(merged.createProperty(SH, "or")).as(RDFList.class);
+        assertEquals(2, or.size());
+        or.iterator().forEachRemaining(member -> assertTrue(member.asResource().listProperties().hasNext()));
+        assertTrue(merged.contains(shape, RDF.type, merged.createResource(SH + "NodeShape")));
+    }
+}
@@ -0,0 +1,135 @@
+package io.rdfforge.engine.cube;
+
+import io.rdfforge.engine.operation.Operation.OperationContext;
+import io.rdfforge.engine.operation.Operation.OperationResult;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FetchObservationsOperationTest {
+
+    private static final String CUBE = "http://example.org/cube";
+
+    private final EndpointPermits permits = new EndpointPermits(1);
+    private final FetchObservationsOperation operation = new FetchObservationsOperation(permits);
+    private SparqlStubServer server;
+
+    @AfterEach
+    void tearDown() {
+        operation.shutdown();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testPagedModeCountsEnumeratedObservations() throws Exception {
+        server = new SparqlStubServer(cube(10));
+
+        OperationResult construct = operation.execute(context(Map.of("mode", "construct")));
+        OperationResult paged = operation.execute(context(Map.of("mode", "paged", "pageSize", 3, "parallelism", 2)));
+
+        // obs07 has no rdf:type and still counts
+        assertEquals(10L, construct.metadata().get("observationCount"));
+        assertEquals(10L, paged.metadata().get("observationCount"));
+        assertEquals(4L, paged.metadata().get("pagesFetched"));
+        assertTrue(paged.outputModel().isIsomorphicWith(construct.outputModel()));
+        assertEquals(4, server.selects());
+    }
+
+    @Test
+    void testPagedModeHonoursLimitAndOffset() throws Exception {
+        server = new SparqlStubServer(cube(10));
+
+        OperationResult result = operation.execute(context(Map.of(
+            "mode", "paged", "pageSize", 3, "limit", 4, "offset", 3)));
+
+        Model model = result.outputModel();
+        List<String> subjects = model.listSubjects().mapWith(RDFNode::toString).toList().stream().sorted().toList();
+        assertEquals(List.of(obs(3), obs(4), obs(5), obs(6)), subjects);
+        assertEquals(4L, result.metadata().get("observationCount"));
+    }
+
+    @Test
+    void testStreamOutputYieldsEveryTriple() throws Exception {
+        server = new SparqlStubServer(cube(10));
+
+        OperationResult result = operation.execute(context(Map.of(
+            "mode", "paged", "pageSize", 3, "output", "stream")));
+
+        try (Stream<?> triples = result.outputStream()) {
+            assertEquals(28, triples.count());
+        }
+        awaitTrue(() -> permits.forEndpoint(server.endpoint()).availablePermits() == 1);
+    }
+
+    @Test
+    void testClosingAnUnconsumedStreamReleasesEndpointPermits() throws Exception {
+        // More single-observation pages than the fetch queue holds, so a worker blocks
+        // on the full queue while holding the endpoint's only permit
+        server = new SparqlStubServer(cube(100));
+        Semaphore endpointPermits = permits.forEndpoint(server.endpoint());
+
+        OperationResult result = operation.execute(context(Map.of(
+            "mode", "paged", "pageSize", 1, "output", "stream")));
+        awaitTrue(() -> server.constructs() > 64 && endpointPermits.availablePermits() == 0);
+
+        result.outputStream().close();
+
+        awaitTrue(() -> endpointPermits.availablePermits() == 1);
+        OperationResult next = operation.execute(context(Map.of("mode", "paged", "pageSize", 50)));
+        assertEquals(100L, next.metadata().get("observationCount"));
+    }
+
+    private OperationContext context(Map<String, Object> extra) {
+        Map<String, Object> params = new HashMap<>(extra);
+        params.put("endpoint", server.endpoint());
+        params.put("cubeUri", CUBE);
+        return new OperationContext(params, null, null, Map.of(), null);
+    }
+
+    private static Dataset cube(int observations) {
+        StringBuilder turtle = new StringBuilder("""
+            @prefix cube: <https://cube.link/> .
+            @prefix ex: <http://example.org/> .
+            ex:cube a cube:Cube ; cube:observationSet ex:set .
+            """);
+        for (int i = 0; i < observations; i++) {
+            String obs = "<" + obs(i) + ">";
+            turtle.append("ex:set cube:observation ").append(obs).append(" .\n");
+            turtle.append(obs).append(" ex:value ").append(i).append(" .\n");
+            if (i != 7) {
+                turtle.append(obs).append(" a cube:Observation ; ex:year \"2020\" .\n");
+            }
+        }
+        Dataset dataset = DatasetFactory.create();
+        RDFParser.fromString(turtle.toString(), Lang.TURTLE).parse(dataset);
+        return dataset;
+    }
+
+    private static String obs(int i) {
+        return String.format("http://example.org/obs%03d", i);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached in time");
+            Thread.sleep(20);
+        }
+    }
+}
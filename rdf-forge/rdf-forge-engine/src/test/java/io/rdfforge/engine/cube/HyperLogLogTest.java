@@ -0,0 +1,31 @@
+package io.rdfforge.engine.cube;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimateWithinErrorBounds() {
+        HyperLogLog sketch = new HyperLogLog();
+        int distinct = 200_000;
+        for (int i = 0; i < distinct; i++) {
+            sketch.add("http://example.org/observation/" + i);
+            // Duplicates must not change the estimate
+            sketch.add("http://example.org/observation/" + (i / 2));
+        }
+
+        double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+        assertTrue(error < 0.03, "relative error " + error);
+    }
+
+    @Test
+    void testSmallCardinalitiesAreNearExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sketch.add("value-" + (i % 40));
+        }
+        assertEquals(40, sketch.estimate(), 1);
+    }
+}
@@ -0,0 +1,110 @@
+package io.rdfforge.engine.cube;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SPARQL protocol endpoint over an in-memory dataset, for tests that go through
+ * {@link PagedObservationFetch#execution}.
+ */
+class SparqlStubServer implements AutoCloseable {
+
+    private final Dataset dataset;
+    private final HttpServer server;
+    private final AtomicInteger selects = new AtomicInteger();
+    private final AtomicInteger constructs = new AtomicInteger();
+
+    SparqlStubServer(Dataset dataset) throws IOException {
+        this.dataset = dataset;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/sparql", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/sparql";
+    }
+
+    int selects() {
+        return selects.get();
+    }
+
+    int constructs() {
+        return constructs.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            String contentType;
+            try {
+                contentType = execute(queryString(exchange), body);
+            } catch (RuntimeException e) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, body.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                body.writeTo(out);
+            }
+        }
+    }
+
+    private String execute(String queryString, OutputStream body) {
+        Query query = QueryFactory.create(queryString);
+        try (QueryExecution qe = QueryExecution.create().query(query).dataset(dataset).build()) {
+            if (query.isSelectType()) {
+                selects.incrementAndGet();
+                ResultSetFormatter.outputAsJSON(body, qe.execSelect());
+                return "application/sparql-results+json";
+            }
+            constructs.incrementAndGet();
+            RDFDataMgr.write(body, qe.execConstruct(), Lang.NTRIPLES);
+            return "application/n-triples";
+        }
+    }
+
+    private static String queryString(HttpExchange exchange) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String type = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (type != null && type.startsWith("application/sparql-query")) {
+                return body;
+            }
+            return formParameter(body);
+        }
+        return formParameter(exchange.getRequestURI().getRawQuery());
+    }
+
+    private static String formParameter(String params) {
+        for (String param : params.split("&")) {
+            if (param.startsWith("query=")) {
+                return URLDecoder.decode(param.substring("query=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        throw new IllegalArgumentException("No query parameter");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,87 @@
+package io.rdfforge.engine.operation.format;
+
+import com.apicatalog.jsonld.loader.SchemeRouter;
+import io.rdfforge.engine.operation.Operation.OperationContext;
+import io.rdfforge.engine.operation.Operation.OperationResult;
+import io.rdfforge.engine.operation.OperationException;
+import org.apache.jena.rdf.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLdParseOperationTest {
+
+    private static final String CONTEXT_AFTER_GRAPH = """
+        {
+          "@graph": [
+            {"@id": "http://example.org/a", "name": "A"},
+            {"@id": "http://example.org/b", "name": "B"}
+          ],
+          "@context": {"name": "http://example.org/name"}
+        }
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final JsonLdParseOperation operation =
+        new JsonLdParseOperation(new JsonLdContextCache(16, SchemeRouter.defaultInstance()));
+
+    @Test
+    void testSuppliedContextIsUsedOffline() throws Exception {
+        Path file = write("""
+            {"@context": "http://example.org/offline.jsonld", "@graph": [{"@id": "http://example.org/a", "name": "A"}]}
+            """);
+
+        OperationResult result = operation.execute(context(Map.of("file", file.toString(),
+            "contexts", Map.of("http://example.org/offline.jsonld", Map.of("name", "http://example.org/name")))));
+
+        Model model = result.outputModel();
+        assertEquals(1, model.size());
+        assertTrue(model.contains(model.createResource("http://example.org/a"),
+            model.createProperty("http://example.org/name")));
+    }
+
+    @Test
+    void testContextAfterGraphIsRejectedOnceBatchesWereConverted() throws Exception {
+        Path file = write(CONTEXT_AFTER_GRAPH);
+
+        assertThrows(OperationException.class,
+            () -> operation.execute(context(Map.of("file", file.toString(), "batchSize", 1))));
+    }
+
+    @Test
+    void testContextAfterGraphAppliesToSingleBatch() throws Exception {
+        Path file = write(CONTEXT_AFTER_GRAPH);
+
+        OperationResult result = operation.execute(context(Map.of("file", file.toString(), "batchSize", 0)));
+
+        assertEquals(2, result.outputModel().size());
+    }
+
+    @Test
+    void testUnsupportedRowsAreRejected() {
+        Map<String, Object> params = Map.of("context", "{\"name\": \"http://example.org/name\"}");
+        Stream<?> rows = Stream.of(Map.of("@id", "http://example.org/a", "name", "A"), List.of("not a node"));
+
+        assertThrows(OperationException.class,
+            () -> operation.execute(new OperationContext(params, rows, null, Map.of(), null)));
+    }
+
+    private Path write(String json) throws Exception {
+        Path file = tempDir.resolve("data.jsonld");
+        Files.writeString(file, json);
+        return file;
+    }
+
+    private static OperationContext context(Map<String, Object> params) {
+        return new OperationContext(params, null, null, Map.of(), null);
+    }
+}
@@ -0,0 +1,151 @@
+package io.rdfforge.engine.operation.output;
+
+import com.sun.net.httpserver.HttpServer;
+import io.rdfforge.engine.operation.Operation.OperationContext;
+import io.rdfforge.engine.operation.Operation.OperationResult;
+import io.rdfforge.engine.operation.OperationException;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphStorePutOperationTest {
+
+    private static final String GROUND = """
+        @prefix ex: <http://example.org/> .
+        ex:a ex:p ex:b .
+        ex:c ex:p ex:d .
+        """;
+
+    private final GraphStorePutOperation operation = new GraphStorePutOperation();
+    private final Deque<Integer> responses = new ArrayDeque<>();
+    private final List<String> methods = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        operation.shutdown();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testRetryAfterDeltaSeconds() {
+        assertEquals(120_000, GraphStorePutOperation.retryAfterMs(" 120 "));
+    }
+
+    @Test
+    void testRetryAfterHttpDate() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(60));
+
+        long delay = GraphStorePutOperation.retryAfterMs(date);
+
+        assertTrue(delay > 50_000 && delay <= 60_000, "delay was " + delay);
+        assertEquals(0, GraphStorePutOperation.retryAfterMs("Wed, 21 Oct 2015 07:28:00 GMT"));
+    }
+
+    @Test
+    void testUnparsableRetryAfterFallsBack() {
+        assertEquals(-1, GraphStorePutOperation.retryAfterMs("soon"));
+    }
+
+    @Test
+    void testRetryAfterIsCappedAtTheBackoffLimit() {
+        assertEquals(30_000, GraphStorePutOperation.backoffMs(0, 3_600_000));
+        assertEquals(2_000, GraphStorePutOperation.backoffMs(2, -1));
+        assertEquals(30_000, GraphStorePutOperation.backoffMs(40, -1));
+    }
+
+    @Test
+    void testTransientFailuresAreRetried() throws Exception {
+        start(503, 200, 503, 200);
+
+        OperationResult result = operation.execute(context(GROUND, Map.of("batchSize", 1)));
+
+        assertEquals(2L, result.metadata().get("batches"));
+        assertEquals(2L, result.metadata().get("retries"));
+        assertEquals(List.of("PUT", "PUT", "POST", "POST"), methods);
+    }
+
+    @Test
+    void testUploadFailsOnceRetriesAreExhausted() throws Exception {
+        start(503, 503, 503, 503);
+
+        OperationException e = assertThrows(OperationException.class,
+            () -> operation.execute(context(GROUND, Map.of("maxRetries", 2))));
+
+        assertTrue(e.getMessage().contains("after 3 attempts"), e.getMessage());
+        assertEquals(3, methods.size());
+    }
+
+    @Test
+    void testClientErrorsAreNotRetried() throws Exception {
+        start(400, 200);
+
+        OperationException e = assertThrows(OperationException.class,
+            () -> operation.execute(context(GROUND, Map.of())));
+
+        assertTrue(e.getMessage().contains("HTTP error 400"), e.getMessage());
+        assertEquals(1, methods.size());
+    }
+
+    @Test
+    void testBlankNodeBatchesAreOnlyRetriedWhenNotApplied() throws Exception {
+        String data = GROUND + "ex:e ex:p [ ex:q ex:f ] .";
+        start(200, 429, 200);
+
+        OperationResult result = operation.execute(context(data, Map.of("batchSize", 2)));
+
+        assertEquals(1L, result.metadata().get("retries"));
+        assertEquals(List.of("PUT", "POST", "POST"), methods);
+
+        methods.clear();
+        responses.addAll(List.of(200, 503, 200));
+        OperationException e = assertThrows(OperationException.class,
+            () -> operation.execute(context(data, Map.of("batchSize", 2))));
+
+        assertTrue(e.getMessage().contains("blank nodes"), e.getMessage());
+        assertEquals(List.of("PUT", "POST"), methods);
+    }
+
+    private void start(Integer... statuses) throws IOException {
+        responses.addAll(List.of(statuses));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/store", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                methods.add(exchange.getRequestMethod());
+                Integer status;
+                synchronized (responses) {
+                    status = responses.poll();
+                }
+                exchange.sendResponseHeaders(status != null ? status : 500, -1);
+            }
+        });
+        server.start();
+    }
+
+    private OperationContext context(String turtle, Map<String, Object> extra) {
+        Model model = RDFParser.fromString(turtle, Lang.TURTLE).toModel();
+        Map<String, Object> params = new HashMap<>(extra);
+        params.put("endpoint", "http://127.0.0.1:" + server.getAddress().getPort() + "/store");
+        params.putIfAbsent("maxRetries", 3);
+        return new OperationContext(params, null, model, Map.of(), null);
+    }
+}
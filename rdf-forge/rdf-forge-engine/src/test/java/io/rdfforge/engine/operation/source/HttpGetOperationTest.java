@@ -0,0 +1,113 @@
+package io.rdfforge.engine.operation.source;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.rdfforge.engine.operation.Operation.OperationContext;
+import io.rdfforge.engine.operation.Operation.OperationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpGetOperationTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    @TempDir
+    Path tempDir;
+
+    private final HttpGetOperation operation = new HttpGetOperation(1 << 20);
+    private final List<String> conditionalRequests = new CopyOnWriteArrayList<>();
+    private final List<String> fullResponses = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/data", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testNotModifiedIsServedFromCache() throws Exception {
+        OperationResult first = operation.execute(context(Map.of("Accept", "text/turtle")));
+        OperationResult second = operation.execute(context(Map.of("Accept", "text/turtle")));
+
+        assertEquals(false, first.metadata().get("cacheHit"));
+        assertEquals(true, second.metadata().get("cacheHit"));
+        assertEquals(first.outputModel().size(), second.outputModel().size());
+        assertEquals(List.of(ETAG), conditionalRequests);
+    }
+
+    @Test
+    void testDifferentAcceptHeadersAreCachedSeparately() throws Exception {
+        operation.execute(context(Map.of("Accept", "text/turtle")));
+        OperationResult ntriples = operation.execute(context(Map.of("Accept", "application/n-triples")));
+
+        assertEquals(false, ntriples.metadata().get("cacheHit"));
+        assertEquals(List.of("text/turtle", "application/n-triples"), fullResponses);
+        assertTrue(conditionalRequests.isEmpty());
+    }
+
+    @Test
+    void testNotModifiedWithoutCachedCopyRefetches() throws Exception {
+        // A caller-supplied validator makes the server answer 304 although nothing is cached
+        OperationResult result = operation.execute(context(Map.of("Accept", "text/turtle", "If-None-Match", ETAG)));
+
+        assertEquals(200, result.metadata().get("statusCode"));
+        assertEquals(false, result.metadata().get("cacheHit"));
+        assertEquals(2, result.outputModel().size());
+        assertEquals(List.of(ETAG), conditionalRequests);
+        assertEquals(List.of("text/turtle"), fullResponses);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null) {
+                conditionalRequests.add(ifNoneMatch);
+            }
+            if (ETAG.equals(ifNoneMatch)) {
+                exchange.getResponseHeaders().set("ETag", ETAG);
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            fullResponses.add(accept);
+            byte[] body = "<http://example.org/a> <http://example.org/p> \"a\" .\n<http://example.org/b> <http://example.org/p> \"b\" .\n"
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type",
+                "application/n-triples".equals(accept) ? "application/n-triples" : "text/turtle");
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private OperationContext context(Map<String, String> headers) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("url", "http://127.0.0.1:" + server.getAddress().getPort() + "/data");
+        params.put("headers", headers);
+        params.put("cacheDir", tempDir.toString());
+        return new OperationContext(params, null, null, Map.of(), null);
+    }
+}
@@ -0,0 +1,103 @@
+package io.rdfforge.engine.operation.source;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpResponseCacheTest {
+
+    private static final String URL = "http://example.org/data.ttl";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEntriesAreKeyedByRequestHeaders() throws Exception {
+        HttpResponseCache cache = new HttpResponseCache(tempDir, 1 << 20);
+        Map<String, String> turtle = Map.of("Accept", "text/turtle");
+        Map<String, String> alice = Map.of("Accept", "text/turtle", "Authorization", "Bearer alice");
+
+        store(cache, turtle, "\"t\"", "turtle body");
+        store(cache, alice, "\"a\"", "alice body");
+
+        assertEquals("\"t\"", cache.get(URL, Map.of("accept", "text/turtle")).orElseThrow().etag());
+        assertEquals("\"a\"", cache.get(URL, alice).orElseThrow().etag());
+        assertTrue(cache.get(URL, Map.of()).isEmpty());
+        assertTrue(cache.get(URL, Map.of("Accept", "application/ld+json")).isEmpty());
+        // Conditional headers do not select a different response
+        assertTrue(cache.get(URL, Map.of("Accept", "text/turtle", "If-None-Match", "\"x\"")).isPresent());
+    }
+
+    @Test
+    void testReplacedEntryKeepsBodyAndValidatorsTogether() throws Exception {
+        HttpResponseCache cache = new HttpResponseCache(tempDir, 1 << 20);
+        store(cache, Map.of(), "\"1\"", "first");
+        HttpResponseCache.Entry first = cache.get(URL, Map.of()).orElseThrow();
+
+        store(cache, Map.of(), "\"2\"", "second");
+        HttpResponseCache.Entry second = cache.get(URL, Map.of()).orElseThrow();
+
+        assertEquals("\"2\"", second.etag());
+        assertEquals("second", read(cache, second));
+        assertFalse(Files.exists(first.body()));
+        assertTrue(cache.open(first).isEmpty());
+    }
+
+    @Test
+    void testPartiallyReadBodiesAreNotCached() throws Exception {
+        HttpResponseCache cache = new HttpResponseCache(tempDir, 1 << 20);
+        InputStream in = cache.tee(URL, Map.of(), body("partial"), "\"1\"", null, "text/turtle");
+        in.read();
+        in.close();
+
+        assertTrue(cache.get(URL, Map.of()).isEmpty());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvicted() throws Exception {
+        HttpResponseCache cache = new HttpResponseCache(tempDir, 25);
+        store(cache, Map.of("Accept", "a"), "\"a\"", "0123456789");
+        store(cache, Map.of("Accept", "b"), "\"b\"", "0123456789");
+        Files.setLastModifiedTime(cache.get(URL, Map.of("Accept", "a")).orElseThrow().body(),
+            FileTime.from(Instant.now().minusSeconds(60)));
+        // Reading b marks it as recently used
+        read(cache, cache.get(URL, Map.of("Accept", "b")).orElseThrow());
+
+        store(cache, Map.of("Accept", "c"), "\"c\"", "0123456789");
+
+        assertTrue(cache.get(URL, Map.of("Accept", "a")).isEmpty());
+        assertTrue(cache.get(URL, Map.of("Accept", "b")).isPresent());
+        assertTrue(cache.get(URL, Map.of("Accept", "c")).isPresent());
+    }
+
+    private static void store(HttpResponseCache cache, Map<String, String> headers, String etag, String content)
+            throws IOException {
+        try (InputStream in = cache.tee(URL, headers, body(content), etag, null, "text/turtle")) {
+            in.readAllBytes();
+        }
+    }
+
+    private static String read(HttpResponseCache cache, HttpResponseCache.Entry entry) throws IOException {
+        try (InputStream in = cache.open(entry).orElseThrow()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
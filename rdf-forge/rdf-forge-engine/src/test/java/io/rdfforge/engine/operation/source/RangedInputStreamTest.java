@@ -0,0 +1,48 @@
+package io.rdfforge.engine.operation.source;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangedInputStreamTest {
+
+    @Test
+    void testReadsPartsInOrder() throws IOException {
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (RangedInputStream in = new RangedInputStream(
+                (start, end) -> Arrays.copyOfRange(data, (int) start, (int) end + 1),
+                data.length, 1024, 4, 0, executor)) {
+            assertArrayEquals(data, in.readAllBytes());
+            assertEquals(data.length, in.getBytesRead());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRetriesFailedRange() throws IOException {
+        byte[] data = "hello ranged world".getBytes();
+        AtomicInteger failures = new AtomicInteger(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (RangedInputStream in = new RangedInputStream((start, end) -> {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IOException("boom");
+                }
+                return Arrays.copyOfRange(data, (int) start, (int) end + 1);
+            }, data.length, 8, 2, 2, executor)) {
+            assertArrayEquals(data, in.readAllBytes());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.rdfforge.engine.operation.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.rdfforge.common.model.ValidationReport;
+import io.rdfforge.engine.operation.Operation.OperationContext;
+import io.rdfforge.engine.operation.Operation.OperationResult;
+import io.rdfforge.engine.shacl.ShaclValidatorService;
+import io.rdfforge.engine.shacl.ShapesCache;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidateShaclOperationTest {
+
+    private static final String SHAPES = """
+        @prefix sh: <http://www.w3.org/ns/shacl#> .
+        @prefix ex: <http://example.org/> .
+        ex:PersonShape a sh:NodeShape ;
+            sh:targetClass ex:Person ;
+            sh:property [ sh:path ex:name ; sh:minCount 1 ] .
+        """;
+
+    private static final String DATA = """
+        @prefix ex: <http://example.org/> .
+        ex:alice a ex:Person ; ex:name "Alice" .
+        ex:bob a ex:Person .
+        ex:carol a ex:Person ; ex:name "Carol" .
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final ValidateShaclOperation operation = new ValidateShaclOperation(
+        new ShaclValidatorService(new ShapesCache(4, null)), new ShapesCache(4, null));
+
+    @Test
+    void testPreviousReportFromPipelineParametersRunsIncrementally() throws Exception {
+        Model data = parse(DATA);
+        OperationResult full = operation.execute(context(data, Map.of("shapeContent", SHAPES, "onViolation", "warn")));
+        assertEquals(1, full.metadata().get("violationCount"));
+
+        // Parameters of a pipeline step arrive as parsed JSON, not as report objects
+        Path added = write("added.ttl", "@prefix ex: <http://example.org/> . ex:carol ex:nickname \"C\" .");
+        Map<String, Object> params = new HashMap<>();
+        params.put("shapeContent", SHAPES);
+        params.put("onViolation", "warn");
+        params.put("previousReport", asJson(full.metadata().get("report")));
+        params.put("addedFile", added.toString());
+        data.add(parse(Files.readString(added)));
+
+        OperationResult result = operation.execute(context(data, params));
+
+        assertTrue(result.success());
+        assertEquals(true, result.metadata().get("incremental"));
+        assertEquals(1L, result.metadata().get("affectedFocusNodes"));
+        assertEquals(1, result.metadata().get("violationCount"));
+    }
+
+    @Test
+    void testClassHierarchyChangesValidateEverything() throws Exception {
+        Model data = parse(DATA);
+        OperationResult full = operation.execute(context(data, Map.of("shapeContent", SHAPES, "onViolation", "warn")));
+
+        Path added = write("added.ttl", """
+            @prefix ex: <http://example.org/> .
+            @prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .
+            ex:Employee rdfs:subClassOf ex:Person .
+            """);
+        Map<String, Object> params = new HashMap<>();
+        params.put("shapeContent", SHAPES);
+        params.put("onViolation", "warn");
+        params.put("previousReport", asJson(full.metadata().get("report")));
+        params.put("addedFile", added.toString());
+        data.add(parse(Files.readString(added)));
+
+        OperationResult result = operation.execute(context(data, params));
+
+        assertEquals(false, result.metadata().get("incremental"));
+        assertEquals(1, result.metadata().get("violationCount"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asJson(Object report) {
+        assertInstanceOf(ValidationReport.class, report);
+        return new ObjectMapper().registerModule(new JavaTimeModule()).convertValue(report, Map.class);
+    }
+
+    private Path write(String name, String content) throws Exception {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static OperationContext context(Model data, Map<String, Object> params) {
+        return new OperationContext(params, null, data, Map.of(), null);
+    }
+
+    private static Model parse(String turtle) {
+        return RDFParser.fromString(turtle).lang(Lang.TURTLE).toModel();
+    }
+}
@@ -0,0 +1,57 @@
+package io.rdfforge.engine.rdf;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryRdfTest {
+
+    @Test
+    void testRoundTrip() {
+        Model model = sampleModel();
+        for (Lang lang : new Lang[] {Lang.RDFTHRIFT, Lang.RDFPROTO}) {
+            byte[] bytes = BinaryRdf.toBytes(model.getGraph(), lang);
+            Model decoded = BinaryRdf.read(new ByteArrayInputStream(bytes), lang);
+            assertTrue(model.isIsomorphicWith(decoded), lang.getName());
+        }
+    }
+
+    @Test
+    void testCheckpoint(@TempDir Path dir) throws Exception {
+        Model model = sampleModel();
+        Path checkpoint = dir.resolve("step-1" + BinaryRdf.FILE_EXTENSION);
+
+        BinaryRdf.writeCheckpoint(checkpoint, model);
+
+        assertTrue(model.isIsomorphicWith(BinaryRdf.readCheckpoint(checkpoint)));
+    }
+
+    @Test
+    void testFormatNames() {
+        assertEquals(Lang.RDFTHRIFT, BinaryRdf.lang("thrift"));
+        assertEquals(Lang.RDFPROTO, BinaryRdf.lang("application/rdf+protobuf"));
+        assertNull(BinaryRdf.lang("turtle"));
+        assertEquals(Lang.TURTLE, BinaryRdf.anyLang("turtle", Lang.NTRIPLES));
+    }
+
+    private Model sampleModel() {
+        Model model = ModelFactory.createDefaultModel();
+        model.setNsPrefix("ex", "http://example.org/");
+        Resource obs = model.createResource("http://example.org/obs/1")
+            .addProperty(RDF.type, model.createResource("https://cube.link/Observation"))
+            .addLiteral(model.createProperty("http://example.org/value"), 42L)
+            .addProperty(RDFS.label, "Beobachtung", "de");
+        model.createResource().addProperty(RDFS.seeAlso, obs);
+        return model;
+    }
+}
@@ -0,0 +1,123 @@
+package io.rdfforge.engine.rdf;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteFetchCacheTest {
+
+    private static final String ENDPOINT = "http://localhost:3030/ds/query";
+
+    @Test
+    void testServesFreshEntryWithoutLoading(@TempDir Path dir) throws Exception {
+        RemoteFetchCache cache = new RemoteFetchCache(dir, Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+        RemoteFetchCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return sampleModel();
+        };
+
+        RemoteFetchCache.Result first = cache.fetch(ENDPOINT,
+            "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", Duration.ofHours(1), null, 10, loader);
+        RemoteFetchCache.Result second = cache.fetch(ENDPOINT,
+            "CONSTRUCT {?s ?p ?o}\nWHERE {\n  ?s ?p ?o\n}", Duration.ofHours(1), null, 10, loader);
+
+        assertEquals(RemoteFetchCache.Status.MISS, first.status());
+        assertEquals(RemoteFetchCache.Status.HIT, second.status());
+        assertEquals(1, loads.get());
+        assertTrue(first.model().isIsomorphicWith(second.model()));
+    }
+
+    @Test
+    void testExpiredEntryWithoutProbeIsReloaded(@TempDir Path dir) throws Exception {
+        RemoteFetchCache cache = new RemoteFetchCache(dir, Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+        RemoteFetchCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return sampleModel();
+        };
+
+        cache.fetch(ENDPOINT, "CONSTRUCT WHERE { ?s ?p ?o }", Duration.ZERO, null, 10, loader);
+        RemoteFetchCache.Result result = cache.fetch(ENDPOINT, "CONSTRUCT WHERE { ?s ?p ?o }", Duration.ZERO, null, 10, loader);
+
+        assertEquals(RemoteFetchCache.Status.MISS, result.status());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testConcurrentFetchesLoadOnceAndReleaseTheirLock(@TempDir Path dir) throws Exception {
+        RemoteFetchCache cache = new RemoteFetchCache(dir, Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        RemoteFetchCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            loading.await(5, TimeUnit.SECONDS);
+            return sampleModel();
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<RemoteFetchCache.Result>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.fetch(ENDPOINT, "CONSTRUCT WHERE { ?s ?p ?o }",
+                    Duration.ofHours(1), null, 10, loader)));
+            }
+            loading.countDown();
+            for (Future<RemoteFetchCache.Result> result : results) {
+                assertFalse(result.get().model().isEmpty());
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(0, cache.lockCount());
+    }
+
+    @Test
+    void testVariantsAreCachedApartWithTheirAttributes(@TempDir Path dir) throws Exception {
+        RemoteFetchCache cache = new RemoteFetchCache(dir, Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+        String query = "CONSTRUCT WHERE { ?s ?p ?o }";
+
+        Map<String, Object> recorded = new HashMap<>();
+        cache.fetch(ENDPOINT, query, "decomposed", Duration.ofHours(1), null, 10, recorded, () -> {
+            loads.incrementAndGet();
+            recorded.put("observationCount", 3);
+            recorded.put("subQueryTimings", Map.of("metadata", 12));
+            return sampleModel();
+        });
+        RemoteFetchCache.Result hit = cache.fetch(ENDPOINT, query, "decomposed", Duration.ofHours(1), null, 10,
+            new HashMap<>(), () -> {
+                loads.incrementAndGet();
+                return sampleModel();
+            });
+        RemoteFetchCache.Result other = cache.fetch(ENDPOINT, query, "single", Duration.ofHours(1), null, 10,
+            new HashMap<>(), () -> {
+                loads.incrementAndGet();
+                return sampleModel();
+            });
+
+        assertEquals(RemoteFetchCache.Status.HIT, hit.status());
+        assertEquals(3, hit.attributes().get("observationCount"));
+        assertEquals(Map.of("metadata", 12), hit.attributes().get("subQueryTimings"));
+        assertEquals(RemoteFetchCache.Status.MISS, other.status());
+        assertEquals(2, loads.get());
+    }
+
+    private static Model sampleModel() {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource("http://example.org/cube").addProperty(RDFS.label, "Cube");
+        return model;
+    }
+}
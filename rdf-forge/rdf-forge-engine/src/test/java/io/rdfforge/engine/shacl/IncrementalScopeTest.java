@@ -0,0 +1,106 @@
+package io.rdfforge.engine.shacl;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.shacl.Shapes;
+import org.apache.jena.shacl.parser.Shape;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalScopeTest {
+
+    private static final String EX = "http://example.org/";
+
+    private static final String DATA = """
+        @prefix ex: <http://example.org/> .
+        ex:alice a ex:Person ; ex:address ex:a1 .
+        ex:bob a ex:Person ; ex:address ex:b1 .
+        ex:a1 ex:city "Bern" .
+        ex:b1 ex:city "Basel" .
+        """;
+
+    @Test
+    void testOnlyFocusNodesReachingTheChangeAreAffected() {
+        Shapes shapes = shapes("""
+            ex:PersonShape a sh:NodeShape ;
+                sh:targetClass ex:Person ;
+                sh:property [ sh:path ( ex:address ex:city ) ; sh:minCount 1 ] .
+            """);
+        Model added = parse("@prefix ex: <http://example.org/> . ex:a1 ex:city \"Zurich\" .");
+
+        IncrementalScope scope = IncrementalScope.analyze(shapes);
+        assertNotNull(scope);
+        assertEquals(2, scope.getDepth());
+
+        Map<Shape, List<Node>> affected = scope.affectedFocusNodes(shapes, parse(DATA).getGraph(),
+            added.getGraph(), ModelFactory.createDefaultModel().getGraph());
+
+        assertEquals(1, affected.size());
+        assertEquals(List.of(NodeFactory.createURI(EX + "alice")), affected.values().iterator().next());
+    }
+
+    @Test
+    void testUnboundedPathsCannotBeScoped() {
+        Shapes shapes = shapes("""
+            ex:PersonShape a sh:NodeShape ;
+                sh:targetClass ex:Person ;
+                sh:property [ sh:path [ sh:zeroOrMorePath ex:knows ] ; sh:class ex:Person ] .
+            """);
+
+        assertNull(IncrementalScope.analyze(shapes));
+    }
+
+    @Test
+    void testObjectsBecomingTargetsAreAffected() {
+        Shapes shapes = shapes("""
+            ex:AddressShape a sh:NodeShape ;
+                sh:targetObjectsOf ex:address ;
+                sh:property [ sh:path ex:city ; sh:minCount 1 ] .
+            """);
+        Model data = parse(DATA + "ex:carol ex:address ex:c1 .");
+        Model added = parse("@prefix ex: <http://example.org/> . ex:carol ex:address ex:c1 .");
+
+        IncrementalScope scope = IncrementalScope.analyze(shapes);
+        assertNotNull(scope);
+
+        Map<Shape, List<Node>> affected = scope.affectedFocusNodes(shapes, data.getGraph(),
+            added.getGraph(), ModelFactory.createDefaultModel().getGraph());
+
+        assertEquals(1, affected.size());
+        assertEquals(List.of(NodeFactory.createURI(EX + "c1")), affected.values().iterator().next());
+    }
+
+    @Test
+    void testSparqlConstraintsCannotBeScoped() {
+        Shapes shapes = shapes("""
+            ex:PersonShape a sh:NodeShape ;
+                sh:targetClass ex:Person ;
+                sh:sparql [
+                    sh:select "SELECT $this WHERE { ?other <http://example.org/address> ?a . $this <http://example.org/address> ?a . FILTER (?other != $this) }"
+                ] .
+            """);
+
+        assertNull(IncrementalScope.analyze(shapes));
+    }
+
+    private static Shapes shapes(String body) {
+        return Shapes.parse(parse("""
+            @prefix sh: <http://www.w3.org/ns/shacl#> .
+            @prefix ex: <http://example.org/> .
+            """ + body).getGraph());
+    }
+
+    private static Model parse(String turtle) {
+        Model model = ModelFactory.createDefaultModel();
+        RDFParser.fromString(turtle, Lang.TURTLE).parse(model);
+        return model;
+    }
+}
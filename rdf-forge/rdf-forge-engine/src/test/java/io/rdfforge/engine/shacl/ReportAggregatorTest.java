@@ -0,0 +1,83 @@
+package io.rdfforge.engine.shacl;
+
+import io.rdfforge.common.model.ValidationReport;
+import io.rdfforge.common.model.ValidationReport.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportAggregatorTest {
+
+    @Test
+    void testKeepsBoundedResultsAndCountsAllInGroups() {
+        ReportAggregator aggregator = new ReportAggregator(new ReportOptions(5, 3, null));
+        for (int i = 0; i < 1000; i++) {
+            aggregator.add(result(String.format("http://example.org/obs/%04d", i), "http://example.org/dim"));
+        }
+        aggregator.add(result("http://example.org/obs/0000", "http://example.org/measure"));
+
+        ValidationReport report = aggregator.build(System.currentTimeMillis(), Map.of());
+
+        assertFalse(report.isConforms());
+        assertEquals(1001, report.getViolationCount());
+        assertEquals(1001, report.getTotalResults());
+        assertTrue(report.isTruncated());
+        assertEquals(5, report.getResults().size());
+        assertEquals("http://example.org/obs/0000", report.getResults().get(0).getFocusNode());
+
+        assertEquals(2, report.getGroups().size());
+        assertEquals(1000, report.getGroups().get(0).getCount());
+        assertEquals(3, report.getGroups().get(0).getSampleFocusNodes().size());
+        assertEquals(1, report.getGroups().get(1).getCount());
+    }
+
+    @Test
+    void testGroupSamplesDoNotDependOnResultOrder() {
+        List<ValidationResult> results = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            results.add(result("http://example.org/obs/" + i, "http://example.org/dim"));
+        }
+        ReportAggregator inOrder = new ReportAggregator(new ReportOptions(0, 10, null));
+        results.forEach(inOrder::add);
+
+        Collections.shuffle(results, new Random(7));
+        ReportAggregator shuffled = new ReportAggregator(new ReportOptions(0, 10, null));
+        results.forEach(shuffled::add);
+
+        List<String> samples = inOrder.build(System.currentTimeMillis(), Map.of())
+            .getGroups().get(0).getSampleFocusNodes();
+        assertEquals(10, samples.size());
+        assertEquals(samples, shuffled.build(System.currentTimeMillis(), Map.of())
+            .getGroups().get(0).getSampleFocusNodes());
+    }
+
+    @Test
+    void testWritesEveryResultToDetails() {
+        StringWriter details = new StringWriter();
+        ReportAggregator aggregator = new ReportAggregator(new ReportOptions(1, 1, details));
+        aggregator.add(result("http://example.org/a", "http://example.org/p"));
+        aggregator.add(result("http://example.org/b", "http://example.org/p"));
+
+        aggregator.build(System.currentTimeMillis(), Map.of());
+
+        assertEquals(2, details.toString().lines().count());
+    }
+
+    private static ValidationResult result(String focusNode, String path) {
+        return ValidationResult.builder()
+            .severity(ValidationResult.Severity.VIOLATION)
+            .focusNode(focusNode)
+            .resultPath(path)
+            .sourceShape("http://example.org/shape")
+            .sourceConstraintComponent("http://www.w3.org/ns/shacl#MinCountConstraintComponent")
+            .message("Missing value")
+            .build();
+    }
+}
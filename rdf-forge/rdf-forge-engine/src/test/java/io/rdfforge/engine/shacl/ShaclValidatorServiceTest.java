@@ -0,0 +1,85 @@
+package io.rdfforge.engine.shacl;
+
+import io.rdfforge.common.model.ValidationReport;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.shacl.Shapes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShaclValidatorServiceTest {
+
+    private static final String SHAPES = """
+        @prefix sh: <http://www.w3.org/ns/shacl#> .
+        @prefix xsd: <http://www.w3.org/2001/XMLSchema#> .
+        @prefix ex: <http://example.org/> .
+        ex:PersonShape a sh:NodeShape ;
+            sh:targetClass ex:Person ;
+            sh:property [ sh:path ex:name ; sh:minCount 1 ] ;
+            sh:property [ sh:path ex:age ; sh:datatype xsd:integer ] ;
+            sh:property [ sh:path ( ex:address ex:city ) ; sh:minCount 1 ; sh:severity sh:Warning ] .
+        """;
+
+    private final ShapesCache shapesCache = new ShapesCache(4, null);
+    private final ShaclValidatorService partitioned = new ShaclValidatorService(shapesCache, 100);
+    private final ShaclValidatorService singleThreaded = new ShaclValidatorService(shapesCache, Integer.MAX_VALUE);
+
+    @AfterEach
+    void tearDown() {
+        partitioned.shutdown();
+        singleThreaded.shutdown();
+    }
+
+    @Test
+    void testPartitionedValidationMatchesJena() {
+        Model data = people(2000);
+        Shapes shapes = shapesCache.get(SHAPES);
+        ReportOptions all = new ReportOptions(-1, 10, null);
+
+        ValidationReport expected = singleThreaded.validate(data, shapes, 50, 4, all);
+        ValidationReport actual = partitioned.validate(data, shapes, 50, 4, all);
+
+        assertEquals(1, expected.getMetadata().get("parallelism"));
+        assertEquals(4, actual.getMetadata().get("parallelism"));
+        assertTrue(expected.getTotalResults() > 0);
+        assertEquals(expected.getViolationCount(), actual.getViolationCount());
+        assertEquals(expected.getWarningCount(), actual.getWarningCount());
+        assertEquals(expected.getResults(), actual.getResults());
+        assertEquals(expected.getGroups(), actual.getGroups());
+    }
+
+    @Test
+    void testPartitionedReportIsStableAcrossRuns() {
+        Model data = people(2000);
+        Shapes shapes = shapesCache.get(SHAPES);
+        ReportOptions bounded = new ReportOptions(100, 5, null);
+
+        ValidationReport first = partitioned.validate(data, shapes, 25, 8, bounded);
+        for (int run = 0; run < 5; run++) {
+            ValidationReport next = partitioned.validate(data, shapes, 25, 8, bounded);
+            assertEquals(first.getResults(), next.getResults());
+            assertEquals(first.getGroups(), next.getGroups());
+        }
+        assertTrue(first.isTruncated());
+    }
+
+    private static Model people(int count) {
+        StringBuilder turtle = new StringBuilder("@prefix ex: <http://example.org/> .\n");
+        for (int i = 0; i < count; i++) {
+            turtle.append("ex:p").append(i).append(" a ex:Person");
+            if (i % 3 != 0) {
+                turtle.append(" ; ex:name \"Person ").append(i).append('"');
+            }
+            turtle.append(" ; ex:age ").append(i % 5 == 0 ? "\"unknown\"" : String.valueOf(i % 90));
+            if (i % 7 != 0) {
+                turtle.append(" ; ex:address ex:a").append(i).append(" .\n");
+                turtle.append("ex:a").append(i).append(" ex:city \"City ").append(i % 11).append('"');
+            }
+            turtle.append(" .\n");
+        }
+        return RDFParser.fromString(turtle.toString()).lang(Lang.TURTLE).toModel();
+    }
+}
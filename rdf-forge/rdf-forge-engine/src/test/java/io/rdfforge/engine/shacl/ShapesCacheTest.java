@@ -0,0 +1,62 @@
+package io.rdfforge.engine.shacl;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.shacl.Shapes;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapesCacheTest {
+
+    private static final String SHAPES = """
+        @prefix sh: <http://www.w3.org/ns/shacl#> .
+        @prefix ex: <http://example.org/> .
+        ex:PersonShape a sh:NodeShape ;
+            sh:targetClass ex:Person ;
+            sh:property [ sh:path ex:name ; sh:minCount 1 ] .
+        """;
+
+    @Test
+    void testSameContentIsCompiledOnce() {
+        ShapesCache cache = new ShapesCache(4, null);
+
+        Shapes first = cache.get(SHAPES);
+        Shapes second = cache.get(SHAPES);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testSameGraphIsCompiledOnce() {
+        ShapesCache cache = new ShapesCache(4, null);
+        Graph graph = RDFParser.fromString(SHAPES, Lang.TURTLE).toGraph();
+
+        Shapes first = cache.get(graph);
+        Shapes second = cache.get(graph);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMisses());
+
+        graph.add(NodeFactory.createURI("http://example.org/OtherShape"), RDF.Nodes.type,
+            NodeFactory.createURI("http://www.w3.org/ns/shacl#NodeShape"));
+        assertNotSame(first, cache.get(graph));
+    }
+
+    @Test
+    void testEvictsBeyondCapacity() {
+        ShapesCache cache = new ShapesCache(1, null);
+
+        cache.get(SHAPES);
+        cache.get(SHAPES + "\n# changed\n");
+        cache.get(SHAPES);
+
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getMisses());
+    }
+}
@@ -0,0 +1,52 @@
+package io.rdfforge.job.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads that run jobs.
+ *
+ * Each job's orchestration runs on its own virtual thread, so jobs blocked on HTTP,
+ * SPARQL or S3 I/O do not hold platform threads and a node can host many of them.
+ * How many run at once is decided by the {@link io.rdfforge.job.service.AdmissionController},
+ * not by the executor. CPU-heavy operations are handed to a platform pool sized to
+ * the cores by {@link io.rdfforge.job.service.CpuOperationDispatcher}.
+ */
+@Configuration
+public class JobExecutionConfig {
+
+    public static final String JOB_EXECUTOR = "jobExecutor";
+
+    @Bean(name = JOB_EXECUTOR)
+    public SimpleAsyncTaskExecutor jobExecutor(ObjectProvider<MeterRegistry> meterRegistry,
+                                               @Value("${rdfforge.jobs.execution.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        AtomicInteger active = new AtomicInteger();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("job-");
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(shutdownTimeoutMs);
+        executor.setTaskDecorator(task -> () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            // jvm.threads.* only counts platform threads
+            Gauge.builder("rdfforge.jobs.threads.virtual", active, AtomicInteger::get)
+                .description("Virtual threads currently running job tasks")
+                .register(registry);
+        }
+        return executor;
+    }
+}
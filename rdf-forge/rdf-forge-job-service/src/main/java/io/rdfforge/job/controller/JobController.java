@@ -4,13 +4,17 @@ import io.rdfforge.job.entity.JobEntity;
 import io.rdfforge.job.entity.JobEntity.JobStatus;
 import io.rdfforge.job.entity.JobLogEntity;
 import io.rdfforge.job.entity.JobLogEntity.LogLevel;
+import io.rdfforge.job.service.JobEventBus;
 import io.rdfforge.job.service.JobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -22,9 +26,11 @@ import java.util.UUID;
 public class JobController {
     
     private final JobService jobService;
+    private final JobEventBus eventBus;
     
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, JobEventBus eventBus) {
         this.jobService = jobService;
+        this.eventBus = eventBus;
     }
     
     @GetMapping
@@ -81,6 +87,32 @@ public class JobController {
         return ResponseEntity.ok(jobService.getLogs(id, level));
     }
     
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream job events",
+        description = "Server-sent events with new log lines and throttled step progress; resumes after Last-Event-ID")
+    public ResponseEntity<SseEmitter> streamJobEvents(
+        @PathVariable UUID id,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return jobService.getJob(id)
+            .map(job -> {
+                boolean finished = job.getStatus() != JobStatus.PENDING && job.getStatus() != JobStatus.RUNNING;
+                // Sent instead of live events when this node has none, e.g. the job runs on another node
+                // and events are not relayed
+                Map<String, Object> status = new LinkedHashMap<>();
+                status.put("status", job.getStatus().name());
+                status.put("streaming", false);
+                if (job.getLockedBy() != null) {
+                    status.put("worker", job.getLockedBy());
+                }
+                if (!finished && (jobService.isRunningLocally(id) || eventBus.isRelayed())) {
+                    return ResponseEntity.ok(eventBus.subscribe(id, lastEventId, status));
+                }
+                return ResponseEntity.ok(eventBus.replay(id, lastEventId, finished, status));
+            })
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/{id}/metrics")
     @Operation(summary = "Get job metrics", description = "Get execution metrics for a job")
     public ResponseEntity<Map<String, Object>> getJobMetrics(@PathVariable UUID id) {
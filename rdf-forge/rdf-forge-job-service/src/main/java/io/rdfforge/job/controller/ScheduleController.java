@@ -0,0 +1,69 @@
+package io.rdfforge.job.controller;
+
+import io.rdfforge.job.entity.JobScheduleEntity;
+import io.rdfforge.job.service.JobScheduleService;
+import io.rdfforge.job.service.JobScheduleService.ScheduleSpec;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/schedules")
+@Tag(name = "Schedules", description = "Cron schedules that queue pipeline jobs")
+@CrossOrigin(origins = "*")
+public class ScheduleController {
+    
+    private final JobScheduleService scheduleService;
+    
+    public ScheduleController(JobScheduleService scheduleService) {
+        this.scheduleService = scheduleService;
+    }
+    
+    @GetMapping
+    @Operation(summary = "List schedules", description = "Get all schedules, optionally of one pipeline")
+    public ResponseEntity<List<JobScheduleEntity>> getSchedules(@RequestParam(required = false) UUID pipelineId) {
+        return ResponseEntity.ok(scheduleService.getSchedules(pipelineId));
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get schedule", description = "Get schedule details by ID")
+    public ResponseEntity<JobScheduleEntity> getSchedule(@PathVariable UUID id) {
+        return scheduleService.getSchedule(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping
+    @Operation(summary = "Create schedule",
+        description = "Create a schedule from a five- or six-field cron expression")
+    public ResponseEntity<JobScheduleEntity> createSchedule(@RequestBody ScheduleSpec request) {
+        try {
+            return ResponseEntity.ok(scheduleService.createSchedule(request, null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @RequestMapping(value = "/{id}", method = {RequestMethod.POST, RequestMethod.PUT})
+    @Operation(summary = "Update schedule", description = "Change the given fields of a schedule")
+    public ResponseEntity<JobScheduleEntity> updateSchedule(@PathVariable UUID id, @RequestBody ScheduleSpec request) {
+        try {
+            return scheduleService.updateSchedule(id, request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete schedule", description = "Delete a schedule")
+    public ResponseEntity<Void> deleteSchedule(@PathVariable UUID id) {
+        scheduleService.deleteSchedule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -65,6 +65,27 @@ public class JobEntity {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt = Instant.now();
     
+    @Column(name = "locked_by")
+    private String lockedBy;
+    
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+    
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+    
+    @Column
+    private Integer attempts = 0;
+    
+    @Column(name = "logs_archived_at")
+    private Instant logsArchivedAt;
+    
+    @Column(name = "trigger_key", length = 64)
+    private String triggerKey;
+    
+    @Column(name = "trigger_count")
+    private Integer triggerCount = 1;
+    
     public enum JobStatus {
         PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
     }
@@ -121,6 +142,27 @@ public class JobEntity {
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     
+    public String getLockedBy() { return lockedBy; }
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+    
+    public Instant getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+    
+    public Instant getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(Instant heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+    
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+    
+    public Instant getLogsArchivedAt() { return logsArchivedAt; }
+    public void setLogsArchivedAt(Instant logsArchivedAt) { this.logsArchivedAt = logsArchivedAt; }
+    
+    public String getTriggerKey() { return triggerKey; }
+    public void setTriggerKey(String triggerKey) { this.triggerKey = triggerKey; }
+    
+    public Integer getTriggerCount() { return triggerCount; }
+    public void setTriggerCount(Integer triggerCount) { this.triggerCount = triggerCount; }
+    
     public Long getDuration() {
         if (startedAt == null) return null;
         Instant end = completedAt != null ? completedAt : Instant.now();
@@ -0,0 +1,115 @@
+package io.rdfforge.job.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Entity
+@Table(name = "job_schedules")
+public class JobScheduleEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "pipeline_id", nullable = false)
+    private UUID pipelineId;
+
+    @Column
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "cron_expression", nullable = false, length = 100)
+    private String cronExpression;
+
+    @Column(length = 64)
+    private String timezone = "UTC";
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, Object> variables;
+
+    @Column(name = "enabled")
+    private boolean active = true;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "misfire_policy", length = 20)
+    private MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE;
+
+    @Column(name = "jitter_seconds")
+    private Integer jitterSeconds = 0;
+
+    @Column(name = "last_run_at")
+    private Instant lastRun;
+
+    @Column(name = "next_run_at")
+    private Instant nextRun;
+
+    @Column(name = "created_by")
+    private UUID createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    /**
+     * What happens to fire times that passed while no scheduler was running.
+     */
+    public enum MisfirePolicy {
+        /** Run once for all missed fire times. */
+        FIRE_ONCE,
+        /** Run once per missed fire time, up to a limit. */
+        CATCH_UP,
+        /** Drop missed fire times and wait for the next one. */
+        SKIP
+    }
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getPipelineId() { return pipelineId; }
+    public void setPipelineId(UUID pipelineId) { this.pipelineId = pipelineId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getCronExpression() { return cronExpression; }
+    public void setCronExpression(String cronExpression) { this.cronExpression = cronExpression; }
+
+    public String getTimezone() { return timezone; }
+    public void setTimezone(String timezone) { this.timezone = timezone; }
+
+    public Map<String, Object> getVariables() { return variables; }
+    public void setVariables(Map<String, Object> variables) { this.variables = variables; }
+
+    @JsonProperty("isActive")
+    public boolean isActive() { return active; }
+    @JsonProperty("isActive")
+    public void setActive(boolean active) { this.active = active; }
+
+    public MisfirePolicy getMisfirePolicy() { return misfirePolicy; }
+    public void setMisfirePolicy(MisfirePolicy misfirePolicy) { this.misfirePolicy = misfirePolicy; }
+
+    public Integer getJitterSeconds() { return jitterSeconds; }
+    public void setJitterSeconds(Integer jitterSeconds) { this.jitterSeconds = jitterSeconds; }
+
+    public Instant getLastRun() { return lastRun; }
+    public void setLastRun(Instant lastRun) { this.lastRun = lastRun; }
+
+    public Instant getNextRun() { return nextRun; }
+    public void setNextRun(Instant nextRun) { this.nextRun = nextRun; }
+
+    public UUID getCreatedBy() { return createdBy; }
+    public void setCreatedBy(UUID createdBy) { this.createdBy = createdBy; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
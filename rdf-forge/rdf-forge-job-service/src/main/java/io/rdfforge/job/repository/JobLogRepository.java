@@ -5,6 +5,7 @@ import io.rdfforge.job.entity.JobLogEntity.LogLevel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -26,4 +27,11 @@ public interface JobLogRepository extends JpaRepository<JobLogEntity, Long> {
     List<JobLogEntity> findByJobIdAndStep(@Param("jobId") UUID jobId, @Param("step") String step);
 
     void deleteByJob_Id(UUID jobId);
+
+    /**
+     * Bulk delete; unlike {@link #deleteByJob_Id} it does not load the entries first.
+     */
+    @Modifying
+    @Query("DELETE FROM JobLogEntity l WHERE l.job.id = :jobId")
+    int deleteAllByJobId(@Param("jobId") UUID jobId);
 }
@@ -2,15 +2,23 @@ package io.rdfforge.job.repository;
 
 import io.rdfforge.job.entity.JobEntity;
 import io.rdfforge.job.entity.JobEntity.JobStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Repository
@@ -25,7 +33,100 @@ public interface JobRepository extends JpaRepository<JobEntity, UUID> {
     @Query("SELECT j FROM JobEntity j WHERE j.status = :status ORDER BY j.priority DESC, j.createdAt ASC")
     List<JobEntity> findPendingJobs(@Param("status") JobStatus status);
     
-    @Query("SELECT j FROM JobEntity j WHERE j.status = 'RUNNING' AND j.startedAt < :timeout")
+    /**
+     * Lock the next jobs in queue order, skipping rows other workers have locked.
+     * Must run in a transaction; renders as {@code FOR UPDATE SKIP LOCKED} on PostgreSQL.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM JobEntity j WHERE j.status = :status ORDER BY j.priority DESC, j.createdAt ASC")
+    List<JobEntity> lockPendingJobs(@Param("status") JobStatus status, Pageable pageable);
+    
+    /**
+     * Take the claim lock of a pipeline or project until the transaction ends, without
+     * waiting. While a node holds it, no other node claims jobs counted against the
+     * same concurrency limit, and RUNNING counts read afterwards include every claim
+     * committed before.
+     *
+     * @return false if another transaction holds the lock
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext(:key))", nativeQuery = true)
+    boolean tryLockClaimKey(@Param("key") String key);
+    
+    /**
+     * Serialize enqueueing of identical triggers until the transaction ends. Row locks
+     * cannot do this, since the first trigger has no row to lock yet.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:triggerKey))) l", nativeQuery = true)
+    Integer lockTriggerKey(@Param("triggerKey") String triggerKey);
+    
+    /**
+     * Lock the pending job with the given trigger key. A job that a worker claims
+     * concurrently is no longer PENDING once the lock is granted and is not returned.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM JobEntity j WHERE j.triggerKey = :triggerKey AND j.status = 'PENDING' ORDER BY j.createdAt ASC")
+    List<JobEntity> lockPendingByTriggerKey(@Param("triggerKey") String triggerKey, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.leaseExpiresAt = :leaseExpiresAt, j.heartbeatAt = :now " +
+           "WHERE j.id IN :ids AND j.lockedBy = :workerId AND j.status = 'RUNNING'")
+    int renewLeases(@Param("workerId") String workerId, @Param("ids") Collection<UUID> ids,
+                    @Param("leaseExpiresAt") Instant leaseExpiresAt, @Param("now") Instant now);
+    
+    /**
+     * Record the outcome of a job and release its lease, provided this worker still
+     * holds the lease.
+     *
+     * @return 0 when the job was recovered or reassigned in the meantime
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.status = :status, j.completedAt = :completedAt, j.metrics = :metrics, " +
+           "j.errorMessage = :errorMessage, j.errorDetails = :errorDetails, j.lockedBy = NULL, j.leaseExpiresAt = NULL " +
+           "WHERE j.id = :id AND j.lockedBy = :workerId")
+    int finishLeased(@Param("id") UUID id, @Param("workerId") String workerId, @Param("status") JobStatus status,
+                     @Param("completedAt") Instant completedAt, @Param("metrics") Map<String, Object> metrics,
+                     @Param("errorMessage") String errorMessage,
+                     @Param("errorDetails") Map<String, Object> errorDetails);
+    
+    @Query("SELECT j.id FROM JobEntity j WHERE j.id IN :ids AND j.status = 'CANCELLED'")
+    List<UUID> findCancelledIds(@Param("ids") Collection<UUID> ids);
+    
+    /**
+     * Jobs among {@code ids} that are no longer RUNNING under this worker's lease,
+     * because they were reassigned after the lease expired.
+     */
+    @Query("SELECT j.id FROM JobEntity j WHERE j.id IN :ids AND j.status <> 'CANCELLED' " +
+           "AND (j.status <> 'RUNNING' OR j.lockedBy IS NULL OR j.lockedBy <> :workerId)")
+    List<UUID> findReassignedIds(@Param("ids") Collection<UUID> ids, @Param("workerId") String workerId);
+    
+    /**
+     * Must run in a transaction; renders as {@code FOR UPDATE SKIP LOCKED} on PostgreSQL.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM JobEntity j WHERE j.status = 'RUNNING' AND j.leaseExpiresAt < :now ORDER BY j.leaseExpiresAt ASC")
+    List<JobEntity> lockExpiredLeases(@Param("now") Instant now, Pageable pageable);
+    
+    @Query("SELECT j.id FROM JobEntity j WHERE j.status IN :statuses AND j.completedAt < :cutoff " +
+           "AND j.logsArchivedAt IS NULL ORDER BY j.completedAt ASC")
+    List<UUID> findJobsWithLogsToArchive(@Param("statuses") Collection<JobStatus> statuses,
+                                         @Param("cutoff") Instant cutoff, Pageable pageable);
+    
+    List<JobEntity> findTop5ByPipelineIdAndStatusOrderByCompletedAtDesc(UUID pipelineId, JobStatus status);
+    
+    @Query("SELECT j.pipelineId, COUNT(j) FROM JobEntity j WHERE j.status = 'RUNNING' GROUP BY j.pipelineId")
+    List<Object[]> countRunningByPipeline();
+    
+    /**
+     * RUNNING jobs without a lease that started before {@code timeout}, i.e. rows
+     * left behind by workers that predate leases. Must run in a transaction; renders
+     * as {@code FOR UPDATE SKIP LOCKED} on PostgreSQL.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM JobEntity j WHERE j.status = 'RUNNING' AND j.leaseExpiresAt IS NULL AND j.startedAt < :timeout")
     List<JobEntity> findStaleRunningJobs(@Param("timeout") Instant timeout);
     
     @Query("SELECT COUNT(j) FROM JobEntity j WHERE j.status = :status")
@@ -0,0 +1,37 @@
+package io.rdfforge.job.repository;
+
+import io.rdfforge.job.entity.JobScheduleEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JobScheduleRepository extends JpaRepository<JobScheduleEntity, UUID> {
+
+    List<JobScheduleEntity> findAllByOrderByCreatedAtAsc();
+
+    List<JobScheduleEntity> findByPipelineId(UUID pipelineId);
+
+    /**
+     * Active schedules whose next fire time has passed, earliest first. Served by
+     * the partial index on {@code next_run_at}; must run in a transaction and
+     * renders as {@code FOR UPDATE SKIP LOCKED} on PostgreSQL.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM JobScheduleEntity s WHERE s.active = true AND s.nextRun <= :now ORDER BY s.nextRun ASC")
+    List<JobScheduleEntity> lockDueSchedules(@Param("now") Instant now, Pageable pageable);
+
+    @Query("SELECT s FROM JobScheduleEntity s WHERE s.active = true AND s.nextRun IS NULL")
+    List<JobScheduleEntity> findActiveWithoutNextRun();
+}
@@ -0,0 +1,271 @@
+package io.rdfforge.job.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.rdfforge.job.entity.JobEntity;
+import io.rdfforge.job.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides which pending jobs this node may start.
+ *
+ * Each admitted job reserves its estimated memory ({@link JobResourceEstimator})
+ * and one job slot until it finishes; a job is only admitted while the node's
+ * memory budget and job slots allow it. Jobs run on virtual threads, so the
+ * slots default to several per core; CPU-heavy steps share a pool sized to the
+ * cores ({@link CpuOperationDispatcher}). Concurrency per pipeline and per project
+ * is limited across all nodes by counting RUNNING jobs. Before counting, admission
+ * takes an advisory lock per pipeline and per project of the candidates without
+ * waiting, so each node counts the jobs other nodes claimed before it; candidates
+ * whose lock another node holds stay queued. Candidates are considered
+ * in queue order, but a job that does not fit is skipped, so small jobs start
+ * while a large one waits for memory. Once a skipped job has waited longer than
+ * {@code max-bypass-seconds} nothing else is admitted until it fits, and a job
+ * larger than the whole budget runs when the node is otherwise idle.
+ */
+@Component
+public class AdmissionController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionController.class);
+
+    public record Limits(long memoryBudgetMb, int jobSlots, int maxPerPipeline, int maxPerProject,
+                         Duration maxBypassWait) {
+    }
+
+    private final JobResourceEstimator estimator;
+    private final JobRepository jobRepository;
+    private final PipelineDefinitionCache pipelineCache;
+    private final Limits limits;
+    /** Estimated memory in MB of each job admitted on this node. */
+    private final Map<UUID, Long> reservations = new ConcurrentHashMap<>();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer waitTimer;
+    private final Map<String, Counter> deferredCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    /** Not {@code synchronized}: admission queries the database, which would pin a virtual thread. */
+    private final ReentrantLock admitLock = new ReentrantLock();
+
+    @Autowired
+    public AdmissionController(JobResourceEstimator estimator, JobRepository jobRepository,
+                               PipelineDefinitionCache pipelineCache, ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${rdfforge.jobs.admission.memory-budget-mb:0}") long memoryBudgetMb,
+                               @Value("${rdfforge.jobs.admission.job-slots:0}") int jobSlots,
+                               @Value("${rdfforge.jobs.admission.jobs-per-cpu:4}") int jobsPerCpu,
+                               @Value("${rdfforge.jobs.admission.max-per-pipeline:2}") int maxPerPipeline,
+                               @Value("${rdfforge.jobs.admission.max-per-project:4}") int maxPerProject,
+                               @Value("${rdfforge.jobs.admission.max-bypass-seconds:600}") long maxBypassSeconds) {
+        this(estimator, jobRepository, pipelineCache, new Limits(
+            memoryBudgetMb > 0 ? memoryBudgetMb : Runtime.getRuntime().maxMemory() * 7 / 10 / (1024 * 1024),
+            jobSlots > 0 ? jobSlots : Math.max(1, jobsPerCpu) * Runtime.getRuntime().availableProcessors(),
+            maxPerPipeline, maxPerProject, Duration.ofSeconds(maxBypassSeconds)), meterRegistry.getIfAvailable());
+    }
+
+    public AdmissionController(JobResourceEstimator estimator, JobRepository jobRepository,
+                               PipelineDefinitionCache pipelineCache, Limits limits, MeterRegistry meterRegistry) {
+        this.estimator = estimator;
+        this.jobRepository = jobRepository;
+        this.pipelineCache = pipelineCache;
+        this.limits = limits;
+        this.meterRegistry = meterRegistry;
+
+        if (meterRegistry != null) {
+            Gauge.builder("rdfforge.jobs.queue.depth", queueDepth, AtomicLong::get)
+                .description("Pending jobs in the queue")
+                .register(meterRegistry);
+            Gauge.builder("rdfforge.jobs.admission.reserved.memory", this, AdmissionController::reservedMemoryMb)
+                .baseUnit("megabytes")
+                .description("Estimated memory reserved by jobs running on this node")
+                .register(meterRegistry);
+            Gauge.builder("rdfforge.jobs.admission.running", reservations, Map::size)
+                .description("Jobs admitted on this node and still running")
+                .register(meterRegistry);
+            this.waitTimer = Timer.builder("rdfforge.jobs.queue.wait")
+                .description("Time jobs spent queued before they were admitted")
+                .register(meterRegistry);
+        } else {
+            this.waitTimer = null;
+        }
+    }
+
+    /**
+     * Select the candidates to start now and reserve their resources. Each admitted
+     * job must be {@link #release released} when it ends or if its claim is rolled back.
+     *
+     * @param candidates pending jobs in queue order
+     * @return the admitted jobs, at most {@code max}
+     */
+    public List<JobEntity> admit(List<JobEntity> candidates, int max) {
+        if (candidates.isEmpty() || max <= 0) {
+            return List.of();
+        }
+        admitLock.lock();
+        try {
+            return admitLocked(candidates, max);
+        } finally {
+            admitLock.unlock();
+        }
+    }
+
+    private List<JobEntity> admitLocked(List<JobEntity> candidates, int max) {
+        Map<UUID, UUID> projectIds = new HashMap<>();
+        Set<UUID> unresolved = new HashSet<>();
+        Set<UUID> contended = new HashSet<>();
+        Map<String, Boolean> claimLocks = new HashMap<>();
+        for (JobEntity job : candidates) {
+            UUID pipelineId = job.getPipelineId();
+            if (projectIds.containsKey(pipelineId) || unresolved.contains(pipelineId)) {
+                continue;
+            }
+            UUID projectId;
+            try {
+                projectId = pipelineCache.projectId(pipelineId);
+            } catch (Exception e) {
+                log.debug("Project of pipeline {} unknown, job {} stays queued: {}",
+                    pipelineId, job.getId(), e.getMessage());
+                unresolved.add(pipelineId);
+                continue;
+            }
+            projectIds.put(pipelineId, projectId);
+            if (!lockClaimKey("pipeline:" + pipelineId, claimLocks)
+                    || (projectId != null && !lockClaimKey("project:" + projectId, claimLocks))) {
+                contended.add(pipelineId);
+            }
+        }
+
+        // Counted after locking, so claims of other nodes for these keys have committed
+        Map<UUID, Long> runningByPipeline = new HashMap<>();
+        Map<UUID, Long> runningByProject = new HashMap<>();
+        for (Object[] row : jobRepository.countRunningByPipeline()) {
+            UUID pipelineId = (UUID) row[0];
+            long count = ((Number) row[1]).longValue();
+            runningByPipeline.put(pipelineId, count);
+            UUID projectId = runningProjectId(pipelineId, projectIds);
+            if (projectId != null) {
+                runningByProject.merge(projectId, count, Long::sum);
+            }
+        }
+
+        Instant now = Instant.now();
+        long reservedMb = reservedMemoryMb();
+        List<JobEntity> admitted = new ArrayList<>();
+        for (JobEntity job : candidates) {
+            if (admitted.size() >= max) {
+                break;
+            }
+            if (reservations.size() >= limits.jobSlots()) {
+                defer("slots");
+                break;
+            }
+            UUID pipelineId = job.getPipelineId();
+            if (unresolved.contains(pipelineId)) {
+                defer("project");
+                continue;
+            }
+            if (contended.contains(pipelineId)) {
+                defer("contended");
+                continue;
+            }
+            if (runningByPipeline.getOrDefault(pipelineId, 0L) >= limits.maxPerPipeline()) {
+                defer("pipeline");
+                continue;
+            }
+            UUID projectId = projectIds.get(pipelineId);
+            if (projectId != null && runningByProject.getOrDefault(projectId, 0L) >= limits.maxPerProject()) {
+                defer("project");
+                continue;
+            }
+
+            long memoryMb = estimator.estimateMemoryMb(job);
+            boolean fits = reservedMb + memoryMb <= limits.memoryBudgetMb() || reservations.isEmpty();
+            if (!fits) {
+                defer("memory");
+                if (job.getCreatedAt() != null
+                        && Duration.between(job.getCreatedAt(), now).compareTo(limits.maxBypassWait()) > 0) {
+                    log.debug("Job {} ({} MB) waited too long, holding back smaller jobs", job.getId(), memoryMb);
+                    break;
+                }
+                continue;
+            }
+
+            reservations.put(job.getId(), memoryMb);
+            reservedMb += memoryMb;
+            runningByPipeline.merge(pipelineId, 1L, Long::sum);
+            if (projectId != null) {
+                runningByProject.merge(projectId, 1L, Long::sum);
+            }
+            if (waitTimer != null && job.getCreatedAt() != null) {
+                waitTimer.record(Duration.between(job.getCreatedAt(), now));
+            }
+            admitted.add(job);
+        }
+        return admitted;
+    }
+
+    private boolean lockClaimKey(String key, Map<String, Boolean> claimLocks) {
+        return claimLocks.computeIfAbsent(key, k -> jobRepository.tryLockClaimKey("rdfforge.jobs.claim:" + k));
+    }
+
+    private UUID runningProjectId(UUID pipelineId, Map<UUID, UUID> projectIds) {
+        if (projectIds.containsKey(pipelineId)) {
+            return projectIds.get(pipelineId);
+        }
+        UUID projectId = null;
+        try {
+            projectId = pipelineCache.projectId(pipelineId);
+        } catch (Exception e) {
+            log.warn("Running jobs of pipeline {} not counted against its project: {}", pipelineId, e.getMessage());
+        }
+        projectIds.put(pipelineId, projectId);
+        return projectId;
+    }
+
+    public void release(UUID jobId) {
+        reservations.remove(jobId);
+    }
+
+    /**
+     * Job slots not taken by jobs admitted on this node.
+     */
+    public int freeSlots() {
+        return limits.jobSlots() - reservations.size();
+    }
+
+    public void recordQueueDepth(long depth) {
+        queueDepth.set(depth);
+    }
+
+    public long reservedMemoryMb() {
+        long total = 0;
+        for (long memoryMb : reservations.values()) {
+            total += memoryMb;
+        }
+        return total;
+    }
+
+    public Limits getLimits() {
+        return limits;
+    }
+
+    private void defer(String reason) {
+        if (meterRegistry != null) {
+            deferredCounters.computeIfAbsent(reason, r -> Counter.builder("rdfforge.jobs.admission.deferred")
+                .tag("reason", r)
+                .description("Candidate jobs left queued by admission control")
+                .register(meterRegistry)).increment();
+        }
+    }
+}
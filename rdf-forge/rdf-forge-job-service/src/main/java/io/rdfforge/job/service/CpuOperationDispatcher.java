@@ -0,0 +1,102 @@
+package io.rdfforge.job.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.rdfforge.engine.operation.Operation;
+import io.rdfforge.engine.operation.OperationException;
+import io.rdfforge.engine.pipeline.OperationDispatcher;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs CPU-heavy operation types on a platform thread pool sized to the cores.
+ *
+ * Jobs run on virtual threads, which suit the waiting that sources and outputs do
+ * but would let any number of mapping, cube or validation steps compete for the
+ * cores. Operations of the configured types are submitted to this pool and the
+ * job's virtual thread waits for the result without holding a platform thread;
+ * other operations run directly on the job's thread. Operations that return a
+ * lazy stream only do their setup here; the stream is consumed by the step
+ * that reads it.
+ */
+@Component
+public class CpuOperationDispatcher implements OperationDispatcher {
+
+    private static final String THREAD_PREFIX = "job-cpu-";
+
+    private final Set<Operation.OperationType> cpuTypes;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+
+    public CpuOperationDispatcher(ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${rdfforge.jobs.execution.cpu-threads:0}") int cpuThreads,
+                                  @Value("${rdfforge.jobs.execution.cpu-operation-types:TRANSFORM,CUBE,VALIDATION}") String cpuTypes) {
+        this.cpuTypes = parseTypes(cpuTypes);
+        int threads = cpuThreads > 0 ? cpuThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, THREAD_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.executor = registry != null ? ExecutorServiceMetrics.monitor(registry, pool, "job-cpu") : pool;
+    }
+
+    @Override
+    public Operation.OperationResult execute(Operation operation, Operation.OperationContext context)
+            throws OperationException {
+        if (!cpuTypes.contains(operation.getType()) || Thread.currentThread().getName().startsWith(THREAD_PREFIX)) {
+            return operation.execute(context);
+        }
+
+        Future<Operation.OperationResult> result = executor.submit(() -> operation.execute(context));
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new OperationException(operation.getId(), "Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof OperationException operationException) {
+                throw operationException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new OperationException(operation.getId(), cause.getMessage(), cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static Set<Operation.OperationType> parseTypes(String types) {
+        Set<Operation.OperationType> parsed = EnumSet.noneOf(Operation.OperationType.class);
+        for (String type : types.split(",")) {
+            if (!type.isBlank()) {
+                parsed.add(Operation.OperationType.valueOf(type.trim().toUpperCase()));
+            }
+        }
+        return parsed;
+    }
+}
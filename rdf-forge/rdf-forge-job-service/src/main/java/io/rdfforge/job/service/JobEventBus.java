@@ -0,0 +1,442 @@
+package io.rdfforge.job.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory event stream per job for live monitoring over server-sent events.
+ *
+ * Each job keeps its most recent events in a bounded buffer. Event ids are
+ * {@code attempt:seq}, the sequence restarting with every attempt of the job, so
+ * ids keep increasing across requeues and a client that reconnects with
+ * {@code Last-Event-ID} receives what it missed, including everything of a newer
+ * attempt, without reloading the log from the database. Every subscriber has its
+ * own queue drained by its own virtual thread, so neither job execution nor other
+ * clients wait on a slow client; one that falls a full buffer behind is
+ * disconnected and resumes from its last event id. Streams are kept for a while after the job ends
+ * to serve late reconnects.
+ *
+ * Events are published on the node that runs the job. With a relay installed
+ * ({@link JobEventRelay}) they are also handed to it and the events it receives
+ * from other nodes are appended to mirror streams with the same ids, so a client
+ * can subscribe on any node. Without a relay, a subscriber on another node gets
+ * the buffered events, if any, and a {@code status} event asking it to reconnect,
+ * so it eventually reaches the node running the job or sees it end. Streams that
+ * are never finished here, e.g. for log lines written while recovering another
+ * node's job, are evicted once idle with no subscribers.
+ */
+@Component
+public class JobEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(JobEventBus.class);
+
+    public static final String LOG = "log";
+    public static final String PROGRESS = "progress";
+    public static final String STATUS = "status";
+    public static final String COMPLETE = "complete";
+
+    private static final long RECONNECT_MS = 5000;
+
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+    private final Duration retention;
+    private final Map<UUID, JobStream> streams = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("job-events-", 0).factory());
+    private volatile BiConsumer<UUID, JobEvent> relay;
+
+    public JobEventBus(@Value("${rdfforge.jobs.events.buffer-size:1000}") int bufferSize,
+                       @Value("${rdfforge.jobs.events.timeout-ms:1800000}") long emitterTimeoutMs,
+                       @Value("${rdfforge.jobs.events.retention-seconds:300}") long retentionSeconds) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.retention = Duration.ofSeconds(retentionSeconds);
+    }
+
+    /**
+     * Id of an event: the job's attempt, then the sequence within that attempt.
+     */
+    public record EventId(int attempt, long seq) implements Comparable<EventId> {
+        static final EventId NONE = new EventId(0, 0);
+
+        /**
+         * Parse a {@code Last-Event-ID}; a plain number is a sequence of attempt 0,
+         * anything unreadable replays everything.
+         */
+        public static EventId parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            try {
+                int colon = value.indexOf(':');
+                if (colon < 0) {
+                    return new EventId(0, Long.parseLong(value.trim()));
+                }
+                return new EventId(Integer.parseInt(value.substring(0, colon).trim()),
+                    Long.parseLong(value.substring(colon + 1).trim()));
+            } catch (NumberFormatException e) {
+                return NONE;
+            }
+        }
+
+        @Override
+        public int compareTo(EventId other) {
+            int byAttempt = Integer.compare(attempt, other.attempt);
+            return byAttempt != 0 ? byAttempt : Long.compare(seq, other.seq);
+        }
+
+        @Override
+        public String toString() {
+            return attempt + ":" + seq;
+        }
+    }
+
+    public record JobEvent(EventId id, String type, Object data) {
+    }
+
+    /**
+     * Install the relay that forwards events published here to other nodes.
+     */
+    public void setRelay(BiConsumer<UUID, JobEvent> relay) {
+        this.relay = relay;
+    }
+
+    public boolean isRelayed() {
+        return relay != null;
+    }
+
+    /**
+     * Start the events of a new attempt of a job. Buffered events of earlier attempts
+     * are dropped; subscribers stay and receive the new attempt's events.
+     */
+    public void start(UUID jobId, int attempt) {
+        stream(jobId).restart(attempt);
+    }
+
+    public void publish(UUID jobId, String type, Object data) {
+        forward(jobId, stream(jobId).append(type, data));
+    }
+
+    /**
+     * Publish the final event of a job and close its subscriptions.
+     */
+    public void complete(UUID jobId, Object data) {
+        forward(jobId, stream(jobId).finish(data));
+    }
+
+    /**
+     * Append an event another node published for a job it runs.
+     */
+    public void relayed(UUID jobId, JobEvent event) {
+        stream(jobId).mirror(event);
+    }
+
+    /**
+     * Subscribe to the live events of a job running on this node, or on any node
+     * when events are relayed.
+     *
+     * @param lastEventId {@code Last-Event-ID} of the client, or null to replay
+     *                    everything still buffered
+     * @param status      sent with a reconnect hint when this node has no live stream
+     *                    for the job, e.g. because it has not published anything yet
+     */
+    public SseEmitter subscribe(UUID jobId, String lastEventId, Object status) {
+        return subscribe(jobId, lastEventId, status, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(UUID jobId, String lastEventId, Object status, SseEmitter emitter) {
+        return attach(jobId, EventId.parse(lastEventId), STATUS, status, emitter);
+    }
+
+    /**
+     * Replay what is buffered for a job this node does not run, then end the response:
+     * with a {@code complete} event for a finished job, otherwise with a {@code status}
+     * event asking the client to reconnect.
+     */
+    public SseEmitter replay(UUID jobId, String lastEventId, boolean finished, Object status) {
+        return replay(jobId, lastEventId, finished, status, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter replay(UUID jobId, String lastEventId, boolean finished, Object status, SseEmitter emitter) {
+        EventId after = EventId.parse(lastEventId);
+        JobStream stream = streams.get(jobId);
+        if (stream != null && (finished || stream.isFinished())) {
+            return attach(jobId, after, COMPLETE, status, emitter);
+        }
+        Subscriber subscriber = new Subscriber(emitter, after);
+        if (stream != null) {
+            stream.replayTo(subscriber);
+        }
+        subscriber.close(new JobEvent(EventId.NONE, finished ? COMPLETE : STATUS, status), !finished);
+        return subscriber.emitter;
+    }
+
+    private SseEmitter attach(UUID jobId, EventId lastEventId, String fallbackType, Object fallback,
+                              SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, lastEventId);
+        // Without a relay only the node running the job finishes its stream, so a stream created
+        // here would never be evicted; with one, relayed events reach it and finish it
+        JobStream stream = STATUS.equals(fallbackType) && isRelayed() ? stream(jobId) : streams.get(jobId);
+        if (stream == null) {
+            subscriber.close(new JobEvent(EventId.NONE, fallbackType, fallback), STATUS.equals(fallbackType));
+            return subscriber.emitter;
+        }
+        stream.subscribe(subscriber);
+        subscriber.emitter.onCompletion(() -> stream.unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> stream.unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> stream.unsubscribe(subscriber));
+        return subscriber.emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${rdfforge.jobs.events.cleanup-interval-ms:60000}")
+    public void evictFinishedStreams() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(retention);
+        Instant idleCutoff = now.minusMillis(emitterTimeoutMs);
+        streams.entrySet().removeIf(entry -> entry.getValue().isFinishedBefore(cutoff)
+            || entry.getValue().isAbandonedBefore(idleCutoff));
+    }
+
+    private JobStream stream(UUID jobId) {
+        return streams.computeIfAbsent(jobId, id -> new JobStream(bufferSize));
+    }
+
+    private void forward(UUID jobId, JobEvent event) {
+        BiConsumer<UUID, JobEvent> target = relay;
+        if (event != null && target != null) {
+            target.accept(jobId, event);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private static boolean send(SseEmitter emitter, JobEvent event, boolean reconnect) {
+        try {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                .id(event.id().toString())
+                .name(event.type())
+                .data(event.data());
+            if (reconnect) {
+                builder.reconnectTime(RECONNECT_MS);
+            }
+            emitter.send(builder);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping job event subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private final class JobStream {
+        private final int capacity;
+        private final ArrayDeque<JobEvent> events = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private int attempt;
+        private long nextSeq = 1;
+        private Instant lastAppended = Instant.now();
+        private Instant finishedAt;
+
+        private JobStream(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void restart(int newAttempt) {
+            if (newAttempt <= attempt) {
+                return;
+            }
+            attempt = newAttempt;
+            nextSeq = 1;
+            events.clear();
+            finishedAt = null;
+            lastAppended = Instant.now();
+        }
+
+        /**
+         * Buffer the event and queue it for every subscriber. Queueing under the lock
+         * keeps each subscriber's queue in id order.
+         *
+         * @return the event, or null if the stream is already finished
+         */
+        synchronized JobEvent append(String type, Object data) {
+            if (finishedAt != null) {
+                return null;
+            }
+            JobEvent event = new JobEvent(new EventId(attempt, nextSeq++), type, data);
+            add(event);
+            return event;
+        }
+
+        synchronized JobEvent finish(Object data) {
+            JobEvent event = append(COMPLETE, data);
+            close();
+            return event;
+        }
+
+        /**
+         * Append an event relayed from the node running the job, keeping its id.
+         */
+        synchronized void mirror(JobEvent event) {
+            restart(event.id().attempt());
+            if (event.id().attempt() < attempt || event.id().seq() < nextSeq || finishedAt != null) {
+                return;
+            }
+            nextSeq = event.id().seq() + 1;
+            add(event);
+            if (COMPLETE.equals(event.type())) {
+                close();
+            }
+        }
+
+        private void add(JobEvent event) {
+            lastAppended = Instant.now();
+            if (events.size() >= capacity) {
+                events.pollFirst();
+            }
+            events.addLast(event);
+            subscribers.removeIf(subscriber -> !subscriber.enqueue(event));
+        }
+
+        private void close() {
+            finishedAt = Instant.now();
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueueClose();
+            }
+            subscribers.clear();
+        }
+
+        synchronized boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        synchronized boolean isFinishedBefore(Instant cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        synchronized boolean isAbandonedBefore(Instant cutoff) {
+            return finishedAt == null && subscribers.isEmpty() && lastAppended.isBefore(cutoff);
+        }
+
+        /**
+         * Queue the backlog and register the subscriber in one step, so no event
+         * published meanwhile can overtake the replay.
+         */
+        synchronized void subscribe(Subscriber subscriber) {
+            replayTo(subscriber);
+            if (finishedAt != null) {
+                subscriber.enqueueClose();
+            } else {
+                subscribers.add(subscriber);
+            }
+        }
+
+        synchronized void replayTo(Subscriber subscriber) {
+            for (JobEvent event : events) {
+                if (!subscriber.enqueue(event)) {
+                    return;
+                }
+            }
+        }
+
+        synchronized void unsubscribe(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    /**
+     * One client. Events are queued by publishers and sent in order by a single
+     * sender at a time; {@code lastSent} is only touched by that sender. A client
+     * more than a buffer behind is disconnected.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private EventId lastSent;
+
+        private Subscriber(SseEmitter emitter, EventId lastEventId) {
+            this.emitter = emitter;
+            this.lastSent = lastEventId;
+        }
+
+        /**
+         * @return false when the subscriber is gone or too slow and should be dropped
+         */
+        boolean enqueue(JobEvent event) {
+            if (closed) {
+                return false;
+            }
+            if (queued.incrementAndGet() > bufferSize) {
+                closed = true;
+                schedule(() -> emitter.completeWithError(new IOException("Client too slow, reconnect to resume")));
+                return false;
+            }
+            schedule(() -> {
+                queued.decrementAndGet();
+                if (event.id().compareTo(lastSent) > 0 && !closed) {
+                    lastSent = event.id();
+                    if (!send(emitter, event, false)) {
+                        closed = true;
+                    }
+                }
+            });
+            return true;
+        }
+
+        void enqueueClose() {
+            schedule(emitter::complete);
+        }
+
+        /**
+         * Send a final event, with a reconnect hint if asked to, and end the response.
+         */
+        void close(JobEvent event, boolean reconnect) {
+            schedule(() -> {
+                if (!closed && send(emitter, event, reconnect)) {
+                    emitter.complete();
+                }
+            });
+        }
+
+        private void schedule(Runnable task) {
+            pending.add(task);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    pending.clear();
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                Runnable task;
+                while ((task = pending.poll()) != null) {
+                    task.run();
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
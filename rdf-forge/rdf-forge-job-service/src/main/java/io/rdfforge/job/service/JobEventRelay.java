@@ -0,0 +1,247 @@
+package io.rdfforge.job.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rdfforge.job.service.JobEventBus.EventId;
+import io.rdfforge.job.service.JobEventBus.JobEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays job events between nodes, so a client can follow a job from any node.
+ *
+ * Events published on this node are sent with {@code pg_notify('job_events', ...)}
+ * by a background thread, in batches, so publishing never waits on the database;
+ * when the queue is full, events are dropped and clients fill the gap from the
+ * job log. One connection holds {@code LISTEN job_events} and hands the events of
+ * other nodes to {@link JobEventBus#relayed}. NOTIFY payloads are limited to 8000
+ * bytes, so large events are truncated. On databases other than PostgreSQL it does
+ * nothing and subscribers on other nodes are told to reconnect instead.
+ */
+@Component
+public class JobEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(JobEventRelay.class);
+
+    static final String CHANNEL = "job_events";
+    static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int MAX_MESSAGE_CHARS = 2000;
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 10_000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final DataSource dataSource;
+    private final JobEventBus eventBus;
+    private final boolean enabled;
+    private final int batchSize;
+    private final BlockingQueue<String> outgoing;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running = true;
+    private Thread listener;
+    private Thread sender;
+
+    @Autowired
+    public JobEventRelay(DataSource dataSource, JobEventBus eventBus,
+                         @Value("${rdfforge.jobs.events.relay.enabled:true}") boolean enabled,
+                         @Value("${rdfforge.jobs.events.relay.queue-size:10000}") int queueSize,
+                         @Value("${rdfforge.jobs.events.relay.batch-size:200}") int batchSize) {
+        this.dataSource = dataSource;
+        this.eventBus = eventBus;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.outgoing = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+    }
+
+    /** A decoded notification. */
+    record Relayed(String node, UUID jobId, JobEvent event) {}
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        listener = new Thread(this::listen, "job-event-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        if (sender != null) {
+            sender.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("Database is not PostgreSQL, job events are not relayed between nodes");
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                startSending();
+                log.debug("Listening for job events of other nodes");
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        onNotification(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Job event listener lost its connection: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private synchronized void startSending() {
+        if (sender != null) {
+            return;
+        }
+        sender = new Thread(this::send, "job-event-sender");
+        sender.setDaemon(true);
+        sender.start();
+        eventBus.setRelay(this::enqueue);
+    }
+
+    private void enqueue(UUID jobId, JobEvent event) {
+        if (!outgoing.offer(encode(nodeId, jobId, event))) {
+            log.debug("Job event relay queue full, dropping event {} of job {}", event.id(), jobId);
+        }
+    }
+
+    private void send() {
+        List<String> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(outgoing.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            outgoing.drainTo(batch, batchSize - 1);
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                     "SELECT pg_notify('" + CHANNEL + "', p) FROM unnest(?::text[]) p")) {
+                Array payloads = connection.createArrayOf("text", batch.toArray());
+                statement.setArray(1, payloads);
+                statement.execute();
+                payloads.free();
+            } catch (SQLException e) {
+                log.warn("Could not relay {} job events: {}", batch.size(), e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(1000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void onNotification(String payload) {
+        Relayed relayed = decode(payload);
+        if (relayed == null || nodeId.equals(relayed.node())) {
+            return;
+        }
+        eventBus.relayed(relayed.jobId(), relayed.event());
+    }
+
+    /**
+     * Encode an event as a JSON notification payload of at most {@link #MAX_PAYLOAD_BYTES}:
+     * the details and the tail of long messages are dropped first, then all data.
+     */
+    static String encode(String node, UUID jobId, JobEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("n", node);
+        payload.put("j", jobId.toString());
+        payload.put("a", event.id().attempt());
+        payload.put("s", event.id().seq());
+        payload.put("t", event.type());
+        payload.put("d", event.data());
+        String json = toJson(payload);
+        if (fits(json)) {
+            return json;
+        }
+        if (event.data() instanceof Map<?, ?> data) {
+            Map<Object, Object> shortened = new LinkedHashMap<>(data);
+            shortened.remove("details");
+            if (shortened.get("message") instanceof String message && message.length() > MAX_MESSAGE_CHARS) {
+                shortened.put("message", message.substring(0, MAX_MESSAGE_CHARS) + "...");
+            }
+            shortened.put("truncated", true);
+            payload.put("d", shortened);
+            json = toJson(payload);
+            if (fits(json)) {
+                return json;
+            }
+        }
+        payload.put("d", Map.of("truncated", true));
+        return toJson(payload);
+    }
+
+    /**
+     * @return the decoded notification, or null if it is not one of ours
+     */
+    static Relayed decode(String payload) {
+        try {
+            JsonNode node = MAPPER.readTree(payload);
+            EventId id = new EventId(node.path("a").asInt(), node.path("s").asLong());
+            Object data = MAPPER.treeToValue(node.path("d"), Object.class);
+            return new Relayed(node.path("n").asText(), UUID.fromString(node.path("j").asText()),
+                new JobEvent(id, node.path("t").asText(), data));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.debug("Ignoring malformed job event notification: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean fits(String json) {
+        return json.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES;
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Job event is not serializable", e);
+        }
+    }
+}
@@ -1,12 +1,8 @@
 package io.rdfforge.job.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import io.rdfforge.common.model.Pipeline;
-import io.rdfforge.common.model.PipelineStep;
 import io.rdfforge.engine.pipeline.PipelineExecutor;
 import io.rdfforge.engine.pipeline.PipelineExecutor.PipelineDefinition;
+import io.rdfforge.job.config.JobExecutionConfig;
 import io.rdfforge.job.entity.JobEntity;
 import io.rdfforge.job.entity.JobEntity.JobStatus;
 import io.rdfforge.job.entity.JobLogEntity.LogLevel;
@@ -16,12 +12,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,127 +26,133 @@ public class JobExecutorService {
     
     private final JobRepository jobRepository;
     private final PipelineExecutor pipelineExecutor;
-    private final RestTemplate restTemplate;
-    private final JobService jobService;
+    private final PipelineDefinitionCache pipelineCache;
+    private final JobQueueService jobQueue;
+    private final AdmissionController admission;
+    private final JobLogWriter logWriter;
+    private final JobEventBus eventBus;
     private final ConcurrentHashMap<UUID, Thread> runningJobs = new ConcurrentHashMap<>();
-    private final ObjectMapper jsonMapper = new ObjectMapper();
-    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    /** Jobs whose lease this node lost; their outcome is no longer ours to record. */
+    private final Set<UUID> abandonedJobs = ConcurrentHashMap.newKeySet();
 
-    @Value("${PIPELINE_SERVICE_URL:http://pipeline-service:8001}")
-    private String pipelineServiceUrl;
+    @Value("${rdfforge.jobs.events.progress-interval-ms:1000}")
+    private long progressIntervalMs;
     
-    public JobExecutorService(JobRepository jobRepository, PipelineExecutor pipelineExecutor, RestTemplate restTemplate, JobService jobService) {
+    public JobExecutorService(JobRepository jobRepository, PipelineExecutor pipelineExecutor,
+                              PipelineDefinitionCache pipelineCache,
+                              JobQueueService jobQueue, AdmissionController admission,
+                              JobLogWriter logWriter, JobEventBus eventBus) {
         this.jobRepository = jobRepository;
         this.pipelineExecutor = pipelineExecutor;
-        this.restTemplate = restTemplate;
-        this.jobService = jobService;
+        this.pipelineCache = pipelineCache;
+        this.jobQueue = jobQueue;
+        this.admission = admission;
+        this.logWriter = logWriter;
+        this.eventBus = eventBus;
     }
     
-    @Async
+    /**
+     * Signal that a job was queued. The task claims the highest-priority pending job,
+     * which is usually the given one unless more urgent work is waiting or another
+     * worker claimed it first; in both cases the given job stays queued.
+     */
+    @Async(JobExecutionConfig.JOB_EXECUTOR)
     public void executeAsync(UUID jobId) {
+        log.debug("Job {} queued, claiming next pending job", jobId);
+        jobQueue.claim(1).forEach(this::execute);
+    }
+    
+    /**
+     * Claim and execute the next pending job, if any.
+     */
+    @Async(JobExecutionConfig.JOB_EXECUTOR)
+    public void executeNext() {
+        jobQueue.claim(1).forEach(this::execute);
+    }
+    
+    private void execute(UUID jobId) {
         log.info("Starting job execution: {}", jobId);
         
         Thread currentThread = Thread.currentThread();
         runningJobs.put(jobId, currentThread);
+        JobStatus finalStatus = JobStatus.FAILED;
         
         try {
             JobEntity job = jobRepository.findById(jobId).orElseThrow(() -> 
                 new RuntimeException("Job not found: " + jobId));
-            
-            job.setStatus(JobStatus.RUNNING);
-            job.setStartedAt(java.time.Instant.now());
-            jobRepository.save(job);
+            eventBus.start(jobId, job.getAttempts() != null ? job.getAttempts() : 0);
             
             logToJob(jobId, LogLevel.INFO, null, "Job started" + (job.isDryRun() ? " (DRY RUN)" : ""));
             
-            // Fetch pipeline definition
-            Pipeline pipeline = fetchPipeline(job.getPipelineId());
-            List<PipelineStep> steps = parseDefinition(pipeline.getDefinition(), pipeline.getDefinitionFormat());
-            
-            PipelineDefinition pipelineDef = PipelineDefinition.builder()
-                .id(pipeline.getId().toString())
-                .name(pipeline.getName())
-                .steps(steps)
-                .defaultVariables(pipeline.getVariables())
-                .build();
+            PipelineDefinition pipelineDef = pipelineCache.get(job.getPipelineId(), job.getPipelineVersion());
 
             // Execute pipeline
             PipelineExecutor.ExecutionResult result = pipelineExecutor.execute(
                 pipelineDef, 
                 job.getVariables(), 
                 job.isDryRun(),
-                new JobExecutionCallback(jobId, jobService)
+                new JobExecutionCallback(jobId, logWriter, eventBus, progressIntervalMs)
             );
             
-            job.setStatus(result.isSuccess() ? JobStatus.COMPLETED : JobStatus.FAILED);
-            job.setCompletedAt(java.time.Instant.now());
-            job.setMetrics(result.getMetrics());
-            if (!result.isSuccess()) {
-                job.setErrorMessage(result.getErrorMessage());
+            if (abandonedJobs.contains(jobId)) {
+                log.warn("Job {} finished after its lease was lost, discarding the result", jobId);
+                return;
+            }
+            finalStatus = result.isSuccess() ? JobStatus.COMPLETED : JobStatus.FAILED;
+            if (finish(jobId, finalStatus, result.getMetrics(),
+                    result.isSuccess() ? null : result.getErrorMessage(), null)) {
+                logToJob(jobId, result.isSuccess() ? LogLevel.INFO : LogLevel.ERROR, null,
+                    "Job " + (result.isSuccess() ? "completed successfully" : "failed"));
             }
-            jobRepository.save(job);
-            
-            logToJob(jobId, result.isSuccess() ? LogLevel.INFO : LogLevel.ERROR, null, 
-                "Job " + (result.isSuccess() ? "completed successfully" : "failed"));
             
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            if (abandonedJobs.contains(jobId)) {
+                log.info("Job {} stopped, it was reassigned after its lease expired", jobId);
+                return;
+            }
             log.info("Job {} was cancelled", jobId);
-            jobRepository.findById(jobId).ifPresent(job -> {
-                job.setStatus(JobStatus.CANCELLED);
-                job.setCompletedAt(java.time.Instant.now());
-                jobRepository.save(job);
-            });
+            finalStatus = JobStatus.CANCELLED;
+            finish(jobId, JobStatus.CANCELLED, null, null, null);
         } catch (Exception e) {
+            if (abandonedJobs.contains(jobId)) {
+                log.info("Job {} stopped, it was reassigned after its lease expired", jobId);
+                return;
+            }
             log.error("Job {} failed", jobId, e);
-            jobRepository.findById(jobId).ifPresent(job -> {
-                job.setStatus(JobStatus.FAILED);
-                job.setCompletedAt(java.time.Instant.now());
-                job.setErrorMessage(e.getMessage());
-                job.setErrorDetails(Map.of("stackTrace", getStackTrace(e)));
-                jobRepository.save(job);
-            });
-            logToJob(jobId, LogLevel.ERROR, null, "Job execution error: " + e.getMessage());
+            if (finish(jobId, JobStatus.FAILED, null, e.getMessage(), Map.of("stackTrace", getStackTrace(e)))) {
+                logToJob(jobId, LogLevel.ERROR, null, "Job execution error: " + e.getMessage());
+            }
         } finally {
+            logWriter.flush(jobId);
+            if (abandonedJobs.remove(jobId)) {
+                finalStatus = jobRepository.findById(jobId).map(JobEntity::getStatus).orElse(JobStatus.PENDING);
+            }
+            eventBus.complete(jobId, Map.of("status", finalStatus.name()));
+            admission.release(jobId);
             runningJobs.remove(jobId);
         }
     }
     
-    private Pipeline fetchPipeline(UUID pipelineId) {
-        String url = pipelineServiceUrl + "/api/v1/pipelines/" + pipelineId;
-        return restTemplate.getForObject(url, Pipeline.class);
+    public Set<UUID> getRunningJobIds() {
+        return Set.copyOf(runningJobs.keySet());
     }
-
-    private List<PipelineStep> parseDefinition(String definition, Pipeline.DefinitionFormat format) throws Exception {
-        ObjectMapper mapper = format == Pipeline.DefinitionFormat.YAML ? yamlMapper : jsonMapper;
-        Map<String, Object> parsed = mapper.readValue(definition, new TypeReference<>() {});
-        
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> stepsData = (List<Map<String, Object>>) parsed.get("steps");
-        
-        if (stepsData == null) {
-            return Collections.emptyList();
-        }
-
-        List<PipelineStep> steps = new ArrayList<>();
-        for (Map<String, Object> stepData : stepsData) {
-            @SuppressWarnings("unchecked")
-            // Support both "params" (UI format) and "parameters" (API format)
-            Map<String, Object> params = (Map<String, Object>) stepData.get("params");
-            if (params == null) {
-                params = (Map<String, Object>) stepData.get("parameters");
-            }
-            PipelineStep step = PipelineStep.builder()
-                .id((String) stepData.get("id"))
-                .operationType((String) stepData.get("operation"))
-                .name((String) stepData.get("name"))
-                .parameters(params)
-                .inputConnections((List<String>) stepData.get("inputs"))
-                .outputConnections((List<String>) stepData.get("outputs"))
-                .build();
-            steps.add(step);
+    
+    /**
+     * Record the outcome and release the lease, unless the lease was lost in the
+     * meantime: a job that was recovered or handed to another worker is no longer
+     * ours to finish, so the result is dropped and the job treated as abandoned.
+     */
+    private boolean finish(UUID jobId, JobStatus status, Map<String, Object> metrics,
+                           String errorMessage, Map<String, Object> errorDetails) {
+        int updated = jobRepository.finishLeased(jobId, jobQueue.getWorkerId(), status, Instant.now(),
+            metrics, errorMessage, errorDetails);
+        if (updated == 0) {
+            log.warn("Job {} is no longer leased to {}, dropping its {} result", jobId, jobQueue.getWorkerId(), status);
+            abandonedJobs.add(jobId);
+            return false;
         }
-        return steps;
+        return true;
     }
     
     public void cancelExecution(UUID jobId) {
@@ -162,9 +162,21 @@ public class JobExecutorService {
         }
     }
     
+    /**
+     * Stop a job that another worker took over after this node's lease expired,
+     * without recording any outcome for it.
+     */
+    public void abandonExecution(UUID jobId) {
+        Thread thread = runningJobs.get(jobId);
+        if (thread != null) {
+            abandonedJobs.add(jobId);
+            thread.interrupt();
+        }
+    }
+    
     private void logToJob(UUID jobId, LogLevel level, String step, String message) {
         log.debug("[Job {}] [{}] {}: {}", jobId, step, level, message);
-        jobService.addLog(jobId, level, step, message, null);
+        logWriter.append(jobId, level, step, message, null);
     }
     
     private String getStackTrace(Exception e) {
@@ -177,35 +189,69 @@ public class JobExecutorService {
 
     private static class JobExecutionCallback implements PipelineExecutor.ExecutionCallback {
         private final UUID jobId;
-        private final JobService jobService;
+        private final JobLogWriter logWriter;
+        private final JobEventBus eventBus;
+        private final long progressIntervalNanos;
+        private final Map<String, StepProgress> progress = new ConcurrentHashMap<>();
 
-        public JobExecutionCallback(UUID jobId, JobService jobService) {
+        public JobExecutionCallback(UUID jobId, JobLogWriter logWriter, JobEventBus eventBus, long progressIntervalMs) {
             this.jobId = jobId;
-            this.jobService = jobService;
+            this.logWriter = logWriter;
+            this.eventBus = eventBus;
+            this.progressIntervalNanos = progressIntervalMs * 1_000_000L;
         }
 
         @Override
         public void onStart(String pipelineId) {
-            jobService.addLog(jobId, LogLevel.INFO, null, "Pipeline started", null);
+            logWriter.append(jobId, LogLevel.INFO, null, "Pipeline started", null);
         }
 
         @Override
         public void onStepStart(String stepId, String stepName) {
-            jobService.addLog(jobId, LogLevel.INFO, stepId, "Starting step: " + stepName, null);
+            progress.put(stepId, new StepProgress(stepId, System.nanoTime()));
+            logWriter.append(jobId, LogLevel.INFO, stepId, "Starting step: " + stepName, null);
         }
 
         @Override
         public void onStepComplete(String stepId, boolean success, String errorMessage) {
+            StepProgress step = progress.remove(stepId);
+            if (step != null) {
+                eventBus.publish(jobId, JobEventBus.PROGRESS, step.snapshot(System.nanoTime()));
+            }
             if (success) {
-                jobService.addLog(jobId, LogLevel.INFO, stepId, "Step completed successfully", null);
+                logWriter.append(jobId, LogLevel.INFO, stepId, "Step completed successfully", null);
             } else {
-                jobService.addLog(jobId, LogLevel.ERROR, stepId, "Step failed: " + errorMessage, null);
+                logWriter.append(jobId, LogLevel.ERROR, stepId, "Step failed: " + errorMessage, null);
             }
         }
 
         @Override
         public void onProgress(String stepId, long processed, long total) {
-            // Optional: update progress metrics in DB or just log occasionally
+            StepProgress step = progress.get(stepId);
+            if (step == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            Map<String, Object> snapshot;
+            synchronized (step) {
+                step.update(processed, total);
+                if (!step.due(now, progressIntervalNanos)) {
+                    return;
+                }
+                snapshot = step.snapshot(now);
+            }
+            eventBus.publish(jobId, JobEventBus.PROGRESS, snapshot);
+        }
+
+        @Override
+        public void onMetric(String stepId, String name, Object value) {
+            // triplesGenerated, triplesLoaded, triplesUploaded, ... but not rates
+            StepProgress step = progress.get(stepId);
+            if (step != null && name.startsWith("triples") && !name.endsWith("PerSecond") && value instanceof Number n) {
+                synchronized (step) {
+                    step.updateTriples(n.longValue());
+                }
+            }
         }
 
         @Override
@@ -214,7 +260,7 @@ public class JobExecutorService {
             try {
                 logLevel = LogLevel.valueOf(level.toUpperCase());
             } catch (Exception ignored) {}
-            jobService.addLog(jobId, logLevel, stepId, message, null);
+            logWriter.append(jobId, logLevel, stepId, message, null);
         }
 
         @Override
@@ -0,0 +1,111 @@
+package io.rdfforge.job.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.rdfforge.job.entity.JobEntity;
+import io.rdfforge.job.entity.JobLogEntity;
+import io.rdfforge.job.entity.JobLogEntity.LogLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressed per-job log archives, one gzipped JSON line per log entry.
+ *
+ * Archives are plain files under {@code rdfforge.jobs.logs.archive.path}. Any replica
+ * may archive a job and any replica may serve its logs afterwards, so with more than
+ * one replica the path must be a volume shared by all of them (NFS, EFS, a
+ * ReadWriteMany claim); on node-local disk the archived logs of a job are only
+ * visible on the replica that happened to archive them.
+ */
+@Component
+public class JobLogArchive {
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public JobLogArchive(
+            @Value("${rdfforge.jobs.logs.archive.path:${storage.local.base-path:./data/storage}/job-logs}") String path) {
+        this.directory = Path.of(path);
+    }
+
+    record ArchivedLine(Long id, Instant timestamp, LogLevel level, String step, String message,
+                        Map<String, Object> details) {
+    }
+
+    public void write(UUID jobId, List<JobLogEntity> logs) throws IOException {
+        Files.createDirectories(directory);
+        Path target = path(jobId);
+        Path temp = Files.createTempFile(directory, jobId.toString(), ".tmp");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            for (JobLogEntity entry : logs) {
+                writer.write(objectMapper.writeValueAsString(new ArchivedLine(entry.getId(), entry.getTimestamp(),
+                    entry.getLevel(), entry.getStep(), entry.getMessage(), entry.getDetails())));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        // Readers never see a partially written archive
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the archived entries of the job in timestamp order, empty if it has no archive
+     */
+    public List<JobLogEntity> read(UUID jobId) throws IOException {
+        Path source = path(jobId);
+        if (!Files.exists(source)) {
+            return List.of();
+        }
+        JobEntity job = new JobEntity();
+        job.setId(jobId);
+
+        List<JobLogEntity> logs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(source)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ArchivedLine archived = objectMapper.readValue(line, ArchivedLine.class);
+                JobLogEntity entry = new JobLogEntity();
+                entry.setId(archived.id());
+                entry.setJob(job);
+                entry.setTimestamp(archived.timestamp());
+                entry.setLevel(archived.level());
+                entry.setStep(archived.step());
+                entry.setMessage(archived.message());
+                entry.setDetails(archived.details());
+                logs.add(entry);
+            }
+        }
+        return logs;
+    }
+
+    public boolean exists(UUID jobId) {
+        return Files.exists(path(jobId));
+    }
+
+    private Path path(UUID jobId) {
+        return directory.resolve(jobId + ".jsonl.gz");
+    }
+}
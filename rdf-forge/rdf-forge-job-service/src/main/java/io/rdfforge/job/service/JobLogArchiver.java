@@ -0,0 +1,162 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.job.entity.JobEntity.JobStatus;
+import io.rdfforge.job.entity.JobLogEntity;
+import io.rdfforge.job.repository.JobLogRepository;
+import io.rdfforge.job.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintenance of the time-partitioned {@code job_logs} table (PostgreSQL only).
+ *
+ * Each run creates the monthly partitions ahead of time, moves the logs of jobs
+ * that finished more than {@code retention-days} ago into compressed archives
+ * ({@link JobLogArchive}) and drops old monthly partitions once they are empty.
+ * Archiving a job is idempotent, so overlapping runs on several replicas only
+ * repeat work.
+ */
+@Component
+@ConditionalOnProperty(name = "rdfforge.jobs.logs.archive.enabled", havingValue = "true")
+public class JobLogArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLogArchiver.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("job_logs_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final List<JobStatus> FINISHED = List.of(JobStatus.COMPLETED, JobStatus.FAILED, JobStatus.CANCELLED);
+
+    private final JobRepository jobRepository;
+    private final JobLogRepository jobLogRepository;
+    private final JobLogArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+
+    public JobLogArchiver(JobRepository jobRepository, JobLogRepository jobLogRepository, JobLogArchive archive,
+                          JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          @Value("${rdfforge.jobs.logs.archive.retention-days:30}") long retentionDays,
+                          @Value("${rdfforge.jobs.logs.archive.batch-size:100}") int batchSize) {
+        this.jobRepository = jobRepository;
+        this.jobLogRepository = jobLogRepository;
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${rdfforge.jobs.logs.archive.cron:0 15 * * * *}")
+    public void run() {
+        boolean partitioned = isPartitioned();
+        if (partitioned) {
+            createUpcomingPartitions();
+        }
+        Instant cutoff = Instant.now().minus(retention);
+        int archived = archiveFinishedJobs(cutoff);
+        if (partitioned) {
+            dropEmptyPartitions(cutoff);
+        }
+        if (archived > 0) {
+            log.info("Archived logs of {} jobs finished before {}", archived, cutoff);
+        }
+    }
+
+    int archiveFinishedJobs(Instant cutoff) {
+        int archived = 0;
+        List<UUID> jobIds;
+        do {
+            jobIds = jobRepository.findJobsWithLogsToArchive(FINISHED, cutoff, PageRequest.of(0, batchSize));
+            for (UUID jobId : jobIds) {
+                try {
+                    archiveJob(jobId);
+                    archived++;
+                } catch (Exception e) {
+                    log.error("Could not archive logs of job {}: {}", jobId, e.getMessage());
+                    return archived;
+                }
+            }
+        } while (jobIds.size() == batchSize);
+        return archived;
+    }
+
+    /**
+     * The archive is written before the rows are deleted; if the transaction fails,
+     * the next run rewrites it from the rows still in the table.
+     */
+    private void archiveJob(UUID jobId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<JobLogEntity> logs = jobLogRepository.findByJob_IdOrderByTimestampAsc(jobId);
+            if (!logs.isEmpty()) {
+                try {
+                    archive.write(jobId, logs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                jobLogRepository.deleteAllByJobId(jobId);
+            }
+            jobRepository.findById(jobId).ifPresent(job -> {
+                job.setLogsArchivedAt(Instant.now());
+                jobRepository.save(job);
+            });
+        });
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+            "WHERE c.relname = 'job_logs')", Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private void createUpcomingPartitions() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.queryForObject("SELECT create_job_logs_partition(?)::text", String.class,
+                Date.valueOf(month.plusMonths(i)));
+        }
+    }
+
+    private void dropEmptyPartitions(Instant cutoff) {
+        YearMonth cutoffMonth = YearMonth.from(cutoff.atZone(ZoneOffset.UTC));
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'job_logs'", String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches() || !YearMonth.parse(matcher.group(1), PARTITION_MONTH).isBefore(cutoffMonth)) {
+                continue;
+            }
+            // The name matched the pattern above, so it is safe to inline
+            Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped empty job log partition {}", partition);
+            }
+        }
+    }
+}
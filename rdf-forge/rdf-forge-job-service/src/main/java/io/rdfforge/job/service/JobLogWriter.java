@@ -0,0 +1,290 @@
+package io.rdfforge.job.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rdfforge.job.entity.JobLogEntity.LogLevel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking writer for job log lines.
+ *
+ * Execution threads only append to a bounded in-memory buffer per job; a
+ * background thread drains the buffers and inserts the lines with JDBC batches
+ * (the id column defaults to {@code job_logs_id_seq}, so inserts can be batched and,
+ * with {@code reWriteBatchedInserts}, sent as multi-row statements). When a
+ * job's buffer is full, the oldest line of the lowest level is dropped first, so
+ * DEBUG output goes before INFO and WARN. ERROR lines are never dropped: a buffer
+ * holding nothing but ERROR lines takes more past its capacity and asks for an
+ * early flush. Dropped lines are reported with one WARN line per flush.
+ * {@link #flush(UUID)} writes everything buffered for a job and releases its
+ * buffer; it is called when the job finishes or is requeued. Buffers left idle
+ * for a whole flush interval are released as well. Every line is also published
+ * to the {@link JobEventBus} for live streaming.
+ */
+@Component
+public class JobLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLogWriter.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO job_logs (job_id, timestamp, level, step, message, details) VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobEventBus eventBus;
+    private final int bufferSize;
+    private final int batchSize;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<UUID, JobBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "job-log-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public JobLogWriter(JdbcTemplate jdbcTemplate, JobEventBus eventBus,
+                        @Value("${rdfforge.jobs.logs.buffer-size:10000}") int bufferSize,
+                        @Value("${rdfforge.jobs.logs.batch-size:500}") int batchSize,
+                        @Value("${rdfforge.jobs.logs.flush-interval-ms:500}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventBus = eventBus;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.batchSize = Math.max(1, batchSize);
+        flusher.scheduleWithFixedDelay(this::flushAllQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Buffer a log line. Never blocks on the database.
+     */
+    public void append(UUID jobId, LogLevel level, String step, String message, Map<String, Object> details) {
+        LogLine line = new LogLine(sequence.incrementAndGet(), jobId, Instant.now(),
+            level != null ? level : LogLevel.INFO, step, message != null ? message : "", details);
+        Offer offer;
+        do {
+            JobBuffer buffer = buffers.computeIfAbsent(jobId, id -> new JobBuffer(bufferSize));
+            offer = buffer.offer(line);
+            if (offer == Offer.CLOSED) {
+                // Released by a flush since it was looked up, the next lookup creates a fresh one
+                buffers.remove(jobId, buffer);
+            }
+        } while (offer == Offer.CLOSED);
+
+        if (offer == Offer.DROPPED) {
+            dropped.incrementAndGet();
+        } else if (offer == Offer.OVERFLOW) {
+            try {
+                flusher.execute(this::flushAllQuietly);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush writes the buffer
+            }
+        }
+        eventBus.publish(jobId, JobEventBus.LOG, toEvent(line));
+    }
+
+    /**
+     * Write all lines buffered for the job and release its buffer. Returns once the
+     * lines are written, including those a background flush took before.
+     */
+    public void flush(UUID jobId) {
+        JobBuffer buffer = buffers.remove(jobId);
+        if (buffer == null) {
+            return;
+        }
+        // On the flusher thread, so it runs after any background flush that drained this buffer
+        try {
+            flusher.submit(() -> write(buffer.drain(jobId, true))).get();
+        } catch (RejectedExecutionException e) {
+            write(buffer.drain(jobId, true));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Job log flush of job {} failed: {}", jobId, e.getCause().getMessage());
+        }
+    }
+
+    int bufferCount() {
+        return buffers.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushAllQuietly();
+    }
+
+    private void flushAllQuietly() {
+        try {
+            for (Map.Entry<UUID, JobBuffer> entry : buffers.entrySet()) {
+                JobBuffer buffer = entry.getValue();
+                List<LogLine> lines = buffer.drain(entry.getKey(), false);
+                if (lines.isEmpty()) {
+                    // Nothing was logged since the last flush; release the buffer if it is still empty
+                    if (buffer.closeIfEmpty()) {
+                        buffers.remove(entry.getKey(), buffer);
+                    }
+                } else {
+                    write(lines);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Job log flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void write(List<LogLine> lines) {
+        for (int from = 0; from < lines.size(); from += batchSize) {
+            List<LogLine> batch = lines.subList(from, Math.min(from + batchSize, lines.size()));
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, line) -> {
+                    ps.setObject(1, line.jobId());
+                    ps.setTimestamp(2, Timestamp.from(line.timestamp()));
+                    ps.setString(3, line.level().name());
+                    ps.setString(4, line.step());
+                    ps.setString(5, line.message());
+                    ps.setString(6, toJson(line.details()));
+                });
+            } catch (Exception e) {
+                // Lines are dropped rather than retried so a database outage cannot exhaust memory
+                log.error("Could not write {} job log lines: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, Object> toEvent(LogLine line) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("timestamp", line.timestamp().toString());
+        event.put("level", line.level().name());
+        event.put("step", line.step());
+        event.put("message", line.message());
+        if (line.details() != null) {
+            event.put("details", line.details());
+        }
+        return event;
+    }
+
+    private String toJson(Map<String, Object> details) {
+        if (details == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            log.debug("Could not serialize log details: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private record LogLine(long seq, UUID jobId, Instant timestamp, LogLevel level, String step, String message,
+                           Map<String, Object> details) {
+    }
+
+    private enum Offer { ACCEPTED, DROPPED, OVERFLOW, CLOSED }
+
+    /**
+     * Bounded buffer with one queue per level, so the oldest line of the lowest
+     * level can be evicted in constant time. Once closed it takes no more lines.
+     */
+    private static final class JobBuffer {
+        private final int capacity;
+        private final ArrayDeque<LogLine>[] byLevel;
+        private int size;
+        private long dropped;
+        private boolean closed;
+
+        @SuppressWarnings("unchecked")
+        private JobBuffer(int capacity) {
+            this.capacity = capacity;
+            this.byLevel = new ArrayDeque[LogLevel.values().length];
+            for (int i = 0; i < byLevel.length; i++) {
+                byLevel[i] = new ArrayDeque<>();
+            }
+        }
+
+        /**
+         * @return whether the line was added, added with a lower one dropped to make
+         *         room, added past the capacity (only ERROR lines are left), or refused
+         *         because the buffer is closed
+         */
+        synchronized Offer offer(LogLine line) {
+            if (closed) {
+                return Offer.CLOSED;
+            }
+            Offer offer = Offer.ACCEPTED;
+            if (size >= capacity) {
+                int lowest = lowestLevel();
+                if (lowest == LogLevel.ERROR.ordinal()) {
+                    if (line.level() != LogLevel.ERROR) {
+                        dropped++;
+                        return Offer.DROPPED;
+                    }
+                    offer = Offer.OVERFLOW;
+                } else if (lowest >= line.level().ordinal()) {
+                    dropped++;
+                    return Offer.DROPPED;
+                } else {
+                    byLevel[lowest].pollFirst();
+                    size--;
+                    dropped++;
+                    offer = Offer.DROPPED;
+                }
+            }
+            byLevel[line.level().ordinal()].addLast(line);
+            size++;
+            return offer;
+        }
+
+        synchronized boolean closeIfEmpty() {
+            if (size == 0 && dropped == 0) {
+                closed = true;
+            }
+            return closed;
+        }
+
+        synchronized List<LogLine> drain(UUID jobId, boolean close) {
+            closed |= close;
+            List<LogLine> lines = new ArrayList<>(size + 1);
+            for (ArrayDeque<LogLine> queue : byLevel) {
+                lines.addAll(queue);
+                queue.clear();
+            }
+            size = 0;
+            lines.sort(Comparator.comparingLong(LogLine::seq));
+            if (dropped > 0) {
+                lines.add(new LogLine(Long.MAX_VALUE, jobId, Instant.now(), LogLevel.WARN, null,
+                    dropped + " log lines dropped because the log buffer was full", null));
+                dropped = 0;
+            }
+            return lines;
+        }
+
+        private int lowestLevel() {
+            for (int i = 0; i < byLevel.length; i++) {
+                if (!byLevel[i].isEmpty()) {
+                    return i;
+                }
+            }
+            return byLevel.length - 1;
+        }
+    }
+}
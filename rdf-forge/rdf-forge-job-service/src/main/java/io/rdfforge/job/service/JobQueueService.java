@@ -0,0 +1,201 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.job.entity.JobEntity;
+import io.rdfforge.job.entity.JobEntity.JobStatus;
+import io.rdfforge.job.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Persistent job queue on the {@code jobs} table.
+ *
+ * PENDING rows are the queue. A worker claims jobs in priority order with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, so concurrent workers on any number
+ * of job-service replicas never claim the same job and never wait on each other.
+ * A claimed job is RUNNING, records the worker in {@code locked_by} and holds a
+ * lease that the worker extends with heartbeats while it executes the job.
+ * If the worker dies, the lease runs out and {@link #recoverExpiredLeases} puts
+ * the job back into the queue, or fails it once it has used up its attempts.
+ * Which of the claimable jobs are actually started is left to the
+ * {@link AdmissionController}; the others stay queued. To keep per-pipeline and
+ * per-project limits across nodes, admission also takes a per-pipeline and
+ * per-project advisory lock without waiting; a job whose pipeline or project is
+ * being claimed by another node right now stays queued for the next poll.
+ */
+@Service
+public class JobQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobQueueService.class);
+
+    private final JobRepository jobRepository;
+    private final String workerId;
+    private final Duration leaseDuration;
+    private final AdmissionController admission;
+    private final int lookahead;
+
+    public record Heartbeat(List<UUID> cancelled, List<UUID> reassigned) {
+    }
+
+    public record Recovery(List<UUID> requeued, List<UUID> failed) {
+    }
+
+    public JobQueueService(JobRepository jobRepository, AdmissionController admission,
+                           @Value("${rdfforge.jobs.worker-id:}") String workerId,
+                           @Value("${rdfforge.jobs.lease-seconds:60}") long leaseSeconds,
+                           @Value("${rdfforge.jobs.admission.lookahead:20}") int lookahead) {
+        this.jobRepository = jobRepository;
+        this.admission = admission;
+        this.workerId = workerId != null && !workerId.isBlank() ? workerId : defaultWorkerId();
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.lookahead = Math.max(0, lookahead);
+    }
+
+    /**
+     * Claim up to {@code max} pending jobs for this worker.
+     *
+     * @return ids of the claimed jobs, highest priority first
+     */
+    @Transactional
+    public List<UUID> claim(int max) {
+        if (max <= 0) {
+            return List.of();
+        }
+        // Lock a few more candidates than needed so small jobs can pass large ones
+        List<JobEntity> candidates = jobRepository.lockPendingJobs(JobStatus.PENDING, PageRequest.of(0, max + lookahead));
+        List<JobEntity> jobs = admission.admit(candidates, max);
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+
+        Instant now = Instant.now();
+        List<UUID> claimed = new ArrayList<>(jobs.size());
+        for (JobEntity job : jobs) {
+            job.setStatus(JobStatus.RUNNING);
+            job.setLockedBy(workerId);
+            job.setLeaseExpiresAt(now.plus(leaseDuration));
+            job.setHeartbeatAt(now);
+            job.setAttempts((job.getAttempts() != null ? job.getAttempts() : 0) + 1);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(now);
+            }
+            claimed.add(job.getId());
+        }
+        releaseOnRollback(claimed);
+        jobRepository.saveAll(jobs);
+        log.debug("Worker {} claimed jobs {}", workerId, claimed);
+        return claimed;
+    }
+
+    /**
+     * Extend the leases of the jobs this worker is executing.
+     *
+     * @return the jobs among them that have been cancelled, possibly through another replica,
+     *         and those whose lease expired and that were handed to another worker
+     */
+    @Transactional
+    public Heartbeat heartbeat(Collection<UUID> jobIds) {
+        if (jobIds.isEmpty()) {
+            return new Heartbeat(List.of(), List.of());
+        }
+        Instant now = Instant.now();
+        int renewed = jobRepository.renewLeases(workerId, jobIds, now.plus(leaseDuration), now);
+        if (renewed == jobIds.size()) {
+            return new Heartbeat(List.of(), List.of());
+        }
+        return new Heartbeat(jobRepository.findCancelledIds(jobIds), jobRepository.findReassignedIds(jobIds, workerId));
+    }
+
+    /**
+     * Take back RUNNING jobs whose lease expired because their worker stopped
+     * heartbeating. A job goes back to PENDING and starts over on whichever worker
+     * claims it next, unless it already had {@code maxAttempts} attempts, in which
+     * case it fails. Expired rows are locked with {@code SKIP LOCKED}, so each is
+     * recovered by exactly one node.
+     *
+     * @param runningHere jobs this worker is still executing; their lease is renewed instead
+     * @param legacyTimeout jobs without a lease that started before this are recovered too
+     */
+    @Transactional
+    public Recovery recoverExpiredLeases(Set<UUID> runningHere, int maxAttempts, Instant legacyTimeout, int limit) {
+        Instant now = Instant.now();
+        List<JobEntity> expired = new ArrayList<>(jobRepository.lockExpiredLeases(now, PageRequest.of(0, limit)));
+        expired.addAll(jobRepository.findStaleRunningJobs(legacyTimeout));
+
+        List<UUID> requeued = new ArrayList<>();
+        List<UUID> failed = new ArrayList<>();
+        for (JobEntity job : expired) {
+            if (workerId.equals(job.getLockedBy()) && runningHere.contains(job.getId())) {
+                // Our own heartbeat fell behind, e.g. during a database outage
+                job.setLeaseExpiresAt(now.plus(leaseDuration));
+                job.setHeartbeatAt(now);
+                continue;
+            }
+            int attempts = job.getAttempts() != null ? job.getAttempts() : 0;
+            String lostBy = job.getLockedBy();
+            job.setLockedBy(null);
+            job.setLeaseExpiresAt(null);
+            if (attempts >= maxAttempts) {
+                job.setStatus(JobStatus.FAILED);
+                job.setCompletedAt(now);
+                job.setErrorMessage("Worker " + lostBy + " stopped responding; giving up after "
+                    + attempts + " attempts");
+                failed.add(job.getId());
+            } else {
+                job.setStatus(JobStatus.PENDING);
+                job.setStartedAt(null);
+                requeued.add(job.getId());
+            }
+            log.warn("Lease of job {} held by {} expired, job is now {}", job.getId(), lostBy, job.getStatus());
+        }
+        if (!expired.isEmpty()) {
+            jobRepository.saveAll(expired);
+        }
+        return new Recovery(requeued, failed);
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        long pending = jobRepository.countByStatus(JobStatus.PENDING);
+        admission.recordQueueDepth(pending);
+        return pending;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    private void releaseOnRollback(List<UUID> claimed) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    claimed.forEach(admission::release);
+                }
+            }
+        });
+    }
+
+    private static String defaultWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "worker";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
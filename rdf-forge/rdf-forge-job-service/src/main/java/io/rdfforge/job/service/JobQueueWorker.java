@@ -0,0 +1,141 @@
+package io.rdfforge.job.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.rdfforge.job.entity.JobLogEntity.LogLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Drives this node's share of the persistent job queue.
+ *
+ * The poll picks up jobs that were not started when they were created: jobs queued
+ * on other replicas, jobs left PENDING by a restart, and bursts beyond the local
+ * node's job slots. It only claims as many jobs as this node has free slots, so
+ * unclaimed work stays in the database for other workers. The heartbeat extends
+ * the leases of running jobs and stops jobs that were cancelled elsewhere or
+ * handed to another worker after their lease ran out. Recovery takes back jobs
+ * whose worker stopped heartbeating, on whichever node gets to them first.
+ */
+@Component
+public class JobQueueWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(JobQueueWorker.class);
+
+    private final JobQueueService jobQueue;
+    private final JobExecutorService executorService;
+    private final AdmissionController admission;
+    private final JobLogWriter logWriter;
+    private final int maxAttempts;
+    private final Duration legacyTimeout;
+    private final int recoveryBatchSize;
+    private final Counter requeuedCounter;
+    private final Counter failedCounter;
+    private final Counter lostCounter;
+
+    public JobQueueWorker(JobQueueService jobQueue, JobExecutorService executorService,
+                          AdmissionController admission,
+                          JobLogWriter logWriter, ObjectProvider<MeterRegistry> meterRegistry,
+                          @Value("${rdfforge.jobs.recovery.max-attempts:3}") int maxAttempts,
+                          @Value("${rdfforge.jobs.recovery.legacy-timeout-minutes:360}") long legacyTimeoutMinutes,
+                          @Value("${rdfforge.jobs.recovery.batch-size:50}") int recoveryBatchSize) {
+        this.jobQueue = jobQueue;
+        this.executorService = executorService;
+        this.admission = admission;
+        this.logWriter = logWriter;
+        this.maxAttempts = maxAttempts;
+        this.legacyTimeout = Duration.ofMinutes(legacyTimeoutMinutes);
+        this.recoveryBatchSize = recoveryBatchSize;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.requeuedCounter = recoveryCounter(registry, "requeued");
+        this.failedCounter = recoveryCounter(registry, "failed");
+        this.lostCounter = registry != null
+            ? Counter.builder("rdfforge.jobs.lease.lost")
+                .description("Jobs this node stopped because another worker took them over")
+                .register(registry)
+            : null;
+    }
+
+    @Scheduled(fixedDelayString = "${rdfforge.jobs.poll-interval-ms:2000}")
+    public void poll() {
+        int free = admission.freeSlots();
+        if (free <= 0) {
+            return;
+        }
+        long pending = jobQueue.countPending();
+        for (int i = 0; i < Math.min(free, pending); i++) {
+            try {
+                executorService.executeNext();
+            } catch (TaskRejectedException e) {
+                log.debug("Job executor rejected the task, leaving remaining jobs queued");
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${rdfforge.jobs.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        Set<UUID> running = executorService.getRunningJobIds();
+        if (running.isEmpty()) {
+            return;
+        }
+        JobQueueService.Heartbeat heartbeat = jobQueue.heartbeat(running);
+        for (UUID cancelled : heartbeat.cancelled()) {
+            log.info("Job {} was cancelled, stopping execution on {}", cancelled, jobQueue.getWorkerId());
+            executorService.cancelExecution(cancelled);
+        }
+        for (UUID reassigned : heartbeat.reassigned()) {
+            log.warn("Lease of job {} expired and it was reassigned, stopping execution on {}",
+                reassigned, jobQueue.getWorkerId());
+            executorService.abandonExecution(reassigned);
+            increment(lostCounter);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rdfforge.jobs.recovery.interval-ms:30000}")
+    public void recover() {
+        JobQueueService.Recovery recovery = jobQueue.recoverExpiredLeases(executorService.getRunningJobIds(),
+            maxAttempts, Instant.now().minus(legacyTimeout), recoveryBatchSize);
+        for (UUID jobId : recovery.requeued()) {
+            logWriter.append(jobId, LogLevel.WARN, null, "Worker stopped responding, job requeued", null);
+            logWriter.flush(jobId);
+            increment(requeuedCounter);
+        }
+        for (UUID jobId : recovery.failed()) {
+            logWriter.append(jobId, LogLevel.ERROR, null,
+                "Worker stopped responding and the job has no attempts left", null);
+            logWriter.flush(jobId);
+            increment(failedCounter);
+        }
+        if (!recovery.requeued().isEmpty()) {
+            log.info("Requeued {} jobs of unresponsive workers", recovery.requeued().size());
+        }
+    }
+
+    private static Counter recoveryCounter(MeterRegistry registry, String outcome) {
+        if (registry == null) {
+            return null;
+        }
+        return Counter.builder("rdfforge.jobs.recovered")
+            .tag("outcome", outcome)
+            .description("Jobs taken back from workers whose lease expired")
+            .register(registry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
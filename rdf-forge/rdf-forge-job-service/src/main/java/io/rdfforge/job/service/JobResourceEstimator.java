@@ -0,0 +1,92 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.job.entity.JobEntity;
+import io.rdfforge.job.entity.JobEntity.JobStatus;
+import io.rdfforge.job.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the memory a job needs from its pipeline.
+ *
+ * Pipelines materialize their RDF in memory, so the main driver is the number
+ * of triples the pipeline produced in its recent successful runs, taken from the
+ * {@code <step>.triples*} entries of {@link JobEntity#getMetrics()}. On top of
+ * that every job gets a base allowance plus an allowance per step of its
+ * (cached) definition. Historical figures are cached per pipeline for a few
+ * minutes, so estimating does not query the database on every claim.
+ */
+@Component
+public class JobResourceEstimator {
+
+    private static final int DEFAULT_STEP_COUNT = 5;
+    private static final Duration HISTORY_TTL = Duration.ofMinutes(5);
+
+    private final JobRepository jobRepository;
+    private final PipelineDefinitionCache pipelineCache;
+    private final long baseMb;
+    private final long perStepMb;
+    private final long bytesPerTriple;
+    private final Map<UUID, History> history = new ConcurrentHashMap<>();
+
+    public JobResourceEstimator(JobRepository jobRepository, PipelineDefinitionCache pipelineCache,
+                                @Value("${rdfforge.jobs.admission.base-mb:128}") long baseMb,
+                                @Value("${rdfforge.jobs.admission.per-step-mb:32}") long perStepMb,
+                                @Value("${rdfforge.jobs.admission.bytes-per-triple:300}") long bytesPerTriple) {
+        this.jobRepository = jobRepository;
+        this.pipelineCache = pipelineCache;
+        this.baseMb = baseMb;
+        this.perStepMb = perStepMb;
+        this.bytesPerTriple = bytesPerTriple;
+    }
+
+    private record History(long maxTriples, long loadedAtNanos) {
+    }
+
+    /**
+     * Estimated peak heap use of the job in megabytes.
+     */
+    public long estimateMemoryMb(JobEntity job) {
+        int steps = pipelineCache.peek(job.getPipelineId())
+            .map(definition -> definition.getSteps() != null ? definition.getSteps().size() : 0)
+            .orElse(DEFAULT_STEP_COUNT);
+        long triples = historicalTriples(job.getPipelineId());
+        return baseMb + steps * perStepMb + triples * bytesPerTriple / (1024 * 1024);
+    }
+
+    private long historicalTriples(UUID pipelineId) {
+        long now = System.nanoTime();
+        History cached = history.get(pipelineId);
+        if (cached != null && now - cached.loadedAtNanos() < HISTORY_TTL.toNanos()) {
+            return cached.maxTriples();
+        }
+        long maxTriples = 0;
+        for (JobEntity run : jobRepository.findTop5ByPipelineIdAndStatusOrderByCompletedAtDesc(pipelineId, JobStatus.COMPLETED)) {
+            maxTriples = Math.max(maxTriples, triples(run.getMetrics()));
+        }
+        history.put(pipelineId, new History(maxTriples, now));
+        return maxTriples;
+    }
+
+    /**
+     * Largest triple count any step of the run reported, e.g. {@code map.triplesGenerated}.
+     */
+    static long triples(Map<String, Object> metrics) {
+        if (metrics == null) {
+            return 0;
+        }
+        long max = 0;
+        for (Map.Entry<String, Object> metric : metrics.entrySet()) {
+            String name = metric.getKey().substring(metric.getKey().lastIndexOf('.') + 1);
+            if (name.startsWith("triples") && !name.endsWith("PerSecond") && metric.getValue() instanceof Number n) {
+                max = Math.max(max, n.longValue());
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,151 @@
+package io.rdfforge.job.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.rdfforge.job.entity.JobScheduleEntity;
+import io.rdfforge.job.entity.JobScheduleEntity.MisfirePolicy;
+import io.rdfforge.job.repository.JobScheduleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Pipeline schedules. Whenever a schedule's timing changes its next fire time is
+ * recomputed and stored, so {@link JobScheduler} only has to read the schedules
+ * that are due.
+ */
+@Service
+@Transactional
+public class JobScheduleService {
+
+    private final JobScheduleRepository scheduleRepository;
+    private final int defaultJitterSeconds;
+
+    public JobScheduleService(JobScheduleRepository scheduleRepository,
+                              @Value("${rdfforge.jobs.scheduler.default-jitter-seconds:0}") int defaultJitterSeconds) {
+        this.scheduleRepository = scheduleRepository;
+        this.defaultJitterSeconds = defaultJitterSeconds;
+    }
+
+    /**
+     * Fields of a schedule to create or change; null fields are left as they are.
+     */
+    public record ScheduleSpec(
+        UUID pipelineId,
+        String name,
+        String description,
+        String cronExpression,
+        String timezone,
+        Map<String, Object> variables,
+        @JsonProperty("isActive") Boolean active,
+        MisfirePolicy misfirePolicy,
+        Integer jitterSeconds
+    ) {}
+
+    public List<JobScheduleEntity> getSchedules(UUID pipelineId) {
+        return pipelineId != null
+            ? scheduleRepository.findByPipelineId(pipelineId)
+            : scheduleRepository.findAllByOrderByCreatedAtAsc();
+    }
+
+    public Optional<JobScheduleEntity> getSchedule(UUID id) {
+        return scheduleRepository.findById(id);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pipeline or cron expression is missing or invalid
+     */
+    public JobScheduleEntity createSchedule(ScheduleSpec spec, UUID userId) {
+        if (spec.pipelineId() == null || spec.cronExpression() == null) {
+            throw new IllegalArgumentException("pipelineId and cronExpression are required");
+        }
+        JobScheduleEntity schedule = new JobScheduleEntity();
+        schedule.setPipelineId(spec.pipelineId());
+        schedule.setName(spec.name() != null ? spec.name() : spec.cronExpression());
+        schedule.setJitterSeconds(defaultJitterSeconds);
+        schedule.setCreatedBy(userId);
+        apply(schedule, spec);
+        JobScheduleEntity saved = scheduleRepository.save(schedule);
+        // The jitter depends on the generated id
+        refreshNextRun(saved);
+        return saved;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the new cron expression or time zone is invalid
+     */
+    public Optional<JobScheduleEntity> updateSchedule(UUID id, ScheduleSpec spec) {
+        return scheduleRepository.findById(id).map(schedule -> {
+            apply(schedule, spec);
+            return scheduleRepository.save(schedule);
+        });
+    }
+
+    public void deleteSchedule(UUID id) {
+        scheduleRepository.deleteById(id);
+    }
+
+    private void apply(JobScheduleEntity schedule, ScheduleSpec spec) {
+        if (spec.name() != null) schedule.setName(spec.name());
+        if (spec.description() != null) schedule.setDescription(spec.description());
+        if (spec.cronExpression() != null) schedule.setCronExpression(spec.cronExpression());
+        if (spec.timezone() != null) schedule.setTimezone(spec.timezone());
+        if (spec.variables() != null) schedule.setVariables(spec.variables());
+        if (spec.active() != null) schedule.setActive(spec.active());
+        if (spec.misfirePolicy() != null) schedule.setMisfirePolicy(spec.misfirePolicy());
+        if (spec.jitterSeconds() != null) schedule.setJitterSeconds(Math.max(0, spec.jitterSeconds()));
+
+        // Validates the expression and time zone before anything is saved
+        refreshNextRun(schedule);
+    }
+
+    static void refreshNextRun(JobScheduleEntity schedule) {
+        Instant next = nextFireTime(schedule, Instant.now());
+        schedule.setNextRun(next != null ? next.plus(jitter(schedule)) : null);
+    }
+
+    /**
+     * Accepts standard five-field cron expressions as well as Spring's six-field
+     * form with seconds.
+     */
+    static CronExpression parseCron(String expression) {
+        String trimmed = expression.trim();
+        return CronExpression.parse(trimmed.split("\\s+").length == 5 ? "0 " + trimmed : trimmed);
+    }
+
+    /**
+     * The first fire time strictly after {@code after}, without jitter, or null if there is none.
+     */
+    static Instant nextFireTime(JobScheduleEntity schedule, Instant after) {
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(schedule.getTimezone() != null ? schedule.getTimezone() : "UTC");
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + schedule.getTimezone(), e);
+        }
+        ZonedDateTime next = parseCron(schedule.getCronExpression()).next(after.atZone(zone));
+        return next != null ? next.toInstant() : null;
+    }
+
+    /**
+     * A stable offset below {@code jitterSeconds}, derived from the schedule id, so
+     * schedules sharing a cron expression do not all fire in the same second.
+     */
+    static Duration jitter(JobScheduleEntity schedule) {
+        int jitterSeconds = schedule.getJitterSeconds() != null ? schedule.getJitterSeconds() : 0;
+        if (jitterSeconds <= 0 || schedule.getId() == null) {
+            return Duration.ZERO;
+        }
+        return Duration.ofSeconds(Math.floorMod(schedule.getId().hashCode(), jitterSeconds));
+    }
+}
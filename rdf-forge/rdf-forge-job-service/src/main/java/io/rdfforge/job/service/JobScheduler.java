@@ -0,0 +1,212 @@
+package io.rdfforge.job.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.rdfforge.job.entity.JobScheduleEntity;
+import io.rdfforge.job.entity.JobScheduleEntity.MisfirePolicy;
+import io.rdfforge.job.repository.JobScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fires pipeline schedules by queueing jobs through {@link JobService#createScheduledJob}.
+ *
+ * Only the replica elected by {@link SchedulerLeaderElection} fires. Each tick it
+ * reads the active schedules whose stored next fire time has passed, using the
+ * partial index on {@code next_run_at}, so the cost of a tick depends on the due
+ * schedules rather than on all schedules. A fire time later than
+ * {@code misfire-threshold-seconds} was missed, e.g. during a deployment, and is
+ * handled according to the schedule's {@link MisfirePolicy}. Due rows are locked
+ * with {@code SKIP LOCKED}, so a brief overlap during a leader change does not
+ * fire a schedule twice.
+ */
+@Component
+@ConditionalOnProperty(name = "rdfforge.jobs.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class JobScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(JobScheduler.class);
+
+    private final JobScheduleRepository scheduleRepository;
+    private final JobService jobService;
+    private final SchedulerLeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration misfireThreshold;
+    private final int maxCatchUp;
+    private final MeterRegistry meterRegistry;
+    private final Counter firedCounter;
+    private final Map<MisfirePolicy, Counter> misfireCounters = new ConcurrentHashMap<>();
+    private volatile boolean leader;
+
+    public JobScheduler(JobScheduleRepository scheduleRepository, JobService jobService,
+                        SchedulerLeaderElection leaderElection, PlatformTransactionManager transactionManager,
+                        ObjectProvider<MeterRegistry> meterRegistry,
+                        @Value("${rdfforge.jobs.scheduler.batch-size:500}") int batchSize,
+                        @Value("${rdfforge.jobs.scheduler.misfire-threshold-seconds:60}") long misfireThresholdSeconds,
+                        @Value("${rdfforge.jobs.scheduler.max-catch-up:10}") int maxCatchUp) {
+        this.scheduleRepository = scheduleRepository;
+        this.jobService = jobService;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.misfireThreshold = Duration.ofSeconds(misfireThresholdSeconds);
+        this.maxCatchUp = Math.max(1, maxCatchUp);
+        this.meterRegistry = meterRegistry.getIfAvailable();
+
+        if (this.meterRegistry != null) {
+            Gauge.builder("rdfforge.jobs.scheduler.leader", this, scheduler -> scheduler.leader ? 1 : 0)
+                .description("1 if this replica fires schedules")
+                .register(this.meterRegistry);
+            this.firedCounter = Counter.builder("rdfforge.jobs.scheduler.fired")
+                .description("Jobs queued by schedules")
+                .register(this.meterRegistry);
+        } else {
+            this.firedCounter = null;
+        }
+    }
+
+    /** The fire times to run now and the following fire time, with jitter. */
+    record FirePlan(List<Instant> fireTimes, Instant nextRun, boolean misfired) {
+    }
+
+    @Scheduled(fixedDelayString = "${rdfforge.jobs.scheduler.tick-ms:5000}")
+    public void tick() {
+        boolean wasLeader = leader;
+        leader = leaderElection.isLeader();
+        if (!leader) {
+            return;
+        }
+        if (!wasLeader) {
+            transactionTemplate.executeWithoutResult(status -> initializeNextRuns());
+        }
+        Integer fired;
+        do {
+            fired = transactionTemplate.execute(status -> fireDue(Instant.now()));
+        } while (fired != null && fired == batchSize);
+    }
+
+    /**
+     * Schedules created outside the API, e.g. by SQL or docker/init-db.sql, have no next fire time yet.
+     */
+    private void initializeNextRuns() {
+        for (JobScheduleEntity schedule : scheduleRepository.findActiveWithoutNextRun()) {
+            try {
+                JobScheduleService.refreshNextRun(schedule);
+            } catch (IllegalArgumentException e) {
+                disable(schedule, e);
+            }
+        }
+    }
+
+    private int fireDue(Instant now) {
+        List<JobScheduleEntity> due = scheduleRepository.lockDueSchedules(now, PageRequest.of(0, batchSize));
+        for (JobScheduleEntity schedule : due) {
+            FirePlan plan;
+            try {
+                plan = plan(schedule, now, misfireThreshold, maxCatchUp);
+            } catch (IllegalArgumentException e) {
+                disable(schedule, e);
+                continue;
+            }
+            if (plan.misfired()) {
+                log.warn("Schedule {} missed its fire time {}, applying {}", schedule.getId(),
+                    schedule.getNextRun(), schedule.getMisfirePolicy());
+                countMisfire(schedule.getMisfirePolicy());
+            }
+            for (Instant fireTime : plan.fireTimes()) {
+                jobService.createScheduledJob(schedule.getPipelineId(), variables(schedule, fireTime));
+                if (firedCounter != null) {
+                    firedCounter.increment();
+                }
+            }
+            if (!plan.fireTimes().isEmpty()) {
+                schedule.setLastRun(now);
+            }
+            schedule.setNextRun(plan.nextRun());
+        }
+        scheduleRepository.saveAll(due);
+        return due.size();
+    }
+
+    /**
+     * Decide what a due schedule fires. Without a misfire the single due fire time
+     * runs. After a misfire FIRE_ONCE runs the latest missed fire time, CATCH_UP
+     * runs the missed fire times oldest first (at most {@code maxCatchUp}) and SKIP
+     * runs nothing. In every case the schedule moves on to its first fire time after now.
+     */
+    static FirePlan plan(JobScheduleEntity schedule, Instant now, Duration misfireThreshold, int maxCatchUp) {
+        Duration jitter = JobScheduleService.jitter(schedule);
+        Instant scheduled = schedule.getNextRun().minus(jitter);
+
+        List<Instant> missed = new ArrayList<>();
+        Instant fireTime = scheduled;
+        while (fireTime != null && !fireTime.plus(jitter).isAfter(now) && missed.size() < maxCatchUp) {
+            missed.add(fireTime);
+            fireTime = JobScheduleService.nextFireTime(schedule, fireTime);
+        }
+        Instant following = JobScheduleService.nextFireTime(schedule, now.minus(jitter));
+        Instant nextRun = following != null ? following.plus(jitter) : null;
+
+        if (missed.isEmpty()) {
+            return new FirePlan(List.of(), nextRun, false);
+        }
+        boolean late = Duration.between(schedule.getNextRun(), now).compareTo(misfireThreshold) > 0;
+        if (!late && missed.size() == 1) {
+            return new FirePlan(missed, nextRun, false);
+        }
+        MisfirePolicy policy = schedule.getMisfirePolicy() != null ? schedule.getMisfirePolicy() : MisfirePolicy.FIRE_ONCE;
+        return switch (policy) {
+            case FIRE_ONCE -> new FirePlan(List.of(missed.get(missed.size() - 1)), nextRun, true);
+            case CATCH_UP -> new FirePlan(missed, nextRun, true);
+            case SKIP -> new FirePlan(List.of(), nextRun, true);
+        };
+    }
+
+    /**
+     * Jobs of CATCH_UP schedules carry the fire time they stand for, so pipelines can
+     * tell the periods apart and trigger coalescing does not merge them into one job.
+     */
+    private static Map<String, Object> variables(JobScheduleEntity schedule, Instant fireTime) {
+        if (schedule.getMisfirePolicy() != MisfirePolicy.CATCH_UP) {
+            return schedule.getVariables();
+        }
+        Map<String, Object> variables = new HashMap<>();
+        if (schedule.getVariables() != null) {
+            variables.putAll(schedule.getVariables());
+        }
+        variables.put("scheduledFireTime", fireTime.toString());
+        return variables;
+    }
+
+    private void disable(JobScheduleEntity schedule, IllegalArgumentException e) {
+        log.error("Disabling schedule {} ({}): {}", schedule.getId(), schedule.getCronExpression(), e.getMessage());
+        schedule.setActive(false);
+        schedule.setNextRun(null);
+    }
+
+    private void countMisfire(MisfirePolicy policy) {
+        if (meterRegistry != null && policy != null) {
+            misfireCounters.computeIfAbsent(policy, p -> Counter.builder("rdfforge.jobs.scheduler.misfires")
+                .tag("policy", p.name())
+                .description("Schedules that missed a fire time")
+                .register(meterRegistry)).increment();
+        }
+    }
+}
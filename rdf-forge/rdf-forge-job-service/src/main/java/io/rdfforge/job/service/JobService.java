@@ -7,8 +7,13 @@ import io.rdfforge.job.entity.JobLogEntity;
 import io.rdfforge.job.entity.JobLogEntity.LogLevel;
 import io.rdfforge.job.repository.JobLogRepository;
 import io.rdfforge.job.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
@@ -17,6 +22,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -27,14 +34,24 @@ import java.util.UUID;
 @Transactional
 public class JobService {
     
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+    
     private final JobRepository jobRepository;
     private final JobLogRepository jobLogRepository;
     private final JobExecutorService executorService;
+    private final JobLogArchive logArchive;
+    private final JobLogWriter logWriter;
+    private final boolean coalesceTriggers;
     
-    public JobService(JobRepository jobRepository, JobLogRepository jobLogRepository, @Lazy JobExecutorService executorService) {
+    public JobService(JobRepository jobRepository, JobLogRepository jobLogRepository, @Lazy JobExecutorService executorService,
+                      JobLogArchive logArchive, JobLogWriter logWriter,
+                      @Value("${rdfforge.jobs.coalesce-triggers:true}") boolean coalesceTriggers) {
         this.jobRepository = jobRepository;
         this.jobLogRepository = jobLogRepository;
         this.executorService = executorService;
+        this.logArchive = logArchive;
+        this.logWriter = logWriter;
+        this.coalesceTriggers = coalesceTriggers;
     }
     
     public Page<JobEntity> getJobs(JobStatus status, UUID pipelineId, int page, int size) {
@@ -56,6 +73,28 @@ public class JobService {
         job.setCreatedBy(userId);
         job.setStatus(JobStatus.PENDING);
 
+        return enqueue(job);
+    }
+
+    /**
+     * Save a new PENDING job and wake a worker for it. When trigger coalescing is
+     * on and an identical job (same {@link JobTriggerKey}) is still waiting in the
+     * queue, that job is returned instead: it takes the higher of both priorities
+     * and counts the extra trigger, and every caller follows the same execution.
+     * Identical triggers are serialized on their key, so concurrent ones cannot both
+     * find no pending job and queue two.
+     */
+    private JobEntity enqueue(JobEntity job) {
+        job.setTriggerKey(JobTriggerKey.of(job.getPipelineId(), job.getPipelineVersion(), job.isDryRun(),
+            job.getVariables()));
+        if (coalesceTriggers) {
+            jobRepository.lockTriggerKey(job.getTriggerKey());
+            List<JobEntity> pending = jobRepository.lockPendingByTriggerKey(job.getTriggerKey(), PageRequest.of(0, 1));
+            if (!pending.isEmpty()) {
+                return coalesce(pending.get(0), job);
+            }
+        }
+
         JobEntity savedJob = jobRepository.save(job);
 
         // Execute async after transaction commits to avoid race condition
@@ -64,17 +103,48 @@ public class JobService {
         return savedJob;
     }
 
+    private JobEntity coalesce(JobEntity existing, JobEntity duplicate) {
+        int triggerCount = (existing.getTriggerCount() != null ? existing.getTriggerCount() : 1) + 1;
+        existing.setTriggerCount(triggerCount);
+        if (duplicate.getPriority() != null && (existing.getPriority() == null
+                || duplicate.getPriority() > existing.getPriority())) {
+            existing.setPriority(duplicate.getPriority());
+        }
+        JobEntity savedJob = jobRepository.save(existing);
+
+        logWriter.append(savedJob.getId(), LogLevel.INFO, null,
+            "Coalesced duplicate " + duplicate.getTriggeredBy() + " trigger into this job",
+            Map.of("triggerCount", triggerCount));
+
+        log.debug("Coalesced {} trigger of pipeline {} into pending job {}",
+            duplicate.getTriggeredBy(), duplicate.getPipelineId(), existing.getId());
+        return savedJob;
+    }
+
+    /**
+     * The job row is the queue entry; this only wakes a local worker so the job can
+     * start without waiting for the next queue poll.
+     */
     private void scheduleAsyncExecution(UUID jobId) {
         if (TransactionSynchronizationManager.isSynchronizationActive()) {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                 @Override
                 public void afterCommit() {
-                    executorService.executeAsync(jobId);
+                    wakeWorker(jobId);
                 }
             });
         } else {
             // No active transaction, execute immediately
+            wakeWorker(jobId);
+        }
+    }
+
+    private void wakeWorker(UUID jobId) {
+        try {
             executorService.executeAsync(jobId);
+        } catch (TaskRejectedException e) {
+            // The executor is shutting down; the job stays PENDING for the next poll on any node
+            log.debug("Job {} left queued: {}", jobId, e.getMessage());
         }
     }
     
@@ -87,10 +157,7 @@ public class JobService {
         job.setTriggeredBy(TriggerType.SCHEDULE);
         job.setStatus(JobStatus.PENDING);
 
-        JobEntity savedJob = jobRepository.save(job);
-        scheduleAsyncExecution(savedJob.getId());
-
-        return savedJob;
+        return enqueue(job);
     }
     
     public void cancelJob(UUID id) {
@@ -107,6 +174,13 @@ public class JobService {
         });
     }
     
+    /**
+     * Whether the job is executing on this node, and so has a live event stream here.
+     */
+    public boolean isRunningLocally(UUID id) {
+        return executorService.getRunningJobIds().contains(id);
+    }
+
     public JobEntity retryJob(UUID id) {
         return jobRepository.findById(id).map(originalJob -> {
             if (originalJob.getStatus() != JobStatus.FAILED && originalJob.getStatus() != JobStatus.CANCELLED) {
@@ -123,10 +197,7 @@ public class JobService {
             newJob.setCreatedBy(originalJob.getCreatedBy());
             newJob.setStatus(JobStatus.PENDING);
 
-            JobEntity savedJob = jobRepository.save(newJob);
-            scheduleAsyncExecution(savedJob.getId());
-
-            return savedJob;
+            return enqueue(newJob);
         }).orElseThrow(() -> new RuntimeException("Job not found: " + id));
     }
     
@@ -169,31 +240,63 @@ public class JobService {
     
     public void addLog(UUID jobId, LogLevel level, String step, String message, Map<String, Object> details) {
         jobRepository.findById(jobId).ifPresent(job -> {
-            JobLogEntity log = new JobLogEntity();
-            log.setJob(job);
-            log.setLevel(level);
-            log.setStep(step);
-            log.setMessage(message);
-            log.setDetails(details);
-            jobLogRepository.save(log);
+            JobLogEntity entry = new JobLogEntity();
+            entry.setJob(job);
+            entry.setLevel(level);
+            entry.setStep(step);
+            entry.setMessage(message);
+            entry.setDetails(details);
+            jobLogRepository.save(entry);
         });
     }
     
+    /**
+     * Logs of jobs that finished long ago are read from their archive once they
+     * have been moved out of the table.
+     */
     public List<JobLogEntity> getLogs(UUID jobId, LogLevel minLevel) {
+        List<JobLogEntity> logs;
         if (minLevel == null) {
-            return jobLogRepository.findByJob_IdOrderByTimestampAsc(jobId);
+            logs = jobLogRepository.findByJob_IdOrderByTimestampAsc(jobId);
+        } else {
+            List<LogLevel> levels = switch (minLevel) {
+                case DEBUG -> List.of(LogLevel.DEBUG, LogLevel.INFO, LogLevel.WARN, LogLevel.ERROR);
+                case INFO -> List.of(LogLevel.INFO, LogLevel.WARN, LogLevel.ERROR);
+                case WARN -> List.of(LogLevel.WARN, LogLevel.ERROR);
+                case ERROR -> List.of(LogLevel.ERROR);
+            };
+            logs = jobLogRepository.findByJobIdAndLevels(jobId, levels);
+        }
+        if (logs.isEmpty() && isLogArchived(jobId)) {
+            return readArchivedLogs(jobId).stream()
+                .filter(entry -> minLevel == null || entry.getLevel().ordinal() >= minLevel.ordinal())
+                .toList();
         }
-        List<LogLevel> levels = switch (minLevel) {
-            case DEBUG -> List.of(LogLevel.DEBUG, LogLevel.INFO, LogLevel.WARN, LogLevel.ERROR);
-            case INFO -> List.of(LogLevel.INFO, LogLevel.WARN, LogLevel.ERROR);
-            case WARN -> List.of(LogLevel.WARN, LogLevel.ERROR);
-            case ERROR -> List.of(LogLevel.ERROR);
-        };
-        return jobLogRepository.findByJobIdAndLevels(jobId, levels);
+        return logs;
     }
     
     public Page<JobLogEntity> getLogs(UUID jobId, int page, int size) {
-        return jobLogRepository.findByJob_IdOrderByTimestampAsc(jobId, PageRequest.of(page, size));
+        Pageable pageable = PageRequest.of(page, size);
+        Page<JobLogEntity> logs = jobLogRepository.findByJob_IdOrderByTimestampAsc(jobId, pageable);
+        if (logs.getTotalElements() == 0 && isLogArchived(jobId)) {
+            List<JobLogEntity> archived = readArchivedLogs(jobId);
+            int from = (int) Math.min(pageable.getOffset(), archived.size());
+            int to = Math.min(from + size, archived.size());
+            return new PageImpl<>(archived.subList(from, to), pageable, archived.size());
+        }
+        return logs;
+    }
+    
+    private boolean isLogArchived(UUID jobId) {
+        return jobRepository.findById(jobId).map(job -> job.getLogsArchivedAt() != null).orElse(false);
+    }
+    
+    private List<JobLogEntity> readArchivedLogs(UUID jobId) {
+        try {
+            return logArchive.read(jobId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived logs of job " + jobId, e);
+        }
     }
     
     public long getRunningJobCount() {
@@ -0,0 +1,41 @@
+package io.rdfforge.job.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Identity of what a job executes: pipeline, version, dry-run flag and variables.
+ * Two triggers with the same key would produce the same run. Variables are
+ * serialized with sorted keys, so their order does not matter.
+ */
+final class JobTriggerKey {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private JobTriggerKey() {
+    }
+
+    static String of(UUID pipelineId, Integer pipelineVersion, boolean dryRun, Map<String, Object> variables) {
+        Map<String, Object> identity = new LinkedHashMap<>();
+        identity.put("pipeline", pipelineId.toString());
+        identity.put("version", pipelineVersion);
+        identity.put("dryRun", dryRun);
+        identity.put("variables", variables != null ? variables : Map.of());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(MAPPER.writeValueAsBytes(identity)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute trigger key", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.rdfforge.job.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Evicts cached pipeline definitions when the pipeline-service changes a pipeline.
+ *
+ * The pipeline-service schema fires {@code NOTIFY pipeline_changed, '<id>'} from a
+ * trigger on the {@code pipelines} table, which lives in the same database. This
+ * listener holds one connection with {@code LISTEN pipeline_changed}. After a lost
+ * connection it clears the whole cache, since notifications may have been missed.
+ * On databases other than PostgreSQL it does nothing.
+ */
+@Component
+public class PipelineChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelineChangeListener.class);
+
+    static final String CHANNEL = "pipeline_changed";
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 10_000;
+
+    private final DataSource dataSource;
+    private final PipelineDefinitionCache cache;
+    private volatile boolean running = true;
+    private Thread thread;
+
+    public PipelineChangeListener(DataSource dataSource, PipelineDefinitionCache cache) {
+        this.dataSource = dataSource;
+        this.cache = cache;
+    }
+
+    @PostConstruct
+    public void start() {
+        thread = new Thread(this::listen, "pipeline-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("Database is not PostgreSQL, pipeline change notifications disabled");
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.debug("Listening for pipeline changes");
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        onChange(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Pipeline change listener lost its connection: {}", e.getMessage());
+            }
+            cache.invalidateAll();
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void onChange(String payload) {
+        try {
+            cache.invalidate(UUID.fromString(payload));
+        } catch (IllegalArgumentException e) {
+            cache.invalidateAll();
+        }
+    }
+}
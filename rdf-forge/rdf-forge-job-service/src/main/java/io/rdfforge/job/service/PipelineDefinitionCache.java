@@ -0,0 +1,240 @@
+package io.rdfforge.job.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.rdfforge.common.model.Pipeline;
+import io.rdfforge.common.model.PipelineStep;
+import io.rdfforge.engine.pipeline.PipelineExecutor.PipelineDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed pipeline definitions, so starting a job neither calls the pipeline-service
+ * nor re-parses the JSON/YAML definition.
+ *
+ * Entries are keyed by pipeline id and version. A job created for a version gets
+ * exactly that version from {@code /pipelines/{id}/versions/{version}}; since a
+ * version never changes, its entry needs no revalidation. If the pipeline-service
+ * no longer has the version (404) the job fails rather than running another
+ * version. Requests for the latest version are served from a per-pipeline entry
+ * that is trusted for {@code revalidate-after-seconds} and then revalidated with
+ * a conditional request ({@code If-None-Match} with the version ETag), which costs
+ * a 304 when nothing changed; if the pipeline-service is unreachable, that entry
+ * is used. {@link PipelineChangeListener} evicts all entries of a pipeline as soon
+ * as it is updated or deleted.
+ */
+@Component
+public class PipelineDefinitionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelineDefinitionCache.class);
+
+    private final RestTemplate restTemplate;
+    private final String pipelineServiceUrl;
+    private final Duration revalidateAfter;
+    private final Map<VersionKey, CachedPipeline> versions = new ConcurrentHashMap<>();
+    private final Map<UUID, CachedPipeline> latest = new ConcurrentHashMap<>();
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+
+    public PipelineDefinitionCache(RestTemplate restTemplate,
+                                   @Value("${PIPELINE_SERVICE_URL:http://pipeline-service:8001}") String pipelineServiceUrl,
+                                   @Value("${rdfforge.jobs.pipeline-cache.revalidate-after-seconds:300}") long revalidateAfterSeconds) {
+        this.restTemplate = restTemplate;
+        this.pipelineServiceUrl = pipelineServiceUrl;
+        this.revalidateAfter = Duration.ofSeconds(revalidateAfterSeconds);
+    }
+
+    private record VersionKey(UUID pipelineId, int version) {
+    }
+
+    private record CachedPipeline(int version, String etag, UUID projectId, PipelineDefinition definition,
+                                  long validatedAtNanos) {
+        CachedPipeline revalidated() {
+            return new CachedPipeline(version, etag, projectId, definition, System.nanoTime());
+        }
+    }
+
+    /**
+     * @param version the version the job was created for, or null for the latest
+     * @throws IllegalStateException if the pipeline-service no longer has that version
+     */
+    public PipelineDefinition get(UUID pipelineId, Integer version) throws Exception {
+        if (version == null) {
+            return latest(pipelineId).definition();
+        }
+        CachedPipeline cached = versions.get(new VersionKey(pipelineId, version));
+        return (cached != null ? cached : loadVersion(pipelineId, version)).definition();
+    }
+
+    /**
+     * A cached definition, if any, without contacting the pipeline-service.
+     */
+    public Optional<PipelineDefinition> peek(UUID pipelineId) {
+        return cached(pipelineId).map(CachedPipeline::definition);
+    }
+
+    /**
+     * The project of a pipeline, from any cached version; loads the latest definition
+     * if the pipeline is not cached.
+     *
+     * @return the project id, null if the pipeline belongs to no project
+     */
+    public UUID projectId(UUID pipelineId) throws Exception {
+        Optional<CachedPipeline> cached = cached(pipelineId);
+        return (cached.isPresent() ? cached.get() : latest(pipelineId)).projectId();
+    }
+
+    public void invalidate(UUID pipelineId) {
+        boolean evicted = latest.remove(pipelineId) != null;
+        evicted |= versions.keySet().removeIf(key -> key.pipelineId().equals(pipelineId));
+        if (evicted) {
+            log.debug("Evicted cached definitions of pipeline {}", pipelineId);
+        }
+    }
+
+    public void invalidateAll() {
+        latest.clear();
+        versions.clear();
+    }
+
+    private Optional<CachedPipeline> cached(UUID pipelineId) {
+        CachedPipeline cached = latest.get(pipelineId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return versions.entrySet().stream()
+            .filter(entry -> entry.getKey().pipelineId().equals(pipelineId))
+            .map(Map.Entry::getValue)
+            .findFirst();
+    }
+
+    private CachedPipeline latest(UUID pipelineId) throws Exception {
+        CachedPipeline cached = latest.get(pipelineId);
+        if (cached != null && System.nanoTime() - cached.validatedAtNanos() < revalidateAfter.toNanos()) {
+            return cached;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+
+        ResponseEntity<Pipeline> response;
+        try {
+            response = restTemplate.exchange(pipelineServiceUrl + "/api/v1/pipelines/" + pipelineId,
+                HttpMethod.GET, new HttpEntity<>(headers), Pipeline.class);
+        } catch (RestClientException e) {
+            if (cached == null) {
+                throw e;
+            }
+            log.warn("Pipeline service unavailable, using cached version {} of pipeline {}: {}",
+                cached.version(), pipelineId, e.getMessage());
+            return cached;
+        }
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            CachedPipeline revalidated = cached.revalidated();
+            latest.put(pipelineId, revalidated);
+            return revalidated;
+        }
+
+        CachedPipeline loaded = parse(pipelineId, response);
+        latest.put(pipelineId, loaded);
+        return loaded;
+    }
+
+    private CachedPipeline loadVersion(UUID pipelineId, int version) throws Exception {
+        ResponseEntity<Pipeline> response;
+        try {
+            response = restTemplate.exchange(
+                pipelineServiceUrl + "/api/v1/pipelines/" + pipelineId + "/versions/" + version,
+                HttpMethod.GET, HttpEntity.EMPTY, Pipeline.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new IllegalStateException("Version " + version + " of pipeline " + pipelineId
+                + " is no longer available", e);
+        }
+        CachedPipeline loaded = parse(pipelineId, response);
+        if (loaded.version() != version) {
+            throw new IllegalStateException("Pipeline service returned version " + loaded.version()
+                + " of pipeline " + pipelineId + " instead of " + version);
+        }
+        return loaded;
+    }
+
+    /**
+     * Parse a pipeline response and cache it under its version.
+     */
+    private CachedPipeline parse(UUID pipelineId, ResponseEntity<Pipeline> response) throws Exception {
+        Pipeline pipeline = response.getBody();
+        if (pipeline == null) {
+            throw new IllegalStateException("Pipeline not found: " + pipelineId);
+        }
+        PipelineDefinition definition = PipelineDefinition.builder()
+            .id(pipeline.getId().toString())
+            .name(pipeline.getName())
+            .steps(parseDefinition(pipeline.getDefinition(), pipeline.getDefinitionFormat()))
+            .defaultVariables(pipeline.getVariables())
+            .build();
+        int loadedVersion = pipeline.getVersion() != null ? pipeline.getVersion() : 0;
+        String etag = response.getHeaders().getETag() != null
+            ? response.getHeaders().getETag() : "\"" + loadedVersion + "\"";
+
+        CachedPipeline loaded = new CachedPipeline(loadedVersion, etag, pipeline.getProjectId(), definition,
+            System.nanoTime());
+        versions.put(new VersionKey(pipelineId, loadedVersion), loaded);
+        log.debug("Cached version {} of pipeline {}", loadedVersion, pipelineId);
+        return loaded;
+    }
+
+    List<PipelineStep> parseDefinition(String definition, Pipeline.DefinitionFormat format) throws Exception {
+        ObjectMapper mapper = format == Pipeline.DefinitionFormat.YAML ? yamlMapper : jsonMapper;
+        Map<String, Object> parsed = mapper.readValue(definition, new TypeReference<>() {});
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> stepsData = (List<Map<String, Object>>) parsed.get("steps");
+
+        if (stepsData == null) {
+            return Collections.emptyList();
+        }
+
+        List<PipelineStep> steps = new ArrayList<>();
+        for (Map<String, Object> stepData : stepsData) {
+            @SuppressWarnings("unchecked")
+            // Support both "params" (UI format) and "parameters" (API format)
+            Map<String, Object> params = (Map<String, Object>) stepData.get("params");
+            if (params == null) {
+                params = (Map<String, Object>) stepData.get("parameters");
+            }
+            PipelineStep step = PipelineStep.builder()
+                .id((String) stepData.get("id"))
+                .operationType((String) stepData.get("operation"))
+                .name((String) stepData.get("name"))
+                .parameters(params)
+                .inputConnections((List<String>) stepData.get("inputs"))
+                .outputConnections((List<String>) stepData.get("outputs"))
+                .build();
+            steps.add(step);
+        }
+        return Collections.unmodifiableList(steps);
+    }
+}
@@ -0,0 +1,116 @@
+package io.rdfforge.job.service;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Picks the one job-service replica that fires schedules.
+ *
+ * The leader holds a session-level PostgreSQL advisory lock on a dedicated
+ * connection. If the leader dies, or its connection breaks, the database releases
+ * the lock and the next replica to ask takes over. On databases other than
+ * PostgreSQL there is no coordination and every replica is the leader.
+ */
+@Component
+public class SchedulerLeaderElection {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulerLeaderElection.class);
+
+    /** Advisory lock key, "RDFSCHED" in ASCII. */
+    static final long LOCK_KEY = 0x5244465343484544L;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource dataSource;
+    private Connection connection;
+    private boolean supported = true;
+
+    public SchedulerLeaderElection(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Whether this replica is the leader, trying to become it if nobody is.
+     */
+    public synchronized boolean isLeader() {
+        if (!supported) {
+            return true;
+        }
+        try {
+            if (connection != null) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return true;
+                }
+                log.warn("Scheduler leader lost its database connection");
+                closeConnection();
+            }
+            return tryAcquire();
+        } catch (SQLException e) {
+            log.warn("Scheduler leader election failed: {}", e.getMessage());
+            closeConnection();
+            return false;
+        }
+    }
+
+    private boolean tryAcquire() throws SQLException {
+        Connection candidate = dataSource.getConnection();
+        boolean acquired = false;
+        try {
+            if (!candidate.isWrapperFor(PGConnection.class)) {
+                log.info("Database is not PostgreSQL, scheduling without leader election");
+                supported = false;
+                return true;
+            }
+            try (PreparedStatement statement = candidate.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, LOCK_KEY);
+                try (ResultSet result = statement.executeQuery()) {
+                    acquired = result.next() && result.getBoolean(1);
+                }
+            }
+        } finally {
+            if (acquired) {
+                connection = candidate;
+            } else {
+                candidate.close();
+            }
+        }
+        if (acquired) {
+            log.info("This replica is now the scheduler leader");
+        }
+        return acquired;
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (connection == null) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        } catch (SQLException e) {
+            log.debug("Could not release scheduler lock: {}", e.getMessage());
+        }
+        closeConnection();
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close scheduler lock connection: {}", e.getMessage());
+        }
+        connection = null;
+    }
+}
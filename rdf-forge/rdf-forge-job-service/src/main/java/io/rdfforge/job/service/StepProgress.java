@@ -0,0 +1,61 @@
+package io.rdfforge.job.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput of one running step, derived from the operation's progress and
+ * triple-count reports. Not thread-safe; owned by the job's execution callback.
+ */
+class StepProgress {
+
+    private final String stepId;
+    private final long startNanos;
+    private long processed;
+    private long total = -1;
+    private long triples;
+    private long lastPublishedNanos;
+
+    StepProgress(String stepId, long startNanos) {
+        this.stepId = stepId;
+        this.startNanos = startNanos;
+    }
+
+    void update(long processed, long total) {
+        this.processed = processed;
+        this.total = total;
+    }
+
+    void updateTriples(long triples) {
+        this.triples = Math.max(this.triples, triples);
+    }
+
+    /**
+     * Whether at least {@code intervalNanos} passed since the last published snapshot.
+     */
+    boolean due(long nowNanos, long intervalNanos) {
+        if (lastPublishedNanos != 0 && nowNanos - lastPublishedNanos < intervalNanos) {
+            return false;
+        }
+        lastPublishedNanos = nowNanos;
+        return true;
+    }
+
+    Map<String, Object> snapshot(long nowNanos) {
+        double seconds = Math.max(nowNanos - startNanos, 1) / 1e9;
+        double rowsPerSecond = processed / seconds;
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("stepId", stepId);
+        data.put("processed", processed);
+        data.put("total", total);
+        data.put("elapsedMs", (long) (seconds * 1000));
+        data.put("rowsPerSecond", Math.round(rowsPerSecond * 10) / 10.0);
+        data.put("triples", triples);
+        data.put("triplesPerSecond", Math.round(triples / seconds * 10) / 10.0);
+        if (total > 0 && rowsPerSecond > 0) {
+            data.put("etaSeconds", Math.max(0, Math.round((total - processed) / rowsPerSecond)));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,76 @@
+package io.rdfforge.job.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Exports virtual thread pinning to Micrometer.
+ *
+ * A job's virtual thread that blocks inside {@code synchronized} code or a native
+ * call stays mounted on its carrier thread, so enough of them stall every job on
+ * the node. The JDK reports such pins longer than {@code pinning-threshold-ms}
+ * as JFR events; this component streams them in-process and records them as
+ * {@code rdfforge.jobs.threads.pinned}, next to failed virtual thread starts.
+ */
+@Component
+@ConditionalOnProperty(name = "rdfforge.jobs.execution.pinning-monitor", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED = "jdk.VirtualThreadSubmitFailed";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(ObjectProvider<MeterRegistry> meterRegistry,
+                                       @Value("${rdfforge.jobs.execution.pinning-threshold-ms:20}") long thresholdMs) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer pinned = Timer.builder("rdfforge.jobs.threads.pinned")
+            .description("Virtual threads pinned to their carrier thread while blocked")
+            .register(meterRegistry);
+        Counter submitFailed = Counter.builder("rdfforge.jobs.threads.submit.failed")
+            .description("Virtual threads that could not be scheduled on a carrier thread")
+            .register(meterRegistry);
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED).withThreshold(threshold).withoutStackTrace();
+            stream.enable(SUBMIT_FAILED);
+            stream.onEvent(PINNED, event -> pinned.record(event.getDuration()));
+            stream.onEvent(SUBMIT_FAILED, event -> submitFailed.increment());
+            stream.startAsync();
+        } catch (RuntimeException e) {
+            log.warn("Virtual thread pinning metrics unavailable: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- RDF Forge Job Service - Persistent job queue
+-- Version: 2.0.0
+-- Description: Adds lease columns so worker nodes can claim PENDING jobs with
+-- SELECT ... FOR UPDATE SKIP LOCKED and keep them alive with heartbeats
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS locked_by VARCHAR(255);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS attempts INTEGER DEFAULT 0;
+
+-- Claim order: highest priority first, then oldest
+CREATE INDEX IF NOT EXISTS idx_jobs_pending_queue ON jobs(priority DESC, created_at ASC) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_jobs_running_lease ON jobs(lease_expires_at) WHERE status = 'RUNNING';
+
+COMMENT ON COLUMN jobs.locked_by IS 'Worker node currently executing the job';
+COMMENT ON COLUMN jobs.lease_expires_at IS 'The job may be reclaimed once its lease has expired';
+COMMENT ON COLUMN jobs.heartbeat_at IS 'Last heartbeat from the executing worker';
+COMMENT ON COLUMN jobs.attempts IS 'Number of times the job has been claimed';
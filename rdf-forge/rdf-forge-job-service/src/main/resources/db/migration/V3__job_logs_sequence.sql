@@ -0,0 +1,35 @@
+-- RDF Forge Job Service - Batched job log inserts
+-- Version: 3.0.0
+-- Description: Brings job_logs to the shape of JobLogEntity with BIGINT ids that the
+-- column default takes from job_logs_id_seq, so log lines can be written with JDBC
+-- batch inserts that leave the id to the database
+
+-- An identity column would own a sequence of the same name; the default below replaces it
+ALTER TABLE job_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS job_logs_id_seq;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'job_logs'
+                 AND column_name = 'created_at') THEN
+        -- V1 shape: UUID ids and step_id/metadata/created_at columns
+        ALTER TABLE job_logs RENAME COLUMN step_id TO step;
+        ALTER TABLE job_logs RENAME COLUMN metadata TO details;
+        ALTER TABLE job_logs RENAME COLUMN created_at TO timestamp;
+        UPDATE job_logs SET timestamp = CURRENT_TIMESTAMP WHERE timestamp IS NULL;
+        ALTER TABLE job_logs ALTER COLUMN timestamp SET NOT NULL;
+
+        ALTER TABLE job_logs DROP CONSTRAINT job_logs_pkey;
+        ALTER TABLE job_logs DROP COLUMN id;
+        -- Existing rows are numbered from the sequence when the column is added
+        ALTER TABLE job_logs ADD COLUMN id BIGINT NOT NULL DEFAULT nextval('job_logs_id_seq');
+        ALTER TABLE job_logs ADD CONSTRAINT job_logs_pkey PRIMARY KEY (id);
+    ELSE
+        ALTER TABLE job_logs ALTER COLUMN id SET DEFAULT nextval('job_logs_id_seq');
+        PERFORM setval('job_logs_id_seq', COALESCE((SELECT MAX(id) FROM job_logs), 0) + 1, false);
+    END IF;
+END $$;
+
+ALTER SEQUENCE job_logs_id_seq OWNED BY job_logs.id;
@@ -0,0 +1,70 @@
+-- RDF Forge Job Service - Time-partitioned job logs
+-- Version: 4.0.0
+-- Description: Partitions job_logs by month so recent-job queries and inserts only
+-- touch small partitions, and records which jobs have their logs archived
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS logs_archived_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_logs_archive ON jobs(completed_at)
+    WHERE logs_archived_at IS NULL AND status IN ('COMPLETED', 'FAILED', 'CANCELLED');
+
+COMMENT ON COLUMN jobs.logs_archived_at IS 'Logs were moved to a compressed archive in storage at this time';
+
+-- Creates the partition for the month containing the given day; used by the job
+-- service to create partitions ahead of time
+CREATE OR REPLACE FUNCTION create_job_logs_partition(month DATE)
+RETURNS VOID AS $$
+DECLARE
+    month_start DATE := date_trunc('month', month)::DATE;
+    partition_name TEXT := 'job_logs_p' || to_char(month, 'YYYYMM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF job_logs FOR VALUES FROM (%L) TO (%L)',
+        partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table pt
+               JOIN pg_class c ON c.oid = pt.partrelid
+               WHERE c.relname = 'job_logs') THEN
+        RETURN;
+    END IF;
+    -- V3 brought the table to the entity's shape; fail rather than leave logs unpartitioned
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = 'job_logs'
+                     AND column_name = 'timestamp') THEN
+        RAISE EXCEPTION 'job_logs has no timestamp column and cannot be partitioned';
+    END IF;
+
+    CREATE SEQUENCE IF NOT EXISTS job_logs_id_seq;
+    ALTER TABLE job_logs RENAME TO job_logs_unpartitioned;
+
+    CREATE TABLE job_logs (
+        id BIGINT NOT NULL DEFAULT nextval('job_logs_id_seq'),
+        job_id UUID NOT NULL REFERENCES jobs(id) ON DELETE CASCADE,
+        timestamp TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+        level VARCHAR(20) NOT NULL DEFAULT 'INFO',
+        step VARCHAR(255),
+        message TEXT NOT NULL,
+        details JSONB,
+        CONSTRAINT job_logs_partitioned_pkey PRIMARY KEY (id, timestamp),
+        CONSTRAINT job_logs_partitioned_level_check CHECK (level IN ('DEBUG', 'INFO', 'WARN', 'ERROR'))
+    ) PARTITION BY RANGE (timestamp);
+
+    -- Catches rows older than the first monthly partition, i.e. migrated history
+    CREATE TABLE job_logs_default PARTITION OF job_logs DEFAULT;
+    PERFORM create_job_logs_partition(CURRENT_DATE);
+    PERFORM create_job_logs_partition((CURRENT_DATE + INTERVAL '1 month')::DATE);
+
+    INSERT INTO job_logs (id, job_id, timestamp, level, step, message, details)
+    SELECT id, job_id, COALESCE(timestamp, NOW()), level, step, message, details
+    FROM job_logs_unpartitioned;
+
+    -- Keep the id sequence when the old table (its owner since V3) is dropped
+    ALTER SEQUENCE job_logs_id_seq OWNED BY job_logs.id;
+    DROP TABLE job_logs_unpartitioned;
+
+    CREATE INDEX idx_job_logs_job_time ON job_logs(job_id, timestamp);
+END $$;
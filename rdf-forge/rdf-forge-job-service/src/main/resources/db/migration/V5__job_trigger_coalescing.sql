@@ -0,0 +1,13 @@
+-- RDF Forge Job Service - Trigger coalescing
+-- Version: 5.0.0
+-- Description: Identifies jobs by what they would execute, so a trigger for a
+-- pipeline that is already queued with the same version and variables joins the
+-- pending job instead of creating another one
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS trigger_key VARCHAR(64);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS trigger_count INTEGER DEFAULT 1;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_pending_trigger_key ON jobs(trigger_key) WHERE status = 'PENDING';
+
+COMMENT ON COLUMN jobs.trigger_key IS 'SHA-256 of pipeline id, version, dry-run flag and variables';
+COMMENT ON COLUMN jobs.trigger_count IS 'Number of triggers coalesced into this job';
@@ -0,0 +1,44 @@
+-- RDF Forge Job Service - Pipeline scheduler
+-- Version: 6.0.0
+-- Description: Brings job_schedules to the shape the scheduler uses (also when the
+-- table was created by docker/init-db.sql with is_active/last_run/next_run) and
+-- indexes the precomputed next fire time of active schedules
+
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS name VARCHAR(255);
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS description TEXT;
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS enabled BOOLEAN DEFAULT TRUE;
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS last_run_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS next_run_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS timezone VARCHAR(64) DEFAULT 'UTC';
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS misfire_policy VARCHAR(20) DEFAULT 'FIRE_ONCE';
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS jitter_seconds INTEGER DEFAULT 0;
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'job_schedules' AND column_name = 'is_active') THEN
+        UPDATE job_schedules SET enabled = COALESCE(is_active, TRUE);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'job_schedules' AND column_name = 'last_run') THEN
+        UPDATE job_schedules SET last_run_at = last_run WHERE last_run_at IS NULL;
+    END IF;
+END $$;
+
+-- next_run is not copied: the scheduler computes next_run_at for rows that have none
+UPDATE job_schedules SET name = cron_expression WHERE name IS NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'job_schedules_misfire_policy_check') THEN
+        ALTER TABLE job_schedules ADD CONSTRAINT job_schedules_misfire_policy_check
+            CHECK (misfire_policy IN ('FIRE_ONCE', 'CATCH_UP', 'SKIP'));
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_job_schedules_due ON job_schedules(next_run_at) WHERE enabled = TRUE;
+
+COMMENT ON COLUMN job_schedules.next_run_at IS 'Next fire time including jitter; maintained by the scheduler';
+COMMENT ON COLUMN job_schedules.misfire_policy IS 'What to do with fire times missed while no scheduler ran: FIRE_ONCE, CATCH_UP or SKIP';
+COMMENT ON COLUMN job_schedules.jitter_seconds IS 'Fire times are delayed by a stable per-schedule offset of up to this many seconds';
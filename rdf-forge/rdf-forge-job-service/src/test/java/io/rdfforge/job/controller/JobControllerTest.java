@@ -1,5 +1,6 @@
 package io.rdfforge.job.controller;
 
+import io.rdfforge.job.service.JobEventBus;
 import io.rdfforge.job.service.JobService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,9 @@ class JobControllerTest {
     @MockBean
     private JobService jobService;
 
+    @MockBean
+    private JobEventBus eventBus;
+
     @Test
     void testListJobs() throws Exception {
         mockMvc.perform(get("/api/v1/jobs"))
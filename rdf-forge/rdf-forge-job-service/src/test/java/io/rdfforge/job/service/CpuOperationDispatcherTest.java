@@ -0,0 +1,57 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.engine.operation.Operation;
+import io.rdfforge.engine.operation.OperationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CpuOperationDispatcher Tests")
+class CpuOperationDispatcherTest {
+
+    @SuppressWarnings("unchecked")
+    private final CpuOperationDispatcher dispatcher =
+        new CpuOperationDispatcher(mock(ObjectProvider.class), 2, "TRANSFORM, VALIDATION");
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("CPU-heavy operations run on the CPU pool, others on the calling thread")
+    void execute_DispatchesByOperationType() throws Exception {
+        assertTrue(threadRunning(Operation.OperationType.TRANSFORM).startsWith("job-cpu-"));
+        assertEquals(Thread.currentThread().getName(), threadRunning(Operation.OperationType.SOURCE));
+    }
+
+    @Test
+    @DisplayName("Operation failures reach the caller unchanged")
+    void execute_RethrowsOperationException() throws Exception {
+        Operation operation = mock(Operation.class);
+        when(operation.getType()).thenReturn(Operation.OperationType.VALIDATION);
+        OperationException failure = new OperationException("validate", "invalid");
+        when(operation.execute(any())).thenThrow(failure);
+
+        assertSame(failure, assertThrows(OperationException.class, () -> dispatcher.execute(operation, null)));
+    }
+
+    private String threadRunning(Operation.OperationType type) throws Exception {
+        AtomicReference<String> thread = new AtomicReference<>();
+        Operation operation = mock(Operation.class);
+        when(operation.getType()).thenReturn(type);
+        when(operation.execute(any())).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return null;
+        });
+        dispatcher.execute(operation, null);
+        return thread.get();
+    }
+}
@@ -0,0 +1,175 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.job.service.JobEventBus.EventId;
+import io.rdfforge.job.service.JobEventBus.JobEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JobEventBus Tests")
+class JobEventBusTest {
+
+    private final JobEventBus bus = new JobEventBus(100, 60_000, 60);
+    private final UUID jobId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Event ids keep increasing when a job is requeued")
+    void start_NewAttemptContinuesIds() throws Exception {
+        bus.start(jobId, 1);
+        bus.publish(jobId, JobEventBus.LOG, Map.of("message", "first"));
+        bus.publish(jobId, JobEventBus.LOG, Map.of("message", "second"));
+        RecordingEmitter emitter = new RecordingEmitter();
+        bus.subscribe(jobId, null, Map.of(), emitter);
+
+        bus.start(jobId, 2);
+        bus.publish(jobId, JobEventBus.LOG, Map.of("message", "retried"));
+        bus.complete(jobId, Map.of("status", "COMPLETED"));
+
+        awaitTrue(() -> emitter.completed);
+        assertEquals(List.of("1:1", "1:2", "2:1", "2:2"), emitter.ids());
+    }
+
+    @Test
+    @DisplayName("Resuming with an id of an earlier attempt replays the new attempt")
+    void subscribe_ResumesFromEarlierAttempt() throws Exception {
+        bus.start(jobId, 1);
+        bus.publish(jobId, JobEventBus.LOG, Map.of("message", "first"));
+        bus.start(jobId, 2);
+        bus.publish(jobId, JobEventBus.LOG, Map.of("message", "retried 1"));
+        bus.publish(jobId, JobEventBus.LOG, Map.of("message", "retried 2"));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        bus.subscribe(jobId, "1:5", Map.of(), resumed);
+        RecordingEmitter current = new RecordingEmitter();
+        bus.subscribe(jobId, "2:1", Map.of(), current);
+        bus.complete(jobId, Map.of("status", "COMPLETED"));
+
+        awaitTrue(() -> resumed.completed && current.completed);
+        assertEquals(List.of("2:1", "2:2", "2:3"), resumed.ids());
+        assertEquals(List.of("2:2", "2:3"), current.ids());
+    }
+
+    @Test
+    @DisplayName("Legacy and unreadable Last-Event-IDs are parsed leniently")
+    void eventId_Parse() {
+        assertEquals(new EventId(3, 7), EventId.parse("3:7"));
+        assertEquals(new EventId(0, 7), EventId.parse("7"));
+        assertEquals(new EventId(0, 0), EventId.parse("garbage"));
+        assertEquals(new EventId(0, 0), EventId.parse(null));
+        assertTrue(new EventId(2, 1).compareTo(new EventId(1, 99)) > 0);
+    }
+
+    @Test
+    @DisplayName("Relayed events reach subscribers on other nodes until the job completes")
+    void relayed_StreamsToSubscribers() throws Exception {
+        bus.setRelay((id, event) -> { });
+        RecordingEmitter emitter = new RecordingEmitter();
+        bus.subscribe(jobId, null, Map.of(), emitter);
+
+        bus.relayed(jobId, new JobEvent(new EventId(1, 1), JobEventBus.LOG, Map.of("message", "a")));
+        bus.relayed(jobId, new JobEvent(new EventId(1, 1), JobEventBus.LOG, Map.of("message", "duplicate")));
+        bus.relayed(jobId, new JobEvent(new EventId(1, 3), JobEventBus.LOG, Map.of("message", "after a gap")));
+        bus.relayed(jobId, new JobEvent(new EventId(1, 4), JobEventBus.COMPLETE, Map.of("status", "FAILED")));
+
+        awaitTrue(() -> emitter.completed);
+        assertEquals(List.of("1:1", "1:3", "1:4"), emitter.ids());
+    }
+
+    @Test
+    @DisplayName("Events published locally are handed to the relay")
+    void publish_ForwardsToRelay() {
+        List<JobEvent> forwarded = new ArrayList<>();
+        bus.setRelay((id, event) -> forwarded.add(event));
+
+        bus.start(jobId, 1);
+        bus.publish(jobId, JobEventBus.LOG, Map.of("message", "a"));
+        bus.complete(jobId, Map.of("status", "COMPLETED"));
+        bus.publish(jobId, JobEventBus.LOG, Map.of("message", "after completion"));
+
+        assertEquals(List.of(new EventId(1, 1), new EventId(1, 2)), forwarded.stream().map(JobEvent::id).toList());
+        assertEquals(JobEventBus.COMPLETE, forwarded.get(1).type());
+    }
+
+    @Test
+    @DisplayName("Without a relay, subscribers of unknown jobs get a reconnect hint")
+    void subscribe_WithoutRelayAndStream_SendsStatus() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        bus.subscribe(jobId, null, Map.of("status", "RUNNING"), emitter);
+
+        awaitTrue(() -> emitter.completed);
+        assertEquals(1, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("event:status"));
+        assertTrue(emitter.events.get(0).contains("retry:"));
+    }
+
+    @Test
+    @DisplayName("Relay payloads round-trip and stay within the NOTIFY limit")
+    void relayPayload_RoundTripsAndTruncates() {
+        JobEvent event = new JobEvent(new EventId(2, 5), JobEventBus.LOG,
+            Map.of("level", "INFO", "message", "hello"));
+        JobEventRelay.Relayed decoded = JobEventRelay.decode(JobEventRelay.encode("node", jobId, event));
+        assertEquals("node", decoded.node());
+        assertEquals(jobId, decoded.jobId());
+        assertEquals(event, decoded.event());
+
+        Map<String, Object> large = new LinkedHashMap<>();
+        large.put("level", "ERROR");
+        large.put("message", "x".repeat(20_000));
+        large.put("details", Map.of("stackTrace", "y".repeat(20_000)));
+        String payload = JobEventRelay.encode("node", jobId, new JobEvent(new EventId(1, 1), JobEventBus.LOG, large));
+        assertTrue(payload.length() <= JobEventRelay.MAX_PAYLOAD_BYTES);
+        Map<?, ?> data = (Map<?, ?>) JobEventRelay.decode(payload).event().data();
+        assertEquals("ERROR", data.get("level"));
+        assertEquals(true, data.get("truncated"));
+        assertFalse(data.containsKey("details"));
+
+        assertNull(JobEventRelay.decode("not json"));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached in time");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Emitter that records the text of every event instead of writing a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            events.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> ids() {
+            return events.stream()
+                .map(event -> event.lines().filter(line -> line.startsWith("id:")).findFirst().orElse("id:"))
+                .map(line -> line.substring("id:".length()))
+                .toList();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.job.entity.JobLogEntity.LogLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobLogWriter Tests")
+class JobLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private JobLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new JobLogWriter(jdbcTemplate, new JobEventBus(10, 60_000, 60), 3, 100, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Full buffer drops DEBUG lines before INFO and keeps ERROR")
+    @SuppressWarnings("unchecked")
+    void append_DropsDebugFirst() {
+        UUID jobId = UUID.randomUUID();
+        writer.append(jobId, LogLevel.DEBUG, null, "debug", null);
+        writer.append(jobId, LogLevel.INFO, null, "info 1", null);
+        writer.append(jobId, LogLevel.INFO, null, "info 2", null);
+        writer.append(jobId, LogLevel.INFO, null, "info 3", null);
+        writer.append(jobId, LogLevel.DEBUG, null, "debug 2", null);
+        writer.append(jobId, LogLevel.ERROR, null, "error", null);
+
+        writer.flush(jobId);
+
+        ArgumentCaptor<Collection<Object>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), eq(4), any(ParameterizedPreparedStatementSetter.class));
+        List<String> messages = batch.getValue().stream().map(Object::toString).toList();
+        assertTrue(messages.get(0).contains("info 2"));
+        assertTrue(messages.get(1).contains("info 3"));
+        assertTrue(messages.get(2).contains("error"));
+        assertTrue(messages.get(3).contains("3 log lines dropped"));
+        assertEquals(3, writer.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("ERROR lines are kept when the buffer holds nothing else")
+    @SuppressWarnings("unchecked")
+    void append_KeepsErrorsPastCapacity() {
+        UUID jobId = UUID.randomUUID();
+        for (int i = 1; i <= 4; i++) {
+            writer.append(jobId, LogLevel.ERROR, null, "error " + i, null);
+        }
+
+        writer.flush(jobId);
+
+        ArgumentCaptor<Collection<Object>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), batch.capture(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        List<String> messages = batch.getAllValues().stream().flatMap(Collection::stream).map(Object::toString).toList();
+        for (int i = 1; i <= 4; i++) {
+            String error = "error " + i;
+            assertTrue(messages.stream().anyMatch(m -> m.contains(error)), error);
+        }
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Flushing a job releases its buffer")
+    void flush_ReleasesBuffer() {
+        UUID jobId = UUID.randomUUID();
+        writer.append(jobId, LogLevel.WARN, null, "requeued", null);
+
+        writer.flush(jobId);
+        writer.flush(jobId);
+
+        assertEquals(0, writer.bufferCount());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyCollection(), eq(1),
+            any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Flushing a job without buffered lines writes nothing")
+    void flush_NothingBuffered() {
+        writer.flush(UUID.randomUUID());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
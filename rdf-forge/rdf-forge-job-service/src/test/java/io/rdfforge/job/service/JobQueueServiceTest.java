@@ -0,0 +1,173 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.job.entity.JobEntity;
+import io.rdfforge.job.entity.JobEntity.JobStatus;
+import io.rdfforge.job.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobQueueService Tests")
+class JobQueueServiceTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private PipelineDefinitionCache pipelineCache;
+
+    private JobQueueService jobQueue;
+
+    @BeforeEach
+    void setUp() {
+        JobResourceEstimator estimator = new JobResourceEstimator(jobRepository, pipelineCache, 128, 32, 300);
+        AdmissionController admission = new AdmissionController(estimator, jobRepository, pipelineCache,
+            new AdmissionController.Limits(1024, 4, 1, 4, Duration.ofMinutes(10)), null);
+        jobQueue = new JobQueueService(jobRepository, admission, "worker-1", 60, 20);
+    }
+
+    @Test
+    @DisplayName("Claimed jobs are RUNNING and leased to the worker")
+    void claim_LeasesJobsToWorker() {
+        JobEntity job = new JobEntity();
+        job.setId(UUID.randomUUID());
+        job.setPipelineId(UUID.randomUUID());
+        when(jobRepository.lockPendingJobs(eq(JobStatus.PENDING), any(Pageable.class))).thenReturn(List.of(job));
+        when(jobRepository.tryLockClaimKey(anyString())).thenReturn(true);
+
+        List<UUID> claimed = jobQueue.claim(2);
+
+        assertEquals(List.of(job.getId()), claimed);
+        assertEquals(JobStatus.RUNNING, job.getStatus());
+        assertEquals("worker-1", job.getLockedBy());
+        assertNotNull(job.getLeaseExpiresAt());
+        assertNotNull(job.getStartedAt());
+        assertEquals(1, job.getAttempts());
+        verify(jobRepository).tryLockClaimKey("rdfforge.jobs.claim:pipeline:" + job.getPipelineId());
+        verify(jobRepository).saveAll(List.of(job));
+    }
+
+    @Test
+    @DisplayName("Jobs of a pipeline at its concurrency limit are passed over")
+    void claim_SkipsPipelinesAtLimit() {
+        UUID busyPipeline = UUID.randomUUID();
+        JobEntity blocked = pendingJob(busyPipeline);
+        JobEntity other = pendingJob(UUID.randomUUID());
+        when(jobRepository.lockPendingJobs(eq(JobStatus.PENDING), any(Pageable.class))).thenReturn(List.of(blocked, other));
+        when(jobRepository.tryLockClaimKey(anyString())).thenReturn(true);
+        when(jobRepository.countRunningByPipeline()).thenReturn(List.<Object[]>of(new Object[]{busyPipeline, 1L}));
+
+        List<UUID> claimed = jobQueue.claim(1);
+
+        assertEquals(List.of(other.getId()), claimed);
+        assertEquals(JobStatus.PENDING, blocked.getStatus());
+    }
+
+    @Test
+    @DisplayName("Jobs whose pipeline another node is claiming stay queued")
+    void claim_SkipsPipelinesLockedByOtherNodes() throws Exception {
+        UUID contendedPipeline = UUID.randomUUID();
+        JobEntity contended = pendingJob(contendedPipeline);
+        JobEntity other = pendingJob(UUID.randomUUID());
+        when(jobRepository.lockPendingJobs(eq(JobStatus.PENDING), any(Pageable.class)))
+            .thenReturn(List.of(contended, other));
+        when(jobRepository.tryLockClaimKey(anyString())).thenReturn(true);
+        when(jobRepository.tryLockClaimKey("rdfforge.jobs.claim:pipeline:" + contendedPipeline)).thenReturn(false);
+
+        List<UUID> claimed = jobQueue.claim(2);
+
+        assertEquals(List.of(other.getId()), claimed);
+        assertEquals(JobStatus.PENDING, contended.getStatus());
+    }
+
+    @Test
+    @DisplayName("Project limits count pipelines that were not cached yet")
+    void claim_ResolvesProjectsOfUncachedPipelines() throws Exception {
+        AdmissionController admission = new AdmissionController(
+            new JobResourceEstimator(jobRepository, pipelineCache, 128, 32, 300), jobRepository, pipelineCache,
+            new AdmissionController.Limits(1024, 4, 4, 1, Duration.ofMinutes(10)), null);
+        jobQueue = new JobQueueService(jobRepository, admission, "worker-1", 60, 20);
+
+        UUID project = UUID.randomUUID();
+        UUID runningPipeline = UUID.randomUUID();
+        JobEntity sameProject = pendingJob(UUID.randomUUID());
+        JobEntity otherProject = pendingJob(UUID.randomUUID());
+        when(pipelineCache.projectId(runningPipeline)).thenReturn(project);
+        when(pipelineCache.projectId(sameProject.getPipelineId())).thenReturn(project);
+        when(pipelineCache.projectId(otherProject.getPipelineId())).thenReturn(UUID.randomUUID());
+        when(jobRepository.lockPendingJobs(eq(JobStatus.PENDING), any(Pageable.class)))
+            .thenReturn(List.of(sameProject, otherProject));
+        when(jobRepository.tryLockClaimKey(anyString())).thenReturn(true);
+        when(jobRepository.countRunningByPipeline()).thenReturn(List.<Object[]>of(new Object[]{runningPipeline, 1L}));
+
+        List<UUID> claimed = jobQueue.claim(2);
+
+        assertEquals(List.of(otherProject.getId()), claimed);
+        verify(jobRepository).tryLockClaimKey("rdfforge.jobs.claim:project:" + project);
+    }
+
+    @Test
+    @DisplayName("Heartbeat reports jobs cancelled elsewhere")
+    void heartbeat_ReturnsCancelledJobs() {
+        UUID running = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        Set<UUID> ids = Set.of(running, cancelled);
+        when(jobRepository.renewLeases(eq("worker-1"), eq(ids), any(), any())).thenReturn(1);
+        when(jobRepository.findCancelledIds(ids)).thenReturn(List.of(cancelled));
+
+        assertEquals(List.of(cancelled), jobQueue.heartbeat(ids).cancelled());
+    }
+
+    @Test
+    @DisplayName("Expired leases are requeued until the attempts are used up")
+    void recoverExpiredLeases_RequeuesOrFails() {
+        JobEntity retry = runningJob("worker-2", 1);
+        JobEntity exhausted = runningJob("worker-2", 3);
+        JobEntity ours = runningJob("worker-1", 1);
+        when(jobRepository.lockExpiredLeases(any(Instant.class), any(Pageable.class)))
+            .thenReturn(List.of(retry, exhausted, ours));
+
+        JobQueueService.Recovery recovery = jobQueue.recoverExpiredLeases(Set.of(ours.getId()), 3, Instant.now(), 50);
+
+        assertEquals(List.of(retry.getId()), recovery.requeued());
+        assertEquals(List.of(exhausted.getId()), recovery.failed());
+        assertEquals(JobStatus.PENDING, retry.getStatus());
+        assertNull(retry.getLockedBy());
+        assertEquals(JobStatus.FAILED, exhausted.getStatus());
+        assertNotNull(exhausted.getErrorMessage());
+        assertEquals(JobStatus.RUNNING, ours.getStatus());
+        assertTrue(ours.getLeaseExpiresAt().isAfter(Instant.now()));
+    }
+
+    private static JobEntity runningJob(String lockedBy, int attempts) {
+        JobEntity job = pendingJob(UUID.randomUUID());
+        job.setStatus(JobStatus.RUNNING);
+        job.setLockedBy(lockedBy);
+        job.setAttempts(attempts);
+        job.setLeaseExpiresAt(Instant.now().minusSeconds(30));
+        return job;
+    }
+
+    private static JobEntity pendingJob(UUID pipelineId) {
+        JobEntity job = new JobEntity();
+        job.setId(UUID.randomUUID());
+        job.setPipelineId(pipelineId);
+        job.setStatus(JobStatus.PENDING);
+        return job;
+    }
+}
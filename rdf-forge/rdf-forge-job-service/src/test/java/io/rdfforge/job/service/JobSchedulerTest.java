@@ -0,0 +1,86 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.job.entity.JobScheduleEntity;
+import io.rdfforge.job.entity.JobScheduleEntity.MisfirePolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JobScheduler Tests")
+class JobSchedulerTest {
+
+    private static final Duration THRESHOLD = Duration.ofSeconds(60);
+    private static final Instant NOW = Instant.parse("2024-05-01T12:00:05Z");
+
+    @Test
+    @DisplayName("A schedule due now fires once and moves to its next fire time")
+    void plan_OnTime_FiresOnce() {
+        JobScheduleEntity schedule = hourly(MisfirePolicy.FIRE_ONCE, "2024-05-01T12:00:00Z");
+
+        JobScheduler.FirePlan plan = JobScheduler.plan(schedule, NOW, THRESHOLD, 10);
+
+        assertFalse(plan.misfired());
+        assertEquals(List.of(Instant.parse("2024-05-01T12:00:00Z")), plan.fireTimes());
+        assertEquals(Instant.parse("2024-05-01T13:00:00Z"), plan.nextRun());
+    }
+
+    @Test
+    @DisplayName("FIRE_ONCE runs a single job for all missed fire times")
+    void plan_FireOnce_FiresLatestMissed() {
+        JobScheduleEntity schedule = hourly(MisfirePolicy.FIRE_ONCE, "2024-05-01T09:00:00Z");
+
+        JobScheduler.FirePlan plan = JobScheduler.plan(schedule, NOW, THRESHOLD, 10);
+
+        assertTrue(plan.misfired());
+        assertEquals(List.of(Instant.parse("2024-05-01T12:00:00Z")), plan.fireTimes());
+        assertEquals(Instant.parse("2024-05-01T13:00:00Z"), plan.nextRun());
+    }
+
+    @Test
+    @DisplayName("CATCH_UP runs each missed fire time up to the limit")
+    void plan_CatchUp_FiresEachMissed() {
+        JobScheduleEntity schedule = hourly(MisfirePolicy.CATCH_UP, "2024-05-01T09:00:00Z");
+
+        assertEquals(4, JobScheduler.plan(schedule, NOW, THRESHOLD, 10).fireTimes().size());
+        assertEquals(2, JobScheduler.plan(schedule, NOW, THRESHOLD, 2).fireTimes().size());
+    }
+
+    @Test
+    @DisplayName("SKIP drops missed fire times")
+    void plan_Skip_FiresNothing() {
+        JobScheduleEntity schedule = hourly(MisfirePolicy.SKIP, "2024-05-01T09:00:00Z");
+
+        JobScheduler.FirePlan plan = JobScheduler.plan(schedule, NOW, THRESHOLD, 10);
+
+        assertTrue(plan.fireTimes().isEmpty());
+        assertEquals(Instant.parse("2024-05-01T13:00:00Z"), plan.nextRun());
+    }
+
+    @Test
+    @DisplayName("Jitter is stable and below the configured bound")
+    void jitter_IsStablePerSchedule() {
+        JobScheduleEntity schedule = hourly(MisfirePolicy.FIRE_ONCE, "2024-05-01T12:00:00Z");
+        schedule.setJitterSeconds(30);
+
+        Duration jitter = JobScheduleService.jitter(schedule);
+
+        assertEquals(jitter, JobScheduleService.jitter(schedule));
+        assertTrue(jitter.getSeconds() >= 0 && jitter.getSeconds() < 30);
+    }
+
+    private static JobScheduleEntity hourly(MisfirePolicy policy, String nextRun) {
+        JobScheduleEntity schedule = new JobScheduleEntity();
+        schedule.setId(UUID.randomUUID());
+        schedule.setPipelineId(UUID.randomUUID());
+        schedule.setCronExpression("0 * * * *");
+        schedule.setMisfirePolicy(policy);
+        schedule.setNextRun(Instant.parse(nextRun));
+        return schedule;
+    }
+}
@@ -26,6 +26,8 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -42,6 +44,12 @@ class JobServiceTest {
     @Mock
     private JobExecutorService executorService;
 
+    @Mock
+    private JobLogArchive logArchive;
+
+    @Mock
+    private JobLogWriter logWriter;
+
     private JobService jobService;
 
     private UUID jobId;
@@ -51,7 +59,7 @@ class JobServiceTest {
 
     @BeforeEach
     void setUp() {
-        jobService = new JobService(jobRepository, jobLogRepository, executorService);
+        jobService = new JobService(jobRepository, jobLogRepository, executorService, logArchive, logWriter, true);
         
         jobId = UUID.randomUUID();
         pipelineId = UUID.randomUUID();
@@ -218,6 +226,23 @@ class JobServiceTest {
             assertFalse(result.isDryRun()); // Scheduled jobs are real executions
             assertEquals(5, result.getPriority());
         }
+
+        @Test
+        @DisplayName("Should join an identical pending job instead of queueing another")
+        void createScheduledJob_WhenIdenticalJobPending_Coalesces() {
+            sampleJob.setTriggerKey(JobTriggerKey.of(pipelineId, null, false, Map.of("key", "value")));
+            when(jobRepository.lockPendingByTriggerKey(eq(sampleJob.getTriggerKey()), any(Pageable.class)))
+                .thenReturn(List.of(sampleJob));
+            when(jobRepository.save(sampleJob)).thenReturn(sampleJob);
+
+            JobEntity result = jobService.createScheduledJob(pipelineId, Map.of("key", "value"));
+
+            assertEquals(jobId, result.getId());
+            assertEquals(2, result.getTriggerCount());
+            verify(jobRepository).lockTriggerKey(sampleJob.getTriggerKey());
+            verify(logWriter).append(eq(jobId), eq(LogLevel.INFO), any(), anyString(), eq(Map.of("triggerCount", 2)));
+            verify(executorService, never()).executeAsync(any());
+        }
     }
 
     @Nested
@@ -500,6 +525,23 @@ class JobServiceTest {
 
             assertEquals(1, result.size());
         }
+
+        @Test
+        @DisplayName("Should read archived logs once they left the table")
+        void getLogs_ArchivedJob_ReadsArchive() throws Exception {
+            JobLogEntity info = new JobLogEntity();
+            info.setLevel(LogLevel.INFO);
+            JobLogEntity error = new JobLogEntity();
+            error.setLevel(LogLevel.ERROR);
+            sampleJob.setLogsArchivedAt(Instant.now());
+            when(jobLogRepository.findByJobIdAndLevels(eq(jobId), anyList())).thenReturn(List.of());
+            when(jobRepository.findById(jobId)).thenReturn(Optional.of(sampleJob));
+            when(logArchive.read(jobId)).thenReturn(List.of(info, error));
+
+            List<JobLogEntity> result = jobService.getLogs(jobId, LogLevel.WARN);
+
+            assertEquals(List.of(error), result);
+        }
     }
 
     @Nested
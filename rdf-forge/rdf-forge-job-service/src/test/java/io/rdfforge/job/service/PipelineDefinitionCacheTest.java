@@ -0,0 +1,133 @@
+package io.rdfforge.job.service;
+
+import io.rdfforge.common.model.Pipeline;
+import io.rdfforge.engine.pipeline.PipelineExecutor.PipelineDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PipelineDefinitionCache Tests")
+class PipelineDefinitionCacheTest {
+
+    private static final String DEFINITION = "{\"steps\":[{\"id\":\"load\",\"operation\":\"load-csv\",\"params\":{\"file\":\"a.csv\"}}]}";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private UUID pipelineId;
+
+    @BeforeEach
+    void setUp() {
+        pipelineId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Fresh entries are served without calling the pipeline service")
+    void get_CachesParsedDefinition() throws Exception {
+        PipelineDefinitionCache cache = new PipelineDefinitionCache(restTemplate, "http://pipelines", 300);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Pipeline.class)))
+            .thenReturn(ResponseEntity.ok().eTag("\"3\"").body(pipeline(3)));
+
+        PipelineDefinition first = cache.get(pipelineId, null);
+        PipelineDefinition second = cache.get(pipelineId, 3);
+
+        assertSame(first, second);
+        assertEquals("load-csv", first.getSteps().get(0).getOperationType());
+        verify(restTemplate, times(1)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Pipeline.class));
+    }
+
+    @Test
+    @DisplayName("Expired entries are revalidated and kept on 304 or when the service is down")
+    void get_RevalidatesExpiredEntries() throws Exception {
+        PipelineDefinitionCache cache = new PipelineDefinitionCache(restTemplate, "http://pipelines", 0);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Pipeline.class)))
+            .thenReturn(ResponseEntity.ok().eTag("\"3\"").body(pipeline(3)))
+            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<Pipeline>build())
+            .thenThrow(new ResourceAccessException("connection refused"));
+
+        PipelineDefinition loaded = cache.get(pipelineId, null);
+
+        assertSame(loaded, cache.get(pipelineId, null));
+        assertSame(loaded, cache.get(pipelineId, null));
+    }
+
+    @Test
+    @DisplayName("A job's version is fetched from the versioned endpoint, not served from the latest")
+    void get_FetchesRequestedVersion() throws Exception {
+        PipelineDefinitionCache cache = new PipelineDefinitionCache(restTemplate, "http://pipelines", 300);
+        when(restTemplate.exchange(eq("http://pipelines/api/v1/pipelines/" + pipelineId), eq(HttpMethod.GET),
+                any(HttpEntity.class), eq(Pipeline.class)))
+            .thenReturn(ResponseEntity.ok().eTag("\"4\"").body(pipeline(4)));
+        when(restTemplate.exchange(eq("http://pipelines/api/v1/pipelines/" + pipelineId + "/versions/3"),
+                eq(HttpMethod.GET), any(HttpEntity.class), eq(Pipeline.class)))
+            .thenReturn(ResponseEntity.ok().eTag("\"3\"").body(pipeline(3)));
+
+        PipelineDefinition latest = cache.get(pipelineId, null);
+        PipelineDefinition version3 = cache.get(pipelineId, 3);
+
+        assertNotSame(latest, version3);
+        assertSame(version3, cache.get(pipelineId, 3));
+        assertSame(latest, cache.get(pipelineId, 4));
+        verify(restTemplate, times(2)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Pipeline.class));
+    }
+
+    @Test
+    @DisplayName("A version the pipeline service no longer has fails instead of using a cached one")
+    void get_MissingVersionFails() throws Exception {
+        PipelineDefinitionCache cache = new PipelineDefinitionCache(restTemplate, "http://pipelines", 300);
+        when(restTemplate.exchange(eq("http://pipelines/api/v1/pipelines/" + pipelineId), eq(HttpMethod.GET),
+                any(HttpEntity.class), eq(Pipeline.class)))
+            .thenReturn(ResponseEntity.ok().eTag("\"4\"").body(pipeline(4)));
+        when(restTemplate.exchange(eq("http://pipelines/api/v1/pipelines/" + pipelineId + "/versions/3"),
+                eq(HttpMethod.GET), any(HttpEntity.class), eq(Pipeline.class)))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        cache.get(pipelineId, null);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> cache.get(pipelineId, 3));
+
+        assertTrue(e.getMessage().contains("Version 3"));
+    }
+
+    @Test
+    @DisplayName("The project comes from any cached version")
+    void projectId_UsesAnyCachedVersion() throws Exception {
+        PipelineDefinitionCache cache = new PipelineDefinitionCache(restTemplate, "http://pipelines", 300);
+        UUID projectId = UUID.randomUUID();
+        Pipeline version3 = pipeline(3);
+        version3.setProjectId(projectId);
+        when(restTemplate.exchange(eq("http://pipelines/api/v1/pipelines/" + pipelineId + "/versions/3"),
+                eq(HttpMethod.GET), any(HttpEntity.class), eq(Pipeline.class)))
+            .thenReturn(ResponseEntity.ok().eTag("\"3\"").body(version3));
+        cache.get(pipelineId, 3);
+
+        assertEquals(projectId, cache.projectId(pipelineId));
+        verify(restTemplate, times(1)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Pipeline.class));
+    }
+
+    private Pipeline pipeline(int version) {
+        return Pipeline.builder()
+            .id(pipelineId)
+            .name("test")
+            .version(version)
+            .definitionFormat(Pipeline.DefinitionFormat.JSON)
+            .definition(DEFINITION)
+            .build();
+    }
+}
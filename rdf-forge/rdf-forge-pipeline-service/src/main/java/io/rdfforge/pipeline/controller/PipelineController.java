@@ -1,5 +1,6 @@
 package io.rdfforge.pipeline.controller;
 
+import io.rdfforge.common.exception.ResourceNotFoundException;
 import io.rdfforge.common.model.Pipeline;
 import io.rdfforge.engine.operation.OperationRegistry;
 import io.rdfforge.pipeline.service.PipelineService;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -49,10 +51,26 @@ public class PipelineController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get pipeline by ID")
-    public ResponseEntity<Pipeline> getById(@PathVariable UUID id) {
+    @Operation(summary = "Get pipeline by ID", description = "The ETag is the pipeline version; If-None-Match gives 304 while it is current")
+    public ResponseEntity<Pipeline> getById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Pipeline pipeline = pipelineService.getById(id);
+        String etag = "\"" + pipeline.getVersion() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(pipeline);
+    }
+
+    @GetMapping("/{id}/versions/{version}")
+    @Operation(summary = "Get a specific version of a pipeline", description = "Only the current version is kept; any other version gives 404")
+    public ResponseEntity<Pipeline> getVersion(@PathVariable UUID id, @PathVariable int version) {
         Pipeline pipeline = pipelineService.getById(id);
-        return ResponseEntity.ok(pipeline);
+        if (pipeline.getVersion() == null || pipeline.getVersion() != version) {
+            throw new ResourceNotFoundException("Pipeline version", id + "@" + version);
+        }
+        return ResponseEntity.ok().eTag("\"" + version + "\"").body(pipeline);
     }
 
     @PutMapping("/{id}")
@@ -1,14 +1,17 @@
 package io.rdfforge.pipeline.destination.providers;
 
+import io.rdfforge.engine.rdf.BinaryRdf;
 import io.rdfforge.pipeline.destination.DestinationInfo;
 import io.rdfforge.pipeline.destination.DestinationInfo.ConfigField;
 import io.rdfforge.pipeline.destination.DestinationProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFFormat;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -85,6 +88,17 @@ public class TriplestoreDestinationProvider implements DestinationProvider {
             10000
         ));
 
+        configFields.put("wireFormat", new ConfigField(
+            "wireFormat",
+            "Upload Format",
+            "select",
+            "Serialization used for Graph Store uploads; binary RDF Thrift/Protobuf avoids text parsing on the server (Fuseki)",
+            false,
+            "n-triples",
+            List.of("n-triples", "rdf-thrift", "rdf-protobuf"),
+            false
+        ));
+
         configFields.put("timeout", new ConfigField(
             "timeout",
             "Timeout (seconds)",
@@ -108,7 +122,7 @@ public class TriplestoreDestinationProvider implements DestinationProvider {
                 DestinationInfo.CAPABILITY_DELETE,
                 DestinationInfo.CAPABILITY_BATCH
             ),
-            List.of("turtle", "n-triples", "rdf/xml", "json-ld", "trig", "n-quads")
+            List.of("turtle", "n-triples", "rdf/xml", "json-ld", "trig", "n-quads", "rdf-thrift", "rdf-protobuf")
         );
     }
 
@@ -131,11 +145,6 @@ public class TriplestoreDestinationProvider implements DestinationProvider {
                 clearGraph(graphUri, config);
             }
 
-            // Serialize model to N-Triples for efficient upload
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            RDFDataMgr.write(baos, model, RDFFormat.NTRIPLES);
-            String rdfData = baos.toString(StandardCharsets.UTF_8);
-
             // Build SPARQL UPDATE query
             StringBuilder updateQuery = new StringBuilder();
             if (graphUri != null && !graphUri.isBlank()) {
@@ -149,8 +158,10 @@ public class TriplestoreDestinationProvider implements DestinationProvider {
             long tripleCount = model.size();
 
             if (tripleCount <= 10000) {
-                // Use SPARQL UPDATE with inline data
-                updateQuery.append(rdfData);
+                // Use SPARQL UPDATE with inline N-Triples data
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                RDFDataMgr.write(baos, model, RDFFormat.NTRIPLES);
+                updateQuery.append(baos.toString(StandardCharsets.UTF_8));
                 if (graphUri != null && !graphUri.isBlank()) {
                     updateQuery.append(" } }");
                 } else {
@@ -160,7 +171,8 @@ public class TriplestoreDestinationProvider implements DestinationProvider {
                 executeSparqlUpdate(endpoint, updateQuery.toString(), username, password, timeout);
             } else {
                 // Use Graph Store Protocol for large uploads
-                uploadViaGraphStoreProtocol(endpoint, rdfData, graphUri, username, password, timeout);
+                Lang wireLang = BinaryRdf.lang((String) config.get("wireFormat"));
+                uploadViaGraphStoreProtocol(endpoint, model, wireLang, graphUri, username, password, timeout);
             }
 
             return PublishResult.success(tripleCount, graphUri, Map.of(
@@ -204,7 +216,7 @@ public class TriplestoreDestinationProvider implements DestinationProvider {
         }
     }
 
-    private void uploadViaGraphStoreProtocol(String endpoint, String rdfData, String graphUri,
+    private void uploadViaGraphStoreProtocol(String endpoint, Model model, Lang wireLang, String graphUri,
                                               String username, String password, int timeout) throws IOException {
         // Convert SPARQL endpoint to Graph Store Protocol endpoint
         // Most triplestores use /data or /statements suffix
@@ -219,8 +231,10 @@ public class TriplestoreDestinationProvider implements DestinationProvider {
         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
         try {
             conn.setRequestMethod("POST");
-            conn.setRequestProperty("Content-Type", "application/n-triples");
+            conn.setRequestProperty("Content-Type",
+                wireLang != null ? BinaryRdf.contentType(wireLang) : "application/n-triples");
             conn.setDoOutput(true);
+            conn.setChunkedStreamingMode(64 * 1024);
             conn.setConnectTimeout(timeout);
             conn.setReadTimeout(timeout);
 
@@ -230,8 +244,13 @@ public class TriplestoreDestinationProvider implements DestinationProvider {
                 conn.setRequestProperty("Authorization", "Basic " + encodedAuth);
             }
 
-            try (OutputStream os = conn.getOutputStream()) {
-                os.write(rdfData.getBytes(StandardCharsets.UTF_8));
+            // Serialize straight into the request body instead of building the payload in memory
+            try (OutputStream os = new BufferedOutputStream(conn.getOutputStream(), 64 * 1024)) {
+                if (wireLang != null) {
+                    BinaryRdf.write(os, model.getGraph(), wireLang);
+                } else {
+                    RDFDataMgr.write(os, model, RDFFormat.NTRIPLES);
+                }
             }
 
             int responseCode = conn.getResponseCode();
@@ -0,0 +1,20 @@
+-- Pipeline change notifications
+-- Services caching parsed pipelines (job-service) LISTEN on pipeline_changed and
+-- evict the pipeline whose id is the payload
+
+CREATE OR REPLACE FUNCTION notify_pipeline_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('pipeline_changed', OLD.id::text);
+    ELSE
+        PERFORM pg_notify('pipeline_changed', NEW.id::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS pipelines_notify_changed ON pipelines;
+CREATE TRIGGER pipelines_notify_changed
+    AFTER UPDATE OR DELETE ON pipelines
+    FOR EACH ROW EXECUTE FUNCTION notify_pipeline_changed();
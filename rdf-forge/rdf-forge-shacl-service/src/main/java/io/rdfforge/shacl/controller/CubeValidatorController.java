@@ -68,7 +68,8 @@ public class CubeValidatorController {
     @Operation(
         summary = "Validate cube observations",
         description = "Validates observations against the cube's constraint shape. " +
-                     "Supports batch validation for large cubes. " +
+                     "Supports batch validation for large cubes. Results are aggregated by shape, " +
+                     "constraint and path with sampled focus nodes; the full list can be written to storage. " +
                      "Equivalent to: b59 cube check-observations --constraint <constraint>"
     )
     public ResponseEntity<ValidationReport> validateObservations(
@@ -80,7 +81,38 @@ public class CubeValidatorController {
             request.getCubeData(),
             request.getConstraintData(),
             request.getDataFormat(),
-            request.getBatchSize() != null ? request.getBatchSize() : 50
+            request.getBatchSize() != null ? request.getBatchSize() : 50,
+            request.getMaxResults(),
+            Boolean.TRUE.equals(request.getWriteDetails())
+        );
+
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Incremental observation validation.
+     * Re-validates only the observations affected by a change and updates the previous report.
+     */
+    @PostMapping("/observations/incremental")
+    @Operation(
+        summary = "Incrementally validate cube observations",
+        description = "Updates a previous observations report after a change. Only observations reachable " +
+                     "from the added and removed triples along the constraint's property paths are " +
+                     "validated again; other results are carried over. Falls back to full validation " +
+                     "when the constraint uses unbounded paths or no previous report is given."
+    )
+    public ResponseEntity<ValidationReport> validateObservationsIncremental(
+            @RequestBody CubeIncrementalValidationRequest request) {
+
+        log.info("Incrementally validating cube observations");
+
+        ValidationReport report = cubeValidationService.validateCubeObservationsIncremental(
+            request.getCubeData(),
+            request.getConstraintData(),
+            request.getDataFormat(),
+            request.getPreviousReport(),
+            request.getAddedData(),
+            request.getRemovedData()
         );
 
         return ResponseEntity.ok(report);
@@ -197,6 +229,24 @@ public class CubeValidatorController {
         private String dataFormat;
         @Parameter(description = "Batch size for processing observations (default: 50, use 0 for all in memory)")
         private Integer batchSize;
+        @Parameter(description = "Individual results to include; all results are aggregated into groups (default: 1000, -1 for all)")
+        private Integer maxResults;
+        @Parameter(description = "Write every result to a JSON Lines file in storage and return its path as detailsLocation")
+        private Boolean writeDetails;
+    }
+
+    @Data
+    public static class CubeIncrementalValidationRequest {
+        @Parameter(description = "Cube data after the change")
+        private String cubeData;
+        private String constraintData;
+        private String dataFormat;
+        @Parameter(description = "Report returned by an earlier validation of the cube")
+        private ValidationReport previousReport;
+        @Parameter(description = "Triples added since the previous report")
+        private String addedData;
+        @Parameter(description = "Triples removed since the previous report")
+        private String removedData;
     }
 
     @Data
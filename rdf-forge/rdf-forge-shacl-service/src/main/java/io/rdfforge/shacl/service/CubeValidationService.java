@@ -2,7 +2,9 @@ package io.rdfforge.shacl.service;
 
 import io.rdfforge.common.model.ValidationReport;
 import io.rdfforge.common.model.ValidationReport.ValidationResult;
+import io.rdfforge.engine.shacl.ReportOptions;
 import io.rdfforge.engine.shacl.ShaclValidator;
+import io.rdfforge.engine.shacl.ShapesCache;
 import io.rdfforge.shacl.controller.CubeValidatorController.CubeValidationResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,12 +12,19 @@ import org.apache.jena.query.*;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.shacl.Shapes;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -36,6 +45,10 @@ public class CubeValidationService {
 
     private final ShaclValidator shaclValidator;
     private final ProfileValidationService profileValidationService;
+    private final ShapesCache shapesCache;
+
+    @Value("${storage.local.base-path:./data/storage}")
+    private String storageBasePath;
 
     /**
      * Validate cube metadata (excluding observations) against a profile.
@@ -71,6 +84,22 @@ public class CubeValidationService {
             String constraintData,
             String dataFormat,
             int batchSize) {
+        return validateCubeObservations(cubeData, constraintData, dataFormat, batchSize, null, false);
+    }
+
+    /**
+     * Validate cube observations against the cube's constraint.
+     *
+     * @param maxResults   individual results kept in the report, null for the default limit
+     * @param writeDetails also write every result to a JSON Lines file in storage
+     */
+    public ValidationReport validateCubeObservations(
+            String cubeData,
+            String constraintData,
+            String dataFormat,
+            int batchSize,
+            Integer maxResults,
+            boolean writeDetails) {
         try {
             // Parse the cube data
             Model cubeModel = parseRdf(cubeData, dataFormat);
@@ -97,7 +126,13 @@ public class CubeValidationService {
 
             // Validate in batches
             String constraintTurtle = serializeToTurtle(constraintModel);
-            return validateObservationsInBatches(cubeModel, observations, constraintTurtle, batchSize);
+            ReportOptions options = maxResults != null
+                ? shaclValidator.defaultReportOptions().withMaxResults(maxResults)
+                : shaclValidator.defaultReportOptions();
+            if (!writeDetails) {
+                return validateObservationsInBatches(cubeModel, observations, constraintTurtle, batchSize, options);
+            }
+            return validateWithDetails(cubeModel, observations, constraintTurtle, batchSize, options);
 
         } catch (Exception e) {
             log.error("Error validating cube observations", e);
@@ -105,6 +140,52 @@ public class CubeValidationService {
         }
     }
 
+    /**
+     * Update an earlier observations report after a change to the cube. Only the
+     * observations reachable from the added and removed triples are validated again;
+     * the results of all other observations are taken from the previous report.
+     *
+     * @param cubeData the cube after the change
+     */
+    public ValidationReport validateCubeObservationsIncremental(
+            String cubeData,
+            String constraintData,
+            String dataFormat,
+            ValidationReport previousReport,
+            String addedData,
+            String removedData) {
+        try {
+            Model cubeModel = parseRdf(cubeData, dataFormat);
+
+            Model constraintModel;
+            if (constraintData != null && !constraintData.isBlank()) {
+                constraintModel = parseRdf(constraintData, dataFormat);
+            } else {
+                constraintModel = extractConstraintModel(cubeModel);
+            }
+
+            if (constraintModel.isEmpty()) {
+                return createErrorReport("No cube:Constraint found in the cube data");
+            }
+
+            Model added = addedData != null && !addedData.isBlank()
+                ? parseRdf(addedData, dataFormat) : ModelFactory.createDefaultModel();
+            Model removed = removedData != null && !removedData.isBlank()
+                ? parseRdf(removedData, dataFormat) : ModelFactory.createDefaultModel();
+
+            Shapes shapes = shapesCache.get(serializeToTurtle(constraintModel));
+            ValidationReport report = shaclValidator.validateIncremental(cubeModel, shapes, previousReport, added, removed);
+
+            log.info("Incremental validation of {} added and {} removed triples: {} focus nodes re-validated",
+                added.size(), removed.size(), report.getMetadata().getOrDefault("affectedFocusNodes", "all"));
+            return report;
+
+        } catch (Exception e) {
+            log.error("Error validating cube observations incrementally", e);
+            return createErrorReport("Failed to validate cube observations incrementally: " + e.getMessage());
+        }
+    }
+
     /**
      * Perform full cube validation (metadata + observations).
      */
@@ -137,7 +218,7 @@ public class CubeValidationService {
             if (!constraintModel.isEmpty() && !observations.isEmpty()) {
                 String constraintTurtle = serializeToTurtle(constraintModel);
                 ValidationReport obsReport = validateObservationsInBatches(
-                    cubeModel, observations, constraintTurtle, batchSize);
+                    cubeModel, observations, constraintTurtle, batchSize, shaclValidator.defaultReportOptions());
                 result.setObservationsReport(obsReport);
 
                 // Count valid/invalid
@@ -330,69 +411,64 @@ public class CubeValidationService {
     }
 
     /**
-     * Validate observations in batches.
+     * Validate observations in batches. Batches of observation focus nodes are
+     * validated concurrently against the whole cube graph (so constraints can follow
+     * links out of the observation) and the results are merged in a stable order.
      */
     private ValidationReport validateObservationsInBatches(
             Model cubeModel,
             List<Resource> observations,
             String constraintTurtle,
-            int batchSize) {
-
-        List<ValidationResult> allResults = new ArrayList<>();
-        boolean conforms = true;
-        int violationCount = 0;
-        int warningCount = 0;
+            int batchSize,
+            ReportOptions options) {
 
         // If batchSize is 0, validate all at once
         if (batchSize <= 0) {
             batchSize = observations.size();
         }
 
-        for (int i = 0; i < observations.size(); i += batchSize) {
-            List<Resource> batch = observations.subList(i,
-                Math.min(i + batchSize, observations.size()));
-
-            // Create a model with just this batch of observations
-            Model batchModel = ModelFactory.createDefaultModel();
-            batchModel.setNsPrefixes(cubeModel.getNsPrefixMap());
-
-            for (Resource obs : batch) {
-                StmtIterator stmts = cubeModel.listStatements(obs, null, (RDFNode) null);
-                while (stmts.hasNext()) {
-                    batchModel.add(stmts.next());
-                }
-            }
+        // Compile the constraint once for all batches
+        Shapes shapes = shapesCache.get(constraintTurtle);
+        int parallelism = Runtime.getRuntime().availableProcessors();
 
-            // Validate batch
-            ValidationReport batchReport = shaclValidator.validate(batchModel, constraintTurtle);
+        ValidationReport report = shaclValidator.validate(cubeModel, shapes, batchSize, parallelism, options);
 
-            if (!batchReport.isConforms()) {
-                conforms = false;
-            }
+        log.debug("Validated {} observations in batches of {} ({} ms, {} results)",
+            observations.size(), batchSize, report.getDurationMs(), report.getTotalResults());
 
-            violationCount += batchReport.getViolationCount();
-            warningCount += batchReport.getWarningCount();
+        Map<String, Object> metadata = new HashMap<>();
+        if (report.getMetadata() != null) {
+            metadata.putAll(report.getMetadata());
+        }
+        metadata.put("observationsValidated", observations.size());
+        metadata.put("batchSize", batchSize);
+        report.setMetadata(metadata);
 
-            if (batchReport.getResults() != null) {
-                allResults.addAll(batchReport.getResults());
-            }
+        return report;
+    }
 
-            log.debug("Validated batch {}/{} ({} observations)",
-                (i / batchSize) + 1,
-                (observations.size() / batchSize) + 1,
-                batch.size());
+    /**
+     * Validate and stream every result to {@code validation-reports/<id>.jsonl} under
+     * the local storage base path, which the data service serves through its local
+     * storage provider. The report refers to the file by its object path.
+     */
+    private ValidationReport validateWithDetails(
+            Model cubeModel,
+            List<Resource> observations,
+            String constraintTurtle,
+            int batchSize,
+            ReportOptions options) throws IOException {
+
+        String objectPath = "validation-reports/" + UUID.randomUUID() + ".jsonl";
+        Path detailsFile = Path.of(storageBasePath).resolve(objectPath);
+        Files.createDirectories(detailsFile.getParent());
+
+        try (Writer writer = Files.newBufferedWriter(detailsFile, StandardCharsets.UTF_8)) {
+            ValidationReport report = validateObservationsInBatches(
+                cubeModel, observations, constraintTurtle, batchSize, options.withDetails(writer));
+            report.setDetailsLocation(objectPath);
+            return report;
         }
-
-        return ValidationReport.builder()
-            .conforms(conforms)
-            .violationCount(violationCount)
-            .warningCount(warningCount)
-            .results(allResults)
-            .metadata(Map.of(
-                "observationsValidated", observations.size(),
-                "batchSize", batchSize
-            ))
-            .build();
     }
 
     /**
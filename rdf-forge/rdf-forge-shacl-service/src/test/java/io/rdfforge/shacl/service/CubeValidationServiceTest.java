@@ -0,0 +1,80 @@
+package io.rdfforge.shacl.service;
+
+import io.rdfforge.common.model.ValidationReport;
+import io.rdfforge.engine.shacl.ShaclValidatorService;
+import io.rdfforge.engine.shacl.ShapesCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubeValidationServiceTest {
+
+    // Dimension values are described outside the observations, so the constraint only
+    // holds when observations are validated against the whole cube graph
+    private static final String CONSTRAINT = """
+        @prefix sh: <http://www.w3.org/ns/shacl#> .
+        @prefix cube: <https://cube.link/> .
+        @prefix schema: <https://schema.org/> .
+        @prefix ex: <http://example.org/> .
+        ex:constraint a cube:Constraint, sh:NodeShape ;
+            sh:targetClass cube:Observation ;
+            sh:property [ sh:path ex:station ; sh:minCount 1 ; sh:maxCount 1 ] ;
+            sh:property [ sh:path ( ex:station schema:name ) ; sh:minCount 1 ] .
+        """;
+
+    private final ShapesCache shapesCache = new ShapesCache(4, null);
+    private final ShaclValidatorService partitioned = new ShaclValidatorService(shapesCache, 100);
+    private final ShaclValidatorService singleThreaded = new ShaclValidatorService(shapesCache, Integer.MAX_VALUE);
+
+    @AfterEach
+    void tearDown() {
+        partitioned.shutdown();
+        singleThreaded.shutdown();
+    }
+
+    @Test
+    void testObservationsAreValidatedAgainstTheWholeCube() {
+        String cube = cube(600);
+        CubeValidationService service = new CubeValidationService(partitioned, null, shapesCache);
+
+        ValidationReport report = service.validateCubeObservations(cube, CONSTRAINT, "TURTLE", 20, -1, false);
+
+        // Only observations of the station without a name violate the linked path
+        assertEquals(60, report.getViolationCount());
+        assertEquals(600, report.getMetadata().get("observationsValidated"));
+        assertEquals(30, report.getMetadata().get("batches"));
+        assertTrue(report.getResults().stream().allMatch(r -> r.getFocusNode().startsWith("http://example.org/obs")));
+    }
+
+    @Test
+    void testPartitionedCubeReportMatchesSingleThreaded() {
+        String cube = cube(600);
+
+        ValidationReport expected = new CubeValidationService(singleThreaded, null, shapesCache)
+            .validateCubeObservations(cube, CONSTRAINT, "TURTLE", 20, -1, false);
+        ValidationReport actual = new CubeValidationService(partitioned, null, shapesCache)
+            .validateCubeObservations(cube, CONSTRAINT, "TURTLE", 20, -1, false);
+
+        assertEquals(expected.getResults(), actual.getResults());
+        assertEquals(expected.getGroups(), actual.getGroups());
+    }
+
+    private static String cube(int observations) {
+        StringBuilder turtle = new StringBuilder("""
+            @prefix cube: <https://cube.link/> .
+            @prefix schema: <https://schema.org/> .
+            @prefix ex: <http://example.org/> .
+            """);
+        for (int s = 0; s < 10; s++) {
+            if (s != 3) {
+                turtle.append("ex:station").append(s).append(" schema:name \"Station ").append(s).append("\" .\n");
+            }
+        }
+        for (int i = 0; i < observations; i++) {
+            turtle.append("ex:obs").append(i).append(" a cube:Observation ; ex:station ex:station")
+                .append(i % 10).append(" ; ex:value ").append(i).append(" .\n");
+        }
+        return turtle.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package io.rdfforge.triplestore.connector;
 
+import io.rdfforge.engine.rdf.BinaryRdf;
 import org.apache.jena.query.*;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
@@ -9,10 +10,12 @@ import org.apache.jena.rdfconnection.RDFConnectionRemote;
 import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFParser;
 import org.apache.jena.update.UpdateFactory;
 import org.apache.jena.update.UpdateRequest;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -148,15 +151,33 @@ public abstract class AbstractSparqlConnector implements TriplestoreConnector {
 
     @Override
     public void uploadRdf(String graphUri, String content, String format) {
+        uploadRdf(graphUri, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    @Override
+    public void uploadRdf(String graphUri, InputStream content, String format) {
         Lang lang = formatToLang(format);
-        Model model = ModelFactory.createDefaultModel();
-        RDFDataMgr.read(model, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), lang);
+        if (graphStoreEndpoint != null) {
+            GraphStoreUpload.post(graphStoreEndpoint, graphUri, content, lang, getUploadLangs());
+            return;
+        }
 
+        Model model = ModelFactory.createDefaultModel();
+        RDFParser.source(content).lang(lang).parse(model.getGraph());
         try (RDFConnection conn = createConnection()) {
             conn.load(graphUri, model);
         }
     }
 
+    /**
+     * Syntaxes the Graph Store endpoint reads, which uploads are streamed in as is;
+     * other syntaxes are converted to N-Triples while uploading.
+     * Subclasses can override to add e.g. binary RDF.
+     */
+    protected Set<Lang> getUploadLangs() {
+        return GraphStoreUpload.STANDARD_LANGS;
+    }
+
     @Override
     public void deleteGraph(String graphUri) {
         try (RDFConnection conn = createConnection()) {
@@ -271,12 +292,21 @@ public abstract class AbstractSparqlConnector implements TriplestoreConnector {
             builder.gspEndpoint(graphStoreEndpoint);
         }
 
+        customizeConnection(builder);
+
         // Note: Authentication configuration would be added here
         // For basic auth, you would configure the HTTP client
 
         return builder.build();
     }
 
+    /**
+     * Hook to adjust the connection, e.g. the wire format used for Graph Store
+     * uploads and fetches. The default keeps Jena's defaults.
+     */
+    protected void customizeConnection(RDFConnectionRemoteBuilder builder) {
+    }
+
     protected Lang formatToLang(String format) {
         return switch (format.toLowerCase()) {
             case "turtle", "ttl" -> Lang.TURTLE;
@@ -285,7 +315,7 @@ public abstract class AbstractSparqlConnector implements TriplestoreConnector {
             case "jsonld", "json-ld" -> Lang.JSONLD;
             case "nquads", "nq" -> Lang.NQUADS;
             case "trig" -> Lang.TRIG;
-            default -> Lang.TURTLE;
+            default -> BinaryRdf.anyLang(format, Lang.TURTLE);
         };
     }
 
@@ -1,5 +1,6 @@
 package io.rdfforge.triplestore.connector;
 
+import io.rdfforge.engine.rdf.BinaryRdf;
 import org.apache.jena.query.*;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
@@ -13,12 +14,17 @@ import org.apache.jena.update.UpdateFactory;
 import org.apache.jena.update.UpdateRequest;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 public class FusekiConnector implements TriplestoreConnector {
     
+    /** Fuseki also reads binary RDF, so those uploads are streamed without conversion. */
+    private static final Set<Lang> UPLOAD_LANGS = Set.of(
+        Lang.TURTLE, Lang.NTRIPLES, Lang.RDFXML, Lang.JSONLD, Lang.RDFTHRIFT, Lang.RDFPROTO);
+    
     private final String endpoint;
     private final String queryEndpoint;
     private final String updateEndpoint;
@@ -110,6 +116,12 @@ public class FusekiConnector implements TriplestoreConnector {
         }
     }
     
+    @Override
+    public void uploadRdf(String graphUri, InputStream content, String format) {
+        Lang lang = BinaryRdf.anyLang(format, Lang.TURTLE);
+        GraphStoreUpload.post(graphStoreEndpoint, graphUri, content, lang, UPLOAD_LANGS);
+    }
+    
     @Override
     public void uploadRdf(String graphUri, String content, String format) {
         Lang lang = switch (format.toLowerCase()) {
@@ -0,0 +1,103 @@
+package io.rdfforge.triplestore.connector;
+
+import org.apache.jena.http.HttpEnv;
+import org.apache.jena.http.HttpOp;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams an RDF upload to a Graph Store Protocol endpoint without parsing it into
+ * a model. A body in a syntax the store accepts is posted as is; anything else is
+ * converted to N-Triples on the fly by a parser thread writing into the request
+ * body.
+ */
+final class GraphStoreUpload {
+
+    /** Syntaxes every Graph Store endpoint is expected to read. */
+    static final Set<Lang> STANDARD_LANGS = Set.of(Lang.TURTLE, Lang.NTRIPLES, Lang.RDFXML, Lang.JSONLD);
+
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    private GraphStoreUpload() {
+    }
+
+    /**
+     * POST the content into a graph, or the default graph when graphUri is null or
+     * "default".
+     */
+    static void post(String graphStoreEndpoint, String graphUri, InputStream content, Lang lang,
+                     Set<Lang> acceptedLangs) {
+        String url = graphStoreUrl(graphStoreEndpoint, graphUri);
+        if (acceptedLangs.contains(lang)) {
+            HttpOp.httpPost(HttpEnv.getDftHttpClient(), url, lang.getHeaderString(),
+                BodyPublishers.ofInputStream(() -> content));
+            return;
+        }
+
+        PipedInputStream body = new PipedInputStream(PIPE_SIZE);
+        PipedOutputStream out;
+        try {
+            out = new PipedOutputStream(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread converter = Thread.ofVirtual().name("graph-store-upload").start(() -> {
+            try {
+                StreamRDF writer = StreamRDFWriter.getWriterStream(out, RDFFormat.NTRIPLES);
+                writer.start();
+                RDFParser.source(content).lang(lang).parse(writer);
+                writer.finish();
+                out.close();
+            } catch (RuntimeException e) {
+                // Leave the pipe open: the request body then fails once this thread is
+                // gone, instead of ending cleanly and committing a partial upload
+                failure.set(e);
+            } catch (IOException e) {
+                failure.set(new UncheckedIOException(e));
+            }
+        });
+        try {
+            HttpOp.httpPost(HttpEnv.getDftHttpClient(), url, Lang.NTRIPLES.getHeaderString(),
+                BodyPublishers.ofInputStream(() -> body));
+        } catch (RuntimeException e) {
+            if (failure.get() != null) {
+                e.addSuppressed(failure.get());
+            }
+            throw e;
+        } finally {
+            try {
+                body.close();
+                converter.join();
+            } catch (IOException ignored) {
+                // nothing left to read
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    static String graphStoreUrl(String graphStoreEndpoint, String graphUri) {
+        if (graphUri == null || graphUri.isBlank() || "default".equals(graphUri)) {
+            return graphStoreEndpoint + "?default";
+        }
+        return graphStoreEndpoint + "?graph=" + URLEncoder.encode(graphUri, StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,6 @@
 package io.rdfforge.triplestore.connector;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +16,11 @@ public interface TriplestoreConnector {
     
     void uploadRdf(String graphUri, String content, String format);
     
+    /**
+     * Upload RDF read from a stream; supports the binary formats (RDF Thrift / Protobuf).
+     */
+    void uploadRdf(String graphUri, InputStream content, String format);
+    
     void deleteGraph(String graphUri);
     
     String exportGraph(String graphUri, String format);
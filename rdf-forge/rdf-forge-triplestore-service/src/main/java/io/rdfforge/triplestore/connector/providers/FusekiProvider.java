@@ -1,12 +1,17 @@
 package io.rdfforge.triplestore.connector.providers;
 
+import io.rdfforge.engine.rdf.BinaryRdf;
 import io.rdfforge.triplestore.connector.*;
 import io.rdfforge.triplestore.entity.TriplestoreConnectionEntity;
 import io.rdfforge.triplestore.entity.TriplestoreConnectionEntity.*;
+import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static io.rdfforge.triplestore.connector.TriplestoreProviderInfo.*;
 
@@ -43,7 +48,7 @@ public class FusekiProvider implements TriplestoreProvider {
                 )
             )
         ),
-        List.of("turtle", "rdfxml", "ntriples", "jsonld", "nquads", "trig"),
+        List.of("turtle", "rdfxml", "ntriples", "jsonld", "nquads", "trig", "thrift", "protobuf"),
         Map.of(
             "queryPath", new ConfigField(
                 "queryPath", "Query Path", "text",
@@ -106,6 +111,10 @@ public class FusekiProvider implements TriplestoreProvider {
      */
     private static class FusekiConnector extends AbstractSparqlConnector {
 
+        /** Fuseki also reads binary RDF, so those uploads are streamed without conversion. */
+        private static final Set<Lang> FUSEKI_UPLOAD_LANGS = Set.of(
+            Lang.TURTLE, Lang.NTRIPLES, Lang.RDFXML, Lang.JSONLD, Lang.RDFTHRIFT, Lang.RDFPROTO);
+
         FusekiConnector(String baseUrl, String queryPath, String updatePath,
                        String dataPath, String username, String password) {
             super(
@@ -118,6 +127,20 @@ public class FusekiProvider implements TriplestoreProvider {
             );
         }
 
+        @Override
+        protected void customizeConnection(RDFConnectionRemoteBuilder builder) {
+            // Fuseki reads and writes RDF Thrift natively; use it on the wire instead of text
+            builder.triplesFormat(RDFFormat.RDF_THRIFT)
+                .quadsFormat(RDFFormat.RDF_THRIFT)
+                .acceptHeaderGraph(BinaryRdf.THRIFT_CONTENT_TYPE)
+                .acceptHeaderDataset(BinaryRdf.THRIFT_CONTENT_TYPE);
+        }
+
+        @Override
+        protected Set<Lang> getUploadLangs() {
+            return FUSEKI_UPLOAD_LANGS;
+        }
+
         @Override
         protected String getListGraphsQuery() {
             // Fuseki supports standard SPARQL for listing graphs
@@ -1,14 +1,18 @@
 package io.rdfforge.triplestore.controller;
 
+import io.rdfforge.engine.rdf.BinaryRdf;
 import io.rdfforge.triplestore.connector.TriplestoreConnector.*;
 import io.rdfforge.triplestore.connector.TriplestoreProviderInfo;
 import io.rdfforge.triplestore.entity.TriplestoreConnectionEntity;
 import io.rdfforge.triplestore.service.TriplestoreService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -158,6 +162,22 @@ public class TriplestoreController {
         ));
     }
     
+    @PostMapping(value = "/{id}/upload/stream", consumes = MediaType.ALL_VALUE)
+    @Operation(summary = "Upload RDF stream",
+        description = "Upload a raw RDF body, e.g. application/rdf+thrift, without wrapping it in JSON")
+    public ResponseEntity<Map<String, Object>> uploadRdfStream(
+        @PathVariable UUID id,
+        @RequestParam String graphUri,
+        @RequestParam(required = false) String format,
+        @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+        InputStream body
+    ) {
+        String resolvedFormat = format != null ? format
+            : contentType != null ? contentType
+            : BinaryRdf.THRIFT_CONTENT_TYPE;
+        return ResponseEntity.ok(triplestoreService.uploadRdf(id, graphUri, body, resolvedFormat));
+    }
+    
     @DeleteMapping("/{id}/graphs/{graphUri}")
     @Operation(summary = "Delete graph", description = "Clear/drop a named graph")
     public ResponseEntity<Void> deleteGraph(
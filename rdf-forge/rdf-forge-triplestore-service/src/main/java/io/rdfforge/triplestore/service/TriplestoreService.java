@@ -10,6 +10,7 @@ import io.rdfforge.triplestore.repository.TriplestoreConnectionRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -137,6 +138,19 @@ public class TriplestoreService {
         );
     }
     
+    public Map<String, Object> uploadRdf(UUID connectionId, String graphUri, InputStream content, String format) {
+        TriplestoreConnector connector = getConnector(connectionId);
+        long startTime = System.currentTimeMillis();
+        connector.uploadRdf(graphUri, content, format);
+        long duration = System.currentTimeMillis() - startTime;
+        
+        return Map.of(
+            "success", true,
+            "format", format,
+            "durationMs", duration
+        );
+    }
+    
     public void deleteGraph(UUID connectionId, String graphUri) {
         TriplestoreConnector connector = getConnector(connectionId);
         connector.deleteGraph(graphUri);